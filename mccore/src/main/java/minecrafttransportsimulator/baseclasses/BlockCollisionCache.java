@@ -0,0 +1,293 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.Arrays;
+
+/**
+ * Cache of block collision boxes for a world.  Finding the collision shape of a block is slow, and vehicles
+ * check the same blocks every tick for their collision and ground device boxes.  This cache stores the collision
+ * boxes for each block that has been checked, keyed by its packed position, so they only need to be found once.
+ * <br><br>
+ * Each entry stores the block state it was made from.  The state is passed in on every lookup, and if it doesn't
+ * match, the entry is treated as missing.  This means the state used must be the full state that decides the block's
+ * shape.  Blocks that can change shape without changing state, such as ones with tile entities, shouldn't be cached
+ * at all.  Use {@link #addUncached(double[], boolean, boolean)} for those.  The world should also call
+ * {@link #invalidateAround(int, int, int)} when it gets block change events, though those only happen on servers.
+ * <br><br>
+ * This class also does the collision depth math that used to be in each world wrapper.  Start a check with
+ * {@link #startCheck(double, double, double, double, double, double)}, add colliding boxes, then call
+ * {@link #updateCollisionDepth(BoundingBox, Point3D, boolean)}.
+ *
+ * @author agent
+ */
+public class BlockCollisionCache {
+    /**Max blocks to cache.  Past this, the cache is cleared since most of it is likely for areas vehicles have left.**/
+    private static final int MAX_CACHED_BLOCKS = 1 << 16;
+    /**Boxes for blocks that can't be collided with.**/
+    public static final double[] NO_BOXES = new double[0];
+    /**Index for the block from {@link #addUncached(double[], boolean, boolean)}.**/
+    private static final int UNCACHED_INDEX = -2;
+
+    private final LongHashSet positions = new LongHashSet(256);
+    private Object[] states = new Object[256];
+    private double[][] boxes = new double[256][];
+    private boolean[] leaves = new boolean[256];
+    private boolean[] liquids = new boolean[256];
+    private double[] uncachedBoxes;
+    private boolean uncachedLeaves;
+    private boolean uncachedLiquid;
+
+    //Variables for the current check.
+    private double minX;
+    private double minY;
+    private double minZ;
+    private double maxX;
+    private double maxY;
+    private double maxZ;
+    private double[] collidingBoxes = new double[6 * 16];
+    private int collidingBoxCount;
+
+    /**
+     * Returns the key for the block at the passed-in position.  Used for this cache, and can be used for
+     * other sets of block positions to avoid making a BlockPos for each block.
+     */
+    public static long getKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (y & 0xFFF) << 26) | (long) (z & 0x3FFFFFF);
+    }
+
+    /**
+     * Returns the index of the cached block at the passed-in position, or -1 if the block isn't cached
+     * or was cached with a different state.
+     */
+    public int getIndex(int x, int y, int z, Object state) {
+        int index = positions.indexOf(getKey(x, y, z));
+        return index != -1 && states[index] == state ? index : -1;
+    }
+
+    /**
+     * Caches the block at the passed-in position, and returns its index.  Boxes are stored as sets of
+     * minX, minY, minZ, maxX, maxY, maxZ, in world coordinates.  Use {@link #NO_BOXES} if the block has no collision.
+     */
+    public int add(int x, int y, int z, Object state, double[] blockBoxes, boolean isLeaves, boolean isLiquid) {
+        long key = getKey(x, y, z);
+        int index = positions.indexOf(key);
+        if (index == -1) {
+            if (positions.size() == MAX_CACHED_BLOCKS) {
+                clear();
+            }
+            positions.add(key);
+            index = positions.size() - 1;
+            if (index == states.length) {
+                states = Arrays.copyOf(states, index * 2);
+                boxes = Arrays.copyOf(boxes, index * 2);
+                leaves = Arrays.copyOf(leaves, index * 2);
+                liquids = Arrays.copyOf(liquids, index * 2);
+            }
+        }
+        states[index] = state;
+        boxes[index] = blockBoxes;
+        leaves[index] = isLeaves;
+        liquids[index] = isLiquid;
+        return index;
+    }
+
+    /**
+     * Like {@link #add(int, int, int, Object, double[], boolean, boolean)}, but the block isn't cached.
+     * The returned index is only valid until the next call to this method.
+     */
+    public int addUncached(double[] blockBoxes, boolean isLeaves, boolean isLiquid) {
+        uncachedBoxes = blockBoxes;
+        uncachedLeaves = isLeaves;
+        uncachedLiquid = isLiquid;
+        return UNCACHED_INDEX;
+    }
+
+    /**
+     * Invalidates the block at the passed-in position, and the blocks next to it, since their shapes may depend on it.
+     */
+    public void invalidateAround(int x, int y, int z) {
+        invalidate(x, y, z);
+        invalidate(x + 1, y, z);
+        invalidate(x - 1, y, z);
+        invalidate(x, y + 1, z);
+        invalidate(x, y - 1, z);
+        invalidate(x, y, z + 1);
+        invalidate(x, y, z - 1);
+    }
+
+    private void invalidate(int x, int y, int z) {
+        int index = positions.indexOf(getKey(x, y, z));
+        if (index != -1) {
+            states[index] = null;
+            boxes[index] = null;
+        }
+    }
+
+    /**
+     * Clears all cached blocks.
+     */
+    public void clear() {
+        positions.clear();
+        Arrays.fill(states, null);
+        Arrays.fill(boxes, null);
+    }
+
+    public boolean isLeaves(int index) {
+        return index == UNCACHED_INDEX ? uncachedLeaves : leaves[index];
+    }
+
+    public boolean isLiquid(int index) {
+        return index == UNCACHED_INDEX ? uncachedLiquid : liquids[index];
+    }
+
+    /**
+     * Starts a new collision check for a box with the passed-in bounds.  This clears all colliding boxes from the last check.
+     */
+    public void startCheck(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        collidingBoxCount = 0;
+    }
+
+    /**
+     * Returns true if any collision box of the cached block intersects the box for the current check.
+     */
+    public boolean intersects(int index) {
+        double[] blockBoxes = index == UNCACHED_INDEX ? uncachedBoxes : boxes[index];
+        for (int i = 0; i < blockBoxes.length; i += 6) {
+            if (intersects(blockBoxes[i], blockBoxes[i + 1], blockBoxes[i + 2], blockBoxes[i + 3], blockBoxes[i + 4], blockBoxes[i + 5])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the full block at the passed-in position intersects the box for the current check.
+     */
+    public boolean intersectsFullBlock(int x, int y, int z) {
+        return intersects(x, y, z, x + 1, y + 1, z + 1);
+    }
+
+    /**
+     * Adds all collision boxes of the cached block to the colliding boxes for the current check.
+     */
+    public void addCollidingBoxes(int index) {
+        double[] blockBoxes = index == UNCACHED_INDEX ? uncachedBoxes : boxes[index];
+        for (int i = 0; i < blockBoxes.length; i += 6) {
+            addCollidingBox(blockBoxes[i], blockBoxes[i + 1], blockBoxes[i + 2], blockBoxes[i + 3], blockBoxes[i + 4], blockBoxes[i + 5]);
+        }
+    }
+
+    /**
+     * Like {@link #addCollidingBoxes(int)}, but only adds boxes that intersect the box for the current check.
+     * Returns true if any boxes were added.
+     */
+    public boolean addIntersectingBoxes(int index) {
+        boolean addedBox = false;
+        double[] blockBoxes = index == UNCACHED_INDEX ? uncachedBoxes : boxes[index];
+        for (int i = 0; i < blockBoxes.length; i += 6) {
+            if (intersects(blockBoxes[i], blockBoxes[i + 1], blockBoxes[i + 2], blockBoxes[i + 3], blockBoxes[i + 4], blockBoxes[i + 5])) {
+                addCollidingBox(blockBoxes[i], blockBoxes[i + 1], blockBoxes[i + 2], blockBoxes[i + 3], blockBoxes[i + 4], blockBoxes[i + 5]);
+                addedBox = true;
+            }
+        }
+        return addedBox;
+    }
+
+    /**
+     * Adds the full block at the passed-in position to the colliding boxes for the current check.
+     */
+    public void addCollidingFullBlock(int x, int y, int z) {
+        addCollidingBox(x, y, z, x + 1, y + 1, z + 1);
+    }
+
+    /**
+     * Sets the {@link BoundingBox#currentCollisionDepth} of the passed-in box based on the colliding boxes
+     * of the current check.  Depth is only set on axis with motion, and is the depth needed to move
+     * the box out of all colliding boxes.  If ignoreIfGreater is true, depth is capped at the motion.
+     */
+    public void updateCollisionDepth(BoundingBox box, Point3D collisionMotion, boolean ignoreIfGreater) {
+        //If we are in the depth bounds for this collision, set it as the collision depth.
+        box.currentCollisionDepth.set(0D, 0D, 0D);
+        double boxCollisionDepth;
+        for (int i = 0; i < collidingBoxCount * 6; i += 6) {
+            if (collisionMotion.x > 0) {
+                boxCollisionDepth = maxX - collidingBoxes[i];
+                if (box.currentCollisionDepth.x < boxCollisionDepth) {
+                    box.currentCollisionDepth.x = boxCollisionDepth;
+                }
+            } else if (collisionMotion.x < 0) {
+                boxCollisionDepth = -(collidingBoxes[i + 3] - minX);
+                if (box.currentCollisionDepth.x > boxCollisionDepth) {
+                    box.currentCollisionDepth.x = boxCollisionDepth;
+                }
+            }
+            if (collisionMotion.y > 0) {
+                boxCollisionDepth = maxY - collidingBoxes[i + 1];
+                if (box.currentCollisionDepth.y < boxCollisionDepth) {
+                    box.currentCollisionDepth.y = boxCollisionDepth;
+                }
+            } else if (collisionMotion.y < 0) {
+                boxCollisionDepth = -(collidingBoxes[i + 4] - minY);
+                if (box.currentCollisionDepth.y > boxCollisionDepth) {
+                    box.currentCollisionDepth.y = boxCollisionDepth;
+                }
+            }
+            if (collisionMotion.z > 0) {
+                boxCollisionDepth = maxZ - collidingBoxes[i + 2];
+                if (box.currentCollisionDepth.z < boxCollisionDepth) {
+                    box.currentCollisionDepth.z = boxCollisionDepth;
+                }
+            } else if (collisionMotion.z < 0) {
+                boxCollisionDepth = -(collidingBoxes[i + 5] - minZ);
+                if (box.currentCollisionDepth.z > boxCollisionDepth) {
+                    box.currentCollisionDepth.z = boxCollisionDepth;
+                }
+            }
+        }
+
+        if (ignoreIfGreater) {
+            if (collisionMotion.x > 0 && box.currentCollisionDepth.x > collisionMotion.x) {
+                box.currentCollisionDepth.x = collisionMotion.x;
+            } else if (collisionMotion.x < 0 && box.currentCollisionDepth.x < collisionMotion.x) {
+                box.currentCollisionDepth.x = collisionMotion.x;
+            }
+            if (collisionMotion.y > 0 && box.currentCollisionDepth.y > collisionMotion.y) {
+                box.currentCollisionDepth.y = collisionMotion.y;
+            } else if (collisionMotion.y < 0 && box.currentCollisionDepth.y < collisionMotion.y) {
+                box.currentCollisionDepth.y = collisionMotion.y;
+            }
+            if (collisionMotion.z > 0 && box.currentCollisionDepth.z > collisionMotion.z) {
+                box.currentCollisionDepth.z = collisionMotion.z;
+            } else if (collisionMotion.z < 0 && box.currentCollisionDepth.z < collisionMotion.z) {
+                box.currentCollisionDepth.z = collisionMotion.z;
+            }
+        }
+
+        if (box.currentCollisionDepth.isZero()) {
+            box.collidingBlockPositions.clear();
+        }
+    }
+
+    private boolean intersects(double boxMinX, double boxMinY, double boxMinZ, double boxMaxX, double boxMaxY, double boxMaxZ) {
+        return minX < boxMaxX && maxX > boxMinX && minY < boxMaxY && maxY > boxMinY && minZ < boxMaxZ && maxZ > boxMinZ;
+    }
+
+    private void addCollidingBox(double boxMinX, double boxMinY, double boxMinZ, double boxMaxX, double boxMaxY, double boxMaxZ) {
+        int offset = collidingBoxCount * 6;
+        if (offset == collidingBoxes.length) {
+            collidingBoxes = Arrays.copyOf(collidingBoxes, offset * 2);
+        }
+        collidingBoxes[offset] = boxMinX;
+        collidingBoxes[offset + 1] = boxMinY;
+        collidingBoxes[offset + 2] = boxMinZ;
+        collidingBoxes[offset + 3] = boxMaxX;
+        collidingBoxes[offset + 4] = boxMaxY;
+        collidingBoxes[offset + 5] = boxMaxZ;
+        ++collidingBoxCount;
+    }
+}
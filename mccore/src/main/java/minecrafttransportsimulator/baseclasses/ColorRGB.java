@@ -33,6 +33,8 @@ public class ColorRGB {
     public float blue;
     public int rgbInt;
     public int[] hsv;
+    /**True if this color was defined by HSV values rather than RGB ones.**/
+    public boolean isHSV;
 
     public ColorRGB() {
         this(1.0F, 1.0F, 1.0F, false);
@@ -56,6 +58,7 @@ public class ColorRGB {
         float finalGreen;
         float finalBlue;
 
+        this.isHSV = isHSV;
         if (isHSV) {
             this.hsv = new int[]{(int) red, (int) green, (int) blue};
             float[] RGB = HSVtoRGB(red % 360, green / 100, blue / 100);
@@ -156,5 +159,6 @@ public class ColorRGB {
         this.blue = color.blue;
         this.rgbInt = color.rgbInt;
         this.hsv = color.hsv;
+        this.isHSV = color.isHSV;
     }
 }
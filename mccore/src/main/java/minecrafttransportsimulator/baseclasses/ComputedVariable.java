@@ -160,7 +160,7 @@ public class ComputedVariable {
 
     public final void setTo(double value, boolean sendPacket) {
         if (!isConstant && setInternal(value, false) && sendPacket) {
-            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableSet(this, currentValue));
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableSet(this, currentValue), entity);
         }
     }
     
@@ -170,13 +170,13 @@ public class ComputedVariable {
 
     public final void adjustBy(double value, boolean sendPacket) {
         if (!isConstant && setInternal(currentValue + value, false) && sendPacket) {
-            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, value));
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, value), entity);
         }
     }
 
     public final void toggle(boolean sendPacket) {
         if (!isConstant && setInternal(currentValue + currentValue > 0 ? 0 : 1, false) && sendPacket) {
-            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableToggle(this));
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableToggle(this), entity);
         }
     }
 
@@ -198,7 +198,7 @@ public class ComputedVariable {
             if (newValue != currentValue) {
                 incrementValue = newValue - currentValue;
                 if (setInternal(newValue, false) && sendPacket) {
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityVariableIncrement(this, incrementValue, minValue, maxValue));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityVariableIncrement(this, incrementValue, minValue, maxValue), entity);
                 }
                 return true;
             }
@@ -14,6 +14,7 @@ import minecrafttransportsimulator.entities.components.AEntityA_Base;
 import minecrafttransportsimulator.entities.components.AEntityA_Base.EntityAutoUpdateTime;
 import minecrafttransportsimulator.entities.components.AEntityC_Renderable;
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
+import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
 import minecrafttransportsimulator.entities.components.AEntityG_Towable;
 import minecrafttransportsimulator.entities.instances.APart;
@@ -26,8 +27,14 @@ import minecrafttransportsimulator.jsondefs.JSONCollisionGroup.CollisionType;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IWrapperEntity;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovementBatch;
+import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovementBatch.VehicleMovement;
+import minecrafttransportsimulator.rendering.OnlineTextureLoader;
+import minecrafttransportsimulator.rendering.RenderText;
 import minecrafttransportsimulator.systems.CameraSystem;
+import minecrafttransportsimulator.systems.ConfigSystem;
 
 /**
  * Class that manages entities in a world.
@@ -46,6 +53,13 @@ public abstract class EntityManager {
     private final ConcurrentHashMap<UUID, AEntityA_Base> trackedEntityMap = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<UUID, PartGun> gunMap = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<UUID, Map<Integer, EntityBullet>> bulletMap = new ConcurrentHashMap<>();
+    private final EntitySpatialGrid<EntityVehicleF_Physics> vehicleGrid = new EntitySpatialGrid<>(entity -> entity.encompassingBox);
+    private final EntitySpatialGrid<EntityPlacedPart> placedPartGrid = new EntitySpatialGrid<>(entity -> entity.encompassingBox);
+    public final ParticleCollisionCache particleCollisionCache = new ParticleCollisionCache();
+    private final List<VehicleMovement> queuedVehicleMovements = new ArrayList<>();
+    private final Point3D cullingCameraPosition = new Point3D();
+    private final Point3D cullingCameraLookVector = new Point3D();
+    private final Point3D cullingOffset = new Point3D();
     
     private static final byte hotloadCountdownPreset = 20;
     private static byte hotloadCountdown;
@@ -96,6 +110,11 @@ public abstract class EntityManager {
             EntityBullet bullet = (EntityBullet) entity;
             bulletMap.get(bullet.gun.uniqueUUID).put(bullet.bulletNumber, bullet);
         }
+        if (entity instanceof EntityVehicleF_Physics) {
+            vehicleGrid.add((EntityVehicleF_Physics) entity);
+        } else if (entity instanceof EntityPlacedPart) {
+            placedPartGrid.add((EntityPlacedPart) entity);
+        }
 
         @SuppressWarnings("unchecked")
         ConcurrentLinkedQueue<EntityType> classList = (ConcurrentLinkedQueue<EntityType>) entitiesByClass.get(entity.getClass());
@@ -142,15 +161,36 @@ public abstract class EntityManager {
      * of checks for collision with specific boxes is left up to that operation.
      */
     public void populateWithEntitiesInBounds(List<AEntityF_Multipart<?>> list, BoundingBox bounds) {
-        for (EntityVehicleF_Physics entity : getEntitiesOfType(EntityVehicleF_Physics.class)) {
-            if (entity.encompassingBox.intersects(bounds)) {
-                list.add(entity);
-            }
-        }
-        for (EntityPlacedPart entity : getEntitiesOfType(EntityPlacedPart.class)) {
-            if (entity.encompassingBox.intersects(bounds)) {
-                list.add(entity);
-            }
+        vehicleGrid.populateInBounds(list, bounds);
+        placedPartGrid.populateInBounds(list, bounds);
+    }
+
+    /**
+     * Populates the passed-in list with all vehicles whose encompassing box intersects with the passed-in bounds.
+     * This is the vehicle-only version of {@link #populateWithEntitiesInBounds(List, BoundingBox)}.
+     */
+    public void populateWithVehiclesInBounds(List<EntityVehicleF_Physics> list, BoundingBox bounds) {
+        vehicleGrid.populateInBounds(list, bounds);
+    }
+
+    /**
+     * Populates the passed-in list with all vehicles whose position is inside the passed-in cone.
+     * The length of the search vector is the range of the cone, and the cone angle is the angle, in degrees,
+     * between the center-line of the cone and its edge.
+     */
+    public void populateWithVehiclesInCone(List<EntityVehicleF_Physics> list, Point3D origin, Point3D searchVector, double coneAngle) {
+        vehicleGrid.populateInCone(list, origin, searchVector, coneAngle);
+    }
+
+    /**
+     * Updates the spatial position of the passed-in entity for bounds queries.  This should be called any time
+     * the entity's encompassing box changes.  Entities that are not vehicles or placed parts are ignored.
+     */
+    public void updateEntityBounds(AEntityE_Interactable<?> entity) {
+        if (entity instanceof EntityVehicleF_Physics) {
+            vehicleGrid.update((EntityVehicleF_Physics) entity);
+        } else if (entity instanceof EntityPlacedPart) {
+            placedPartGrid.update((EntityPlacedPart) entity);
         }
     }
 
@@ -204,6 +244,13 @@ public abstract class EntityManager {
             }
         }
         if (beforePlayer) {
+            //Clear cached particle collisions from last tick, since blocks may have changed.
+            //Also remove any text meshes that aren't being rendered anymore.
+            if (world.isClient()) {
+                particleCollisionCache.clear();
+                RenderText.removeUnusedRetainedText();
+            }
+
             //Need to do this before updating since defaults have to be set on all entities to ensure VMs run properly.
             world.beginProfiling("VariableModifiers", true);
             allNormalDefinableTickableEntities.forEach(definable -> definable.setVariableDefaults());
@@ -221,6 +268,11 @@ public abstract class EntityManager {
                 Explosion.tickLingeringExplosions(world);
             }
 
+            //Send out all vehicle movement from this tick.
+            if (!world.isClient() && !queuedVehicleMovements.isEmpty()) {
+                sendQueuedVehicleMovements();
+            }
+
             //Do hotload operations.
             //This operates on all threads concurrently as long as we're counting down.
             if (hotloadStep > 0) {
@@ -238,6 +290,102 @@ public abstract class EntityManager {
         world.endProfiling();
     }
     
+    /**
+     * Updates {@link AEntityC_Renderable#isCulled} for all renderable entities.  Entities are culled if their bounds, padded by
+     * {@link AEntityC_Renderable#getRenderPadding()}, are past the max render distance, or if view culling is on and they are outside the camera's view.  Parts are culled
+     * with their master entity, since the master's bounds include all parts.  Call this on the client before rendering
+     * each pass.  This also binds any online textures that have finished loading, so they are ready for the pass.
+     */
+    public void cullRenderableEntities() {
+        AWrapperWorld world = getWorld();
+        //Bind any online textures that finished loading before anything renders with them.
+        OnlineTextureLoader.bindLoadedTextures();
+
+        world.beginProfiling("MTSRendering_Culling", true);
+        InterfaceManager.clientInterface.populateCameraView(cullingCameraPosition, cullingCameraLookVector);
+        double maxDistance = ConfigSystem.client.renderingSettings.maxRenderDistance.value;
+        boolean viewCulling = ConfigSystem.client.renderingSettings.viewCulling.value;
+
+        //The view is checked as a cone around the look vector that contains the screen corners.
+        //FOV is vertical, so get the corner angle from the aspect ratio.  Pad the angle a bit
+        //to account for FOV changes from sprinting and the like.
+        double viewAngle = 0;
+        if (viewCulling) {
+            long displaySize = InterfaceManager.clientInterface.getPackedDisplaySize();
+            double displayWidth = (int) (displaySize >> Integer.SIZE);
+            double displayHeight = (int) displaySize;
+            double aspect = displayHeight > 0 ? displayWidth / displayHeight : 1;
+            double tanHalfFOV = Math.tan(Math.toRadians(InterfaceManager.clientInterface.getFOV()) / 2D) * 1.25D;
+            viewAngle = Math.atan(tanHalfFOV * Math.sqrt(1 + aspect * aspect));
+        }
+
+        int culledCount = 0;
+        for (AEntityC_Renderable entity : renderableEntities) {
+            if (!(entity instanceof APart)) {
+                BoundingBox box = entity instanceof AEntityE_Interactable ? ((AEntityE_Interactable<?>) entity).encompassingBox : entity.boundingBox;
+                double radius = Math.sqrt(box.widthRadius * box.widthRadius + box.heightRadius * box.heightRadius + box.depthRadius * box.depthRadius) + entity.getRenderPadding();
+                cullingOffset.set(box.globalCenter).subtract(cullingCameraPosition);
+                double distance = cullingOffset.length();
+                if (maxDistance > 0 && distance - radius > maxDistance) {
+                    entity.isCulled = true;
+                } else if (viewCulling && distance > radius) {
+                    //Angle between look and the center, less the angle the bounds take up from here.
+                    double centerAngle = Math.acos(cullingOffset.scale(1D / distance).dotProduct(cullingCameraLookVector, true));
+                    entity.isCulled = centerAngle - Math.asin(radius / distance) > viewAngle;
+                } else {
+                    entity.isCulled = false;
+                }
+                if (entity.isCulled) {
+                    ++culledCount;
+                }
+            }
+        }
+        for (AEntityC_Renderable entity : renderableEntities) {
+            if (entity instanceof APart) {
+                entity.isCulled = ((APart) entity).masterEntity.isCulled;
+                if (entity.isCulled) {
+                    ++culledCount;
+                }
+            }
+        }
+        world.incrementProfilingCounter("MTSRendering_Culled", culledCount);
+        world.incrementProfilingCounter("MTSRendering_Rendered", renderableEntities.size() - culledCount);
+        world.endProfiling();
+    }
+
+    /**
+     * Queues the vehicle movement to be sent to clients at the end of the tick.
+     * All movement for a tick is sent in one packet per player to save on overhead.
+     * Only call this on the server.
+     */
+    public void queueVehicleMovement(VehicleMovement movement) {
+        queuedVehicleMovements.add(movement);
+    }
+
+    /**
+     * Sends all queued vehicle movements to players.  Each player only gets the movements
+     * of vehicles it is in tracking range of, or all movements if the tracking radius is 0.
+     */
+    private void sendQueuedVehicleMovements() {
+        boolean filterByRange = ConfigSystem.settings.general.packetTrackingRadius.value > 0;
+        for (IWrapperPlayer player : getWorld().getPlayers()) {
+            if (filterByRange) {
+                List<VehicleMovement> playerMovements = new ArrayList<>();
+                for (VehicleMovement movement : queuedVehicleMovements) {
+                    if (movement.vehicle.isInTrackingRange(player)) {
+                        playerMovements.add(movement);
+                    }
+                }
+                if (!playerMovements.isEmpty()) {
+                    player.sendPacket(new PacketVehicleServerMovementBatch(playerMovements));
+                }
+            } else {
+                player.sendPacket(new PacketVehicleServerMovementBatch(queuedVehicleMovements));
+            }
+        }
+        queuedVehicleMovements.clear();
+    }
+
     public void doHotload() {
         AWrapperWorld world = getWorld();
         switch (hotloadStep) {
@@ -387,11 +535,11 @@ public abstract class EntityManager {
         boolean clickOnly = collisionTypes.length == 1 && collisionTypes[0] == CollisionType.CLICK;
         BoundingBox vectorBounds = new BoundingBox(startPoint, endPoint);
         List<AEntityF_Multipart<?>> multiparts = new ArrayList<>();
-        multiparts.addAll(getEntitiesOfType(EntityVehicleF_Physics.class));
-        multiparts.addAll(getEntitiesOfType(EntityPlacedPart.class));
+        vehicleGrid.populateOnRay(multiparts, startPoint, endPoint);
+        placedPartGrid.populateOnRay(multiparts, startPoint, endPoint);
 
         for (AEntityF_Multipart<?> multipart : multiparts) {
-            if (multipart != entityToIgnore && multipart.encompassingBox.intersects(vectorBounds) && (!clickOnly || multipart.canBeClicked())) {
+            if (multipart != entityToIgnore && (!clickOnly || multipart.canBeClicked())) {
                 //Could have hit this multipart, check if and what we did via raytracing.
                 for (BoundingBox box : multipart.allCollisionBoxes) {
                     if (hasCollisionType(box, collisionTypes) && box.intersects(vectorBounds)) {
@@ -444,10 +592,17 @@ public abstract class EntityManager {
             EntityBullet bullet = (EntityBullet) entity;
             bulletMap.get(bullet.gun.uniqueUUID).remove(bullet.bulletNumber);
         }
+        if (entity instanceof EntityVehicleF_Physics) {
+            vehicleGrid.remove((EntityVehicleF_Physics) entity);
+        } else if (entity instanceof EntityPlacedPart) {
+            placedPartGrid.remove((EntityPlacedPart) entity);
+        }
     }
     
     public void adjustHeightForRain(Point3D position) {
-        for (EntityVehicleF_Physics vehicle : getEntitiesOfType(EntityVehicleF_Physics.class)) {
+        List<EntityVehicleF_Physics> vehiclesInColumn = new ArrayList<>();
+        vehicleGrid.populateInColumn(vehiclesInColumn, position);
+        for (EntityVehicleF_Physics vehicle : vehiclesInColumn) {
             if (vehicle.encompassingBox.isPointInsideAndBelow(position)) {
                 //Point is inside the box, but we might not be blocked by a collision box.  If we are, we need to block rain.
                 for (BoundingBox box : vehicle.allCollisionBoxes) {
@@ -492,6 +647,8 @@ public abstract class EntityManager {
         allEntities.forEach(entity -> entity.remove());
         if (getWorld().isClient()) {
             CameraSystem.resetCameraProperties();
+        } else {
+            Explosion.clearLingeringExplosions(getWorld());
         }
     }
 
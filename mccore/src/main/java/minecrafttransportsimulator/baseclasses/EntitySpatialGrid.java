@@ -0,0 +1,277 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
+
+/**
+ * Uniform grid that tracks entities by a bounding box, which for entities in the world is their
+ * {@link AEntityE_Interactable#encompassingBox}.  The box's center is used as the entity's position.
+ * This lets the {@link EntityManager} find entities in an area without looping over every entity
+ * of a type in the world.  The grid is laid out in columns in the XZ-plane, since vehicles are
+ * spread out over the ground far more than they are stacked on top of each other, and columns
+ * make "is this above/below" checks as cheap as intersection checks.
+ * <br><br>
+ * Entities are only moved between cells when their box crosses a cell border, so most updates
+ * are just a few integer compares.  Queries that would need to look at more cells than there are
+ * entities in the grid fall back to checking all entities directly, so they are never slower than
+ * a full scan of the entity list.
+ *
+ * @author agent
+ */
+public class EntitySpatialGrid<EntityType> {
+    /**Size of each cell, as a bit-shift.  4 gives 16-block cells, which is about the size of a normal vehicle.**/
+    private static final int CELL_SHIFT = 4;
+    private static final double CELL_SIZE = 1 << CELL_SHIFT;
+
+    private final Map<Long, List<GridEntry>> cells = new HashMap<>();
+    private final Map<EntityType, GridEntry> entries = new LinkedHashMap<>();
+    private final Function<EntityType, BoundingBox> boxGetter;
+    private int currentQuery;
+
+    /**
+     * Creates a grid that uses the box returned by the passed-in function for entities.
+     * The function is called once when an entity is added, so the box should be the same
+     * object for the life of the entity, and be updated in-place as the entity moves.
+     */
+    public EntitySpatialGrid(Function<EntityType, BoundingBox> boxGetter) {
+        this.boxGetter = boxGetter;
+    }
+
+    /**
+     * Adds the entity to this grid.  The entity will be placed based on its current encompassing box.
+     */
+    public void add(EntityType entity) {
+        if (!entries.containsKey(entity)) {
+            GridEntry entry = new GridEntry(entity);
+            entries.put(entity, entry);
+            entry.setCells();
+            addToCells(entry);
+        }
+    }
+
+    /**
+     * Removes the entity from this grid.
+     */
+    public void remove(EntityType entity) {
+        GridEntry entry = entries.remove(entity);
+        if (entry != null) {
+            removeFromCells(entry);
+        }
+    }
+
+    /**
+     * Updates the cells the entity is in to match its box.
+     * Does nothing if the entity isn't in this grid, or if it hasn't crossed any cell borders.
+     */
+    public void update(EntityType entity) {
+        GridEntry entry = entries.get(entity);
+        if (entry != null) {
+            BoundingBox box = entry.box;
+            if (entry.minX != getCell(box.globalCenter.x - box.widthRadius) || entry.maxX != getCell(box.globalCenter.x + box.widthRadius) || entry.minZ != getCell(box.globalCenter.z - box.depthRadius) || entry.maxZ != getCell(box.globalCenter.z + box.depthRadius)) {
+                removeFromCells(entry);
+                entry.setCells();
+                addToCells(entry);
+            }
+        }
+    }
+
+    /**
+     * Returns all entities in this grid.  This collection should not be modified.
+     */
+    public Collection<EntityType> getAll() {
+        return entries.keySet();
+    }
+
+    /**
+     * Populates the passed-in list with all entities whose box intersects the passed-in bounds.
+     */
+    public void populateInBounds(List<? super EntityType> list, BoundingBox bounds) {
+        for (GridEntry entry : getCandidates(bounds.globalCenter.x - bounds.widthRadius, bounds.globalCenter.z - bounds.depthRadius, bounds.globalCenter.x + bounds.widthRadius, bounds.globalCenter.z + bounds.depthRadius)) {
+            if (entry.box.intersects(bounds)) {
+                list.add(entry.entity);
+            }
+        }
+    }
+
+    /**
+     * Populates the passed-in list with all entities whose box is in a column the passed-in point is in.
+     * Callers will need to do their own checks on the entities returned, as this only is a
+     * coarse check of what could be close to the point.
+     */
+    public void populateInColumn(List<? super EntityType> list, Point3D point) {
+        for (GridEntry entry : getCandidates(point.x, point.z, point.x, point.z)) {
+            list.add(entry.entity);
+        }
+    }
+
+    /**
+     * Populates the passed-in list with all entities whose box intersects the line
+     * between the start and end point.  Cells are walked along the line rather than checking
+     * all cells in the box the line makes, so long diagonal rays stay cheap.
+     */
+    public void populateOnRay(List<? super EntityType> list, Point3D startPoint, Point3D endPoint) {
+        BoundingBox vectorBounds = new BoundingBox(startPoint, endPoint);
+        int startX = getCell(startPoint.x);
+        int startZ = getCell(startPoint.z);
+        int endX = getCell(endPoint.x);
+        int endZ = getCell(endPoint.z);
+        int cellsToCheck = Math.abs(endX - startX) + Math.abs(endZ - startZ) + 1;
+        ++currentQuery;
+        if (cellsToCheck > entries.size()) {
+            for (GridEntry entry : entries.values()) {
+                if (entry.box.intersects(vectorBounds)) {
+                    list.add(entry.entity);
+                }
+            }
+            return;
+        }
+
+        //Standard grid-walk.  Each step moves to whichever cell border the ray hits first.
+        double deltaX = endPoint.x - startPoint.x;
+        double deltaZ = endPoint.z - startPoint.z;
+        int stepX = deltaX > 0 ? 1 : -1;
+        int stepZ = deltaZ > 0 ? 1 : -1;
+        double tDeltaX = deltaX != 0 ? Math.abs(CELL_SIZE / deltaX) : Double.MAX_VALUE;
+        double tDeltaZ = deltaZ != 0 ? Math.abs(CELL_SIZE / deltaZ) : Double.MAX_VALUE;
+        double tMaxX = deltaX != 0 ? ((stepX > 0 ? (startX + 1) * CELL_SIZE : startX * CELL_SIZE) - startPoint.x) / deltaX : Double.MAX_VALUE;
+        double tMaxZ = deltaZ != 0 ? ((stepZ > 0 ? (startZ + 1) * CELL_SIZE : startZ * CELL_SIZE) - startPoint.z) / deltaZ : Double.MAX_VALUE;
+        int cellX = startX;
+        int cellZ = startZ;
+        for (int i = 0; i < cellsToCheck; ++i) {
+            List<GridEntry> cell = cells.get(getKey(cellX, cellZ));
+            if (cell != null) {
+                for (GridEntry entry : cell) {
+                    if (entry.lastQuery != currentQuery) {
+                        entry.lastQuery = currentQuery;
+                        if (entry.box.intersects(vectorBounds)) {
+                            list.add(entry.entity);
+                        }
+                    }
+                }
+            }
+            if (cellX == endX && cellZ == endZ) {
+                break;
+            } else if (cellX == endX) {
+                cellZ += stepZ;
+            } else if (cellZ == endZ) {
+                cellX += stepX;
+            } else if (tMaxX < tMaxZ) {
+                tMaxX += tDeltaX;
+                cellX += stepX;
+            } else {
+                tMaxZ += tDeltaZ;
+                cellZ += stepZ;
+            }
+        }
+    }
+
+    /**
+     * Populates the passed-in list with all entities whose position is inside the cone starting at the origin
+     * and pointing along the search vector.  The length of the search vector is the range of the cone, and the
+     * angle is the half-angle, in degrees, from the center-line of the cone to its edge.
+     */
+    public void populateInCone(List<? super EntityType> list, Point3D origin, Point3D searchVector, double coneAngle) {
+        double range = searchVector.length();
+        Point3D normalizedSearchVector = searchVector.copy().normalize();
+        Point3D lineOfSightVector = new Point3D();
+        for (GridEntry entry : getCandidates(origin.x - range, origin.z - range, origin.x + range, origin.z + range)) {
+            if (entry.box.globalCenter.isDistanceToCloserThan(origin, range)) {
+                lineOfSightVector.set(entry.box.globalCenter).subtract(origin).normalize();
+                double angle = Math.abs(Math.toDegrees(Math.acos(normalizedSearchVector.dotProduct(lineOfSightVector, false))));
+                if (angle < coneAngle) {
+                    list.add(entry.entity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns all entities in cells overlapping the passed-in XZ bounds, with no duplicates.
+     * If there would be more cells to check than entities, this just returns all entities.
+     */
+    private Collection<GridEntry> getCandidates(double minX, double minZ, double maxX, double maxZ) {
+        int minCellX = getCell(minX);
+        int maxCellX = getCell(maxX);
+        int minCellZ = getCell(minZ);
+        int maxCellZ = getCell(maxZ);
+        if ((long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1) > entries.size()) {
+            return entries.values();
+        }
+        List<GridEntry> candidates = new ArrayList<>();
+        ++currentQuery;
+        for (int x = minCellX; x <= maxCellX; ++x) {
+            for (int z = minCellZ; z <= maxCellZ; ++z) {
+                List<GridEntry> cell = cells.get(getKey(x, z));
+                if (cell != null) {
+                    for (GridEntry entry : cell) {
+                        if (entry.lastQuery != currentQuery) {
+                            entry.lastQuery = currentQuery;
+                            candidates.add(entry);
+                        }
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private void addToCells(GridEntry entry) {
+        for (int x = entry.minX; x <= entry.maxX; ++x) {
+            for (int z = entry.minZ; z <= entry.maxZ; ++z) {
+                cells.computeIfAbsent(getKey(x, z), k -> new ArrayList<>()).add(entry);
+            }
+        }
+    }
+
+    private void removeFromCells(GridEntry entry) {
+        for (int x = entry.minX; x <= entry.maxX; ++x) {
+            for (int z = entry.minZ; z <= entry.maxZ; ++z) {
+                long key = getKey(x, z);
+                List<GridEntry> cell = cells.get(key);
+                if (cell != null) {
+                    cell.remove(entry);
+                    if (cell.isEmpty()) {
+                        cells.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int getCell(double coord) {
+        return ((int) Math.floor(coord)) >> CELL_SHIFT;
+    }
+
+    private static long getKey(int cellX, int cellZ) {
+        return (((long) cellX) << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private class GridEntry {
+        private final EntityType entity;
+        private final BoundingBox box;
+        private int minX;
+        private int maxX;
+        private int minZ;
+        private int maxZ;
+        private int lastQuery;
+
+        private GridEntry(EntityType entity) {
+            this.entity = entity;
+            this.box = boxGetter.apply(entity);
+        }
+
+        private void setCells() {
+            minX = getCell(box.globalCenter.x - box.widthRadius);
+            maxX = getCell(box.globalCenter.x + box.widthRadius);
+            minZ = getCell(box.globalCenter.z - box.depthRadius);
+            maxZ = getCell(box.globalCenter.z + box.depthRadius);
+        }
+    }
+}
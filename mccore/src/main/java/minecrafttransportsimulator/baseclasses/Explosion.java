@@ -1,10 +1,9 @@
 package minecrafttransportsimulator.baseclasses;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 
 import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
@@ -30,6 +29,8 @@ import minecrafttransportsimulator.systems.LanguageSystem.LanguageEntry;
  */
 public class Explosion {
     private static final List<Explosion> lingeringExplosions = new ArrayList<>();
+    /**Explosions with block destruction still to do, in the order they went off.**/
+    private static final List<Explosion> pendingBlockExplosions = new ArrayList<>();
     private static final double DEFAULT_BLOCK_RADIUS_FACTOR = 2.0D;
     private static final double BLOCK_RADIUS_NOISE = 0.10D;
     private static final double BLOCK_STRENGTH_NOISE = 0.12D;
@@ -37,6 +38,7 @@ public class Explosion {
     private static final double LIQUID_HIT_FACE_EPSILON = 0.05D;
     private static final double MIN_PATH_LENGTH = 1.0E-7D;
     private static final double MIN_DROP_STRENGTH = 4.0D;
+    private static final int TIME_CHECK_INTERVAL = 0x3F;
 
     private final AWrapperWorld world;
     private final Point3D position;
@@ -62,6 +64,28 @@ public class Explosion {
     private final float blastStrengthY;
     private final float maxStrengthRadius;
 
+    //Block damage work state, kept between ticks.
+    private BlockPhase blockPhase;
+    private double blockRadiusXZ;
+    private double blockRadiusY;
+    private int minBlockX;
+    private int maxBlockX;
+    private int minBlockY;
+    private int maxBlockY;
+    private int minBlockZ;
+    private int maxBlockZ;
+    private int scanX;
+    private int scanY;
+    private int scanZ;
+    private int blockIndex;
+    private int blockWorkCount;
+    private LongHashSet blocksToDestroy;
+    /**Strength each block in blocksToDestroy was checked against, by index.  NaN if the block changed and wasn't destroyed.**/
+    private double[] blockStrengths;
+    private LongHashSet candidateBlocks;
+    private LongHashSet extraBlocksToDestroy;
+    private final Point3D blockPosition = new Point3D();
+
     //Knockback parameter.
     private final float knockback;
 
@@ -122,14 +146,15 @@ public class Explosion {
     }
 
     /**
-     * Executes the explosion: damages entities, destroys blocks, and schedules lingering effects.
+     * Executes the explosion: damages entities, destroys or queues block destruction, and schedules lingering effects.
+     * If explosions have a time limit per tick, large blasts may take a few ticks to finish destroying blocks.
      */
     public void doExplosion() {
         if (blastRadiusXZ > 0) {
             doEntityDamage();
         }
         if (blastStrength > 0 && ConfigSystem.settings.damage.bulletBlockBreaking.value && !isExplosionSubmerged()) {
-            doBlockDamage();
+            startBlockDamage();
         }
         if (effects != null && !effects.isEmpty() && remainingEffectTicks > 0) {
             lingeringExplosions.add(this);
@@ -254,165 +279,249 @@ public class Explosion {
     }
 
     /**
-     * Destroys blocks using an irregular ellipsoid.  Entity occlusion still uses raycasts,
+     * Sets up block destruction using an irregular ellipsoid.  Entity occlusion still uses raycasts,
      * but block damage is volume-based so high-power blasts do not leave ray-shaped scars.
+     * The actual work is done in {@link #doBlockDamage(long)}, either right away, or over as many ticks
+     * as needed if explosions have a time limit.
+     */
+    private void startBlockDamage() {
+        blockRadiusXZ = blastStrengthRadiusXZ > 0 ? blastStrengthRadiusXZ : blastStrength * DEFAULT_BLOCK_RADIUS_FACTOR;
+        blockRadiusY = blastStrengthY > 0 ? blastStrengthY : blockRadiusXZ;
+        double loopRadiusXZ = Math.max(blockRadiusXZ, maxStrengthRadius);
+        double loopRadiusY = Math.max(blockRadiusY, maxStrengthRadius);
+        minBlockX = (int) Math.floor(position.x - loopRadiusXZ);
+        maxBlockX = (int) Math.ceil(position.x + loopRadiusXZ);
+        minBlockY = (int) Math.floor(position.y - loopRadiusY);
+        maxBlockY = (int) Math.ceil(position.y + loopRadiusY);
+        minBlockZ = (int) Math.floor(position.z - loopRadiusXZ);
+        maxBlockZ = (int) Math.ceil(position.z + loopRadiusXZ);
+        scanX = minBlockX;
+        scanY = minBlockY;
+        scanZ = minBlockZ;
+        blocksToDestroy = new LongHashSet();
+        blockStrengths = new double[16];
+        blockPhase = BlockPhase.SCAN;
+        if (ConfigSystem.settings.damage.explosionTickTime.value > 0 || !pendingBlockExplosions.isEmpty()) {
+            pendingBlockExplosions.add(this);
+        } else {
+            //No time limit and nothing queued before us, so do it all now like a normal explosion.
+            doBlockDamage(Long.MAX_VALUE);
+            clearBlockDamage();
+        }
+    }
+
+    private void clearBlockDamage() {
+        blocksToDestroy = null;
+        blockStrengths = null;
+    }
+
+    /**
+     * Does block destruction work until it is done, or until the passed-in time in nanoseconds is reached.
+     * Returns true if all work is done.  All blocks are checked before any are destroyed, and blocks are always
+     * destroyed in the same order, so the result is the same as if this was all done in one tick.
      */
-    private void doBlockDamage() {
-        Set<Long> blocksToDestroy = new HashSet<>();
-        Point3D blockPos = new Point3D();
-
-        double radiusXZ = blastStrengthRadiusXZ > 0 ? blastStrengthRadiusXZ : blastStrength * DEFAULT_BLOCK_RADIUS_FACTOR;
-        double radiusY = blastStrengthY > 0 ? blastStrengthY : radiusXZ;
-        double innerRadiusSquared = maxStrengthRadius * maxStrengthRadius;
-        double loopRadiusXZ = Math.max(radiusXZ, maxStrengthRadius);
-        double loopRadiusY = Math.max(radiusY, maxStrengthRadius);
-        int minX = (int) Math.floor(position.x - loopRadiusXZ);
-        int maxX = (int) Math.ceil(position.x + loopRadiusXZ);
-        int minY = (int) Math.floor(position.y - loopRadiusY);
-        int maxY = (int) Math.ceil(position.y + loopRadiusY);
-        int minZ = (int) Math.floor(position.z - loopRadiusXZ);
-        int maxZ = (int) Math.ceil(position.z + loopRadiusXZ);
-
-        for (int blockX = minX; blockX <= maxX; ++blockX) {
-            for (int blockY = minY; blockY <= maxY; ++blockY) {
-                for (int blockZ = minZ; blockZ <= maxZ; ++blockZ) {
-                    double dx = blockX + 0.5D - position.x;
-                    double dy = blockY + 0.5D - position.y;
-                    double dz = blockZ + 0.5D - position.z;
-                    double distanceSquared = dx * dx + dy * dy + dz * dz;
-                    boolean isInnerBlock = maxStrengthRadius > 0 && distanceSquared <= innerRadiusSquared;
-                    double normalizedDistance = 0.0D;
-
-                    double edgeNoiseBlend = 0.0D;
-                    if (!isInnerBlock) {
-                        normalizedDistance = Math.sqrt((dx * dx + dz * dz) / (radiusXZ * radiusXZ) + (dy * dy) / (radiusY * radiusY));
-                        edgeNoiseBlend = getEdgeNoiseBlend(normalizedDistance);
-                        normalizedDistance += (getBlockNoise(blockX, blockY, blockZ) - 0.5D) * BLOCK_RADIUS_NOISE * edgeNoiseBlend;
-                        if (normalizedDistance > 1.0D) {
-                            continue;
+    private boolean doBlockDamage(long endTime) {
+        while (true) {
+            switch (blockPhase) {
+                case SCAN: {
+                    checkBlock(scanX, scanY, scanZ);
+                    if (++scanZ > maxBlockZ) {
+                        scanZ = minBlockZ;
+                        if (++scanY > maxBlockY) {
+                            scanY = minBlockY;
+                            if (++scanX > maxBlockX) {
+                                candidateBlocks = new LongHashSet(blocksToDestroy.size());
+                                blockPhase = BlockPhase.FIND_SMOOTHING;
+                            }
                         }
                     }
-
-                    blockPos.set(blockX, blockY, blockZ);
-                    if (world.isAir(blockPos)) {
-                        continue;
+                    break;
+                }
+                case FIND_SMOOTHING: {
+                    if (blockIndex < blocksToDestroy.size()) {
+                        long packedPos = blocksToDestroy.get(blockIndex++);
+                        int blockX = unpackX(packedPos);
+                        int blockY = unpackY(packedPos);
+                        int blockZ = unpackZ(packedPos);
+                        addSmoothingCandidate(blockX - 1, blockY, blockZ);
+                        addSmoothingCandidate(blockX + 1, blockY, blockZ);
+                        addSmoothingCandidate(blockX, blockY - 1, blockZ);
+                        addSmoothingCandidate(blockX, blockY + 1, blockZ);
+                        addSmoothingCandidate(blockX, blockY, blockZ - 1);
+                        addSmoothingCandidate(blockX, blockY, blockZ + 1);
+                    } else {
+                        blockIndex = 0;
+                        extraBlocksToDestroy = new LongHashSet();
+                        blockPhase = BlockPhase.SMOOTH;
                     }
-
-                    float hardness = world.getBlockHardness(blockPos);
-                    if (hardness <= 0 || hardness >= Float.MAX_VALUE) {
-                        continue;
+                    break;
+                }
+                case SMOOTH: {
+                    if (blockIndex < candidateBlocks.size()) {
+                        checkSmoothingCandidate(candidateBlocks.get(blockIndex++));
+                    } else {
+                        //Smoothed blocks are only added once all candidates are checked, since they aren't
+                        //supposed to count as open when checking the candidates next to them.
+                        for (int i = 0; i < extraBlocksToDestroy.size(); ++i) {
+                            addBlockToDestroy(extraBlocksToDestroy.get(i), blastStrength);
+                        }
+                        candidateBlocks = null;
+                        extraBlocksToDestroy = null;
+                        blockIndex = 0;
+                        blockPhase = BlockPhase.DESTROY;
                     }
-
-                    double localStrength = blastStrength;
-                    if (!isInnerBlock) {
-                        double falloff = 1.0D - Math.max(normalizedDistance, 0.0D);
-                        double strengthNoise = 1.0D + (getBlockNoise(blockX + 37, blockY - 19, blockZ + 53) - 0.5D) * BLOCK_STRENGTH_NOISE * edgeNoiseBlend;
-                        localStrength *= falloff * strengthNoise;
+                    break;
+                }
+                case DESTROY: {
+                    //Destroy collected blocks with chance-based drops like vanilla MC.
+                    //Blocks may have changed since they were checked, either from a prior tick or from breaking
+                    //the blocks before them, so check them again and skip any that can't be destroyed now.
+                    if (blockIndex < blocksToDestroy.size()) {
+                        long packedPos = blocksToDestroy.get(blockIndex);
+                        blockPosition.set(unpackX(packedPos), unpackY(packedPos), unpackZ(packedPos));
+                        if (canDestroyBlock(blockStrengths[blockIndex])) {
+                            boolean spawnDrops = Math.random() < 1.0D / Math.max(blastStrength, MIN_DROP_STRENGTH);
+                            world.destroyBlockQuietly(blockPosition, spawnDrops);
+                        } else {
+                            blockStrengths[blockIndex] = Double.NaN;
+                        }
+                        ++blockIndex;
+                    } else if (isIncendiary) {
+                        blockIndex = 0;
+                        blockPhase = BlockPhase.FIRE;
+                    } else {
+                        return true;
                     }
-
-                    if (hardness <= localStrength) {
-                        blocksToDestroy.add(packBlockPos(blockX, blockY, blockZ));
+                    break;
+                }
+                case FIRE: {
+                    //Set fire above destroyed blocks if incendiary.
+                    if (blockIndex < blocksToDestroy.size()) {
+                        if (!Double.isNaN(blockStrengths[blockIndex])) {
+                            long packedPos = blocksToDestroy.get(blockIndex);
+                            blockPosition.set(unpackX(packedPos), unpackY(packedPos), unpackZ(packedPos));
+                            world.setToFire(blockPosition, Axis.UP);
+                        }
+                        ++blockIndex;
+                    } else {
+                        return true;
                     }
+                    break;
                 }
             }
-        }
-        smoothDestroyedBlocks(blocksToDestroy);
 
-        //Destroy collected blocks with chance-based drops like vanilla MC.
-        double dropChance = 1.0D / Math.max(blastStrength, MIN_DROP_STRENGTH);
-        for (long packed : blocksToDestroy) {
-            blockPos.set(unpackX(packed), unpackY(packed), unpackZ(packed));
-            boolean spawnDrops = Math.random() < dropChance;
-            world.destroyBlockQuietly(blockPos, spawnDrops);
+            //Only check the time every so often, as getting it is slower than checking most blocks.
+            if ((++blockWorkCount & TIME_CHECK_INTERVAL) == 0 && System.nanoTime() >= endTime) {
+                return false;
+            }
         }
+    }
 
-        //Set fire above destroyed blocks if incendiary.
-        if (isIncendiary) {
-            for (long packed : blocksToDestroy) {
-                blockPos.set(unpackX(packed), unpackY(packed), unpackZ(packed));
-                world.setToFire(blockPos, Axis.UP);
+    private void checkBlock(int blockX, int blockY, int blockZ) {
+        double dx = blockX + 0.5D - position.x;
+        double dy = blockY + 0.5D - position.y;
+        double dz = blockZ + 0.5D - position.z;
+        double distanceSquared = dx * dx + dy * dy + dz * dz;
+        boolean isInnerBlock = maxStrengthRadius > 0 && distanceSquared <= maxStrengthRadius * maxStrengthRadius;
+        double normalizedDistance = 0.0D;
+
+        double edgeNoiseBlend = 0.0D;
+        if (!isInnerBlock) {
+            normalizedDistance = Math.sqrt((dx * dx + dz * dz) / (blockRadiusXZ * blockRadiusXZ) + (dy * dy) / (blockRadiusY * blockRadiusY));
+            edgeNoiseBlend = getEdgeNoiseBlend(normalizedDistance);
+            normalizedDistance += (getBlockNoise(blockX, blockY, blockZ) - 0.5D) * BLOCK_RADIUS_NOISE * edgeNoiseBlend;
+            if (normalizedDistance > 1.0D) {
+                return;
             }
         }
+
+        double localStrength = blastStrength;
+        if (!isInnerBlock) {
+            double falloff = 1.0D - Math.max(normalizedDistance, 0.0D);
+            double strengthNoise = 1.0D + (getBlockNoise(blockX + 37, blockY - 19, blockZ + 53) - 0.5D) * BLOCK_STRENGTH_NOISE * edgeNoiseBlend;
+            localStrength *= falloff * strengthNoise;
+        }
+
+        blockPosition.set(blockX, blockY, blockZ);
+        if (canDestroyBlock(localStrength)) {
+            addBlockToDestroy(packBlockPos(blockX, blockY, blockZ), localStrength);
+        }
     }
 
-    private void smoothDestroyedBlocks(Set<Long> blocksToDestroy) {
-        Set<Long> candidateBlocks = new HashSet<>();
-        for (long packedPos : blocksToDestroy) {
-            int blockX = unpackX(packedPos);
-            int blockY = unpackY(packedPos);
-            int blockZ = unpackZ(packedPos);
-            addSmoothingCandidate(candidateBlocks, blocksToDestroy, blockX - 1, blockY, blockZ);
-            addSmoothingCandidate(candidateBlocks, blocksToDestroy, blockX + 1, blockY, blockZ);
-            addSmoothingCandidate(candidateBlocks, blocksToDestroy, blockX, blockY - 1, blockZ);
-            addSmoothingCandidate(candidateBlocks, blocksToDestroy, blockX, blockY + 1, blockZ);
-            addSmoothingCandidate(candidateBlocks, blocksToDestroy, blockX, blockY, blockZ - 1);
-            addSmoothingCandidate(candidateBlocks, blocksToDestroy, blockX, blockY, blockZ + 1);
-        }
-
-        Set<Long> extraBlocksToDestroy = new HashSet<>();
-        Point3D blockPos = new Point3D();
-        Point3D neighborPos = new Point3D();
-        for (long packedPos : candidateBlocks) {
-            int blockX = unpackX(packedPos);
-            int blockY = unpackY(packedPos);
-            int blockZ = unpackZ(packedPos);
-
-            blockPos.set(blockX, blockY, blockZ);
-            if (world.isAir(blockPos)) {
-                continue;
-            }
+    /**
+     * Returns true if the block at {@link #blockPosition} isn't air, and is soft enough to be destroyed by the passed-in strength.
+     */
+    private boolean canDestroyBlock(double strength) {
+        if (world.isAir(blockPosition)) {
+            return false;
+        }
+        float hardness = world.getBlockHardness(blockPosition);
+        return hardness > 0 && hardness < Float.MAX_VALUE && hardness <= strength;
+    }
 
-            float hardness = world.getBlockHardness(blockPos);
-            if (hardness <= 0 || hardness >= Float.MAX_VALUE || hardness > blastStrength) {
-                continue;
+    private void addBlockToDestroy(long packedPos, double strength) {
+        if (blocksToDestroy.add(packedPos)) {
+            if (blocksToDestroy.size() > blockStrengths.length) {
+                blockStrengths = Arrays.copyOf(blockStrengths, blockStrengths.length * 2);
             }
+            blockStrengths[blocksToDestroy.size() - 1] = strength;
+        }
+    }
 
-            int openSides = 0;
-            int openHorizontalSides = 0;
-            boolean openBelow = isBlockOpen(blockX, blockY - 1, blockZ, blocksToDestroy, neighborPos);
-            if (openBelow) {
-                ++openSides;
-            }
-            if (isBlockOpen(blockX, blockY + 1, blockZ, blocksToDestroy, neighborPos)) {
-                ++openSides;
-            }
-            if (isBlockOpen(blockX - 1, blockY, blockZ, blocksToDestroy, neighborPos)) {
-                ++openSides;
-                ++openHorizontalSides;
-            }
-            if (isBlockOpen(blockX + 1, blockY, blockZ, blocksToDestroy, neighborPos)) {
-                ++openSides;
-                ++openHorizontalSides;
-            }
-            if (isBlockOpen(blockX, blockY, blockZ - 1, blocksToDestroy, neighborPos)) {
-                ++openSides;
-                ++openHorizontalSides;
-            }
-            if (isBlockOpen(blockX, blockY, blockZ + 1, blocksToDestroy, neighborPos)) {
-                ++openSides;
-                ++openHorizontalSides;
-            }
+    private void checkSmoothingCandidate(long packedPos) {
+        int blockX = unpackX(packedPos);
+        int blockY = unpackY(packedPos);
+        int blockZ = unpackZ(packedPos);
 
-            if (openSides >= 5 || (openBelow && openHorizontalSides >= 3)) {
-                extraBlocksToDestroy.add(packedPos);
-            }
+        blockPosition.set(blockX, blockY, blockZ);
+        if (!canDestroyBlock(blastStrength)) {
+            return;
+        }
+
+        int openSides = 0;
+        int openHorizontalSides = 0;
+        boolean openBelow = isBlockOpen(blockX, blockY - 1, blockZ);
+        if (openBelow) {
+            ++openSides;
+        }
+        if (isBlockOpen(blockX, blockY + 1, blockZ)) {
+            ++openSides;
+        }
+        if (isBlockOpen(blockX - 1, blockY, blockZ)) {
+            ++openSides;
+            ++openHorizontalSides;
+        }
+        if (isBlockOpen(blockX + 1, blockY, blockZ)) {
+            ++openSides;
+            ++openHorizontalSides;
+        }
+        if (isBlockOpen(blockX, blockY, blockZ - 1)) {
+            ++openSides;
+            ++openHorizontalSides;
+        }
+        if (isBlockOpen(blockX, blockY, blockZ + 1)) {
+            ++openSides;
+            ++openHorizontalSides;
+        }
+
+        if (openSides >= 5 || (openBelow && openHorizontalSides >= 3)) {
+            extraBlocksToDestroy.add(packedPos);
         }
-        blocksToDestroy.addAll(extraBlocksToDestroy);
     }
 
-    private static void addSmoothingCandidate(Set<Long> candidateBlocks, Set<Long> blocksToDestroy, int blockX, int blockY, int blockZ) {
+    private void addSmoothingCandidate(int blockX, int blockY, int blockZ) {
         long packedPos = packBlockPos(blockX, blockY, blockZ);
         if (!blocksToDestroy.contains(packedPos)) {
             candidateBlocks.add(packedPos);
         }
     }
 
-    private boolean isBlockOpen(int blockX, int blockY, int blockZ, Set<Long> blocksToDestroy, Point3D blockPos) {
+    private boolean isBlockOpen(int blockX, int blockY, int blockZ) {
         if (blocksToDestroy.contains(packBlockPos(blockX, blockY, blockZ))) {
             return true;
         }
-        blockPos.set(blockX, blockY, blockZ);
-        return world.isAir(blockPos);
+        blockPosition.set(blockX, blockY, blockZ);
+        return world.isAir(blockPosition);
     }
 
     private boolean isExplosionSubmerged() {
@@ -452,7 +561,7 @@ public class Explosion {
     }
 
     /**
-     * Packs block coordinates into a single long for use in HashSets.
+     * Packs block coordinates into a single long for use in {@link LongHashSet}s.
      */
     private static long packBlockPos(int x, int y, int z) {
         return ((long) (x & 0x3FFFFFF) << 38) | ((long) (y & 0xFFF) << 26) | (long) (z & 0x3FFFFFF);
@@ -606,6 +715,14 @@ public class Explosion {
         return delta.length() < MIN_PATH_LENGTH || world.getBlockHit(position, delta) == null;
     }
 
+    private static enum BlockPhase {
+        SCAN,
+        FIND_SMOOTHING,
+        SMOOTH,
+        DESTROY,
+        FIRE;
+    }
+
     private static class BlastHit {
         private BoundingBox box;
         private final Point3D hitPosition = new Point3D();
@@ -615,8 +732,27 @@ public class Explosion {
     /**
      * Ticks all lingering explosions for the given world.  Should be called once per server tick.
      * Applies potion effects to entities within the blast area and removes expired explosions.
+     * Also does block destruction for explosions in this world, up to the configured time per tick.
+     * Explosions are finished in the order they went off, so later blasts see the blocks earlier ones destroyed.
      */
     public static void tickLingeringExplosions(AWrapperWorld world) {
+        if (!pendingBlockExplosions.isEmpty()) {
+            int tickTime = ConfigSystem.settings.damage.explosionTickTime.value;
+            long endTime = tickTime > 0 ? System.nanoTime() + tickTime * 1000000L : Long.MAX_VALUE;
+            Iterator<Explosion> blockIterator = pendingBlockExplosions.iterator();
+            while (blockIterator.hasNext()) {
+                Explosion explosion = blockIterator.next();
+                if (explosion.world == world) {
+                    if (explosion.doBlockDamage(endTime)) {
+                        explosion.clearBlockDamage();
+                        blockIterator.remove();
+                    } else {
+                        break;
+                    }
+                }
+            }
+        }
+
         Iterator<Explosion> it = lingeringExplosions.iterator();
         while (it.hasNext()) {
             Explosion explosion = it.next();
@@ -630,9 +766,11 @@ public class Explosion {
     }
 
     /**
-     * Clears all lingering explosions for the given world.  Should be called when a world is unloaded.
+     * Clears all lingering explosions for the given world, including any block destruction that isn't done.
+     * Should be called when a world is unloaded.
      */
     public static void clearLingeringExplosions(AWrapperWorld world) {
+        pendingBlockExplosions.removeIf(explosion -> explosion.world == world);
         lingeringExplosions.removeIf(explosion -> explosion.world == world);
     }
 }
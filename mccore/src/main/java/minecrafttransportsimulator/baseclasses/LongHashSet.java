@@ -0,0 +1,127 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.Arrays;
+
+/**
+ * Set of primitive longs.  Used in place of a HashSet of Longs for things like packed block positions,
+ * where boxing every value would make large sets slow and heavy on memory.
+ * <br><br>
+ * Values are kept in the order they were added, and may be accessed by that index via {@link #get(int)}.
+ * This lets callers walk the set a bit at a time across multiple ticks without needing an iterator,
+ * and makes the order of the walk the same every time.  Values may not be removed.
+ *
+ * @author agent
+ */
+public class LongHashSet {
+    private long[] values;
+    /**Open-addressed table of indexes into values, offset by 1 so 0 is an empty slot.**/
+    private int[] table;
+    private int size;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int tableSize = 16;
+        while (tableSize * 3 / 4 < expectedSize) {
+            tableSize <<= 1;
+        }
+        values = new long[Math.max(expectedSize, 16)];
+        table = new int[tableSize];
+    }
+
+    /**
+     * Adds the value to this set.  Returns true if it was added, false if it was already in the set.
+     */
+    public boolean add(long value) {
+        int mask = table.length - 1;
+        int slot = hash(value) & mask;
+        while (table[slot] != 0) {
+            if (values[table[slot] - 1] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+        table[slot] = size;
+        if (size > table.length * 3 / 4) {
+            rehash(table.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Adds all values from the passed-in set to this set, in the order they were added to that set.
+     */
+    public void addAll(LongHashSet other) {
+        for (int i = 0; i < other.size; ++i) {
+            add(other.values[i]);
+        }
+    }
+
+    /**
+     * Returns true if the value is in this set.
+     */
+    public boolean contains(long value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Returns the index the value was added at, or -1 if the value is not in this set.
+     */
+    public int indexOf(long value) {
+        int mask = table.length - 1;
+        int slot = hash(value) & mask;
+        while (table[slot] != 0) {
+            if (values[table[slot] - 1] == value) {
+                return table[slot] - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value that was added at the passed-in index.
+     */
+    public long get(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+    }
+
+    private void rehash(int tableSize) {
+        table = new int[tableSize];
+        int mask = tableSize - 1;
+        for (int i = 0; i < size; ++i) {
+            int slot = hash(values[i]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+    }
+
+    private static int hash(long value) {
+        //Packed positions have most of their bits in the high and low ends, so mix them all in.
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        return (int) value;
+    }
+}
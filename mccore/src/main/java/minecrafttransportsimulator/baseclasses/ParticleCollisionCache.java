@@ -0,0 +1,91 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.Arrays;
+
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+
+/**
+ * Short-lived cache of world properties for particles using simple collision.  Rather than
+ * checking every block a particle's box touches, simple collision only checks the height of the
+ * ground in the particle's block column, and if the particle's block is liquid.  Since lots of
+ * particles are usually in the same few columns, these checks are cached here.
+ * <br><br>
+ * The cache is cleared every tick by the {@link EntityManager}, so block changes are seen by the
+ * next tick.  Each column stores the ground height found, and the height the ground was searched
+ * down from.  Everything between those two heights is known to be open, so any particle in that
+ * range can use the cached ground.  Particles above that range search again, and update the column.
+ *
+ * @author agent
+ */
+public class ParticleCollisionCache {
+    private final LongHashSet columns = new LongHashSet();
+    private double[] groundHeights = new double[16];
+    private double[] searchedHeights = new double[16];
+    private final LongHashSet checkedBlocks = new LongHashSet();
+    private final LongHashSet liquidBlocks = new LongHashSet();
+
+    /**
+     * Returns the height of the top of the ground below the passed-in position.
+     */
+    public double getGroundHeight(AWrapperWorld world, Point3D position) {
+        long key = getColumnKey((int) Math.floor(position.x), (int) Math.floor(position.z));
+        int index = columns.indexOf(key);
+        if (index != -1 && position.y <= searchedHeights[index] && position.y >= groundHeights[index]) {
+            return groundHeights[index];
+        }
+
+        double groundHeight = position.y - world.getHeight(position);
+        if (index == -1) {
+            columns.add(key);
+            index = columns.size() - 1;
+            if (index == groundHeights.length) {
+                groundHeights = Arrays.copyOf(groundHeights, index * 2);
+                searchedHeights = Arrays.copyOf(searchedHeights, index * 2);
+            }
+        } else if (position.y < groundHeights[index]) {
+            //Below the cached ground, likely in a cave.  Don't replace the surface with this.
+            return groundHeight;
+        }
+        groundHeights[index] = groundHeight;
+        searchedHeights[index] = position.y;
+        return groundHeight;
+    }
+
+    /**
+     * Returns true if the block at the passed-in position is liquid.
+     */
+    public boolean isBlockLiquid(AWrapperWorld world, Point3D position) {
+        long key = getBlockKey((int) Math.floor(position.x), (int) Math.floor(position.y), (int) Math.floor(position.z));
+        if (checkedBlocks.add(key)) {
+            if (world.isBlockLiquid(position)) {
+                liquidBlocks.add(key);
+                return true;
+            } else {
+                return false;
+            }
+        } else {
+            return liquidBlocks.contains(key);
+        }
+    }
+
+    /**
+     * Clears this cache.  Called every tick so the cache doesn't get stale.
+     */
+    public void clear() {
+        if (!columns.isEmpty()) {
+            columns.clear();
+        }
+        if (!checkedBlocks.isEmpty()) {
+            checkedBlocks.clear();
+            liquidBlocks.clear();
+        }
+    }
+
+    private static long getColumnKey(int x, int z) {
+        return (((long) x) << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static long getBlockKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (y & 0xFFF) << 26) | (long) (z & 0x3FFFFFF);
+    }
+}
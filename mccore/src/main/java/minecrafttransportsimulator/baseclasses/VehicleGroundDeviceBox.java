@@ -36,6 +36,7 @@ public class VehicleGroundDeviceBox {
     private final List<PartGroundDevice> groundDevices = new ArrayList<>();
     private final List<PartGroundDevice> liquidDevices = new ArrayList<>();
     private final Point3D solidBoxNormalPos = new Point3D();
+    private final List<EntityVehicleF_Physics> nearbyVehicles = new ArrayList<>();
 
     public boolean isBlockedVertically;
     public boolean contactedEntity;
@@ -426,8 +427,10 @@ public class VehicleGroundDeviceBox {
      */
     private boolean checkEntityCollisions(Point3D collisionMotion) {
         boolean didCollision = false;
-        for (EntityVehicleF_Physics otherVehicle : vehicle.world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
-            if (!otherVehicle.equals(vehicle) && vehicle.canCollideWith(otherVehicle) && !otherVehicle.collidedEntities.contains(vehicle) && otherVehicle.encompassingBox.intersects(solidBox)) {
+        nearbyVehicles.clear();
+        vehicle.world.populateWithVehiclesInBounds(nearbyVehicles, solidBox);
+        for (EntityVehicleF_Physics otherVehicle : nearbyVehicles) {
+            if (!otherVehicle.equals(vehicle) && vehicle.canCollideWith(otherVehicle) && !otherVehicle.collidedEntities.contains(vehicle)) {
                 //We know we could have hit this entity.  Check if we actually did.
                 BoundingBox collidingBox = null;
                 double boxCollisionDepth;
@@ -4,11 +4,13 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.DoublePredicate;
 
 import minecrafttransportsimulator.entities.instances.APart;
 import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
 import minecrafttransportsimulator.entities.instances.PartGroundDevice;
 import minecrafttransportsimulator.entities.instances.PartPropeller;
+import minecrafttransportsimulator.systems.ConfigSystem;
 
 /**
  * This class is a collection for a set of four vehicle ground device points.  This allows for less
@@ -17,6 +19,11 @@ import minecrafttransportsimulator.entities.instances.PartPropeller;
  * @author don_bruce
  */
 public class VehicleGroundDeviceCollection {
+    /**Smallest tolerance allowed for climbing, to prevent bad configs from doing lots of useless checks.**/
+    private static final double MIN_CLIMB_TOLERANCE = 0.001;
+    /**Max bisection checks for climbing, after the first check at the full climb speed.**/
+    private static final int MAX_CLIMB_CHECKS = 8;
+
     private final EntityVehicleF_Physics vehicle;
     private final VehicleGroundDeviceBox frontLeftGDB;
     private final VehicleGroundDeviceBox frontRightGDB;
@@ -492,37 +499,18 @@ public class VehicleGroundDeviceCollection {
             return;
         }
 
-        //Run though this loop until we have no collisions, or until we get a small enough delta.
-        double heightDeltaAttempted = vehicle.climbSpeedVar.currentValue;
-        double angleApplied = 0;
-        for (; heightDeltaAttempted > PartGroundDevice.groundDetectionOffset.y; heightDeltaAttempted -= vehicle.climbSpeedVar.currentValue / 4) {
-            angleApplied = Math.toDegrees(Math.asin(heightDeltaAttempted / furthestDelta));
-            if (!clockwiseRotation) {
-                angleApplied = -angleApplied;
-            }
-
-            //Set the box rotation transform.
-            //This is how the box will move given the rotation we are rotating the box about.
-            //This is done in the vehicle's local coordinates and applied to the box prior to vehicle offset.
-            transformApplied.resetTransforms();
-            transformApplied.setTranslation(originPoint);
-            if (pitch) {
-                rotationApplied.setToZero().rotateX(angleApplied);
-            } else {
-                rotationApplied.setToZero().rotateZ(angleApplied);
-            }
-            transformApplied.multiply(rotationApplied);
-            transformApplied.applyInvertedTranslation(originPoint);
-
-            //Check for collisions.
-            if (!checkCollisions || (testBox1.collidedWithTransform(transformApplied, groundMotion) && testBox2.collidedWithTransform(transformApplied, groundMotion))) {
-                break;
-            }
+        //Find the height delta to rotate by.
+        double heightDeltaApplied;
+        if (checkCollisions) {
+            heightDeltaApplied = getClimbHeightDelta(vehicle.climbSpeedVar.currentValue, ConfigSystem.settings.general.climbTolerance.value, PartGroundDevice.groundDetectionOffset.y, heightDelta -> isRotationClear(originPoint, testBox1, testBox2, heightDelta, furthestDelta, clockwiseRotation, pitch, groundMotion));
+        } else {
+            heightDeltaApplied = vehicle.climbSpeedVar.currentValue;
         }
 
         //Rotation is set to appropriate bounds, apply to vehicle and return linear movement.
-        //Don't do this if we didn't attempt any delta because we collided on everything.
-        if (heightDeltaAttempted != 0) {
+        //Don't do this if we didn't find any delta because we collided on everything.
+        if (heightDeltaApplied != 0) {
+            double angleApplied = setAppliedTransform(originPoint, heightDeltaApplied, furthestDelta, clockwiseRotation, pitch);
             if (pitch) {
                 vehicle.rotation.angles.x += angleApplied;
             } else {
@@ -534,4 +522,74 @@ public class VehicleGroundDeviceCollection {
             groundMotion.add(translationApplied);
         }
     }
+
+    /**
+     * Helper function for {@link #adjustAnglesMatrix(Point3D, VehicleGroundDeviceBox, VehicleGroundDeviceBox, boolean, boolean, boolean, Point3D)}.
+     * Returns the largest height delta, up to the climb speed, that the passed-in check says is clear.  The full climb speed
+     * is checked first, since that's what we want, and if it's clear there's nothing more to do.  If it isn't, this bisects
+     * between no delta and the full delta, keeping the highest delta that was clear, until it is within the tolerance.
+     * The range is halved every check, so this takes far fewer checks than stepping down by set amounts.
+     * <br><br>
+     * If no delta above 0 is clear, this does the same as the old stepping, which went down in quarters of the climb speed
+     * to just above the min height delta.  That means 0 is returned if not rotating is clear.  If that collides too,
+     * a quarter of the climb speed down is returned, provided that is still above the min height delta.
+     */
+    static double getClimbHeightDelta(double climbSpeed, double tolerance, double minHeightDelta, DoublePredicate rotationClear) {
+        if (rotationClear.test(climbSpeed)) {
+            return climbSpeed;
+        }
+        double clearHeightDelta = 0;
+        double collidedHeightDelta = climbSpeed;
+        tolerance = Math.max(tolerance, MIN_CLIMB_TOLERANCE);
+        for (int i = 0; i < MAX_CLIMB_CHECKS && collidedHeightDelta - clearHeightDelta > tolerance; ++i) {
+            double heightDeltaAttempted = (clearHeightDelta + collidedHeightDelta) / 2;
+            if (rotationClear.test(heightDeltaAttempted)) {
+                clearHeightDelta = heightDeltaAttempted;
+            } else {
+                collidedHeightDelta = heightDeltaAttempted;
+            }
+        }
+        if (clearHeightDelta == 0) {
+            double lowerHeightDelta = -climbSpeed / 4;
+            if (lowerHeightDelta > minHeightDelta && !rotationClear.test(0)) {
+                return lowerHeightDelta;
+            }
+        }
+        return clearHeightDelta;
+    }
+
+    /**
+     * Helper function for {@link #adjustAnglesMatrix(Point3D, VehicleGroundDeviceBox, VehicleGroundDeviceBox, boolean, boolean, boolean, Point3D)}.
+     * Returns true if neither box collides when rotated to raise the furthest point by the passed-in height delta.
+     */
+    private boolean isRotationClear(Point3D originPoint, VehicleGroundDeviceBox testBox1, VehicleGroundDeviceBox testBox2, double heightDelta, double furthestDelta, boolean clockwiseRotation, boolean pitch, Point3D groundMotion) {
+        setAppliedTransform(originPoint, heightDelta, furthestDelta, clockwiseRotation, pitch);
+        return testBox1.collidedWithTransform(transformApplied, groundMotion) && testBox2.collidedWithTransform(transformApplied, groundMotion);
+    }
+
+    /**
+     * Helper function for {@link #adjustAnglesMatrix(Point3D, VehicleGroundDeviceBox, VehicleGroundDeviceBox, boolean, boolean, boolean, Point3D)}.
+     * Sets the applied transform to rotate about the origin to raise the furthest point by the passed-in height delta.
+     * Returns the angle of that rotation.
+     */
+    private double setAppliedTransform(Point3D originPoint, double heightDelta, double furthestDelta, boolean clockwiseRotation, boolean pitch) {
+        double angleApplied = Math.toDegrees(Math.asin(heightDelta / furthestDelta));
+        if (!clockwiseRotation) {
+            angleApplied = -angleApplied;
+        }
+
+        //Set the box rotation transform.
+        //This is how the box will move given the rotation we are rotating the box about.
+        //This is done in the vehicle's local coordinates and applied to the box prior to vehicle offset.
+        transformApplied.resetTransforms();
+        transformApplied.setTranslation(originPoint);
+        if (pitch) {
+            rotationApplied.setToZero().rotateX(angleApplied);
+        } else {
+            rotationApplied.setToZero().rotateZ(angleApplied);
+        }
+        transformApplied.multiply(rotationApplied);
+        transformApplied.applyInvertedTranslation(originPoint);
+        return angleApplied;
+    }
 }
@@ -332,6 +332,11 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent> {
         }
     }
 
+    @Override
+    protected void updateRenderStates(float partialTicks) {
+        //Don't call super, we don't render the normal model so there are no lights or particles to update.
+    }
+
     @Override
     protected void renderModel(TransformationMatrix transform, boolean blendingEnabled, float partialTicks) {
         //Don't call super, we don't want to render the normal way.
@@ -345,13 +350,13 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent> {
                             List<RenderableVertices> parsedModel = AModelParser.parseModel(componentItem.definition.getModelLocation(componentItem.subDefinition), true);
                             int totalVertices = 0;
                             for (RenderableVertices object : parsedModel) {
-                                totalVertices += object.vertices.capacity();
+                                totalVertices += object.getVertexCount() * 8;
                             }
 
                             //Cache the model now that we know how big it is.
                             FloatBuffer totalModel = FloatBuffer.allocate(totalVertices);
                             for (RenderableVertices object : parsedModel) {
-                                totalModel.put(object.vertices);
+                                object.putTris(totalModel);
                             }
                             totalModel.flip();
                             RenderableData renderable = new RenderableData(new RenderableVertices(component.name(), totalModel, true), componentItem.definition.getTextureLocation(componentItem.subDefinition, 0));
@@ -363,12 +368,11 @@ public class TileEntityRoad extends ATileEntityBase<JSONRoadComponent> {
                             List<RenderableVertices> parsedModel = AModelParser.parseModel(componentItem.definition.getModelLocation(componentItem.subDefinition), true);
                             int totalVertices = 0;
                             for (RenderableVertices object : parsedModel) {
-                                totalVertices += object.vertices.capacity();
+                                totalVertices += object.getVertexCount() * 8;
                             }
                             FloatBuffer parsedVertices = FloatBuffer.allocate(totalVertices);
                             for (RenderableVertices object : parsedModel) {
-                                parsedVertices.put(object.vertices);
-                                object.vertices.rewind();//Rewind after put since this might be used on other road segments.
+                                object.putTris(parsedVertices);
                             }
                             parsedVertices.flip();
 
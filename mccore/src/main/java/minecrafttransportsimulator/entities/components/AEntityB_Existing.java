@@ -22,6 +22,7 @@ import minecrafttransportsimulator.packets.instances.PacketEntityRiderChange;
 import minecrafttransportsimulator.sound.SoundInstance;
 import minecrafttransportsimulator.systems.CameraSystem;
 import minecrafttransportsimulator.systems.CameraSystem.CameraMode;
+import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.MouseFlightController;
 
 /**
@@ -373,7 +374,7 @@ public abstract class AEntityB_Existing extends AEntityA_Base {
             rider.getPitchDelta();
             rider.setRiding(this);
             if (!world.isClient()) {
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityRiderChange(this, rider, facesForwards));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityRiderChange(this, rider, facesForwards), this);
             }
             return true;
         }
@@ -385,7 +386,7 @@ public abstract class AEntityB_Existing extends AEntityA_Base {
     public void removeRider() {
         rider.setRiding(null);
         if (!world.isClient()) {
-            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityRiderChange(this, rider));
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityRiderChange(this, rider), this);
         }
         rider = null;
         riderIsClient = false;
@@ -456,6 +457,17 @@ public abstract class AEntityB_Existing extends AEntityA_Base {
         }
     }
 
+    /**
+     * Returns true if the player is close enough to this entity to be sent packets for it.
+     * MC tracks entities by horizontal distance, so height is ignored here, and the X and Z
+     * distances are checked separately so we never leave out a player MC is tracking this entity for.
+     */
+    public boolean isInTrackingRange(IWrapperPlayer player) {
+        double radius = ConfigSystem.settings.general.packetTrackingRadius.value;
+        Point3D playerPosition = player.getPosition();
+        return Math.abs(playerPosition.x - position.x) <= radius && Math.abs(playerPosition.z - position.z) <= radius;
+    }
+
     /**
      * Returns true if this entity can collide with the passed-in entity.  Normally this is false, but there
      * are times where entities should affect collision.
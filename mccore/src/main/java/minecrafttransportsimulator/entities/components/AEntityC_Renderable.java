@@ -1,5 +1,6 @@
 package minecrafttransportsimulator.entities.components;
 
+import minecrafttransportsimulator.baseclasses.EntityManager;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
@@ -32,6 +33,12 @@ public abstract class AEntityC_Renderable extends AEntityB_Existing {
 
     public int worldLightValue;
 
+    /**
+     * True if this entity was culled for the current frame and shouldn't render its model.
+     * Set by {@link EntityManager#cullRenderableEntities()}.
+     */
+    public boolean isCulled;
+
     /**
      * Constructor for synced entities
      **/
@@ -71,41 +78,47 @@ public abstract class AEntityC_Renderable extends AEntityB_Existing {
     public final void render(boolean blendingEnabled, float partialTicks) {
         //If we need to render, do so now.
         if (!disableRendering()) {
-
-            //Get interpolated orientation if required.
-            world.beginProfiling("RenderSetup", true);
-            if (requiresDeltaUpdates()) {
-                getInterpolatedOrientation(interpolatedOrientationHolder, partialTicks);
-            } else {
-                interpolatedOrientationHolder.set(orientation);
-            }
-
-            //Set up matrixes.
-            translatedMatrix.resetTransforms();
-            if (requiresDeltaUpdates()) {
-                interpolatedPositionHolder.set(prevPosition).interpolate(position, partialTicks).subtract(position);
-                translatedMatrix.setTranslation(interpolatedPositionHolder);
-            }
-            rotatedMatrix.set(translatedMatrix);
-            rotatedMatrix.applyRotation(interpolatedOrientationHolder);
-            interpolatedScaleHolder.set(scale).subtract(prevScale).scale(partialTicks).add(prevScale);
-            rotatedMatrix.applyScaling(interpolatedScaleHolder);
-            world.endProfiling();
-
-            //Render the main model.
-            renderModel(rotatedMatrix, blendingEnabled, partialTicks);
-
-            //End rotation render matrix.
-            //Render holoboxes.
-            if (blendingEnabled) {
-                renderHolographicBoxes(translatedMatrix);
-            }
-
-            //Render bounding boxes.
-            if (!blendingEnabled && InterfaceManager.renderingInterface.shouldRenderBoundingBoxes()) {
-                world.beginProfiling("BoundingBoxes", true);
-                renderBoundingBoxes(translatedMatrix);
+            //Update states that don't depend on us being seen.  Lights, particles, and sounds all need
+            //to keep going if we are culled, since their effects can still be seen or heard on-screen.
+            updateRenderStates(partialTicks);
+
+            //If we are culled, skip the model, text, and boxes.
+            if (!isCulled) {
+                //Get interpolated orientation if required.
+                world.beginProfiling("RenderSetup", true);
+                if (requiresDeltaUpdates()) {
+                    getInterpolatedOrientation(interpolatedOrientationHolder, partialTicks);
+                } else {
+                    interpolatedOrientationHolder.set(orientation);
+                }
+
+                //Set up matrixes.
+                translatedMatrix.resetTransforms();
+                if (requiresDeltaUpdates()) {
+                    interpolatedPositionHolder.set(prevPosition).interpolate(position, partialTicks).subtract(position);
+                    translatedMatrix.setTranslation(interpolatedPositionHolder);
+                }
+                rotatedMatrix.set(translatedMatrix);
+                rotatedMatrix.applyRotation(interpolatedOrientationHolder);
+                interpolatedScaleHolder.set(scale).subtract(prevScale).scale(partialTicks).add(prevScale);
+                rotatedMatrix.applyScaling(interpolatedScaleHolder);
                 world.endProfiling();
+
+                //Render the main model.
+                renderModel(rotatedMatrix, blendingEnabled, partialTicks);
+
+                //End rotation render matrix.
+                //Render holoboxes.
+                if (blendingEnabled) {
+                    renderHolographicBoxes(translatedMatrix);
+                }
+
+                //Render bounding boxes.
+                if (!blendingEnabled && InterfaceManager.renderingInterface.shouldRenderBoundingBoxes()) {
+                    world.beginProfiling("BoundingBoxes", true);
+                    renderBoundingBoxes(translatedMatrix);
+                    world.endProfiling();
+                }
             }
 
             //Handle sounds.  These will be partial-tick only ones.
@@ -116,6 +129,14 @@ public abstract class AEntityC_Renderable extends AEntityB_Existing {
         }
     }
 
+    /**
+     * Called every render, even if this entity is culled, before any model rendering is done.
+     * Use this for things that need to be updated every frame regardless of if the model is seen,
+     * such as light states and particle spawning.
+     */
+    protected void updateRenderStates(float partialTicks) {
+    }
+
     /**
      * If rendering needs to be skipped for any reason, return true here.
      */
@@ -124,6 +145,14 @@ public abstract class AEntityC_Renderable extends AEntityB_Existing {
         return ticksExisted == 0;
     }
 
+    /**
+     * Returns how far past its bounds this entity can render things, such as light beams.
+     * Culling pads the bounds by this so those things don't vanish when the entity is just off-screen.
+     */
+    public double getRenderPadding() {
+        return 0;
+    }
+
     /**
      * Called to render the main model.  At this point the matrix state will be aligned
      * to the position and rotation of the entity relative to the player-camera.
@@ -5,7 +5,6 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -23,6 +22,7 @@ import minecrafttransportsimulator.baseclasses.TransformationMatrix;
 import minecrafttransportsimulator.blocks.components.ABlockBase.BlockMaterial;
 import minecrafttransportsimulator.entities.instances.APart;
 import minecrafttransportsimulator.entities.instances.EntityParticle;
+import minecrafttransportsimulator.entities.instances.EntityParticleManager;
 import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
 import minecrafttransportsimulator.entities.instances.PartSeat;
 import minecrafttransportsimulator.items.components.AItemPack;
@@ -34,7 +34,9 @@ import minecrafttransportsimulator.jsondefs.JSONAnimatedObject;
 import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition;
 import minecrafttransportsimulator.jsondefs.JSONCameraObject;
 import minecrafttransportsimulator.jsondefs.JSONLight;
+import minecrafttransportsimulator.jsondefs.JSONLight.JSONLightBlendableComponent;
 import minecrafttransportsimulator.jsondefs.JSONParticle;
+import minecrafttransportsimulator.jsondefs.JSONRendering.LODModel;
 import minecrafttransportsimulator.jsondefs.JSONRendering.ModelType;
 import minecrafttransportsimulator.jsondefs.JSONSound;
 import minecrafttransportsimulator.jsondefs.JSONSubDefinition;
@@ -52,6 +54,7 @@ import minecrafttransportsimulator.rendering.DurationDelayClock;
 import minecrafttransportsimulator.rendering.RenderText;
 import minecrafttransportsimulator.rendering.RenderableModelObject;
 import minecrafttransportsimulator.sound.SoundInstance;
+import minecrafttransportsimulator.sound.SoundLoader;
 import minecrafttransportsimulator.systems.CameraSystem;
 import minecrafttransportsimulator.systems.CameraSystem.CameraMode;
 import minecrafttransportsimulator.systems.ConfigSystem;
@@ -95,6 +98,11 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      * Map of computed variables.  These are computed using logic and need to be re-created on core entity makeup changes.
      **/
     protected final Map<String, ComputedVariable> computedVariables = new HashMap<>();
+    /**
+     * Incremented every time variables are added or reset.  Used by {@link DurationDelayClock}s to know when
+     * the variable they have bound is no longer valid and needs to be looked up again.
+     **/
+    private int variableVersion;
 
     private final List<JSONSound> allSoundDefs = new ArrayList<>();
     private final Map<JSONSound, AnimationSwitchbox> soundActiveSwitchboxes = new HashMap<>();
@@ -147,6 +155,23 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      **/
     private List<RenderableModelObject> objectList;
 
+    /**
+     * Object lists for the level of detail models, in the same order as the definition.  Entries are null until used.
+     **/
+    private List<List<RenderableModelObject>> lodObjectLists;
+
+    /**
+     * True if this entity is far enough away from the camera that interior details like instruments,
+     * text, and interior windows shouldn't render.  Set every frame in {@link #renderModel(TransformationMatrix, boolean, float)}.
+     **/
+    public boolean renderReducedDetail;
+
+    /**
+     * Model objects smaller than this in all dimensions won't render, as they would be too small to see.
+     * Set every frame in {@link #renderModel(TransformationMatrix, boolean, float)}.
+     **/
+    public double minRenderObjectSize;
+
     /**
      * List of players interacting with this entity via a GUI.
      **/
@@ -176,6 +201,8 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 
     public static final String REPAIRED_NAME = "repaired";
     private static final int DEFAULT_GUI_TEXT_FADE_TICKS = 7;
+    /**Objects smaller than this times the camera distance are only a few pixels on-screen at normal FOVs and resolutions.**/
+    private static final double LOD_SMALL_OBJECT_FACTOR = 1D / 256D;
 
     /**
      * Constructor for synced entities
@@ -292,6 +319,11 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
                         soundPitchSwitchboxes.put(soundDef, new SoundSwitchbox(this, soundDef.pitchAnimations));
                     }
                 }
+
+                //Pre-load our sounds when we spawn on clients, so they don't start late when they first play.
+                if (world.isClient()) {
+                    SoundLoader.preloadSounds(allSoundDefs);
+                }
             }
 
             if (definition.rendering.lightObjects != null) {
@@ -378,7 +410,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
             } else {
                 for (IWrapperPlayer player : playersInteracting) {
                     if (!player.isValid() || !player.getWorld().equals(world)) {
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketEntityInteractGUI(this, player, false));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityInteractGUI(this, player, false), this);
                         playersInteracting.remove(player);
                         break;
                     }
@@ -389,17 +421,13 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 
         //Only update radar once a second, and only if we requested it via variables.
         if (definition.general.radarRange > 0 && ticksExisted % 20 == 0) {
-            Collection<EntityVehicleF_Physics> allVehicles = world.getEntitiesOfType(EntityVehicleF_Physics.class);
+            List<EntityVehicleF_Physics> vehiclesInRange = new ArrayList<>();
             aircraftOnRadar.clear();
             groundersOnRadar.clear();
-            Point3D searchVector = new Point3D();
-            Point3D LOSVector = new Point3D();
-            for (EntityVehicleF_Physics vehicle : allVehicles) {
-                searchVector.set(0, 0, definition.general.radarRange).rotate(orientation);
-                LOSVector.set(vehicle.position).subtract(position).normalize();
-                double coneAngle = definition.general.radarWidth;
-                double angle = Math.abs(Math.toDegrees(Math.acos(searchVector.normalize().dotProduct(LOSVector, false))));
-                if (!vehicle.outOfHealth && vehicle != this && (angle < coneAngle && vehicle.position.isDistanceToCloserThan(position, definition.general.radarRange))) {
+            Point3D searchVector = new Point3D(0, 0, definition.general.radarRange).rotate(orientation);
+            world.populateWithVehiclesInCone(vehiclesInRange, position, searchVector, definition.general.radarWidth);
+            for (EntityVehicleF_Physics vehicle : vehiclesInRange) {
+                if (!vehicle.outOfHealth && vehicle != this) {
                     if (vehicle.definition.motorized.isAircraft) {
                         aircraftOnRadar.add(vehicle);
                     } else {
@@ -483,6 +511,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
                 if (objectList != null) {
                     objectList.forEach(object -> object.destroy());
                 }
+                destroyLODModels();
             }
         }
     }
@@ -522,6 +551,23 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         return ConfigSystem.client.renderingSettings.brightLights.value;
     }
 
+    @Override
+    public double getRenderPadding() {
+        double padding = 0;
+        if (definition.rendering != null && definition.rendering.lightObjects != null) {
+            for (JSONLight lightDef : definition.rendering.lightObjects) {
+                if (lightDef.blendableComponents != null) {
+                    for (JSONLightBlendableComponent component : lightDef.blendableComponents) {
+                        if (component.beamDiameter > 0 && component.beamLength > padding) {
+                            padding = component.beamLength;
+                        }
+                    }
+                }
+            }
+        }
+        return padding;
+    }
+
     /**
      * Returns the color for the text on this entity.  This takes into account the passed-in index.
      * If a color exists at the index, it is returned.  If not, then the passed-in color is returned.
@@ -611,7 +657,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
                             if (particleDef.spawningOrientation == JSONParticle.ParticleSpawningOrientation.STREAK) {
                                 angles = spawningPosition.copy().subtract(lastParticlePosition).getAngles(true);
                             }
-                            world.addEntity(new EntityParticle(this, particleDef, spawningPosition, angles, spawningSwitchbox));
+                            EntityParticleManager.spawnParticle(this, particleDef, spawningPosition, angles, spawningSwitchbox);
                         }
                         lastParticlePosition.set(spawningPosition);
                     }
@@ -620,7 +666,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
                     Long particleSpawnTime = lastTickParticleSpawned.get(particleDef);
                     if (particleSpawnTime == null || (particleDef.spawnEveryTick && ticksExisted > particleSpawnTime)) {
                         for (int i = 0; i < particleDef.quantity; ++i) {
-                            world.addEntity(new EntityParticle(this, particleDef, position, null, spawningSwitchbox));
+                            EntityParticleManager.spawnParticle(this, particleDef, position, null, spawningSwitchbox);
                         }
                         lastTickParticleSpawned.put(particleDef, ticksExisted);
                     }
@@ -1159,7 +1205,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      * the scale parameter as only the variable value should be scaled, not the offset..
      */
     public final double getAnimatedVariableValue(DurationDelayClock clock, double scaleFactor, double offset, float partialTicks) {
-        double value = getOrCreateVariable(clock.animation.variable).computeValue(partialTicks);
+        double value = clock.getVariable(this).computeValue(partialTicks);
         return clock.clampAndScale(this, value, scaleFactor, offset, partialTicks);
     }
 
@@ -1196,6 +1242,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
     }
     
     public void addVariable(ComputedVariable variable) {
+        ++variableVersion;
         computedVariables.put(variable.variableKey, variable);
         if (variable.invertedVariable != null) {
             computedVariables.put(variable.invertedVariable.variableKey, variable.invertedVariable);
@@ -1203,9 +1250,18 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
     }
 
     public void resetAllVariables() {
+        ++variableVersion;
         computedVariables.entrySet().removeIf(entry -> entry.getValue().entity != this || entry.getValue().shouldReset);
     }
 
+    /**
+     * Returns the current variable version.  If this changes, any references to variables
+     * obtained from {@link #getOrCreateVariable(String)} may no longer be valid.
+     */
+    public int getVariableVersion() {
+        return variableVersion;
+    }
+
     public boolean containsVariable(String variable) {
         return computedVariables.containsKey(variable);
     }
@@ -1372,38 +1428,48 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
     }
 
     @Override
-    protected void renderModel(TransformationMatrix transform, boolean blendingEnabled, float partialTicks) {
+    protected void updateRenderStates(float partialTicks) {
         //Update internal lighting states.
         world.beginProfiling("LightStateUpdates", true);
         updateLightBrightness(partialTicks);
 
-        //Parse model if it hasn't been already.
-        world.beginProfiling("MainModel", false);
-        if (objectList == null) {
-            objectList = AModelParser.generateRenderables(this);
+        //Handle particles.  Need to only do this once per frame-render.  Shaders may have us render multiple times.
+        if (!InterfaceManager.clientInterface.isGamePaused() && !(ticksExisted == lastTickParticlesSpawned && partialTicks == lastPartialTickParticlesSpawned)) {
+            world.beginProfiling("Particles", false);
+            spawnParticles(partialTicks);
+            lastTickParticlesSpawned = ticksExisted;
+            lastPartialTickParticlesSpawned = partialTicks;
         }
+        world.endProfiling();
+    }
+
+    @Override
+    protected void renderModel(TransformationMatrix transform, boolean blendingEnabled, float partialTicks) {
+        //Set level of detail based on how far we are from the camera.
+        double cameraDistance = position.distanceTo(InterfaceManager.clientInterface.getCameraPosition());
+        double detailDistance = ConfigSystem.client.renderingSettings.lodDetailDistance.value;
+        double smallObjectDistance = ConfigSystem.client.renderingSettings.lodSmallObjectDistance.value;
+        renderReducedDetail = detailDistance > 0 && cameraDistance > detailDistance;
+        minRenderObjectSize = smallObjectDistance > 0 && cameraDistance > smallObjectDistance ? cameraDistance * LOD_SMALL_OBJECT_FACTOR : 0;
+
+        //Parse model if it hasn't been already.
+        world.beginProfiling("MainModel", true);
+        List<RenderableModelObject> renderList = getObjectList(cameraDistance);
 
         //Render model object individually.
-        objectList.forEach(modelObject -> modelObject.render(this, transform, blendingEnabled, partialTicks));
+        renderList.forEach(modelObject -> modelObject.render(this, transform, blendingEnabled, partialTicks));
 
         //Render any static text.
         world.beginProfiling("MainText", false);
         for (Entry<JSONText, String> textEntry : text.entrySet()) {
             JSONText textDef = textEntry.getKey();
-            if (textDef.attachedTo == null) {
+            if (textDef.attachedTo == null && !renderReducedDetail) {
                 boolean isLitTexture = textDef.lightsUp && renderTextLit();
                 if (isLitTexture ? (ConfigSystem.client.renderingSettings.lightsTransp.value == blendingEnabled) : (!blendingEnabled)) {
-                    RenderText.draw3DText(textEntry.getValue(), this, transform, textDef, false, isLitTexture);
+                    RenderText.drawRetained3DText(textEntry.getValue(), this, transform, textDef, isLitTexture);
                 }
             }
         }
-        //Handle particles.  Need to only do this once per frame-render.  Shaders may have us render multiple times.
-        if (!InterfaceManager.clientInterface.isGamePaused() && !(ticksExisted == lastTickParticlesSpawned && partialTicks == lastPartialTickParticlesSpawned)) {
-            world.beginProfiling("Particles", false);
-            spawnParticles(partialTicks);
-            lastTickParticlesSpawned = ticksExisted;
-            lastPartialTickParticlesSpawned = partialTicks;
-        }
         world.endProfiling();
     }
 
@@ -1422,7 +1488,48 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
                 objectList.forEach(object -> object.destroy());
                 objectList = null;
             }
+            destroyLODModels();
+        }
+    }
+
+    private void destroyLODModels() {
+        if (lodObjectLists != null) {
+            for (List<RenderableModelObject> lodObjectList : lodObjectLists) {
+                if (lodObjectList != null) {
+                    lodObjectList.forEach(object -> object.destroy());
+                }
+            }
+            lodObjectLists = null;
+        }
+    }
+
+    /**
+     * Returns the object list to render for the passed-in camera distance.  This is the main model
+     * unless we have level of detail models and are far enough away to use one.
+     */
+    private List<RenderableModelObject> getObjectList(double cameraDistance) {
+        if (objectList == null) {
+            objectList = AModelParser.generateRenderables(this);
+        }
+        List<RenderableModelObject> renderList = objectList;
+        if (definition.rendering.lodModels != null) {
+            if (lodObjectLists == null) {
+                lodObjectLists = new ArrayList<>();
+                definition.rendering.lodModels.forEach(lodModel -> lodObjectLists.add(null));
+            }
+            double bestDistance = 0;
+            for (int i = 0; i < definition.rendering.lodModels.size(); ++i) {
+                LODModel lodModel = definition.rendering.lodModels.get(i);
+                if (cameraDistance >= lodModel.distance && lodModel.distance >= bestDistance) {
+                    if (lodObjectLists.get(i) == null) {
+                        lodObjectLists.set(i, AModelParser.generateRenderables(this, definition.getLODModelLocation(lodModel)));
+                    }
+                    renderList = lodObjectLists.get(i);
+                    bestDistance = lodModel.distance;
+                }
+            }
         }
+        return renderList;
     }
 
     @Override
@@ -637,7 +637,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
 
             //If we are on the server, and need to notify clients, do so.
             if (sendPacket && !world.isClient()) {
-                InterfaceManager.packetInterface.sendToAllClients(new PacketPartChange_Add(this, part));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartChange_Add(this, part), this);
             }
         }
 
@@ -677,7 +677,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
 
             //If we are on the server, notify all clients of this change.
             if (!world.isClient() && notifyClients) {
-                InterfaceManager.packetInterface.sendToAllClients(new PacketPartChange_Remove(part, doFinalTick));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartChange_Remove(part, doFinalTick), part);
             }
 
             //Let parts know a change was made.
@@ -897,6 +897,17 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
             }
         }
         encompassingBox.updateToEntity(this, null);
+        world.updateEntityBounds(this);
+    }
+
+    @Override
+    public double getRenderPadding() {
+        //Parts are culled with us, so we need to pad for their beams too.
+        double padding = super.getRenderPadding();
+        for (APart part : allParts) {
+            padding = Math.max(padding, part.getRenderPadding());
+        }
+        return padding;
     }
 
     @Override
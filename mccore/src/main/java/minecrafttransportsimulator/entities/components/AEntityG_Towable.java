@@ -535,7 +535,7 @@ public abstract class AEntityG_Towable<JSONDefinition extends AJSONPartProvider>
         //Handle connection update requests.
         if (!world.isClient()) {
             if (notifyClient) {
-                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityTowingChange(this, connection));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityTowingChange(this, connection), this);
             }
         } else if (AGUIBase.activeInputGUI instanceof GUIPanel) {
             ((GUIPanel) AGUIBase.activeInputGUI).handleConnectionChange(connection);
@@ -561,7 +561,7 @@ public abstract class AEntityG_Towable<JSONDefinition extends AJSONPartProvider>
         connection.towedVehicle.parkingBrakeVar.setTo(1, false);
 
         if (!world.isClient()) {
-            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityTowingChange(this, connectionIndex));
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityTowingChange(this, connectionIndex), this);
         } else if (AGUIBase.activeInputGUI instanceof GUIPanel) {
             ((GUIPanel) AGUIBase.activeInputGUI).handleConnectionChange(connection);
         }
@@ -28,9 +28,9 @@ import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IWrapperEntity;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
-import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.packets.instances.PacketPlayerChatMessage;
-import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovement;
+import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovementBatch;
+import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovementBatch.VehicleMovement;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.LanguageSystem;
 
@@ -93,6 +93,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
     private final Point3D serverDeltaMApplied = new Point3D();
     private final Point3D serverDeltaRApplied = new Point3D();
     private double serverDeltaPApplied;
+    private final long[] serverDeltaStepsSent;
 
     private final Point3D clientDeltaM;
     private final Point3D clientDeltaR;
@@ -131,6 +132,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
             this.serverDeltaR = new Point3D();
         }
 
+        this.serverDeltaStepsSent = PacketVehicleServerMovementBatch.getTotalSteps(serverDeltaM, serverDeltaR, serverDeltaP);
         this.clientDeltaM = serverDeltaM.copy();
         this.clientDeltaR = serverDeltaR.copy();
         this.clientDeltaP = serverDeltaP;
@@ -1144,7 +1146,10 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
                 }
                 serverDeltaPApplied += pathingApplied;
                 serverDeltaP += pathingApplied;
-                InterfaceManager.packetInterface.sendToAllClients(new PacketVehicleServerMovement((EntityVehicleF_Physics) this, motionApplied, rotationApplied.angles, pathingApplied));
+                VehicleMovement movement = PacketVehicleServerMovementBatch.createMovement((EntityVehicleF_Physics) this, serverDeltaStepsSent, serverDeltaM, serverDeltaR, serverDeltaP);
+                if (movement != null) {
+                    world.queueVehicleMovement(movement);
+                }
             }
         }
     }
@@ -611,7 +611,9 @@ public class EntityBullet extends AEntityD_Definable<JSONBullet> {
     public static void performBlockHitLogic(PartGun gun, int bulletNumber, Point3D blockPosition, Axis blockSide) {
         //This is for block state-changes.  Particles and animations are handled in generic.
         if (!gun.world.isClient()) {
-            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityBulletHitBlock(gun, bulletNumber, blockPosition, blockSide));
+            //Send to clients tracking the bullet, since the hit may be far from the gun that fired it.
+            EntityBullet bullet = gun.world.getBullet(gun.uniqueUUID, bulletNumber);
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityBulletHitBlock(gun, bulletNumber, blockPosition, blockSide), bullet != null ? bullet : gun);
             if (gun.lastLoadedBullet.definition.bullet.types.contains(BulletType.WATER)) {
                 gun.world.extinguish(blockPosition);
             } else if (ConfigSystem.settings.damage.bulletBlockBreaking.value) {
@@ -641,10 +643,10 @@ public class EntityBullet extends AEntityD_Definable<JSONBullet> {
     public static void performGenericHitLogic(PartGun gun, int bulletNumber, Point3D position, Axis hitSide, HitType hitType) {
         //Query up return packets first.  This ensures that we get to do this generic logic which spawns particles on clients before
         //any block-breaking packets arrive.
+        EntityBullet bullet = gun.world.getBullet(gun.uniqueUUID, bulletNumber);
         if (!gun.world.isClient()) {
-            InterfaceManager.packetInterface.sendToAllClients(new PacketEntityBulletHitGeneric(gun, bulletNumber, position, hitSide, hitType));
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityBulletHitGeneric(gun, bulletNumber, position, hitSide, hitType), bullet != null ? bullet : gun);
         }
-        EntityBullet bullet = gun.world.getBullet(gun.uniqueUUID, bulletNumber);
 
         //Spawn an explosion if we are an explosive bullet on the server.
         if (!gun.world.isClient() && ConfigSystem.settings.damage.bulletExplosions.value) {
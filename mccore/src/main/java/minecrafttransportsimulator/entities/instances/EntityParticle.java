@@ -1,15 +1,15 @@
 package minecrafttransportsimulator.entities.instances;
 
 import java.nio.FloatBuffer;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Random;
 
 import minecrafttransportsimulator.baseclasses.AnimationSwitchbox;
+import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
+import minecrafttransportsimulator.baseclasses.ParticleCollisionCache;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
@@ -20,6 +20,7 @@ import minecrafttransportsimulator.jsondefs.JSONParticle;
 import minecrafttransportsimulator.jsondefs.JSONParticle.JSONSubParticle;
 import minecrafttransportsimulator.jsondefs.JSONParticle.ParticleSpawningOrientation;
 import minecrafttransportsimulator.jsondefs.JSONParticle.ParticleType;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.rendering.AModelParser;
@@ -31,7 +32,8 @@ import minecrafttransportsimulator.systems.ConfigSystem;
 
 /**
  * Basic particle class.  This mimic's MC's particle logic, except we can manually set
- * movement logic.
+ * movement logic.  The static methods here hold the particle logic that is shared with
+ * the pooled particles in {@link EntityParticleManager}.
  *
  * @author don_bruce
  */
@@ -43,6 +45,8 @@ public class EntityParticle extends AEntityC_Renderable {
     private static final ColorRGB helperColor = new ColorRGB();
     private static final Map<String, RenderableVertices> parsedParticleModels = new HashMap<>();
     private static final Random particleRandom = new Random();
+    /**How far below the ground a particle can be and still collide with it with simple collision.**/
+    private static final double COLLISION_TOLERANCE = 0.01;
 
     //Constant properties.
     private final AEntityC_Renderable entitySpawning;
@@ -52,104 +56,42 @@ public class EntityParticle extends AEntityC_Renderable {
     private final Point3D initialVelocity;
     private final IWrapperPlayer clientPlayer = InterfaceManager.clientInterface.getClientPlayer();
 
-    private ColorRGB startColor;
-    private ColorRGB endColor;
-    private final ColorRGB staticColor;
+    private final ParticleAppearance appearance = new ParticleAppearance();
     private final String model;
     private final RenderableData renderable;
 
     //Runtime variables.
     private final boolean killBadParticle;
     private boolean touchingBlocks;
-    private float timeOfNextTexture;
-    private int textureIndex;
-    private int textureDelayIndex;
-    private List<String> textureList;
-
-    private int timeOfCurrentColor;
-    private int timeOfNextColor;
-    private int colorIndex;
-    private int colorDelayIndex;
+    private float daytimeAlpha;
 
     public EntityParticle(AEntityC_Renderable entitySpawning, JSONParticle definition, Point3D spawningPosition, Point3D spawningAngles, AnimationSwitchbox spawningSwitchbox) {
         super(entitySpawning.world, spawningPosition, ZERO_FOR_CONSTRUCTOR, spawningAngles != null ? spawningAngles : ZERO_FOR_CONSTRUCTOR);
         this.entitySpawning = entitySpawning;
         this.definition = definition;
         this.spawningSwitchbox = spawningSwitchbox;
-        this.maxAge = generateMaxAge();
+        this.maxAge = generateMaxAge(definition);
         boundingBox.widthRadius = definition.hitboxSize / 2D;
         boundingBox.heightRadius = boundingBox.widthRadius;
         boundingBox.depthRadius = boundingBox.widthRadius;
 
-        RotationMatrix positionOrientation = null;
-
-        //Set transforms based on type.
-        helperTransform.resetTransforms();
-        switch (definition.spawningOrientation) {
-            case ENTITY:
-            case ATTACHED: {
-                orientation.set(entitySpawning.orientation);
-                helperTransform.set(entitySpawning.orientation);
-                positionOrientation = entitySpawning.orientation;
-                break;
-            }
-            case STREAK:
-            case WORLD_ATTACHED: {
-                //Orientation isn't changed from spawn, but we do need to know spawning entity orientation for the transform of position.
-                helperTransform.set(entitySpawning.orientation);
-                positionOrientation = entitySpawning.orientation;
-                break;
-            }
-            case FACING: {
-                if (entitySpawning instanceof EntityBullet) {
-                    EntityBullet bullet = (EntityBullet) entitySpawning;
-                    if (bullet.sideHit != Axis.NONE) {
-                        helperRotation.setToZero().rotateX(-90);
-                        orientation.set(bullet.sideHit.facingRotation).multiplyTranspose(helperRotation);
-                        helperTransform.set(orientation);
-                        positionOrientation = orientation;
-                    } else {
-                        //Nothing for bullet to hit, block spawning.
-                        this.initialVelocity = null;
-                        this.staticColor = null;
-                        this.renderable = null;
-                        this.model = null;
-                        this.killBadParticle = true;
-                        return;
-                    }
-                }
-                break;
-            }
-            case WORLD: {
-                //Do nothing, world doesn't touch position/orientation.
-                break;
-            }
-        }
-
-        //Set position, but only if we aren't a distance particle.
-        //Distance particles are set prior to spawning with their actual position since it handles rotation.
-        if (definition.distance == 0) {
-            setPointToSpawn(spawningPosition, positionOrientation, definition.pos, entitySpawning.scale, spawningSwitchbox, position);
-        } else {
-            position.set(spawningPosition);
+        //Set position, orientation, and motion.
+        if (!setSpawnState(definition, entitySpawning, spawningPosition, spawningSwitchbox, position, orientation, motion)) {
+            //Nothing for bullet to hit, block spawning.
+            this.initialVelocity = null;
+            this.renderable = null;
+            this.model = null;
+            this.killBadParticle = true;
+            return;
         }
         prevPosition.set(position);
-
-        //Get block position for particle properties.  This changes from our actual position to calculated depending on properties.
-        Point3D blockCheckPosition;
-        if (definition.getBlockPropertiesFromGround) {
-            //Center of block for safety of FPEs.
-            blockCheckPosition = position.copy().add(0, -world.getHeight(position) - 0.5, 0);
-        } else {
-            //Use spawning position here since block properties for particles are usually from bullets, which are slightly in the block.
-            blockCheckPosition = spawningPosition;
-        }
+        prevOrientation.set(orientation);
 
         //Now that position is set, check to make sure we aren't an invalid particle.
+        Point3D blockCheckPosition = getBlockCheckPosition(world, definition, position, spawningPosition);
         if (definition.type == ParticleType.BREAK) {
             if (world.isAir(blockCheckPosition)) {
                 //Don't spawn break particles in the air, they're null textures.
-                this.staticColor = null;
                 this.renderable = null;
                 this.model = null;
                 this.initialVelocity = null;
@@ -157,53 +99,17 @@ public class EntityParticle extends AEntityC_Renderable {
                 return;
             }
         }
-
-        //Set orientation.
-        setOrientationToSpawn();
-        prevOrientation.set(orientation);
-
-        //Get initial motion.
-        if (definition.initialVelocity != null) {
-            if (definition.spreadRandomness != null) {
-                motion.x = 2 * definition.spreadRandomness.x * Math.random() - definition.spreadRandomness.x;
-                motion.y = 2 * definition.spreadRandomness.y * Math.random() - definition.spreadRandomness.y;
-                motion.z = 2 * definition.spreadRandomness.z * Math.random() - definition.spreadRandomness.z;
-                motion.add(definition.initialVelocity);
-            } else {
-                //Add some basic randomness so particles don't all go in a line.
-                motion.x = definition.initialVelocity.x + 0.2 - Math.random() * 0.4;
-                motion.y = definition.initialVelocity.y + 0.2 - Math.random() * 0.4;
-                motion.z = definition.initialVelocity.z + 0.2 - Math.random() * 0.4;
-            }
-            //Scale down by 10 since most of the time we go too fast.
-            motion.scale(1D / 10D);
-            motion.rotate(helperTransform);
-        }
-        if (definition.relativeInheritedVelocityFactor != null) {
-            helperPoint.set(entitySpawning.motion);
-            if (entitySpawning instanceof EntityVehicleF_Physics) {
-                helperPoint.scale(((EntityVehicleF_Physics) entitySpawning).speedFactor);
-            } else if (entitySpawning instanceof APart) {
-                APart partSpawning = (APart) entitySpawning;
-                if (partSpawning.vehicleOn != null) {
-                    helperPoint.scale(partSpawning.vehicleOn.speedFactor);
-                }
-            }
-            helperRotation.setToVector(entitySpawning.motion, true);
-            helperPoint.reOrigin(helperRotation).multiply(definition.relativeInheritedVelocityFactor).rotate(helperRotation);
-            motion.add(helperPoint);
-        }
         initialVelocity = motion.copy();
-        updateOrientation();
+        updateOrientation(definition, orientation, position, motion);
+
+        //Set texture list and colors.
+        appearance.reset(definition, maxAge, definition.useBlockColor ? world.getBlockColor(blockCheckPosition) : null);
+        daytimeAlpha = getDaytimeAlpha(world, definition, position);
 
         //Set model and texture.
         String model = definition.model;
         final String texture;
-        if (definition.texture != null) {
-            texture = definition.texture;
-        } else if (definition.type == ParticleType.BREAK) {
-            texture = RenderableData.GLOBAL_TEXTURE_NAME;
-        } else if (definition.type == ParticleType.CASING) {
+        if (definition.texture == null && definition.type == ParticleType.CASING) {
             PartGun gun = (PartGun) entitySpawning;
             if(!gun.firedBullets.isEmpty()) {
                 ItemBullet bullet = gun.firedBullets.get(0);
@@ -217,40 +123,13 @@ public class EntityParticle extends AEntityC_Renderable {
             }
             if (texture == null) {
                 //Not supposed to be spawning any casings for this bullet.
-                this.staticColor = null;
                 this.renderable = null;
                 this.model = null;
                 this.killBadParticle = true;
                 return;
             }
-        } else if (definition.type == ParticleType.SMOKE) {
-            textureList = new ArrayList<String>();
-            for (int i = 0; i <= 11; ++i) {
-                textureList.add("mts:textures/particles/big_smoke_" + i + ".png");
-            }
-            texture = textureList.get(0);
-            timeOfNextTexture = (int) (maxAge / 12F);
-        } else if (definition.textureList != null) {
-            //Set initial texture delay and texture.
-            textureList = definition.textureList;
-            if (definition.randomTexture) {
-                textureIndex = particleRandom.nextInt(textureList.size());
-            }
-            texture = textureList.get(textureIndex);
-            if (definition.textureDelays != null) {
-                timeOfNextTexture = definition.textureDelays.get(textureDelayIndex);
-            } else {
-                timeOfNextTexture = maxAge;
-            }
-        } else if (definition.type == ParticleType.SMOKE) {
-            textureList = new ArrayList<String>();
-            for (int i = 0; i <= 11; ++i) {
-                textureList.add("mts:textures/particles/big_smoke_" + i + ".png");
-            }
-            texture = textureList.get(0);
-            timeOfNextTexture = maxAge / 12F;
         } else {
-            texture = "mts:textures/particles/" + definition.type.name().toLowerCase(Locale.ROOT) + ".png";
+            texture = appearance.getTexture(ParticleAppearance.getSingleTexture(definition));
         }
 
         this.model = model;
@@ -261,12 +140,11 @@ public class EntityParticle extends AEntityC_Renderable {
                 List<RenderableVertices> parsedObjects = AModelParser.parseModel("/assets/" + modelDomain + "/" + modelPath, true);
                 int totalVertices = 0;
                 for (RenderableVertices parsedObject : parsedObjects) {
-                    totalVertices += parsedObject.vertices.capacity();
+                    totalVertices += parsedObject.getVertexCount() * 8;
                 }
                 FloatBuffer totalBuffer = FloatBuffer.allocate(totalVertices);
                 for (RenderableVertices parsedObject : parsedObjects) {
-                    totalBuffer.put(parsedObject.vertices);
-                    parsedObject.vertices.rewind();
+                    parsedObject.putTris(totalBuffer);
                 }
                 totalBuffer.flip();
                 return new RenderableVertices("PARTICLE_3D", totalBuffer, false, AModelParser.isMissingModel(parsedObjects));
@@ -285,42 +163,7 @@ public class EntityParticle extends AEntityC_Renderable {
         renderable.setTexture(texture);
 
         //Set color.
-        if(definition.useBlockColor) {
-        	this.staticColor = world.getBlockColor(blockCheckPosition);
-        }else if (definition.color != null) {
-            if (definition.toColor != null) {
-                this.startColor = definition.color;
-                this.endColor = definition.toColor;
-                this.timeOfNextColor = maxAge;
-                this.staticColor = null;
-            } else {
-                this.staticColor = definition.color;
-            }
-        } else {
-            if (definition.colorList != null) {
-                if (definition.randomColor) {
-                    colorIndex = particleRandom.nextInt(definition.colorList.size());
-                }
-                startColor = definition.colorList.get(colorIndex);
-                if (colorIndex + 1 < definition.colorList.size()) {
-                    endColor = definition.colorList.get(colorIndex + 1);
-                } else {
-                    endColor = definition.colorList.get(0);
-                }
-
-                if (definition.colorDelays != null) {
-                    timeOfNextColor = definition.colorDelays.get(colorDelayIndex);
-                } else {
-                    timeOfNextColor = maxAge;
-                }
-                this.staticColor = null;
-            } else {
-                this.staticColor = ColorRGB.WHITE;
-            }
-        }
-        if(staticColor != null) {
-            renderable.setColor(staticColor);
-        }
+        renderable.setColor(appearance.getColor(0, helperColor));
 
         //Set alpha.
         if (definition.transparency != 0 || definition.toTransparency != 0) {
@@ -328,7 +171,7 @@ public class EntityParticle extends AEntityC_Renderable {
         }
 
         //Set lighting mode.
-        if (definition.type.equals(ParticleType.FLAME) || definition.isBright) {
+        if (isBright(definition)) {
             renderable.setLightMode(LightingMode.IGNORE_ALL_LIGHTING);
             if (ConfigSystem.client.renderingSettings.lightsTransp.value) {
                 renderable.setTransucentOverride();
@@ -362,7 +205,131 @@ public class EntityParticle extends AEntityC_Renderable {
         pointToSet.set(origin).add(helperPoint);
     }
 
-    private void setOrientationToSpawn() {
+    /**
+     * Does simple collision for the particle at the passed-in position with the passed-in radius.
+     * This only checks the ground in the particle's column, using the world's {@link ParticleCollisionCache}.
+     * If the motion would put the particle into the ground, it is clamped to put the particle on
+     * top of it, and true is returned.  Particles already below the ground, such as ones spawned in
+     * blocks, are left alone, same as with normal collision.
+     */
+    static boolean updateSimpleCollision(AWrapperWorld world, Point3D position, Point3D motion, double radius) {
+        if (motion.y <= 0) {
+            double groundHeight = world.particleCollisionCache.getGroundHeight(world, position);
+            double bottom = position.y - radius;
+            if (bottom >= groundHeight - COLLISION_TOLERANCE && bottom + motion.y <= groundHeight) {
+                motion.y = Math.min(0, groundHeight - bottom);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the position, orientation, and initial motion of a newly-spawned particle.  The orientation should
+     * already be set to the spawning angles.  Returns false if the particle shouldn't spawn, which happens for
+     * facing particles from bullets that didn't hit anything.
+     */
+    static boolean setSpawnState(JSONParticle definition, AEntityC_Renderable entitySpawning, Point3D spawningPosition, AnimationSwitchbox spawningSwitchbox, Point3D position, RotationMatrix orientation, Point3D motion) {
+        RotationMatrix positionOrientation = null;
+
+        //Set transforms based on type.
+        helperTransform.resetTransforms();
+        switch (definition.spawningOrientation) {
+            case ENTITY:
+            case ATTACHED: {
+                orientation.set(entitySpawning.orientation);
+                helperTransform.set(entitySpawning.orientation);
+                positionOrientation = entitySpawning.orientation;
+                break;
+            }
+            case STREAK:
+            case WORLD_ATTACHED: {
+                //Orientation isn't changed from spawn, but we do need to know spawning entity orientation for the transform of position.
+                helperTransform.set(entitySpawning.orientation);
+                positionOrientation = entitySpawning.orientation;
+                break;
+            }
+            case FACING: {
+                if (entitySpawning instanceof EntityBullet) {
+                    EntityBullet bullet = (EntityBullet) entitySpawning;
+                    if (bullet.sideHit != Axis.NONE) {
+                        helperRotation.setToZero().rotateX(-90);
+                        orientation.set(bullet.sideHit.facingRotation).multiplyTranspose(helperRotation);
+                        helperTransform.set(orientation);
+                        positionOrientation = orientation;
+                    } else {
+                        return false;
+                    }
+                }
+                break;
+            }
+            case WORLD: {
+                //Do nothing, world doesn't touch position/orientation.
+                break;
+            }
+        }
+
+        //Set position, but only if we aren't a distance particle.
+        //Distance particles are set prior to spawning with their actual position since it handles rotation.
+        if (definition.distance == 0) {
+            setPointToSpawn(spawningPosition, positionOrientation, definition.pos, entitySpawning.scale, spawningSwitchbox, position);
+        } else {
+            position.set(spawningPosition);
+        }
+
+        //Set orientation.
+        setOrientationToSpawn(definition, orientation);
+
+        //Get initial motion.
+        motion.set(0, 0, 0);
+        if (definition.initialVelocity != null) {
+            if (definition.spreadRandomness != null) {
+                motion.x = 2 * definition.spreadRandomness.x * Math.random() - definition.spreadRandomness.x;
+                motion.y = 2 * definition.spreadRandomness.y * Math.random() - definition.spreadRandomness.y;
+                motion.z = 2 * definition.spreadRandomness.z * Math.random() - definition.spreadRandomness.z;
+                motion.add(definition.initialVelocity);
+            } else {
+                //Add some basic randomness so particles don't all go in a line.
+                motion.x = definition.initialVelocity.x + 0.2 - Math.random() * 0.4;
+                motion.y = definition.initialVelocity.y + 0.2 - Math.random() * 0.4;
+                motion.z = definition.initialVelocity.z + 0.2 - Math.random() * 0.4;
+            }
+            //Scale down by 10 since most of the time we go too fast.
+            motion.scale(1D / 10D);
+            motion.rotate(helperTransform);
+        }
+        if (definition.relativeInheritedVelocityFactor != null) {
+            helperPoint.set(entitySpawning.motion);
+            if (entitySpawning instanceof EntityVehicleF_Physics) {
+                helperPoint.scale(((EntityVehicleF_Physics) entitySpawning).speedFactor);
+            } else if (entitySpawning instanceof APart) {
+                APart partSpawning = (APart) entitySpawning;
+                if (partSpawning.vehicleOn != null) {
+                    helperPoint.scale(partSpawning.vehicleOn.speedFactor);
+                }
+            }
+            helperRotation.setToVector(entitySpawning.motion, true);
+            helperPoint.reOrigin(helperRotation).multiply(definition.relativeInheritedVelocityFactor).rotate(helperRotation);
+            motion.add(helperPoint);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the position to get block properties like color and break textures from.
+     * This changes from the particle's actual position to calculated depending on properties.
+     */
+    static Point3D getBlockCheckPosition(AWrapperWorld world, JSONParticle definition, Point3D position, Point3D spawningPosition) {
+        if (definition.getBlockPropertiesFromGround) {
+            //Center of block for safety of FPEs.
+            return position.copy().add(0, -world.getHeight(position) - 0.5, 0);
+        } else {
+            //Use spawning position here since block properties for particles are usually from bullets, which are slightly in the block.
+            return spawningPosition;
+        }
+    }
+
+    static void setOrientationToSpawn(JSONParticle definition, RotationMatrix orientation) {
         //Apply transforms to get orientation.
         if (definition.rot != null) {
             orientation.multiply(definition.rot);
@@ -377,6 +344,207 @@ public class EntityParticle extends AEntityC_Renderable {
         }
     }
 
+    /**
+     * Updates the motion of a particle for this tick, prior to collision checks.
+     * Returns false if the particle should be removed, which happens when bubbles leave liquids.
+     */
+    static boolean updateMotion(AWrapperWorld world, JSONParticle definition, long ticksExisted, Point3D position, Point3D motion, Point3D initialVelocity, boolean touchingBlocks) {
+        boolean keepParticle = true;
+        if (definition.movementDuration != 0) {
+            if (ticksExisted <= definition.movementDuration) {
+                float durationFactor = (definition.movementDuration - ticksExisted) / (float) definition.movementDuration;
+                double absX = Math.abs(initialVelocity.x * durationFactor);
+                double absY = Math.abs(initialVelocity.y * durationFactor);
+                double absZ = Math.abs(initialVelocity.z * durationFactor);
+                if (Math.abs(motion.x) > absX) {
+                    motion.x = Math.signum(motion.x) * absX;
+                }
+                if (Math.abs(motion.y) > absY) {
+                    motion.y = Math.signum(motion.y) * absY;
+                }
+                if (Math.abs(motion.z) > absZ) {
+                    motion.z = Math.signum(motion.z) * absZ;
+                }
+            }
+        }
+
+        if (definition.movementVelocity != null) {
+            motion.add(definition.movementVelocity);
+        }
+        if (definition.relativeMovementVelocity != null) {
+            helperRotation.setToVector(motion, true);
+            helperPoint.set(definition.relativeMovementVelocity).rotate(helperRotation);
+            motion.add(helperPoint);
+        }
+        if (definition.movementVelocity == null && definition.relativeMovementVelocity == null) {
+            switch (definition.type) {
+                case SMOKE: {
+                    //Update the motions to make the smoke float up.
+                    motion.x *= 0.9;
+                    motion.y += 0.004;
+                    motion.z *= 0.9;
+                    break;
+                }
+                case FLAME: {
+                    //Flame just slowly drifts in the direction it was going.
+                    motion.scale(0.96);
+                    break;
+                }
+                case BUBBLE: {
+                    //Bubbles float up until they break the surface of the water, then they pop.
+                    if (!(definition.simpleCollision ? world.particleCollisionCache.isBlockLiquid(world, position) : world.isBlockLiquid(position))) {
+                        keepParticle = false;
+                    } else {
+                        motion.scale(0.85).add(0, 0.002D, 0);
+                    }
+                    break;
+                }
+                case BREAK: {
+                    //Breaking just fall down quickly.
+                    if (!touchingBlocks) {
+                        motion.scale(0.98).add(0D, -0.04D, 0D);
+                    } else {
+                        motion.scale(0.0);
+                    }
+                    break;
+                }
+                default: {
+                    //No default movement for generic particles.
+                    break;
+                }
+            }
+        }
+
+        if (definition.terminalVelocity != null) {
+            if (motion.x > definition.terminalVelocity.x) {
+                motion.x = definition.terminalVelocity.x;
+            }
+            if (motion.x < -definition.terminalVelocity.x) {
+                motion.x = -definition.terminalVelocity.x;
+            }
+            if (motion.y > definition.terminalVelocity.y) {
+                motion.y = definition.terminalVelocity.y;
+            }
+            if (motion.y < -definition.terminalVelocity.y) {
+                motion.y = -definition.terminalVelocity.y;
+            }
+            if (motion.z > definition.terminalVelocity.z) {
+                motion.z = definition.terminalVelocity.z;
+            }
+            if (motion.z < -definition.terminalVelocity.z) {
+                motion.z = -definition.terminalVelocity.z;
+            }
+        }
+        return keepParticle;
+    }
+
+    /**
+     * Checks collision for the particle's motion, using either simple or normal collision as the definition says.
+     * The passed-in box should be at the particle's position.  Returns true if the particle is touching blocks.
+     */
+    static boolean updateCollision(AWrapperWorld world, JSONParticle definition, BoundingBox box, Point3D position, Point3D motion) {
+        if (definition.simpleCollision) {
+            return updateSimpleCollision(world, position, motion, box.heightRadius);
+        } else {
+            boolean touchingBlocks = box.updateCollisions(world, motion, true);
+            if (touchingBlocks) {
+                motion.subtract(box.currentCollisionDepth);
+            }
+            return touchingBlocks;
+        }
+    }
+
+    static void updateOrientation(JSONParticle definition, RotationMatrix orientation, Point3D position, Point3D motion) {
+        switch (definition.renderingOrientation) {
+            case FIXED: {
+                //No update since we never change.
+                break;
+            }
+            case PLAYER: {
+                helperPoint.set(InterfaceManager.clientInterface.getCameraPosition()).subtract(position);
+                orientation.setToVector(helperPoint, true);
+                break;
+            }
+            case YAXIS: {
+                helperPoint.set(InterfaceManager.clientInterface.getCameraPosition()).subtract(position);
+                helperPoint.y = 0;
+                orientation.setToVector(helperPoint, true);
+                break;
+            }
+            case MOTION: {
+                orientation.setToVector(motion, true);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Updates the orientation of a particle for this tick, after it has moved.
+     */
+    static void tickOrientation(JSONParticle definition, RotationMatrix orientation, Point3D position, Point3D motion) {
+        updateOrientation(definition, orientation, position, motion);
+        if (definition.rotationVelocity != null) {
+            helperRotation.setToAngles(definition.rotationVelocity);
+            orientation.multiply(helperRotation);
+        }
+    }
+
+    /**
+     * Returns the alpha factor for the world light at the particle's position.  This is slow, so should only be done once a tick.
+     */
+    static float getDaytimeAlpha(AWrapperWorld world, JSONParticle definition, Point3D position) {
+        return definition.daytimeReductionFactor != 0 ? 1 - (definition.daytimeReductionFactor * world.getLightBrightness(position, true)) : 1.0F;
+    }
+
+    /**
+     * Returns the alpha of a particle at the passed-in age, not counting world light.
+     */
+    static float getAlpha(JSONParticle definition, long ticksExisted, int maxAge, float partialTicks) {
+        float alpha;
+        if (definition.toTransparency != 0) {
+            alpha = interpolate(definition.transparency, definition.toTransparency, (ticksExisted + partialTicks) / maxAge, true);
+        } else {
+            alpha = definition.transparency != 0 ? definition.transparency : 1.0F;
+        }
+        if (definition.fadeInTransparencyTime >= ticksExisted) {
+            alpha = alpha * ticksExisted / definition.fadeInTransparencyTime;
+        }
+        if (definition.fadeOutTransparencyTime > maxAge - ticksExisted) {
+            alpha = alpha * (maxAge - ticksExisted) / definition.fadeOutTransparencyTime;
+        }
+        return alpha;
+    }
+
+    /**
+     * Returns the scale of a particle at the passed-in age, not counting the scale of the spawning entity.
+     */
+    static double getScale(JSONParticle definition, long ticksExisted, int maxAge, float partialTicks) {
+        double totalScale;
+        if (definition.type == ParticleType.FLAME && definition.scale == 0 && definition.toScale == 0) {
+            totalScale = 1.0F - Math.pow((ticksExisted + partialTicks) / maxAge, 2) / 2F;
+        } else if (definition.toScale != 0) {
+            totalScale = interpolate(definition.scale, definition.toScale, (ticksExisted + partialTicks) / maxAge, false);
+        } else if (definition.scale != 0) {
+            totalScale = definition.scale;
+        } else {
+            totalScale = 1.0;
+        }
+        if (definition.fadeInScaleTime >= ticksExisted) {
+            totalScale *= (1 - ((definition.fadeInScaleTime - ticksExisted) / (float) definition.fadeInScaleTime));
+        }
+        if (definition.fadeOutScaleTime > maxAge - ticksExisted) {
+            totalScale *= (maxAge - ticksExisted) / (float) definition.fadeOutScaleTime;
+        }
+        return totalScale;
+    }
+
+    /**
+     * Returns true if particles of the passed-in definition ignore lighting.
+     */
+    static boolean isBright(JSONParticle definition) {
+        return definition.type == ParticleType.FLAME || definition.isBright;
+    }
+
     @Override
     public EntityAutoUpdateTime getUpdateTime() {
         //Sync with our spawning entity in case we depend on their variables.
@@ -401,161 +569,47 @@ public class EntityParticle extends AEntityC_Renderable {
             if(definition.spawningOrientation == ParticleSpawningOrientation.ATTACHED) {
                 orientation.set(entitySpawning.orientation);
                 setPointToSpawn(entitySpawning.position, orientation, definition.pos, entitySpawning.scale, spawningSwitchbox, position);
-                setOrientationToSpawn();
+                setOrientationToSpawn(definition, orientation);
             } else if (definition.spawningOrientation == ParticleSpawningOrientation.WORLD_ATTACHED) {
                 setPointToSpawn(entitySpawning.position, entitySpawning.orientation, definition.pos, entitySpawning.scale, spawningSwitchbox, position);
             }
-            
-            if (definition.movementDuration != 0) {
-                if (ticksExisted <= definition.movementDuration) {
-                    float durationFactor = (definition.movementDuration - ticksExisted) / (float) definition.movementDuration;
-                    double absX = Math.abs(initialVelocity.x * durationFactor);
-                    double absY = Math.abs(initialVelocity.y * durationFactor);
-                    double absZ = Math.abs(initialVelocity.z * durationFactor);
-                    if (Math.abs(motion.x) > absX) {
-                        motion.x = Math.signum(motion.x) * absX;
-                    }
-                    if (Math.abs(motion.y) > absY) {
-                        motion.y = Math.signum(motion.y) * absY;
-                    }
-                    if (Math.abs(motion.z) > absZ) {
-                        motion.z = Math.signum(motion.z) * absZ;
-                    }
-                }
-            }
 
-            if (definition.movementVelocity != null) {
-                motion.add(definition.movementVelocity);
-            }
-            if (definition.relativeMovementVelocity != null) {
-                helperRotation.setToVector(motion, true);
-                helperPoint.set(definition.relativeMovementVelocity).rotate(helperRotation);
-                motion.add(helperPoint);
-            }
-            if (definition.movementVelocity == null && definition.relativeMovementVelocity == null) {
-                switch (definition.type) {
-                    case SMOKE: {
-                        //Update the motions to make the smoke float up.
-                        motion.x *= 0.9;
-                        motion.y += 0.004;
-                        motion.z *= 0.9;
-                        break;
-                    }
-                    case FLAME: {
-                        //Flame just slowly drifts in the direction it was going.
-                        motion.scale(0.96);
-                        break;
-                    }
-                    case BUBBLE: {
-                        //Bubbles float up until they break the surface of the water, then they pop.
-                        if (!world.isBlockLiquid(position)) {
-                            remove();
-                        } else {
-                            motion.scale(0.85).add(0, 0.002D, 0);
-                        }
-                        break;
-                    }
-                    case BREAK: {
-                        //Breaking just fall down quickly.
-                        if (!touchingBlocks) {
-                            motion.scale(0.98).add(0D, -0.04D, 0D);
-                        } else {
-                            motion.scale(0.0);
-                        }
-                        break;
-                    }
-                    default: {
-                        //No default movement for generic particles.
-                        break;
-                    }
-                }
-            }
-
-            if (definition.terminalVelocity != null) {
-                if (motion.x > definition.terminalVelocity.x) {
-                    motion.x = definition.terminalVelocity.x;
-                }
-                if (motion.x < -definition.terminalVelocity.x) {
-                    motion.x = -definition.terminalVelocity.x;
-                }
-                if (motion.y > definition.terminalVelocity.y) {
-                    motion.y = definition.terminalVelocity.y;
-                }
-                if (motion.y < -definition.terminalVelocity.y) {
-                    motion.y = -definition.terminalVelocity.y;
-                }
-                if (motion.z > definition.terminalVelocity.z) {
-                    motion.z = definition.terminalVelocity.z;
-                }
-                if (motion.z < -definition.terminalVelocity.z) {
-                    motion.z = -definition.terminalVelocity.z;
-                }
+            if (!updateMotion(world, definition, ticksExisted, position, motion, initialVelocity, touchingBlocks)) {
+                remove();
             }
 
             //Check collision movement.  If we hit a block, don't move.
             if (!definition.ignoreCollision) {
-                touchingBlocks = boundingBox.updateCollisions(world, motion, true);
-                if (touchingBlocks) {
-                    motion.subtract(boundingBox.currentCollisionDepth);
-                    if (definition.stopsOnGround && definition.groundSounds != null) {
-                        double distance = position.distanceTo(clientPlayer.getPosition());
-                        if (distance < SoundInstance.DEFAULT_MAX_DISTANCE) {
-                            SoundInstance sound = new SoundInstance(this, definition.groundSounds.get(particleRandom.nextInt(definition.groundSounds.size())));
-                            sound.volume = (float) (1 - distance / SoundInstance.DEFAULT_MAX_DISTANCE);
-                            InterfaceManager.soundInterface.playQuickSound(sound);
-                        }
+                touchingBlocks = updateCollision(world, definition, boundingBox, position, motion);
+                if (touchingBlocks && definition.stopsOnGround && definition.groundSounds != null) {
+                    double distance = position.distanceTo(clientPlayer.getPosition());
+                    if (distance < SoundInstance.DEFAULT_MAX_DISTANCE) {
+                        SoundInstance sound = new SoundInstance(this, definition.groundSounds.get(particleRandom.nextInt(definition.groundSounds.size())));
+                        sound.volume = (float) (1 - distance / SoundInstance.DEFAULT_MAX_DISTANCE);
+                        InterfaceManager.soundInterface.playQuickSound(sound);
                     }
                 }
             }
             position.add(motion);
 
             //Update orientation.
-            updateOrientation();
-            if (definition.rotationVelocity != null) {
-                helperRotation.setToAngles(definition.rotationVelocity);
-                orientation.multiply(helperRotation);
-            }
+            tickOrientation(definition, orientation, position, motion);
         }
 
         //Check if we need to change textures or colors.
-        if (textureList != null && timeOfNextTexture <= ticksExisted) {
-            if (++textureIndex == textureList.size()) {
-                textureIndex = 0;
-            }
-            renderable.texture = textureList.get(textureIndex);
-            if (definition.textureDelays != null) {
-                if (++textureDelayIndex == definition.textureDelays.size()) {
-                    textureDelayIndex = 0;
-                }
-                timeOfNextTexture += definition.textureDelays.get(textureDelayIndex);
-            } else {
-                //Assume internal smoke, so use constant delay.
-                timeOfNextTexture += maxAge / 12F;
-            }
+        appearance.tick(ticksExisted);
+        if (appearance.textureList != null) {
+            renderable.texture = appearance.getTexture(null);
         }
-        if (definition.colorDelays != null && timeOfNextColor == ticksExisted) {
-            if (++colorIndex == definition.colorList.size()) {
-                colorIndex = 0;
-            }
-            startColor = definition.colorList.get(colorIndex);
-            if (colorIndex + 1 < definition.colorList.size()) {
-                endColor = definition.colorList.get(colorIndex + 1);
-            } else {
-                endColor = definition.colorList.get(0);
-            }
 
-            if (++colorDelayIndex == definition.colorDelays.size()) {
-                colorDelayIndex = 0;
-            }
-            timeOfCurrentColor = timeOfNextColor;
-            timeOfNextColor += definition.colorDelays.get(colorDelayIndex);
-        }
+        //Get world light for alpha here rather than every frame, since it's slow and won't change much in a tick.
+        daytimeAlpha = getDaytimeAlpha(world, definition, position);
 
         //Check for sub particles.
         if (definition.subParticles != null) {
             for (JSONSubParticle subDef : definition.subParticles) {
                 if (subDef.particle.spawnEveryTick ? subDef.time >= ticksExisted : subDef.time == ticksExisted) {
-                    world.addEntity(new EntityParticle(this, subDef.particle, position, null, null));
+                    EntityParticleManager.spawnParticle(this, subDef.particle, position, null, null);
                 }
             }
         }
@@ -580,47 +634,11 @@ public class EntityParticle extends AEntityC_Renderable {
     protected void renderModel(TransformationMatrix transform, boolean blendingEnabled, float partialTicks) {
         //First set alpha, then check translucent.
         //We could change it this update cycle.
-        if (definition.toTransparency != 0) {
-            renderable.setAlpha(interpolate(definition.transparency, definition.toTransparency, (ticksExisted + partialTicks) / maxAge, true, partialTicks));
-        } else {
-            renderable.setAlpha(definition.transparency != 0 ? definition.transparency : 1.0F);
-        }
-        if (definition.fadeInTransparencyTime >= ticksExisted) {
-            renderable.setAlpha(renderable.alpha * ticksExisted / definition.fadeInTransparencyTime);
-        }
-        if (definition.fadeOutTransparencyTime > maxAge - ticksExisted) {
-            renderable.setAlpha(renderable.alpha * (maxAge - ticksExisted) / definition.fadeOutTransparencyTime);
-        }
-        if (definition.daytimeReductionFactor != 0) {
-            //Get world light and factor this into the alpha value.
-            renderable.setAlpha(renderable.alpha * (1 - (definition.daytimeReductionFactor * world.getLightBrightness(position, true))));
-        }
-
+        renderable.setAlpha(getAlpha(definition, ticksExisted, maxAge, partialTicks) * daytimeAlpha);
         if (renderable.isTranslucent == blendingEnabled) {
-            if (staticColor == null) {
-                float colorDelta = (ticksExisted + partialTicks - timeOfCurrentColor) / (timeOfNextColor - timeOfCurrentColor);
-                helperColor.red = interpolate(startColor.red, endColor.red, colorDelta, true, partialTicks);
-                helperColor.green = interpolate(startColor.green, endColor.green, colorDelta, true, partialTicks);
-                helperColor.blue = interpolate(startColor.blue, endColor.blue, colorDelta, true, partialTicks);
-                renderable.setColor(helperColor);
-            }
+            renderable.setColor(appearance.getColor(ticksExisted + partialTicks, helperColor));
             renderable.transform.set(transform);
-            double totalScale;
-            if (definition.type == ParticleType.FLAME && definition.scale == 0 && definition.toScale == 0) {
-                totalScale = 1.0F - Math.pow((ticksExisted + partialTicks) / maxAge, 2) / 2F;
-            } else if (definition.toScale != 0) {
-                totalScale = interpolate(definition.scale, definition.toScale, (ticksExisted + partialTicks) / maxAge, false, partialTicks);
-            } else if (definition.scale != 0) {
-                totalScale = definition.scale;
-            } else {
-                totalScale = 1.0;
-            }
-            if (definition.fadeInScaleTime >= ticksExisted) {
-                totalScale *= (1 - ((definition.fadeInScaleTime - ticksExisted) / (float) definition.fadeInScaleTime));
-            }
-            if (definition.fadeOutScaleTime > maxAge - ticksExisted) {
-                totalScale *= (maxAge - ticksExisted) / (float) definition.fadeOutScaleTime;
-            }
+            double totalScale = getScale(definition, ticksExisted, maxAge, partialTicks);
             renderable.transform.applyScaling(totalScale * entitySpawning.scale.x, totalScale * entitySpawning.scale.y, totalScale * entitySpawning.scale.z);
             renderable.setLightValue(worldLightValue);
             renderable.render();
@@ -632,37 +650,13 @@ public class EntityParticle extends AEntityC_Renderable {
         return killBadParticle || super.disableRendering();
     }
 
-    private void updateOrientation() {
-        switch (definition.renderingOrientation) {
-            case FIXED: {
-                //No update since we never change.
-                break;
-            }
-            case PLAYER: {
-                helperPoint.set(InterfaceManager.clientInterface.getCameraPosition()).subtract(position);
-                orientation.setToVector(helperPoint, true);
-                break;
-            }
-            case YAXIS: {
-                helperPoint.set(InterfaceManager.clientInterface.getCameraPosition()).subtract(position);
-                helperPoint.y = 0;
-                orientation.setToVector(helperPoint, true);
-                break;
-            }
-            case MOTION: {
-                orientation.setToVector(motion, true);
-                break;
-            }
-        }
-    }
-
     /**
      * Gets the max age of the particle.  This tries to use the definition's
      * maxAge, but will use Vanilla values if not set.  This should only be
      * called once, as the Vanilla values have a random element that means
      * this function will return different values on each call for them.
      */
-    private int generateMaxAge() {
+    static int generateMaxAge(JSONParticle definition) {
         if (definition.duration != 0) {
             if (definition.durationRandomness != 0) {
                 return definition.duration + (int) (definition.durationRandomness * 2 * particleRandom.nextFloat() - definition.durationRandomness);
@@ -684,7 +678,7 @@ public class EntityParticle extends AEntityC_Renderable {
         }
     }
 
-    private float interpolate(float start, float end, float factor, boolean clamp, float partialTicks) {
+    static float interpolate(float start, float end, float factor, boolean clamp) {
         float value = start + (end - start) * factor;
         return clamp ? value > 1.0F ? 1.0F : (value < 0.0F ? 0.0F : value) : value;
     }
@@ -0,0 +1,633 @@
+package minecrafttransportsimulator.entities.instances;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+import minecrafttransportsimulator.baseclasses.AnimationSwitchbox;
+import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.ColorRGB;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.RotationMatrix;
+import minecrafttransportsimulator.baseclasses.TransformationMatrix;
+import minecrafttransportsimulator.entities.components.AEntityC_Renderable;
+import minecrafttransportsimulator.jsondefs.JSONParticle;
+import minecrafttransportsimulator.jsondefs.JSONParticle.ParticleSpawningOrientation;
+import minecrafttransportsimulator.jsondefs.JSONParticle.ParticleType;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.rendering.RenderableData;
+import minecrafttransportsimulator.rendering.RenderableData.LightingMode;
+import minecrafttransportsimulator.rendering.RenderableVertices;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Manager for sprite particles.  Rather than each particle being its own {@link EntityParticle}, with its own
+ * bounding box, renderable, and spot in the entity lists, particles are stored in a pool per {@link JSONParticle}
+ * definition.  Pools keep each particle property in its own array, and slots are re-used as particles die, so
+ * spawning and ticking particles creates no garbage.  When rendering, all particles that share the same texture
+ * and lighting are put into one sprite buffer and rendered in a single call.  Color, alpha, and light value are
+ * set per-vertex in that buffer, so particles that differ only in those still share a call.
+ * <br><br>
+ * The spawning, movement, and appearance logic is shared with {@link EntityParticle} through its static methods
+ * and {@link ParticleAppearance}, so particles behave the same no matter which way they spawn.
+ * <br><br>
+ * This manager is itself a single entity in the world, located at the client player, and all particle vertices
+ * are relative to it.  Only sprite particles are handled here.  Particles with models, casings, sub-particles,
+ * ground sounds, or that stay attached to their spawning entity still spawn as {@link EntityParticle}s.
+ * See {@link #spawnParticle(AEntityC_Renderable, JSONParticle, Point3D, Point3D, AnimationSwitchbox)}.
+ *
+ * @author agent
+ */
+public class EntityParticleManager extends AEntityC_Renderable {
+    private static final Map<AWrapperWorld, EntityParticleManager> managers = new HashMap<>();
+    private static final int VERTICES_PER_PARTICLE = 6;
+    private static final int FLOATS_PER_PARTICLE = VERTICES_PER_PARTICLE * 8;
+    /**How many renders a batch can go unused before it is removed.**/
+    private static final int MAX_UNUSED_RENDERS = 20;
+
+    //Helper variables for particle logic.  These are only used on the main thread.
+    private static final RotationMatrix interpolatedOrientation = new RotationMatrix();
+    private static final ColorRGB helperColor = new ColorRGB();
+    private static final Point3D particlePosition = new Point3D();
+    private static final Point3D particleMotion = new Point3D();
+    private static final Point3D particleInitialVelocity = new Point3D();
+    private static final Point3D spriteRight = new Point3D();
+    private static final Point3D spriteUp = new Point3D();
+    private static final Point3D spriteNormal = new Point3D();
+    private static final BoundingBox collisionBox = new BoundingBox(new Point3D(), 0.5, 0.5, 0.5);
+
+    private final Map<JSONParticle, ParticlePool> pools = new HashMap<>();
+    private final Map<BatchKey, ParticleBatch> batches = new HashMap<>();
+    private final BatchKey lookupKey = new BatchKey();
+    private int particleCount;
+
+    private EntityParticleManager(AWrapperWorld world) {
+        super(world, InterfaceManager.clientInterface.getClientPlayer().getPosition(), ZERO_FOR_CONSTRUCTOR, ZERO_FOR_CONSTRUCTOR);
+    }
+
+    /**
+     * Spawns the particle from the passed-in entity.  Sprite particles go into the pooled manager for the entity's
+     * world, unless batched particles are disabled in the config.  All others are spawned as {@link EntityParticle}s.
+     * Parameters are the same as the {@link EntityParticle} constructor.
+     */
+    public static void spawnParticle(AEntityC_Renderable entitySpawning, JSONParticle definition, Point3D spawningPosition, Point3D spawningAngles, AnimationSwitchbox spawningSwitchbox) {
+        if (ConfigSystem.client.renderingSettings.batchedParticles.value && canPool(definition)) {
+            EntityParticleManager manager = managers.get(entitySpawning.world);
+            if (manager == null) {
+                manager = new EntityParticleManager(entitySpawning.world);
+                managers.put(entitySpawning.world, manager);
+                entitySpawning.world.addEntity(manager);
+            }
+            manager.getPool(definition).spawn(entitySpawning, spawningPosition, spawningAngles, spawningSwitchbox);
+        } else {
+            entitySpawning.world.addEntity(new EntityParticle(entitySpawning, definition, spawningPosition, spawningAngles, spawningSwitchbox));
+        }
+    }
+
+    /**
+     * Returns true if the particle can be handled by the pooled manager.
+     */
+    private static boolean canPool(JSONParticle definition) {
+        return definition.model == null && definition.type != ParticleType.CASING && definition.subParticles == null && definition.spawningOrientation != ParticleSpawningOrientation.ATTACHED && definition.spawningOrientation != ParticleSpawningOrientation.WORLD_ATTACHED && (!definition.stopsOnGround || definition.groundSounds == null);
+    }
+
+    @Override
+    public void update() {
+        super.update();
+        world.beginProfiling("ParticleUpdates", true);
+        //Keep ourselves at the player so particle vertices stay small and don't lose precision.
+        position.set(InterfaceManager.clientInterface.getClientPlayer().getPosition());
+
+        //Tick all particles, and get the bounds of them all for culling.
+        particleCount = 0;
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double minZ = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        double maxZ = -Double.MAX_VALUE;
+        for (ParticlePool pool : pools.values()) {
+            pool.tick();
+            for (int i = 0; i < pool.count; ++i) {
+                minX = Math.min(minX, pool.positionsX[i]);
+                minY = Math.min(minY, pool.positionsY[i]);
+                minZ = Math.min(minZ, pool.positionsZ[i]);
+                maxX = Math.max(maxX, pool.positionsX[i]);
+                maxY = Math.max(maxY, pool.positionsY[i]);
+                maxZ = Math.max(maxZ, pool.positionsZ[i]);
+            }
+            particleCount += pool.count;
+        }
+        if (particleCount > 0) {
+            //Pad by a few blocks to account for particle size.
+            boundingBox.globalCenter.set((minX + maxX) / 2D, (minY + maxY) / 2D, (minZ + maxZ) / 2D);
+            boundingBox.widthRadius = (maxX - minX) / 2D + 4;
+            boundingBox.heightRadius = (maxY - minY) / 2D + 4;
+            boundingBox.depthRadius = (maxZ - minZ) / 2D + 4;
+        } else {
+            boundingBox.globalCenter.set(position);
+            boundingBox.widthRadius = 0;
+            boundingBox.heightRadius = 0;
+            boundingBox.depthRadius = 0;
+        }
+        world.endProfiling();
+    }
+
+    @Override
+    public void remove() {
+        super.remove();
+        if (managers.get(world) == this) {
+            managers.remove(world);
+        }
+    }
+
+    @Override
+    public boolean requiresDeltaUpdates() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldLinkBoundsToPosition() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldSync() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldSavePosition() {
+        return false;
+    }
+
+    @Override
+    protected boolean disableRendering() {
+        return particleCount == 0 || super.disableRendering();
+    }
+
+    @Override
+    protected void renderModel(TransformationMatrix transform, boolean blendingEnabled, float partialTicks) {
+        for (ParticlePool pool : pools.values()) {
+            pool.addToBatches(blendingEnabled, partialTicks);
+        }
+        Iterator<ParticleBatch> iterator = batches.values().iterator();
+        while (iterator.hasNext()) {
+            ParticleBatch batch = iterator.next();
+            if (batch.particles > 0) {
+                batch.renderable.vertexObject.vertices.flip();
+                batch.renderable.transform.set(transform);
+                batch.renderable.render();
+                batch.renderable.vertexObject.vertices.clear();
+                batch.particles = 0;
+                batch.unusedRenders = 0;
+            } else if (++batch.unusedRenders > MAX_UNUSED_RENDERS) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public void renderBoundingBoxes(TransformationMatrix transform) {
+        //Don't render our box, it's just for culling.
+    }
+
+    private ParticlePool getPool(JSONParticle definition) {
+        ParticlePool pool = pools.get(definition);
+        if (pool == null) {
+            pool = new ParticlePool(definition);
+            pools.put(definition, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * Returns the batch for the passed-in render state, creating it if it doesn't exist.
+     */
+    private ParticleBatch getBatch(String texture, LightingMode lightingMode, boolean enableBrightBlending, boolean isTranslucent) {
+        lookupKey.texture = texture;
+        lookupKey.lightingMode = lightingMode;
+        lookupKey.enableBrightBlending = enableBrightBlending;
+        lookupKey.isTranslucent = isTranslucent;
+        ParticleBatch batch = batches.get(lookupKey);
+        if (batch == null) {
+            BatchKey key = new BatchKey(lookupKey);
+            batch = new ParticleBatch(key, 16);
+            batches.put(key, batch);
+        }
+        return batch;
+    }
+
+    /**
+     * Pooled storage for all particles of one definition.  Each property is its own array, indexed by particle.
+     * Dead particles are swapped with the last particle, so the live particles are always at the start of the arrays.
+     */
+    private class ParticlePool {
+        private final JSONParticle definition;
+        private final String texture;
+        private int count;
+
+        private AEntityC_Renderable[] spawners;
+        private double[] positionsX;
+        private double[] positionsY;
+        private double[] positionsZ;
+        private double[] prevPositionsX;
+        private double[] prevPositionsY;
+        private double[] prevPositionsZ;
+        private double[] motionsX;
+        private double[] motionsY;
+        private double[] motionsZ;
+        private double[] initialVelocitiesX;
+        private double[] initialVelocitiesY;
+        private double[] initialVelocitiesZ;
+        private RotationMatrix[] orientations;
+        private RotationMatrix[] prevOrientations;
+        private ParticleAppearance[] appearances;
+        private int[] ages;
+        private int[] maxAges;
+        private boolean[] touchingBlocks;
+        private boolean[] killed;
+        private int[] worldLightValues;
+        private float[] daytimeAlphas;
+        private float[] minUs;
+        private float[] maxUs;
+        private float[] minVs;
+        private float[] maxVs;
+
+        private ParticlePool(JSONParticle definition) {
+            this.definition = definition;
+            this.texture = ParticleAppearance.getSingleTexture(definition);
+            allocate(16);
+        }
+
+        private void allocate(int size) {
+            spawners = spawners == null ? new AEntityC_Renderable[size] : Arrays.copyOf(spawners, size);
+            positionsX = copyOf(positionsX, size);
+            positionsY = copyOf(positionsY, size);
+            positionsZ = copyOf(positionsZ, size);
+            prevPositionsX = copyOf(prevPositionsX, size);
+            prevPositionsY = copyOf(prevPositionsY, size);
+            prevPositionsZ = copyOf(prevPositionsZ, size);
+            motionsX = copyOf(motionsX, size);
+            motionsY = copyOf(motionsY, size);
+            motionsZ = copyOf(motionsZ, size);
+            initialVelocitiesX = copyOf(initialVelocitiesX, size);
+            initialVelocitiesY = copyOf(initialVelocitiesY, size);
+            initialVelocitiesZ = copyOf(initialVelocitiesZ, size);
+            int oldSize = orientations != null ? orientations.length : 0;
+            orientations = orientations == null ? new RotationMatrix[size] : Arrays.copyOf(orientations, size);
+            prevOrientations = prevOrientations == null ? new RotationMatrix[size] : Arrays.copyOf(prevOrientations, size);
+            appearances = appearances == null ? new ParticleAppearance[size] : Arrays.copyOf(appearances, size);
+            for (int i = oldSize; i < size; ++i) {
+                orientations[i] = new RotationMatrix();
+                prevOrientations[i] = new RotationMatrix();
+                appearances[i] = new ParticleAppearance();
+            }
+            ages = copyOf(ages, size);
+            maxAges = copyOf(maxAges, size);
+            touchingBlocks = touchingBlocks == null ? new boolean[size] : Arrays.copyOf(touchingBlocks, size);
+            killed = killed == null ? new boolean[size] : Arrays.copyOf(killed, size);
+            worldLightValues = copyOf(worldLightValues, size);
+            daytimeAlphas = copyOf(daytimeAlphas, size);
+            minUs = copyOf(minUs, size);
+            maxUs = copyOf(maxUs, size);
+            minVs = copyOf(minVs, size);
+            maxVs = copyOf(maxVs, size);
+        }
+
+        /**
+         * Spawns a particle in this pool.  This is the same logic as the {@link EntityParticle} constructor.
+         */
+        private void spawn(AEntityC_Renderable entitySpawning, Point3D spawningPosition, Point3D spawningAngles, AnimationSwitchbox spawningSwitchbox) {
+            if (count == spawners.length) {
+                allocate(count * 2);
+            }
+            int i = count;
+            RotationMatrix orientation = orientations[i];
+            orientation.setToAngles(spawningAngles != null ? spawningAngles : ZERO_FOR_CONSTRUCTOR);
+            if (!EntityParticle.setSpawnState(definition, entitySpawning, spawningPosition, spawningSwitchbox, particlePosition, orientation, particleMotion)) {
+                //Nothing for bullet to hit, block spawning.
+                return;
+            }
+            prevOrientations[i].set(orientation);
+
+            //Now that position is set, check to make sure we aren't an invalid particle.
+            Point3D blockCheckPosition = EntityParticle.getBlockCheckPosition(world, definition, particlePosition, spawningPosition);
+            if (definition.type == ParticleType.BREAK && world.isAir(blockCheckPosition)) {
+                //Don't spawn break particles in the air, they're null textures.
+                return;
+            }
+            EntityParticle.updateOrientation(definition, orientation, particlePosition, particleMotion);
+
+            //Particle is valid, add it to the pool.
+            ++count;
+            spawners[i] = entitySpawning;
+            positionsX[i] = particlePosition.x;
+            positionsY[i] = particlePosition.y;
+            positionsZ[i] = particlePosition.z;
+            prevPositionsX[i] = particlePosition.x;
+            prevPositionsY[i] = particlePosition.y;
+            prevPositionsZ[i] = particlePosition.z;
+            motionsX[i] = particleMotion.x;
+            motionsY[i] = particleMotion.y;
+            motionsZ[i] = particleMotion.z;
+            initialVelocitiesX[i] = particleMotion.x;
+            initialVelocitiesY[i] = particleMotion.y;
+            initialVelocitiesZ[i] = particleMotion.z;
+            ages[i] = 0;
+            maxAges[i] = EntityParticle.generateMaxAge(definition);
+            touchingBlocks[i] = false;
+            killed[i] = false;
+            appearances[i].reset(definition, maxAges[i], definition.useBlockColor ? world.getBlockColor(blockCheckPosition) : null);
+            daytimeAlphas[i] = EntityParticle.getDaytimeAlpha(world, definition, particlePosition);
+            if (definition.type == ParticleType.BREAK) {
+                float[] uvPoints = InterfaceManager.renderingInterface.getBlockBreakTexture(world, blockCheckPosition);
+                minUs[i] = uvPoints[0];
+                maxUs[i] = uvPoints[1];
+                minVs[i] = uvPoints[2];
+                maxVs[i] = uvPoints[3];
+            } else {
+                minUs[i] = 0;
+                maxUs[i] = 1;
+                minVs[i] = 0;
+                maxVs[i] = 1;
+            }
+        }
+
+        /**
+         * Ticks all particles in this pool.  This is the same logic as {@link EntityParticle#update()}.
+         */
+        private void tick() {
+            int i = 0;
+            while (i < count) {
+                //Update age and previous values.
+                int age = ++ages[i];
+                prevPositionsX[i] = positionsX[i];
+                prevPositionsY[i] = positionsY[i];
+                prevPositionsZ[i] = positionsZ[i];
+                prevOrientations[i].set(orientations[i]);
+                particlePosition.set(positionsX[i], positionsY[i], positionsZ[i]);
+                worldLightValues[i] = InterfaceManager.renderingInterface.getLightingAtPosition(particlePosition);
+
+                //Check age to see if we are on our last tick or if we were killed last tick.
+                if (age == maxAges[i] || killed[i]) {
+                    removeParticle(i);
+                    continue;
+                }
+
+                //Set movement.
+                if (!definition.stopsOnGround || !touchingBlocks[i]) {
+                    particleMotion.set(motionsX[i], motionsY[i], motionsZ[i]);
+                    particleInitialVelocity.set(initialVelocitiesX[i], initialVelocitiesY[i], initialVelocitiesZ[i]);
+                    if (!EntityParticle.updateMotion(world, definition, age, particlePosition, particleMotion, particleInitialVelocity, touchingBlocks[i])) {
+                        killed[i] = true;
+                    }
+
+                    //Check collision movement.  If we hit a block, don't move.
+                    if (!definition.ignoreCollision) {
+                        collisionBox.globalCenter.set(particlePosition);
+                        collisionBox.widthRadius = definition.hitboxSize / 2D;
+                        collisionBox.heightRadius = collisionBox.widthRadius;
+                        collisionBox.depthRadius = collisionBox.widthRadius;
+                        touchingBlocks[i] = EntityParticle.updateCollision(world, definition, collisionBox, particlePosition, particleMotion);
+                    }
+                    particlePosition.add(particleMotion);
+                    positionsX[i] = particlePosition.x;
+                    positionsY[i] = particlePosition.y;
+                    positionsZ[i] = particlePosition.z;
+                    motionsX[i] = particleMotion.x;
+                    motionsY[i] = particleMotion.y;
+                    motionsZ[i] = particleMotion.z;
+
+                    //Update orientation.
+                    EntityParticle.tickOrientation(definition, orientations[i], particlePosition, particleMotion);
+                }
+
+                //Check if we need to change textures or colors.
+                appearances[i].tick(age);
+
+                //Get world light for alpha here rather than every frame, since it's slow and won't change much in a tick.
+                daytimeAlphas[i] = EntityParticle.getDaytimeAlpha(world, definition, particlePosition);
+                ++i;
+            }
+        }
+
+        /**
+         * Adds the vertices for all particles in this pool that should render on this pass to their batches.
+         * This is the same logic as {@link EntityParticle#renderModel(TransformationMatrix, boolean, float)}.
+         */
+        private void addToBatches(boolean blendingEnabled, float partialTicks) {
+            //These are the same for the whole pool.
+            final LightingMode lightingMode;
+            final boolean translucentOverride;
+            if (EntityParticle.isBright(definition)) {
+                lightingMode = LightingMode.IGNORE_ALL_LIGHTING;
+                translucentOverride = ConfigSystem.client.renderingSettings.lightsTransp.value;
+            } else {
+                lightingMode = LightingMode.IGNORE_ORIENTATION_LIGHTING;
+                translucentOverride = false;
+            }
+            boolean enableBrightBlending = definition.isBlended && ConfigSystem.client.renderingSettings.blendedLights.value;
+
+            for (int i = 0; i < count; ++i) {
+                int age = ages[i];
+                int maxAge = maxAges[i];
+                if (age == 0) {
+                    //Don't render on the first tick, same as entities.
+                    continue;
+                }
+
+                //First get alpha and texture, then check translucent.
+                float alpha = EntityParticle.getAlpha(definition, age, maxAge, partialTicks) * daytimeAlphas[i];
+                String particleTexture = appearances[i].getTexture(texture);
+                boolean isTranslucent = translucentOverride || alpha < 1.0 || RenderableData.isTextureTranslucent(particleTexture);
+                if (isTranslucent != blendingEnabled) {
+                    continue;
+                }
+
+                //Get the sprite corners.  Sprites are 1x1 quads in the XY-plane, so we only need the rotated X and Y axis.
+                double totalScale = EntityParticle.getScale(definition, age, maxAge, partialTicks);
+                interpolatedOrientation.interploate(prevOrientations[i], orientations[i], partialTicks);
+                Point3D spawnerScale = spawners[i].scale;
+                spriteRight.set(0.5 * totalScale * spawnerScale.x, 0, 0).rotate(interpolatedOrientation);
+                spriteUp.set(0, 0.5 * totalScale * spawnerScale.y, 0).rotate(interpolatedOrientation);
+                spriteNormal.set(0, 0, 1).rotate(interpolatedOrientation);
+                double centerX = prevPositionsX[i] + (positionsX[i] - prevPositionsX[i]) * partialTicks - position.x;
+                double centerY = prevPositionsY[i] + (positionsY[i] - prevPositionsY[i]) * partialTicks - position.y;
+                double centerZ = prevPositionsZ[i] + (positionsZ[i] - prevPositionsZ[i]) * partialTicks - position.z;
+
+                //Add vertices in the same order as sprites from RenderableVertices.
+                ParticleBatch batch = getBatch(particleTexture, lightingMode, enableBrightBlending, isTranslucent);
+                FloatBuffer vertices = batch.addParticle(appearances[i].getColor(age + partialTicks, helperColor), alpha, worldLightValues[i]);
+                putVertex(vertices, maxUs[i], maxVs[i], centerX, centerY, centerZ, 1, -1);
+                putVertex(vertices, maxUs[i], minVs[i], centerX, centerY, centerZ, 1, 1);
+                putVertex(vertices, minUs[i], minVs[i], centerX, centerY, centerZ, -1, 1);
+                putVertex(vertices, maxUs[i], maxVs[i], centerX, centerY, centerZ, 1, -1);
+                putVertex(vertices, minUs[i], minVs[i], centerX, centerY, centerZ, -1, 1);
+                putVertex(vertices, minUs[i], maxVs[i], centerX, centerY, centerZ, -1, -1);
+            }
+        }
+
+        private void putVertex(FloatBuffer vertices, float u, float v, double centerX, double centerY, double centerZ, int rightSign, int upSign) {
+            vertices.put((float) spriteNormal.x);
+            vertices.put((float) spriteNormal.y);
+            vertices.put((float) spriteNormal.z);
+            vertices.put(u);
+            vertices.put(v);
+            vertices.put((float) (centerX + rightSign * spriteRight.x + upSign * spriteUp.x));
+            vertices.put((float) (centerY + rightSign * spriteRight.y + upSign * spriteUp.y));
+            vertices.put((float) (centerZ + rightSign * spriteRight.z + upSign * spriteUp.z));
+        }
+
+        /**
+         * Removes the particle at the passed-in index by moving the last particle into its slot.
+         * Object properties are swapped rather than copied so they can be re-used.
+         */
+        private void removeParticle(int i) {
+            int last = --count;
+            spawners[i] = spawners[last];
+            spawners[last] = null;
+            positionsX[i] = positionsX[last];
+            positionsY[i] = positionsY[last];
+            positionsZ[i] = positionsZ[last];
+            prevPositionsX[i] = prevPositionsX[last];
+            prevPositionsY[i] = prevPositionsY[last];
+            prevPositionsZ[i] = prevPositionsZ[last];
+            motionsX[i] = motionsX[last];
+            motionsY[i] = motionsY[last];
+            motionsZ[i] = motionsZ[last];
+            initialVelocitiesX[i] = initialVelocitiesX[last];
+            initialVelocitiesY[i] = initialVelocitiesY[last];
+            initialVelocitiesZ[i] = initialVelocitiesZ[last];
+            RotationMatrix removedOrientation = orientations[i];
+            orientations[i] = orientations[last];
+            orientations[last] = removedOrientation;
+            RotationMatrix removedPrevOrientation = prevOrientations[i];
+            prevOrientations[i] = prevOrientations[last];
+            prevOrientations[last] = removedPrevOrientation;
+            ParticleAppearance removedAppearance = appearances[i];
+            appearances[i] = appearances[last];
+            appearances[last] = removedAppearance;
+            ages[i] = ages[last];
+            maxAges[i] = maxAges[last];
+            touchingBlocks[i] = touchingBlocks[last];
+            killed[i] = killed[last];
+            worldLightValues[i] = worldLightValues[last];
+            daytimeAlphas[i] = daytimeAlphas[last];
+            minUs[i] = minUs[last];
+            maxUs[i] = maxUs[last];
+            minVs[i] = minVs[last];
+            maxVs[i] = maxVs[last];
+        }
+    }
+
+    private static double[] copyOf(double[] array, int size) {
+        return array == null ? new double[size] : Arrays.copyOf(array, size);
+    }
+
+    private static float[] copyOf(float[] array, int size) {
+        return array == null ? new float[size] : Arrays.copyOf(array, size);
+    }
+
+    private static int[] copyOf(int[] array, int size) {
+        return array == null ? new int[size] : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * A sprite buffer for all particles that share the same render state.  The buffer and the per-vertex
+     * colors and light values are re-filled every render, and are replaced with larger ones if they run out of room.
+     */
+    private static class ParticleBatch {
+        private final BatchKey key;
+        private RenderableData renderable;
+        private int particles;
+        private int unusedRenders;
+
+        private ParticleBatch(BatchKey key, int capacity) {
+            this.key = key;
+            createRenderable(capacity);
+        }
+
+        private void createRenderable(int capacity) {
+            RenderableVertices oldVertexObject = renderable != null ? renderable.vertexObject : null;
+            float[] vertexColors = new float[capacity * VERTICES_PER_PARTICLE * 4];
+            int[] vertexLightValues = new int[capacity * VERTICES_PER_PARTICLE];
+            renderable = new RenderableData(new RenderableVertices("PARTICLE_BATCH", FloatBuffer.allocate(capacity * FLOATS_PER_PARTICLE), vertexColors, vertexLightValues), key.texture);
+            if (oldVertexObject != null) {
+                oldVertexObject.vertices.flip();
+                renderable.vertexObject.vertices.put(oldVertexObject.vertices);
+                System.arraycopy(oldVertexObject.vertexColors, 0, vertexColors, 0, oldVertexObject.vertexColors.length);
+                System.arraycopy(oldVertexObject.vertexLightValues, 0, vertexLightValues, 0, oldVertexObject.vertexLightValues.length);
+            }
+            renderable.setLightMode(key.lightingMode);
+            renderable.setBlending(key.enableBrightBlending);
+            if (key.isTranslucent && !renderable.isTranslucent) {
+                //Alpha is in the vertices, so we need to tell the renderable to render on the translucent pass.
+                renderable.setTransucentOverride();
+            }
+        }
+
+        /**
+         * Sets the color, alpha, and light value of the next particle, and returns the buffer to put its vertices in.
+         */
+        private FloatBuffer addParticle(ColorRGB color, float alpha, int worldLightValue) {
+            if (renderable.vertexObject.vertices.remaining() < FLOATS_PER_PARTICLE) {
+                createRenderable(renderable.vertexObject.vertices.capacity() / FLOATS_PER_PARTICLE * 2);
+            }
+            float[] vertexColors = renderable.vertexObject.vertexColors;
+            int[] vertexLightValues = renderable.vertexObject.vertexLightValues;
+            int firstVertex = particles * VERTICES_PER_PARTICLE;
+            for (int vertexIndex = firstVertex; vertexIndex < firstVertex + VERTICES_PER_PARTICLE; ++vertexIndex) {
+                vertexColors[vertexIndex * 4] = color.red;
+                vertexColors[vertexIndex * 4 + 1] = color.green;
+                vertexColors[vertexIndex * 4 + 2] = color.blue;
+                vertexColors[vertexIndex * 4 + 3] = alpha;
+                vertexLightValues[vertexIndex] = worldLightValue;
+            }
+            ++particles;
+            return renderable.vertexObject.vertices;
+        }
+    }
+
+    private static class BatchKey {
+        private String texture;
+        private LightingMode lightingMode;
+        private boolean enableBrightBlending;
+        private boolean isTranslucent;
+
+        private BatchKey() {
+        }
+
+        private BatchKey(BatchKey other) {
+            this.texture = other.texture;
+            this.lightingMode = other.lightingMode;
+            this.enableBrightBlending = other.enableBrightBlending;
+            this.isTranslucent = other.isTranslucent;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            } else if (object instanceof BatchKey) {
+                BatchKey other = (BatchKey) object;
+                return Objects.equals(texture, other.texture) && lightingMode == other.lightingMode && enableBrightBlending == other.enableBrightBlending && isTranslucent == other.isTranslucent;
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = Objects.hashCode(texture);
+            hash = 31 * hash + lightingMode.ordinal();
+            hash = 31 * hash + (enableBrightBlending ? 1 : 0);
+            hash = 31 * hash + (isTranslucent ? 1 : 0);
+            return hash;
+        }
+    }
+}
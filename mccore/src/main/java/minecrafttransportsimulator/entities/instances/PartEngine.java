@@ -213,7 +213,7 @@ public class PartEngine extends APart {
                     //Don't hand-start engines from seated players.  Lazy bums...
                     if (!masterEntity.allParts.contains(damage.entityResponsible.getEntityRiding())) {
                         handStartEngine();
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.HS_ON));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.HS_ON), this);
                         return;
                     }
                 }
@@ -224,11 +224,11 @@ public class PartEngine extends APart {
                     hoursApplied *= 10;
                 }
                 hoursVar.adjustBy(hoursApplied, false);
-                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, hoursApplied));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, hoursApplied), this);
             }
         } else if (definition.engine.type == JSONPart.EngineType.NORMAL) {
             stallEngine(Signal.DROWN);
-            InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.DROWN));
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.DROWN), this);
         }
     }
 
@@ -405,13 +405,13 @@ public class PartEngine extends APart {
                 if (!world.isClient()) {
                     if (!isActiveVar.isActive) {
                         stallEngine(Signal.INACTIVE);
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.INACTIVE));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.INACTIVE), this);
                     } else if (outOfHealth || vehicleOn.outOfHealth) {
                         stallEngine(Signal.OUT_OF_HEALTH);
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.OUT_OF_HEALTH));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.OUT_OF_HEALTH), this);
                     } else if (isInvalidDimension()) {
                         stallEngine(Signal.INVALID_DIMENSION);
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.INVALID_DIMENSION));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.INVALID_DIMENSION), this);
                     }
                 }
 
@@ -484,7 +484,7 @@ public class PartEngine extends APart {
                         if (hoursVar.currentValue >= 500 && !world.isClient()) {
                             if (Math.random() < (hoursVar.currentValue / 3) / (500 + (10000 - hoursVar.currentValue)) * (maxSafeRPMVar.currentValue / (rpm + maxSafeRPMVar.currentValue / 1.5))) {
                                 backfireEngine();
-                                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.BACKFIRE));
+                                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.BACKFIRE), this);
                             }
                         }
 
@@ -492,16 +492,16 @@ public class PartEngine extends APart {
                         if (!world.isClient()) {
                             if (isInLiquid()) {
                                 stallEngine(Signal.DROWN);
-                                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.DROWN));
+                                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.DROWN), this);
                             } else if (!vehicleOn.isCreative && ConfigSystem.settings.general.fuelUsageFactor.value != 0 && vehicleOn.fuelTank.getFluidLevel() == 0) {
                                 stallEngine(Signal.FUEL_OUT);
-                                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.FUEL_OUT));
+                                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.FUEL_OUT), this);
                             } else if (rpm < stallRPMVar.currentValue) {
                                 stallEngine(Signal.TOO_SLOW);
-                                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.TOO_SLOW));
+                                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.TOO_SLOW), this);
                             } else if (!isActiveVar.isActive) {
                                 stallEngine(Signal.INACTIVE);
-                                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.INACTIVE));
+                                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.INACTIVE), this);
                             }
                         }
                     } else {
@@ -520,7 +520,7 @@ public class PartEngine extends APart {
                             if (vehicleOn.isCreative || ConfigSystem.settings.general.fuelUsageFactor.value == 0 || vehicleOn.fuelTank.getFluidLevel() > 0) {
                                 if (isActiveVar.isActive && !isInLiquid() && magnetoVar.isActive) {
                                     startEngine();
-                                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.START));
+                                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.START), this);
                                 }
                             }
                         }
@@ -558,7 +558,7 @@ public class PartEngine extends APart {
                         if (!world.isClient()) {
                             if (!vehicleOn.isCreative && ConfigSystem.settings.general.fuelUsageFactor.value != 0 && vehicleOn.fuelTank.getFluidLevel() == 0) {
                                 stallEngine(Signal.FUEL_OUT);
-                                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.FUEL_OUT));
+                                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.FUEL_OUT), this);
                             }
                         }
                     } else {
@@ -567,7 +567,7 @@ public class PartEngine extends APart {
                             if (isActiveVar.isActive && (vehicleOn.isCreative || ConfigSystem.settings.general.fuelUsageFactor.value == 0 || vehicleOn.fuelTank.getFluidLevel() > 0)) {
                                 if (magnetoVar.isActive) {
                                     startEngine();
-                                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.START));
+                                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.START), this);
                                 }
                             }
                         }
@@ -585,7 +585,7 @@ public class PartEngine extends APart {
                             if (isActiveVar.isActive) {
                                 if (magnetoVar.isActive){
                                     startEngine();
-                                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.START));
+                                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.START), this);
                                 }
                             }
                         }
@@ -1070,10 +1070,10 @@ public class PartEngine extends APart {
                 shiftCooldown = definition.engine.shiftSpeed;
                 upshiftCountdown = definition.engine.clutchTime;
                 if (!world.isClient()) {
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.SHIFT_UP));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.SHIFT_UP), this);
                 }
             } else {
-                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.BAD_SHIFT));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.BAD_SHIFT), this);
             }
         }
         return doShift;
@@ -1101,10 +1101,10 @@ public class PartEngine extends APart {
                 shiftCooldown = definition.engine.shiftSpeed;
                 downshiftCountdown = definition.engine.clutchTime;
                 if (!world.isClient()) {
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.SHIFT_DOWN));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.SHIFT_DOWN), this);
                 }
             } else {
-                InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.BAD_SHIFT));
+                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.BAD_SHIFT), this);
             }
         }
         return doShift;
@@ -1121,7 +1121,7 @@ public class PartEngine extends APart {
                 shiftCooldown = definition.engine.shiftSpeed;
                 currentGearVar.setTo(0, false);
                 if (!world.isClient()) {
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.SHIFT_NEUTRAL));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(this, Signal.SHIFT_NEUTRAL), this);
                 }
             }
         }
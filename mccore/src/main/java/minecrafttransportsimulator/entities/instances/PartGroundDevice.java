@@ -311,7 +311,7 @@ public class PartGroundDevice extends APart {
                 }
             }
             //Valid conditions, send packet before continuing.
-            InterfaceManager.packetInterface.sendToAllClients(new PacketPartGroundDevice(this, setFlat));
+            InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartGroundDevice(this, setFlat), this);
         }
         flatVar.setActive(setFlat, false);
     }
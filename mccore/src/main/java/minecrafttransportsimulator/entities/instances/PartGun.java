@@ -150,6 +150,7 @@ public class PartGun extends APart {
     private final RotationMatrix controllerCameraOrientation = new RotationMatrix();
     private final Point3D normalizedConeVector = new Point3D();
     private final Point3D normalizedEntityVector = new Point3D();
+    private final List<EntityVehicleF_Physics> vehiclesInCone = new ArrayList<>();
     private final Point3D controllerCameraRelativeAngles = new Point3D();
 
     //Track previous targets to detect changes for registration
@@ -518,7 +519,7 @@ public class PartGun extends APart {
                                 if (isHandHeld) {
                                     if (!world.isClient()) {
                                         performGunHandheldMovements();
-                                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartGun(this, PacketPartGun.Request.HANDHELD_MOVEMENTS));
+                                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartGun(this, PacketPartGun.Request.HANDHELD_MOVEMENTS), this);
                                     } else if (InterfaceManager.clientInterface.getClientPlayer().equals(lastController)) {
                                         InterfaceManager.packetInterface.sendToServer(new PacketPartGun(this, PacketPartGun.Request.HANDHELD_MOVEMENTS));
                                     }
@@ -539,7 +540,7 @@ public class PartGun extends APart {
                                             lastLoadedBullet = loadedBullets.get(0);
                                         } else {
                                             if (!world.isClient()) {
-                                                InterfaceManager.packetInterface.sendToAllClients(new PacketPartGun(this, PacketPartGun.Request.BULLETS_OUT));
+                                                InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartGun(this, PacketPartGun.Request.BULLETS_OUT), this);
                                             }
                                             break;
                                         }
@@ -634,7 +635,7 @@ public class PartGun extends APart {
                     reloadingBulletCount -= countToLoad;
                     firedBullets.clear();//Clear fired bullets in case we haven't used them for any animations, don't want an overflow list.
                     if (!world.isClient()) {
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartGun(this, PacketPartGun.Request.BULLETS_PRESENT));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartGun(this, PacketPartGun.Request.BULLETS_PRESENT), this);
                     }
                     if (reloadingBullets.isEmpty() && reloadEndTimeRemaining == 0) {
                         //No winddown, and no bullets left to reload, reloading ends here.
@@ -854,23 +855,20 @@ public class PartGun extends APart {
                 if (startPoint != null) {
                     //First check for hard targets, since those are more dangerous.
                     if (definition.gun.targetType == TargetType.ALL || definition.gun.targetType == TargetType.HARD || definition.gun.targetType == TargetType.AIRCRAFT || definition.gun.targetType == TargetType.GROUND) {
-                        normalizedConeVector.set(searchVector).normalize();
                         EntityVehicleF_Physics vehicleTarget = null;
                         double smallestDistance = searchVector.length();
-                        for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
+                        vehiclesInCone.clear();
+                        world.populateWithVehiclesInCone(vehiclesInCone, startPoint, searchVector, coneAngle);
+                        for (EntityVehicleF_Physics vehicle : vehiclesInCone) {
                             //Make sure we don't lock-on to our own vehicle.  Also, ensure if we want aircraft, or ground, we only get those.
                             if (vehicle != vehicleOn && (definition.gun.targetType != TargetType.AIRCRAFT || vehicle.definition.motorized.isAircraft) && (definition.gun.targetType != TargetType.GROUND || !vehicle.definition.motorized.isAircraft)) {
-                                targetVector.set(vehicle.position).subtract(startPoint);
-                                if (world.getBlockHit(startPoint, targetVector) == null) {
-                                    double entityDistance = vehicle.position.distanceTo(startPoint);
-                                    if (entityDistance < smallestDistance) {
-                                        //Potential match by distance, check if the entity is inside the cone.
-                                        normalizedEntityVector.set(vehicle.position).subtract(startPoint).normalize();
-                                        double targetAngle = Math.abs(Math.toDegrees(Math.acos(normalizedConeVector.dotProduct(normalizedEntityVector, false))));
-                                        if (targetAngle < coneAngle) {
-                                            smallestDistance = entityDistance;
-                                            vehicleTarget = vehicle;
-                                        }
+                                double entityDistance = vehicle.position.distanceTo(startPoint);
+                                if (entityDistance < smallestDistance) {
+                                    //Potential match by distance, check if we can actually see the entity.
+                                    targetVector.set(vehicle.position).subtract(startPoint);
+                                    if (world.getBlockHit(startPoint, targetVector) == null) {
+                                        smallestDistance = entityDistance;
+                                        vehicleTarget = vehicle;
                                     }
                                 }
                             }
@@ -1113,7 +1111,7 @@ public class PartGun extends APart {
                         IWrapperItemStack bulletStack = loadedBullets.get(0).getNewStack(data);
                         clearBullets();
                         if (holdingPlayer.getInventory().addStack(bulletStack)) {
-                            InterfaceManager.packetInterface.sendToAllClients(new PacketPartGun(this, PacketPartGun.Request.CLEAR_ONCLIENT));
+                            InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartGun(this, PacketPartGun.Request.CLEAR_ONCLIENT), this);
                         } else {
                             //Can't add the clip to the player's inventory.
                             return false;
@@ -1136,7 +1134,7 @@ public class PartGun extends APart {
                     if (bulletQty + loadedBulletCount + reloadingBulletCount <= definition.gun.capacity) {
                         //Able to load, do so now (above check shouldn't matter for hand-helds since those always have capacity, but common code is common).
                         setReloadVars(bulletItem, bulletQty);
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartGun(this, bulletItem, bulletQty));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartGun(this, bulletItem, bulletQty), this);
                         return true;
                     }
                 }
@@ -114,7 +114,7 @@ public final class PartInteractable extends APart {
                 case CRAFTING_TABLE: {
                     player.openCraftingGUI();
                     playersInteracting.add(player);
-                    InterfaceManager.packetInterface.sendToAllClients(new PacketEntityInteractGUI(this, player, true));
+                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityInteractGUI(this, player, true), this);
                     break;
                 }
                 case JERRYCAN:
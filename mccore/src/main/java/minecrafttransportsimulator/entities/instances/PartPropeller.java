@@ -73,7 +73,7 @@ public class PartPropeller extends APart {
                 if (!masterEntity.allParts.contains(damage.entityResponsible.getEntityRiding())) {
                     connectedEngines.forEach(connectedEngine -> {
                         connectedEngine.handStartEngine();
-                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(connectedEngine, Signal.HS_ON));
+                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(connectedEngine, Signal.HS_ON), connectedEngine);
                     });
                 }
             }
@@ -0,0 +1,197 @@
+package minecrafttransportsimulator.entities.instances;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import minecrafttransportsimulator.baseclasses.ColorRGB;
+import minecrafttransportsimulator.jsondefs.JSONParticle;
+import minecrafttransportsimulator.jsondefs.JSONParticle.ParticleType;
+import minecrafttransportsimulator.rendering.RenderableData;
+
+/**
+ * Texture and color state of a single particle.  This handles cycling through texture and color lists
+ * over the life of the particle.  Both {@link EntityParticle}s and the pools in {@link EntityParticleManager}
+ * use this class, so particles look the same no matter which one they spawn as.  Instances may be re-used
+ * for new particles by calling {@link #reset(JSONParticle, int, ColorRGB)}.
+ *
+ * @author agent
+ */
+class ParticleAppearance {
+    private static final List<String> SMOKE_TEXTURES = new ArrayList<>();
+    private static final Random particleRandom = new Random();
+
+    static {
+        for (int i = 0; i <= 11; ++i) {
+            SMOKE_TEXTURES.add("mts:textures/particles/big_smoke_" + i + ".png");
+        }
+    }
+
+    private JSONParticle definition;
+    private int maxAge;
+
+    /**Textures this particle cycles through, or null if it only has one texture.**/
+    List<String> textureList;
+    private int textureIndex;
+    private int textureDelayIndex;
+    private float timeOfNextTexture;
+
+    private ColorRGB staticColor;
+    private ColorRGB startColor;
+    private ColorRGB endColor;
+    private int timeOfCurrentColor;
+    private int timeOfNextColor;
+    private int colorIndex;
+    private int colorDelayIndex;
+
+    /**
+     * Sets this appearance up for a newly-spawned particle.  The block color is only used if
+     * the definition says to use it, and may be null otherwise.
+     */
+    void reset(JSONParticle definition, int maxAge, ColorRGB blockColor) {
+        this.definition = definition;
+        this.maxAge = maxAge;
+
+        //Set initial texture delay and texture.
+        textureList = getTextureList(definition);
+        textureIndex = 0;
+        textureDelayIndex = 0;
+        if (textureList == SMOKE_TEXTURES) {
+            timeOfNextTexture = (int) (maxAge / 12F);
+        } else if (textureList != null) {
+            if (definition.randomTexture) {
+                textureIndex = particleRandom.nextInt(textureList.size());
+            }
+            if (definition.textureDelays != null) {
+                timeOfNextTexture = definition.textureDelays.get(textureDelayIndex);
+            } else {
+                timeOfNextTexture = maxAge;
+            }
+        }
+
+        //Set color.
+        staticColor = null;
+        startColor = null;
+        endColor = null;
+        timeOfCurrentColor = 0;
+        timeOfNextColor = 0;
+        colorIndex = 0;
+        colorDelayIndex = 0;
+        if (definition.useBlockColor) {
+            staticColor = blockColor;
+        } else if (definition.color != null) {
+            if (definition.toColor != null) {
+                startColor = definition.color;
+                endColor = definition.toColor;
+                timeOfNextColor = maxAge;
+            } else {
+                staticColor = definition.color;
+            }
+        } else if (definition.colorList != null) {
+            if (definition.randomColor) {
+                colorIndex = particleRandom.nextInt(definition.colorList.size());
+            }
+            setColors();
+            if (definition.colorDelays != null) {
+                timeOfNextColor = definition.colorDelays.get(colorDelayIndex);
+            } else {
+                timeOfNextColor = maxAge;
+            }
+        } else {
+            staticColor = ColorRGB.WHITE;
+        }
+    }
+
+    /**
+     * Changes textures and colors if it's time to do so.  Should be called once every tick with the age of the particle.
+     */
+    void tick(long ticksExisted) {
+        if (textureList != null && timeOfNextTexture <= ticksExisted) {
+            if (++textureIndex == textureList.size()) {
+                textureIndex = 0;
+            }
+            if (definition.textureDelays != null) {
+                if (++textureDelayIndex == definition.textureDelays.size()) {
+                    textureDelayIndex = 0;
+                }
+                timeOfNextTexture += definition.textureDelays.get(textureDelayIndex);
+            } else {
+                //Assume internal smoke, so use constant delay.
+                timeOfNextTexture += maxAge / 12F;
+            }
+        }
+        if (definition.colorDelays != null && definition.colorList != null && timeOfNextColor == ticksExisted) {
+            if (++colorIndex == definition.colorList.size()) {
+                colorIndex = 0;
+            }
+            setColors();
+
+            if (++colorDelayIndex == definition.colorDelays.size()) {
+                colorDelayIndex = 0;
+            }
+            timeOfCurrentColor = timeOfNextColor;
+            timeOfNextColor += definition.colorDelays.get(colorDelayIndex);
+        }
+    }
+
+    /**
+     * Returns the current texture from the texture list, or the passed-in texture if this particle only has one.
+     */
+    String getTexture(String singleTexture) {
+        return textureList != null ? textureList.get(textureIndex) : singleTexture;
+    }
+
+    /**
+     * Returns the color of the particle at the passed-in age, which includes partial ticks.
+     * If the color is changing, it is set in the passed-in helper color, which is then returned.
+     */
+    ColorRGB getColor(float ticksExisted, ColorRGB helperColor) {
+        if (staticColor != null) {
+            return staticColor;
+        } else {
+            float colorDelta = (ticksExisted - timeOfCurrentColor) / (timeOfNextColor - timeOfCurrentColor);
+            helperColor.red = EntityParticle.interpolate(startColor.red, endColor.red, colorDelta, true);
+            helperColor.green = EntityParticle.interpolate(startColor.green, endColor.green, colorDelta, true);
+            helperColor.blue = EntityParticle.interpolate(startColor.blue, endColor.blue, colorDelta, true);
+            return helperColor;
+        }
+    }
+
+    private void setColors() {
+        startColor = definition.colorList.get(colorIndex);
+        if (colorIndex + 1 < definition.colorList.size()) {
+            endColor = definition.colorList.get(colorIndex + 1);
+        } else {
+            endColor = definition.colorList.get(0);
+        }
+    }
+
+    /**
+     * Returns the list of textures particles of the passed-in definition cycle through, or null if they only have one texture.
+     * Casings get their texture from the bullet fired, so they never have a list.
+     */
+    static List<String> getTextureList(JSONParticle definition) {
+        if (definition.texture != null || definition.type == ParticleType.BREAK || definition.type == ParticleType.CASING) {
+            return null;
+        } else if (definition.type == ParticleType.SMOKE) {
+            return SMOKE_TEXTURES;
+        } else {
+            return definition.textureList;
+        }
+    }
+
+    /**
+     * Returns the texture for particles of the passed-in definition that don't have a texture list.
+     * This doesn't apply to casings, which get their texture from the bullet fired.
+     */
+    static String getSingleTexture(JSONParticle definition) {
+        if (definition.texture != null) {
+            return definition.texture;
+        } else if (definition.type == ParticleType.BREAK) {
+            return RenderableData.GLOBAL_TEXTURE_NAME;
+        } else {
+            return "mts:textures/particles/" + definition.type.name().toLowerCase(Locale.ROOT) + ".png";
+        }
+    }
+}
@@ -76,7 +76,7 @@ public class GUIComponent3DModel extends AGUIComponent {
                 float maxZ = -999;
                 int totalVertices = 0;
                 for (RenderableVertices parsedObject : parsedObjects) {
-                    totalVertices += parsedObject.vertices.capacity();
+                    totalVertices += parsedObject.getVertexCount() * 8;
                     for (int i = 0; i < parsedObject.vertices.capacity(); i += 8) {
                         float xCoord = parsedObject.vertices.get(i + 5);
                         float yCoord = parsedObject.vertices.get(i + 6);
@@ -95,8 +95,7 @@ public class GUIComponent3DModel extends AGUIComponent {
                 //Cache the model now that we know how big it is.
                 FloatBuffer totalModel = FloatBuffer.allocate(totalVertices);
                 for (RenderableVertices parsedObject : parsedObjects) {
-                    totalModel.put(parsedObject.vertices);
-                    parsedObject.vertices.rewind();
+                    parsedObject.putTris(totalModel);
                 }
                 totalModel.flip();
                 RenderableData renderable = new RenderableData(new RenderableVertices("GUI_3D_MODEL", totalModel, true, AModelParser.isMissingModel(parsedObjects)), textureLocation);
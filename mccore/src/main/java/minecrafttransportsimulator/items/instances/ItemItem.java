@@ -211,7 +211,7 @@ public class ItemItem extends AItemPack<JSONItem> implements IItemEntityInteract
                                 data.setUUID(KEY_UUID_TAG, keyUUID);
                                 stack.setData(data);
                                 player.sendPacket(new PacketPlayerChatMessage(player, LanguageSystem.INTERACT_KEY_BIND));
-                                InterfaceManager.packetInterface.sendToAllClients(new PacketEntityKeyChange(vehicle, keyUUID));
+                                InterfaceManager.packetInterface.sendToTrackingClients(new PacketEntityKeyChange(vehicle, keyUUID), vehicle);
                             }
                             return CallbackType.NONE;
                         }
@@ -304,7 +304,7 @@ public class ItemItem extends AItemPack<JSONItem> implements IItemEntityInteract
                                     if (interactable.position.isDistanceToCloserThan(firstPartClicked.position, 16)) {
                                         if (interactable.tank.getFluid().isEmpty() || interactable.tank.getFluid().equals(firstPartClicked.tank.getFluid())) {
                                             firstPartClicked.linkedPart = interactable;
-                                            InterfaceManager.packetInterface.sendToAllClients(new PacketPartInteractable(firstPartClicked, player));
+                                            InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartInteractable(firstPartClicked, player), firstPartClicked);
                                             player.sendPacket(new PacketPlayerChatMessage(player, LanguageSystem.INTERACT_FUELHOSE_SECONDLINK));
                                         } else {
                                             player.sendPacket(new PacketPlayerChatMessage(player, LanguageSystem.INTERACT_FUELHOSE_DIFFERENTFLUIDS));
@@ -321,7 +321,7 @@ public class ItemItem extends AItemPack<JSONItem> implements IItemEntityInteract
                             if (vehicle.position.isDistanceToCloserThan(firstPartClicked.position, 16)) {
                                 if (vehicle.fuelTank.getFluid().isEmpty() || vehicle.fuelTank.getFluid().equals(firstPartClicked.tank.getFluid())) {
                                     firstPartClicked.linkedVehicle = vehicle;
-                                    InterfaceManager.packetInterface.sendToAllClients(new PacketPartInteractable(firstPartClicked, player));
+                                    InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartInteractable(firstPartClicked, player), firstPartClicked);
                                     player.sendPacket(new PacketPlayerChatMessage(player, LanguageSystem.INTERACT_FUELHOSE_SECONDLINK));
                                 } else {
                                     player.sendPacket(new PacketPlayerChatMessage(player, LanguageSystem.INTERACT_FUELHOSE_DIFFERENTFLUIDS));
@@ -351,8 +351,8 @@ public class ItemItem extends AItemPack<JSONItem> implements IItemEntityInteract
                                     } else if (engine.position.isDistanceToCloserThan(firstEngineClicked.position, 15)) {
                                         engine.linkedEngine = firstEngineClicked;
                                         firstEngineClicked.linkedEngine = engine;
-                                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(engine, firstEngineClicked));
-                                        InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(firstEngineClicked, engine));
+                                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(engine, firstEngineClicked), engine);
+                                        InterfaceManager.packetInterface.sendToTrackingClients(new PacketPartEngine(firstEngineClicked, engine), firstEngineClicked);
                                         firstEngineClicked = null;
                                         player.sendPacket(new PacketPlayerChatMessage(player, LanguageSystem.INTERACT_JUMPERCABLE_SECONDLINK));
                                     } else {
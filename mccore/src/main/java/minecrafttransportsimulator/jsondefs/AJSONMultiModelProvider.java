@@ -3,6 +3,7 @@ package minecrafttransportsimulator.jsondefs;
 import java.util.List;
 import java.util.Map;
 
+import minecrafttransportsimulator.jsondefs.JSONRendering.LODModel;
 import minecrafttransportsimulator.packloading.JSONParser.JSONDescription;
 import minecrafttransportsimulator.packloading.JSONParser.JSONRequired;
 import minecrafttransportsimulator.packloading.PackResourceLoader;
@@ -47,6 +48,22 @@ public abstract class AJSONMultiModelProvider extends AJSONItem {
         return null;
     }
 
+    /**
+     * Returns the model location in the classpath for the passed-in level of detail model.
+     */
+    public String getLODModelLocation(LODModel lodModel) {
+        switch (rendering.modelType) {
+            case OBJ:
+                return PackResourceLoader.getPackResource(this, ResourceType.OBJ_MODEL, lodModel.modelName);
+            case LITTLETILES:
+                return PackResourceLoader.getPackResource(this, ResourceType.LT_MODEL, lodModel.modelName);
+            case NONE:
+                return null;
+        }
+        //We'll never get here.
+        return null;
+    }
+
     /**
      * Returns the OBJ model texture location in the classpath for this definition.
      * Index is passed in to allow texture selection for multiple textures possible.
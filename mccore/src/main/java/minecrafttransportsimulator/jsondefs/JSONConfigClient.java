@@ -37,6 +37,13 @@ public class JSONConfigClient {
         public JSONConfigEntry<Boolean> blendedLights = new JSONConfigEntry<>(true, "If false, beam-based lights from vehicles and blocks will not do brightness blending.  This is different from the general brightness setting as this will do OpenGL blending on the world to make it brighter, not just the beams themselves.");
 
         public JSONConfigEntry<Boolean> lightsTransp = new JSONConfigEntry<>(false, "If true, textures that light up will be rendered on the transperent pass.  This is required for some shaders to prevent lit textures without alpha channels from becoming invible, but it may break rendering on non-shader builds.");
+        public JSONConfigEntry<Double> lodDetailDistance = new JSONConfigEntry<>(0D, "The distance, in blocks, past which instruments, text, and interior windows on vehicles and other entities will not be rendered.  Set to 0 to always render them, which is the default.  Values past about 64 keep text until it is too small to read.");
+        public JSONConfigEntry<Double> lodSmallObjectDistance = new JSONConfigEntry<>(0D, "The distance, in blocks, past which model objects that are too small to see will not be rendered.  Set to 0 to always render them, which is the default.");
+        public JSONConfigEntry<Integer> onlineTextureCacheSize = new JSONConfigEntry<>(128, "How much disk space, in MB, downloaded textures for signs and other URL-textured objects may use.  Past this, textures that haven't been used in a while will be deleted, and will be downloaded again when they are next seen.  Set to 0 to never delete downloaded textures.");
+        public JSONConfigEntry<Boolean> batchedParticles = new JSONConfigEntry<>(true, "If true, sprite particles will be pooled and rendered in batches rather than as individual entities.  This is much faster when there are lots of particles.  Disable this if particles look wrong with your shaders or other rendering mods.");
+        public JSONConfigEntry<Boolean> viewCulling = new JSONConfigEntry<>(true, "If true, vehicles and other entities that are outside the camera's view will not be rendered.  Disable this if you have mods that render the world from other views and things are disappearing.");
+        public JSONConfigEntry<Double> maxRenderDistance = new JSONConfigEntry<>(0D, "The maximum distance, in blocks, that vehicles and other entities will be rendered at.  Set to 0 to not limit render distance beyond what the game already does.");
+
         public JSONConfigEntry<Boolean> playerTweaks = new JSONConfigEntry<>(true, "If true, player hands will be modified when holding guns, and hands and legs will be modified when riding in vehicles.  Set this to false (and restart the game) if mods cause issues, like two-hand rendering or player model issues.  Automatically set to false if some mods are detected.");
 
         public JSONConfigEntry<Integer> renderingMode = new JSONConfigEntry<>(0, "Internal rendering mode value, don't touch!");
@@ -72,6 +79,7 @@ public class JSONConfigClient {
         public JSONConfigEntry<Double> joystickDeadZone = new JSONConfigEntry<>(0.03D, "Dead zone for joystick axis.  This is NOT joystick specific.");
         public JSONConfigEntry<Float> soundVolume = new JSONConfigEntry<>(1.0F, "Volume for all sounds in the mod.  This is used instead of the game's master volume.");
         public JSONConfigEntry<Float> radioVolume = new JSONConfigEntry<>(1.0F, "Volume for radios in the mod.  This is used instead of the game's master volume.");
+        public JSONConfigEntry<Integer> soundCacheSize = new JSONConfigEntry<>(64, "How much memory, in MB, loaded sounds may use in the audio system.  Past this, sounds that haven't played in a while will be unloaded, and will be re-loaded when they play again.  Set to 0 to never unload sounds.");
     }
 
     public static class JSONControls {
@@ -43,16 +43,19 @@ public class JSONConfigSettings {
         public JSONConfigEntry<Boolean> forceRenderLastSolid = new JSONConfigEntry<>(false, "If enabled, MTS will do rendering on the world-last Forge event.  This is not normally something you want, but can be used if some mods make things invisible.  Replaymod being one such example.");
         public JSONConfigEntry<Boolean> devMode = new JSONConfigEntry<>(false, "If enabled, MTS will allow access to the dev mode GUI while sitting in vehicles.  The GUI allows editing JSONs in-game without the need to restart.");
         public JSONConfigEntry<Integer> roadMaxLength = new JSONConfigEntry<>(32, "How long a single segment of road can be, in blocks.  While you can have longer segements, be aware they have more collision boxes and will generate more lag when broken or interacted with, and may not render if outside the chunk they are in.  Must be a whole number.");
+        public JSONConfigEntry<Integer> modelCacheSize = new JSONConfigEntry<>(1024, "How much disk space, in MB, cached models in the mtscache folder may use.  Past this, models that haven't been loaded in a while will be deleted, and will be parsed again when they are next loaded.  Set to 0 to never delete cached models.");
         public JSONConfigEntry<Double> aircraftSpeedFactor = new JSONConfigEntry<>(0.35D, "Factor to apply to aircraft movement.  1 is the realistic value, but this makes vehicles move too fast for Minecraft. Adjust with caution.");
         public JSONConfigEntry<Double> carSpeedFactor = new JSONConfigEntry<>(0.35D, "Factor to apply to car movement.  1 is the realistic value, but this makes vehicles move too fast for Minecraft. Adjust with caution.");
         public JSONConfigEntry<Double> fuelUsageFactor = new JSONConfigEntry<>(1.0D, "Factor times which engines use fuel.  Change this if you think engines use fuel too fast or slow.  Setting it to 0 will disable fuel and allow engines to run without it.");
         public JSONConfigEntry<Double> engineHoursFactor = new JSONConfigEntry<>(1.0D, "Factor times which engines hours accumulate.  Change this if you want to adjust how fast engines wear out.");
         public JSONConfigEntry<Double> climbSpeed = new JSONConfigEntry<>(0.125D, "How far a vehicle will 'climb' blocks every tick when the wheels go into the ground.  Higher values make vehicles climb blocks quicker at the cost of smooth movement.");
+        public JSONConfigEntry<Double> climbTolerance = new JSONConfigEntry<>(0.03125D, "How close, in blocks, vehicles need to get to the best pitch and roll when climbing blocks.  Lower values make vehicles sit more exactly on uneven ground, at the cost of more collision checks every tick.  The default is a quarter of the default climb speed.");
         public JSONConfigEntry<Double> gravityFactor = new JSONConfigEntry<>(1.0D, "Factor for gravitational forces applied to vehicles.  Can be adjusted if you think cars are too 'floaty'.  Does not affect aircraft.");
         public JSONConfigEntry<Double> maxFlightHeight = new JSONConfigEntry<>(0.0D, "How high planes can fly.  Setting this to 0 (default) will allow planes to fly as high as their natural physics allows.  Useful if you want to cap vertical height for some reason.");
         public JSONConfigEntry<Double> engineSpeedTempFactor = new JSONConfigEntry<>(1.0D, "Factor for how RPM affects engine temp.  Higher values will make engines heat up quicker at higher RPMs.");
         public JSONConfigEntry<Double> engineBiomeTempFactor = new JSONConfigEntry<>(1.0D, "Factor for how biome temp affects engine temp.  Higher values will make engines heat up quicker in hotter biomes.");
         public JSONConfigEntry<Double> rfToElectricityFactor = new JSONConfigEntry<>(0.02D, "Factor for converting RF to internal electicity for vehicles.  Default value is 1/100, but can be adjusted.");
+        public JSONConfigEntry<Double> packetTrackingRadius = new JSONConfigEntry<>(512D, "Horizontal distance, in blocks, from vehicles and other entities that players need to be in to be sent updates for them.  Height is not counted, same as MC's entity tracking.  Players outside this distance won't be sent packets for the entity, which saves bandwidth on servers with lots of players.  MC only tracks entities out to the server view distance, so this should not be less than the view distance in blocks, or clients may miss updates for entities they can see.  The default covers the largest view distance.  Setting this to 0 will send all updates to all players.");
         public JSONConfigEntry<Double> vehicleDeathDespawnTime = new JSONConfigEntry<>(0.0D, "Time (in seconds) between when vehicles reach 0 health and they de-spawn.  Normally 0, which means they never de-spawn.");
         public JSONConfigEntry<Integer> seaLevel = new JSONConfigEntry<>(63,"The Y-Level that will be used to base altitude off of. Will also be factored in for engine performance calculations. Change only if you know what you're doing/ why this matters to engines/flying.");
         public JSONConfigEntry<List<String>> defaultVehicleRepairMaterials = new JSONConfigEntry<>(new ArrayList<>(), "List of items that can be used to repair vehicles by default, if no repair recipe is set in the vehicle's JSON.");
@@ -87,6 +90,7 @@ public class JSONConfigSettings {
     public static class ConfigDamage {
         public JSONConfigEntry<Boolean> bulletBlockBreaking = new JSONConfigEntry<>(true, "Whether or not bullets/bombs can break blocks when they hit them.  This will also disable explosive block breakage (though not explosions themselves) and prevent incendiary bullets from setting blocks on fire.");
         public JSONConfigEntry<Boolean> bulletExplosions = new JSONConfigEntry<>(true, "Whether or not bullets/bombs will blow up.  This does not disable block breakage, but it will pretty much nerf all block mass-destruction weapons.");
+        public JSONConfigEntry<Integer> explosionTickTime = new JSONConfigEntry<>(10, "How many milliseconds per tick explosions can spend breaking blocks.  Large explosions that take longer than this will finish breaking blocks over the next few ticks rather than lagging the server.  Set to 0 to break all blocks right when the explosion goes off.");
         public JSONConfigEntry<Boolean> vehicleBlockBreaking = new JSONConfigEntry<>(true, "Whether or not vehicles can break blocks when they run into them or blow up.  If false, vehicles will simply stop when they hit blocks.");
         public JSONConfigEntry<Boolean> vehicleDestruction = new JSONConfigEntry<>(true, "Whether or not vehicles can be destroyed by ramming into blocks at high speeds.  Set this to false if you don't like loosing vehicles to badly-placed walls.");
         public JSONConfigEntry<Boolean> vehicleExplosions = new JSONConfigEntry<>(true, "Whether or not vehicles explode when crashed or shot down.  If this is false, vehicles will simply poof when they crash.");
@@ -37,6 +37,9 @@ public class JSONParticle {
     @JSONDescription("Makes the particle ignore collision with all blocks.  Can and should be used on particles that don't need collision, since this takes up CPU cycles and can lead to odd behavior on occasion if particles are spawned inside blocks.")
     public boolean ignoreCollision;
 
+    @JSONDescription("Makes the particle use simple collision.  Rather than colliding with all blocks around it, the particle will only collide with the ground below it, and will pass through walls and ceilings.  This is far faster than normal collision, so it should be used on particles like smoke and debris that spawn in large numbers.  Has no effect if ignoreCollision is set.")
+    public boolean simpleCollision;
+
     @JSONDescription("A random sound from this list of sounds will play when the particle stops on the ground when stopsOnGround is true.  Format for each entry is [packID:soundName]")
     public List<String> groundSounds;
 
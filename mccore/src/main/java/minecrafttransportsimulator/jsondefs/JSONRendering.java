@@ -37,12 +37,25 @@ public class JSONRendering {
     @JSONDescription("The type of model that this entity will render from.")
     public ModelType modelType;
 
+    @JSONDescription("A list of lower-detail models to render when the camera is far away from this entity.  The model with the largest distance that the camera is past will be used, or the normal model if the camera is closer than all of them.  Object names in these models should match the normal model, as animations and lights are applied by name.")
+    public List<LODModel> lodModels;
+
     public enum ModelType {
         OBJ,
         LITTLETILES,
         NONE
     }
 
+    public static class LODModel {
+        @JSONRequired
+        @JSONDescription("The name of the model for this level of detail.  This works the same as modelName in definitions, and uses the same modelType as the normal model.")
+        public String modelName;
+
+        @JSONRequired
+        @JSONDescription("The distance, in blocks, from the camera at which this model will start being used.")
+        public double distance;
+    }
+
     //Moved from old vehicle rendering classes.
     @Deprecated
     public int displayTextMaxLength;
@@ -33,6 +33,23 @@ import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
  * @author don_bruce
  */
 public abstract class AWrapperWorld extends EntityManager {
+    private final HeightmapCache heightmap = new HeightmapCache(this);
+
+    @Override
+    public void tickAll(boolean beforePlayer) {
+        if (beforePlayer) {
+            heightmap.tick();
+        }
+        super.tickAll(beforePlayer);
+    }
+
+    /**
+     * Called by the interface when a block changes, to invalidate any cached data for that block.
+     * Note that this is only called on servers, as clients don't get block change events.
+     */
+    protected void onBlockChanged(int x, int y, int z) {
+        heightmap.invalidate(x, z);
+    }
 
     /**
      * Returns true if this is a client world, false if we're on the server.
@@ -73,6 +90,12 @@ public abstract class AWrapperWorld extends EntityManager {
      */
     public abstract void endProfiling();
 
+    /**
+     * Adds the passed-in count to the named counter in the current profile.
+     * Not all versions support counters, so this may do nothing.
+     */
+    public abstract void incrementProfilingCounter(String name, int count);
+
     /**
      * Returns the requested saved data for this world.  As servers save data, while clients don't,
      * this method will only ensure valid return values on the server.  On clients, there will
@@ -118,6 +141,11 @@ public abstract class AWrapperWorld extends EntityManager {
      */
     public abstract List<IWrapperPlayer> getPlayersWithin(BoundingBox box);
 
+    /**
+     * Returns a list of all players in this world.
+     */
+    public abstract List<IWrapperPlayer> getPlayers();
+
     /**
      * Returns a list of all hostile entities in the specified radius.
      */
@@ -239,8 +267,17 @@ public abstract class AWrapperWorld extends EntityManager {
     /**
      * Returns the distance from the passed-in position to highest block below this position in the world, at the position's X/Z coords.
      * This may or may not be the highest block in the column depending on block layout.
+     * Heights are cached per-column, so this is safe to call every tick.
+     */
+    public double getHeight(Point3D position) {
+        return heightmap.getHeight(position);
+    }
+
+    /**
+     * Like {@link #getHeight(Point3D)}, but always walks down the column to find the height.
+     * Only used to fill the height cache, use {@link #getHeight(Point3D)} everywhere else.
      */
-    public abstract double getHeight(Point3D position);
+    protected abstract double getUncachedHeight(Point3D position);
 
     /**
      * Updates the blocks and depths of collisions for the passed-in BoundingBox to the box's internal variables.
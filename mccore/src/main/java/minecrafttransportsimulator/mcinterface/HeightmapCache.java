@@ -0,0 +1,109 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import minecrafttransportsimulator.baseclasses.Point3D;
+
+/**
+ * Cache of ground heights for {@link AWrapperWorld#getHeight(Point3D)}.  Finding the ground means walking
+ * down the block column, and ground height variables and particles do this for the same few columns every tick.
+ * Heights are stored per chunk, with one entry per column, so a cached lookup is just a few array reads.
+ * <br><br>
+ * Each column stores the ground height found, and the height the ground was searched down from.  Everything
+ * between those two heights is known to be open, so any position in that range can use the cached ground.
+ * Positions above that range search again, and update the column.  Columns are cleared when the world tells
+ * us a block in them changed, but since clients don't get block change events, columns also expire after
+ * {@link #EXPIRE_TICKS} so changes are always seen eventually.
+ *
+ * @author agent
+ */
+final class HeightmapCache {
+    /**How many ticks a cached column is valid for.**/
+    private static final int EXPIRE_TICKS = 20;
+    /**Max chunks to cache.  Past this, the cache is cleared since most of it is likely for areas we have left.**/
+    private static final int MAX_CACHED_CHUNKS = 1024;
+
+    private final AWrapperWorld world;
+    private final Map<Long, HeightmapChunk> chunks = new HashMap<>();
+    private HeightmapChunk lastChunk;
+    private long currentTick = EXPIRE_TICKS;
+
+    HeightmapCache(AWrapperWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Returns the height as defined by {@link AWrapperWorld#getHeight(Point3D)}, from the cache if possible.
+     */
+    double getHeight(Point3D position) {
+        int x = (int) Math.floor(position.x);
+        int z = (int) Math.floor(position.z);
+        HeightmapChunk chunk = getChunk(x >> 4, z >> 4, true);
+        int index = ((x & 15) << 4) | (z & 15);
+        boolean valid = chunk.expireTicks[index] > currentTick;
+        if (valid && position.y >= chunk.groundHeights[index] && position.y <= chunk.searchedHeights[index]) {
+            return position.y - chunk.groundHeights[index];
+        }
+
+        double height = world.getUncachedHeight(position);
+        if (!valid || position.y > chunk.searchedHeights[index]) {
+            //Don't replace valid columns with searches from below their ground, since those are likely in caves.
+            chunk.groundHeights[index] = position.y - height;
+            chunk.searchedHeights[index] = position.y;
+            chunk.expireTicks[index] = currentTick + EXPIRE_TICKS;
+        }
+        return height;
+    }
+
+    /**
+     * Invalidates the column at the passed-in position.
+     */
+    void invalidate(int x, int z) {
+        HeightmapChunk chunk = getChunk(x >> 4, z >> 4, false);
+        if (chunk != null) {
+            chunk.expireTicks[((x & 15) << 4) | (z & 15)] = 0;
+        }
+    }
+
+    /**
+     * Advances the cache one tick, expiring old columns.
+     */
+    void tick() {
+        ++currentTick;
+    }
+
+    private HeightmapChunk getChunk(int chunkX, int chunkZ, boolean create) {
+        //Most lookups are in the same chunk as the last one, so check that before the map.
+        if (lastChunk != null && lastChunk.chunkX == chunkX && lastChunk.chunkZ == chunkZ) {
+            return lastChunk;
+        }
+        long key = (((long) chunkX) << 32) | (chunkZ & 0xFFFFFFFFL);
+        HeightmapChunk chunk = chunks.get(key);
+        if (chunk == null) {
+            if (!create) {
+                return null;
+            }
+            if (chunks.size() == MAX_CACHED_CHUNKS) {
+                chunks.clear();
+            }
+            chunk = new HeightmapChunk(chunkX, chunkZ);
+            chunks.put(key, chunk);
+        }
+        lastChunk = chunk;
+        return chunk;
+    }
+
+    private static class HeightmapChunk {
+        private final int chunkX;
+        private final int chunkZ;
+        private final double[] groundHeights = new double[256];
+        private final double[] searchedHeights = new double[256];
+        private final long[] expireTicks = new long[256];
+
+        private HeightmapChunk(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+    }
+}
@@ -142,6 +142,12 @@ public interface IInterfaceClient {
      */
     Point3D getCameraPosition();
 
+    /**
+     * Sets the passed-in points to the position and normalized look vector of the camera used for rendering.
+     * Uses the MTS-adjusted camera when available, so this is what should be used for view culling.
+     */
+    void populateCameraView(Point3D position, Point3D lookVector);
+
     /**
      * Projects a 3D world position into 2D screen GUI coordinates for overlay rendering.
      * Returns null if the point is behind the camera or outside a reasonable screen margin.
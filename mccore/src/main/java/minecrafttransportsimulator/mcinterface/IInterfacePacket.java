@@ -1,6 +1,7 @@
 package minecrafttransportsimulator.mcinterface;
 
 import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.packets.components.APacketBase;
 
 /**
@@ -34,6 +35,16 @@ public interface IInterfacePacket {
      */
     void sendToAllClients(APacketBase packet);
 
+    /**
+     * Sends the passed-in packet to all clients that are tracking the passed-in entity.
+     * These are clients in the same world as the entity, and within the tracking radius
+     * set in the config.  Clients outside this radius won't have the entity loaded, so
+     * don't need to know about any changes to it.  Tile entities are always sent to all
+     * clients, as they stay loaded on clients for as long as their chunk is loaded.
+     * Note that this may ONLY be called on the server.
+     */
+    void sendToTrackingClients(APacketBase packet, AEntityB_Existing entity);
+
     /**
      * Sends the passed-in packet to the passed-in player.
      * Note that this may ONLY be called on the server, as
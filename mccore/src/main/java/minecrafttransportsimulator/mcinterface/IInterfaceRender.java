@@ -1,5 +1,6 @@
 package minecrafttransportsimulator.mcinterface;
 
+import java.awt.image.BufferedImage;
 import java.io.InputStream;
 
 import minecrafttransportsimulator.baseclasses.Point3D;
@@ -59,10 +60,10 @@ public interface IInterfaceRender {
     void deleteVertices(RenderableData data);
 
     /**
-     * Binds a URL texture to a stream containing an image.  Pass in a null stream to bind the missing texture to this URL.
+     * Binds a URL texture to a decoded image.  Pass in a null image to bind the missing texture to this URL.
      * Returns true if the texture was bound, false if it couldn't be.
      */
-    boolean bindURLTexture(String textureURL, InputStream strea);
+    boolean bindURLTexture(String textureURL, BufferedImage image);
 
     /**
      * Binds a URL GIF that was downloaded.
@@ -18,6 +18,7 @@ import minecrafttransportsimulator.packloading.PackParser;
  */
 public class InterfaceManager {
     public static String coreModID;
+    public static String coreModVersion;
     public static String gameDirectory;
     public static IInterfaceCore coreInterface;
     public static IInterfacePacket packetInterface;
@@ -26,8 +27,9 @@ public class InterfaceManager {
     public static IInterfaceSound soundInterface;
     public static IInterfaceRender renderingInterface;
     
-    public InterfaceManager(String coreModID, String gameDirectory, IInterfaceCore coreInterface, IInterfacePacket packetInterface, IInterfaceClient clientInterface, IInterfaceInput inputInterface, IInterfaceSound soundInterface, IInterfaceRender renderingInterface) {
+    public InterfaceManager(String coreModID, String coreModVersion, String gameDirectory, IInterfaceCore coreInterface, IInterfacePacket packetInterface, IInterfaceClient clientInterface, IInterfaceInput inputInterface, IInterfaceSound soundInterface, IInterfaceRender renderingInterface) {
         InterfaceManager.coreModID = coreModID;
+        InterfaceManager.coreModVersion = coreModVersion;
         InterfaceManager.gameDirectory = gameDirectory;
         InterfaceManager.coreInterface = coreInterface;
         InterfaceManager.packetInterface = packetInterface;
@@ -5,6 +5,7 @@ import java.util.UUID;
 import io.netty.buffer.ByteBuf;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
 import minecrafttransportsimulator.entities.components.AEntityA_Base;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 
@@ -37,7 +38,11 @@ public abstract class APacketEntity<EntityType extends AEntityA_Base> extends AP
     public void handle(AWrapperWorld world) {
         EntityType entity = world.getEntity(uniqueUUID);
         if (entity != null && handle(world, entity) && !world.isClient()) {
-            InterfaceManager.packetInterface.sendToAllClients(this);
+            if (entity instanceof AEntityB_Existing) {
+                InterfaceManager.packetInterface.sendToTrackingClients(this, (AEntityB_Existing) entity);
+            } else {
+                InterfaceManager.packetInterface.sendToAllClients(this);
+            }
             if (entity instanceof ATileEntityBase) {
                 //Need to set TEs as updated, as they don't normally do this.
                 ((ATileEntityBase<?>) entity).hasChanged = true;
@@ -59,7 +64,7 @@ public abstract class APacketEntity<EntityType extends AEntityA_Base> extends AP
      * is associated with. If the entity is null,  then this method won't be called.
      * Saves having to do null checks for every packet type.  If this is handled on the
      * server, and a packet shouldn't be sent to all clients (like if the action failed due
-     * to an issue) return false.  Otherwise, return true to send this packet on to all clients.
+     * to an issue) return false.  Otherwise, return true to send this packet on to all clients tracking the entity.
      * Return method has no function on clients.
      */
     protected abstract boolean handle(AWrapperWorld world, EntityType entity);
@@ -0,0 +1,162 @@
+package minecrafttransportsimulator.packets.instances;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.packets.components.APacketBase;
+
+/**
+ * Packet used to send server vehicle movement to clients.  This packet doesn't directly
+ * move the vehicles (such an action results in horrid movement lag due to network
+ * latency and packet handling pipelines), rather it simply tells the client how much
+ * each vehicle has moved since it was first spawned.  This way clients can adjust the
+ * vehicle position while at the same time running their own calculations to "soft-sync"
+ * the position and rotation.  This system of syncing has the side-effect of significant
+ * rubberbanding when server TPS suffers or networking goes bad, but it's far better than
+ * the alternatives when the connection is good, hence why we use it.
+ * <br><br>
+ * All vehicles that moved in a tick are sent in a single packet to save on per-packet overhead.
+ * Movement is sent as whole steps of {@link #MOTION_STEPS} and {@link #ROTATION_STEPS}, with
+ * components that didn't move a full step being left out entirely.  Steps are calculated from
+ * the total movement of the vehicle rather than the movement this tick, so any movement that's
+ * less than a step will be sent once it adds up to a full step, rather than being lost.
+ *
+ * @author agent
+ */
+public class PacketVehicleServerMovementBatch extends APacketBase {
+    /**How many steps there are in a block of motion or pathing.**/
+    public static final double MOTION_STEPS = 4096D;
+    /**How many steps there are in a degree of rotation.**/
+    public static final double ROTATION_STEPS = 1024D;
+    /**Number of step values per vehicle: motion XYZ, rotation XYZ, and pathing.**/
+    private static final int STEP_COUNT = 7;
+
+    private final List<VehicleMovement> movements;
+
+    public PacketVehicleServerMovementBatch(List<VehicleMovement> movements) {
+        super(null);
+        this.movements = new ArrayList<>(movements);
+    }
+
+    public PacketVehicleServerMovementBatch(ByteBuf buf) {
+        super(buf);
+        int count = buf.readInt();
+        this.movements = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            UUID vehicleID = readUUIDFromBuffer(buf);
+            int[] steps = new int[STEP_COUNT];
+            int sizeFlags = buf.readUnsignedShort();
+            for (int j = 0; j < STEP_COUNT; ++j) {
+                switch ((sizeFlags >> (j * 2)) & 3) {
+                    case 1:
+                        steps[j] = buf.readByte();
+                        break;
+                    case 2:
+                        steps[j] = buf.readShort();
+                        break;
+                    case 3:
+                        steps[j] = buf.readInt();
+                        break;
+                }
+            }
+            movements.add(new VehicleMovement(null, vehicleID, steps));
+        }
+    }
+
+    @Override
+    public void writeToBuffer(ByteBuf buf) {
+        super.writeToBuffer(buf);
+        buf.writeInt(movements.size());
+        for (VehicleMovement movement : movements) {
+            writeUUIDToBuffer(movement.vehicleID, buf);
+            //Two bits per step value for the size: 0 is not sent, 1 is a byte, 2 is a short, and 3 is an int.
+            int sizeFlags = 0;
+            for (int j = 0; j < STEP_COUNT; ++j) {
+                int step = movement.steps[j];
+                if (step != 0) {
+                    if (step == (byte) step) {
+                        sizeFlags |= 1 << (j * 2);
+                    } else if (step == (short) step) {
+                        sizeFlags |= 2 << (j * 2);
+                    } else {
+                        sizeFlags |= 3 << (j * 2);
+                    }
+                }
+            }
+            buf.writeShort(sizeFlags);
+            for (int j = 0; j < STEP_COUNT; ++j) {
+                switch ((sizeFlags >> (j * 2)) & 3) {
+                    case 1:
+                        buf.writeByte(movement.steps[j]);
+                        break;
+                    case 2:
+                        buf.writeShort(movement.steps[j]);
+                        break;
+                    case 3:
+                        buf.writeInt(movement.steps[j]);
+                        break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void handle(AWrapperWorld world) {
+        for (VehicleMovement movement : movements) {
+            EntityVehicleF_Physics vehicle = world.getEntity(movement.vehicleID);
+            if (vehicle != null) {
+                int[] steps = movement.steps;
+                vehicle.addToServerDeltas(new Point3D(steps[0] / MOTION_STEPS, steps[1] / MOTION_STEPS, steps[2] / MOTION_STEPS), new Point3D(steps[3] / ROTATION_STEPS, steps[4] / ROTATION_STEPS, steps[5] / ROTATION_STEPS), steps[6] / MOTION_STEPS);
+            }
+        }
+    }
+
+    /**
+     * Returns the steps for the passed-in total deltas.  This array should be saved by vehicles
+     * and passed to {@link #createMovement(EntityVehicleF_Physics, long[], Point3D, Point3D, double)}
+     * to let it know how many steps have already been sent.
+     */
+    public static long[] getTotalSteps(Point3D totalMotion, Point3D totalRotation, double totalPathing) {
+        return new long[] { Math.round(totalMotion.x * MOTION_STEPS), Math.round(totalMotion.y * MOTION_STEPS), Math.round(totalMotion.z * MOTION_STEPS), Math.round(totalRotation.x * ROTATION_STEPS), Math.round(totalRotation.y * ROTATION_STEPS), Math.round(totalRotation.z * ROTATION_STEPS), Math.round(totalPathing * MOTION_STEPS) };
+    }
+
+    /**
+     * Creates a movement for the passed-in vehicle with its current total deltas.  The steps sent
+     * array is updated to include the steps in the movement.  If no component has moved a full
+     * step since the last movement, null is returned as there is nothing to send.
+     */
+    public static VehicleMovement createMovement(EntityVehicleF_Physics vehicle, long[] stepsSent, Point3D totalMotion, Point3D totalRotation, double totalPathing) {
+        long[] totalSteps = getTotalSteps(totalMotion, totalRotation, totalPathing);
+        int[] steps = new int[STEP_COUNT];
+        boolean anySteps = false;
+        for (int j = 0; j < STEP_COUNT; ++j) {
+            steps[j] = (int) (totalSteps[j] - stepsSent[j]);
+            if (steps[j] != 0) {
+                stepsSent[j] += steps[j];
+                anySteps = true;
+            }
+        }
+        return anySteps ? new VehicleMovement(vehicle, vehicle.uniqueUUID, steps) : null;
+    }
+
+    /**
+     * The movement of a single vehicle in a tick.  The vehicle reference is only
+     * present on the server, where it is used to decide which players get the movement.
+     */
+    public static class VehicleMovement {
+        public final EntityVehicleF_Physics vehicle;
+        private final UUID vehicleID;
+        private final int[] steps;
+
+        private VehicleMovement(EntityVehicleF_Physics vehicle, UUID vehicleID, int[] steps) {
+            this.vehicle = vehicle;
+            this.vehicleID = vehicleID;
+            this.steps = steps;
+        }
+    }
+}
@@ -13,17 +13,28 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -43,6 +54,9 @@ import minecrafttransportsimulator.jsondefs.AJSONInteractableEntity;
 import minecrafttransportsimulator.jsondefs.AJSONItem;
 import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
 import minecrafttransportsimulator.jsondefs.AJSONPartProvider;
+import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition;
+import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition.AnimationComponentType;
+import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition.AnimationEasingType;
 import minecrafttransportsimulator.jsondefs.JSONBullet;
 import minecrafttransportsimulator.jsondefs.JSONDecor;
 import minecrafttransportsimulator.jsondefs.JSONInstrument;
@@ -186,13 +200,22 @@ public class JSONParser {
             if (value == null) {
                 writer.nullValue();
             } else {
+                //Some legacy compats rotate the matrix directly, which doesn't update its angles.
+                //If the angles don't make this matrix, get them from the matrix instead.
+                //Do this on a copy, as we don't want to change the matrix we are writing.
+                Point3D angles = value.angles;
+                RotationMatrix anglesMatrix = new RotationMatrix().setToAngles(angles);
+                if (!isSameRotation(value, anglesMatrix)) {
+                    angles = anglesMatrix.set(value).convertToAngles();
+                }
+
                 //Setting the indent to nothing prevents GSON from applying newlines to Point3ds.
                 //We need to set the indent to the value afterwards though to keep pretty printing.
                 writer.beginArray();
                 writer.setIndent("");
-                writer.value(value.angles.x);
-                writer.value(value.angles.y);
-                writer.value(value.angles.z);
+                writer.value(angles.x);
+                writer.value(angles.y);
+                writer.value(angles.z);
                 writer.endArray();
                 writer.setIndent("  ");
             }
@@ -228,26 +251,52 @@ public class JSONParser {
 
         @Override
         public void write(JsonWriter writer, ColorRGB value) throws IOException {
-            if (value == null) {
-                writer.nullValue();
-            } else if (ConfigSystem.settings != null && ConfigSystem.settings.general.useHSV.value) {
-                writer.beginArray();
-                writer.setIndent("");
-                for (Integer item : value.hsv) {
-                    writer.value(item);
-                }
-                writer.endArray();
-                writer.setIndent("  ");
-            } else {
-                StringBuilder hexString = new StringBuilder(Integer.toHexString(value.rgbInt).toUpperCase(Locale.ROOT));
-                while (hexString.length() < 6) {
-                    hexString.insert(0, "0");
-                }
-                writer.value(hexString.toString());
-            }
+            writeColor(writer, value, ConfigSystem.settings != null && ConfigSystem.settings.general.useHSV.value);
+        }
+    };
+
+    /**
+     * Like {@link #colorAdapter}, but colors are always written in the form they were defined in, rather than as HSV if
+     * the config says to.  This is used for the {@link PackSnapshot}, as it gives back the exact same color when parsed.
+     */
+    private static final TypeAdapter<ColorRGB> exactColorAdapter = new TypeAdapter<ColorRGB>() {
+        @Override
+        public ColorRGB read(JsonReader reader) throws IOException {
+            return colorAdapter.read(reader);
+        }
+
+        @Override
+        public void write(JsonWriter writer, ColorRGB value) throws IOException {
+            writeColor(writer, value, false);
         }
     };
 
+    private static void writeColor(JsonWriter writer, ColorRGB value, boolean useHSV) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+        } else if (value.isHSV || useHSV) {
+            //Colors defined as HSV are always written as HSV, as converting them to hex loses their exact values.
+            writer.beginArray();
+            writer.setIndent("");
+            for (Integer item : value.hsv) {
+                writer.value(item);
+            }
+            writer.endArray();
+            writer.setIndent("  ");
+        } else {
+            StringBuilder hexString = new StringBuilder(Integer.toHexString(value.rgbInt).toUpperCase(Locale.ROOT));
+            while (hexString.length() < 6) {
+                hexString.insert(0, "0");
+            }
+            writer.value(hexString.toString());
+        }
+    }
+
+    private static boolean isSameRotation(RotationMatrix matrix1, RotationMatrix matrix2) {
+        final double epsilon = 1.0E-6;
+        return Math.abs(matrix1.m00 - matrix2.m00) < epsilon && Math.abs(matrix1.m01 - matrix2.m01) < epsilon && Math.abs(matrix1.m02 - matrix2.m02) < epsilon && Math.abs(matrix1.m10 - matrix2.m10) < epsilon && Math.abs(matrix1.m11 - matrix2.m11) < epsilon && Math.abs(matrix1.m12 - matrix2.m12) < epsilon && Math.abs(matrix1.m20 - matrix2.m20) < epsilon && Math.abs(matrix1.m21 - matrix2.m21) < epsilon && Math.abs(matrix1.m22 - matrix2.m22) < epsilon;
+    }
+
     private static final TypeAdapter<LTBox> ltBoxAdapter = new TypeAdapter<LTBox>() {
         @Override
         public LTBox read(JsonReader reader) throws IOException {
@@ -387,14 +436,173 @@ public class JSONParser {
         }
     };
 
+    /**
+     * Hand-written adapter for animation definitions.  These are the most common objects in pack JSONs, as nearly every
+     * model object and part has them, so we don't want to go through GSON's reflection for them.  Fields use the same
+     * adapters that GSON would use for them, so reading and writing is the same as the reflective adapter.
+     * Any new fields in {@link JSONAnimationDefinition} MUST be added here, or they won't be parsed!
+     */
+    private static final TypeAdapterFactory animationDefinitionFactory = new TypeAdapterFactory() {
+        @SuppressWarnings("unchecked")
+        @Override
+        public <AnimationType> TypeAdapter<AnimationType> create(Gson gson, TypeToken<AnimationType> type) {
+            if (type.getRawType() != JSONAnimationDefinition.class) {
+                return null;
+            }
+            final TypeAdapter<AnimationComponentType> componentTypeAdapter = gson.getAdapter(AnimationComponentType.class);
+            final TypeAdapter<AnimationEasingType> easingTypeAdapter = gson.getAdapter(AnimationEasingType.class);
+            final TypeAdapter<String> stringAdapter = gson.getAdapter(String.class);
+            final TypeAdapter<Point3D> pointAdapter = gson.getAdapter(Point3D.class);
+            final TypeAdapter<Double> doubleAdapter = gson.getAdapter(double.class);
+            final TypeAdapter<Integer> intAdapter = gson.getAdapter(int.class);
+            final TypeAdapter<Boolean> booleanAdapter = gson.getAdapter(boolean.class);
+            return (TypeAdapter<AnimationType>) new TypeAdapter<JSONAnimationDefinition>() {
+                @Override
+                public JSONAnimationDefinition read(JsonReader reader) throws IOException {
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                        return null;
+                    }
+                    JSONAnimationDefinition value = new JSONAnimationDefinition();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        //Primitives are left at their defaults if null, like GSON does.
+                        switch (reader.nextName()) {
+                            case "animationType":
+                                value.animationType = componentTypeAdapter.read(reader);
+                                break;
+                            case "variable":
+                                value.variable = stringAdapter.read(reader);
+                                break;
+                            case "centerPoint":
+                                value.centerPoint = pointAdapter.read(reader);
+                                break;
+                            case "axis":
+                                value.axis = pointAdapter.read(reader);
+                                break;
+                            case "offset":
+                                value.offset = readPrimitive(doubleAdapter, reader, value.offset);
+                                break;
+                            case "clampMin":
+                                value.clampMin = readPrimitive(doubleAdapter, reader, value.clampMin);
+                                break;
+                            case "clampMax":
+                                value.clampMax = readPrimitive(doubleAdapter, reader, value.clampMax);
+                                break;
+                            case "absolute":
+                                value.absolute = readPrimitive(booleanAdapter, reader, value.absolute);
+                                break;
+                            case "invert":
+                                value.invert = readPrimitive(booleanAdapter, reader, value.invert);
+                                break;
+                            case "duration":
+                                value.duration = readPrimitive(intAdapter, reader, value.duration);
+                                break;
+                            case "forwardsEasing":
+                                value.forwardsEasing = easingTypeAdapter.read(reader);
+                                break;
+                            case "reverseEasing":
+                                value.reverseEasing = easingTypeAdapter.read(reader);
+                                break;
+                            case "forwardsDelay":
+                                value.forwardsDelay = readPrimitive(intAdapter, reader, value.forwardsDelay);
+                                break;
+                            case "reverseDelay":
+                                value.reverseDelay = readPrimitive(intAdapter, reader, value.reverseDelay);
+                                break;
+                            case "skipForwardsMovement":
+                                value.skipForwardsMovement = readPrimitive(booleanAdapter, reader, value.skipForwardsMovement);
+                                break;
+                            case "skipReverseMovement":
+                                value.skipReverseMovement = readPrimitive(booleanAdapter, reader, value.skipReverseMovement);
+                                break;
+                            case "forwardsStartSound":
+                                value.forwardsStartSound = stringAdapter.read(reader);
+                                break;
+                            case "forwardsEndSound":
+                                value.forwardsEndSound = stringAdapter.read(reader);
+                                break;
+                            case "reverseStartSound":
+                                value.reverseStartSound = stringAdapter.read(reader);
+                                break;
+                            case "reverseEndSound":
+                                value.reverseEndSound = stringAdapter.read(reader);
+                                break;
+                            default:
+                                reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                    return value;
+                }
+
+                @Override
+                public void write(JsonWriter writer, JSONAnimationDefinition value) throws IOException {
+                    if (value == null) {
+                        writer.nullValue();
+                        return;
+                    }
+                    //Same order as the fields are declared, which is the order GSON would write them.
+                    writer.beginObject();
+                    writeField(writer, "animationType", componentTypeAdapter, value.animationType);
+                    writeField(writer, "variable", stringAdapter, value.variable);
+                    writeField(writer, "centerPoint", pointAdapter, value.centerPoint);
+                    writeField(writer, "axis", pointAdapter, value.axis);
+                    writeField(writer, "offset", doubleAdapter, value.offset);
+                    writeField(writer, "clampMin", doubleAdapter, value.clampMin);
+                    writeField(writer, "clampMax", doubleAdapter, value.clampMax);
+                    writeField(writer, "absolute", booleanAdapter, value.absolute);
+                    writeField(writer, "invert", booleanAdapter, value.invert);
+                    writeField(writer, "duration", intAdapter, value.duration);
+                    writeField(writer, "forwardsEasing", easingTypeAdapter, value.forwardsEasing);
+                    writeField(writer, "reverseEasing", easingTypeAdapter, value.reverseEasing);
+                    writeField(writer, "forwardsDelay", intAdapter, value.forwardsDelay);
+                    writeField(writer, "reverseDelay", intAdapter, value.reverseDelay);
+                    writeField(writer, "skipForwardsMovement", booleanAdapter, value.skipForwardsMovement);
+                    writeField(writer, "skipReverseMovement", booleanAdapter, value.skipReverseMovement);
+                    writeField(writer, "forwardsStartSound", stringAdapter, value.forwardsStartSound);
+                    writeField(writer, "forwardsEndSound", stringAdapter, value.forwardsEndSound);
+                    writeField(writer, "reverseStartSound", stringAdapter, value.reverseStartSound);
+                    writeField(writer, "reverseEndSound", stringAdapter, value.reverseEndSound);
+                    writer.endObject();
+                }
+            };
+        }
+    };
+
+    private static <FieldType> FieldType readPrimitive(TypeAdapter<FieldType> adapter, JsonReader reader, FieldType defaultValue) throws IOException {
+        FieldType value = adapter.read(reader);
+        return value != null ? value : defaultValue;
+    }
+
+    private static <FieldType> void writeField(JsonWriter writer, String name, TypeAdapter<FieldType> adapter, FieldType value) throws IOException {
+        //Null fields aren't written at all, as we don't serialize nulls.
+        if (value != null) {
+            writer.name(name);
+            adapter.write(writer, value);
+        }
+    }
+
+    /**
+     * Fields to copy for classes when duplicating JSONs, created the first time an object of that class is duplicated.
+     */
+    private static final Map<Class<?>, List<Field>> copyFields = new ConcurrentHashMap<>();
+
+    /**
+     * Validation plans for classes, created the first time an object of that class is validated.
+     * Concurrent as packs are validated on multiple threads.
+     */
+    private static final Map<Class<?>, List<FieldPlan>> validationPlans = new ConcurrentHashMap<>();
+
     //This needs to go down here AFTER we create the type adapters.
-    private static final Gson packParser = getPackParserWithAdapters();
+    private static final Gson packParser = getPackParserWithAdapters(colorAdapter);
+    private static final Gson snapshotParser = getPackParserWithAdapters(exactColorAdapter);
 
-    private static Gson getPackParserWithAdapters() {
+    private static Gson getPackParserWithAdapters(TypeAdapter<ColorRGB> colorTypeAdapter) {
         return new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().enableComplexMapKeySerialization() //Used for enum keys.
-                .registerTypeAdapter(Boolean.class, booleanAdapter).registerTypeAdapter(Integer.class, integerAdapter).registerTypeAdapter(Float.class, floatAdapter).registerTypeAdapter(Point3D.class, point3DAdapter).registerTypeAdapter(RotationMatrix.class, rotationMatrixAdapter).registerTypeAdapter(ColorRGB.class, colorAdapter).registerTypeAdapter(LTBox.class, ltBoxAdapter).registerTypeAdapter(new TypeToken<List<Integer>>() {
+                .registerTypeAdapter(Boolean.class, booleanAdapter).registerTypeAdapter(Integer.class, integerAdapter).registerTypeAdapter(Float.class, floatAdapter).registerTypeAdapter(Point3D.class, point3DAdapter).registerTypeAdapter(RotationMatrix.class, rotationMatrixAdapter).registerTypeAdapter(ColorRGB.class, colorTypeAdapter).registerTypeAdapter(LTBox.class, ltBoxAdapter).registerTypeAdapter(new TypeToken<List<Integer>>() {
                 }.getType(), intListAdapter).registerTypeAdapter(new TypeToken<List<Float>>() {
-                }.getType(), floatListAdapter).registerTypeAdapterFactory(lowercaseEnumFactory).create();
+                }.getType(), floatListAdapter).registerTypeAdapterFactory(lowercaseEnumFactory).registerTypeAdapterFactory(animationDefinitionFactory).create();
     }
 
     //This needs to go down here AFTER we create the type adapters.
@@ -439,12 +647,118 @@ public class JSONParser {
         jsonWriter.close();
     }
 
+    /**
+     * Like {@link #exportStream(Object, OutputStream)}, but for the {@link PackSnapshot}.  The exported JSON
+     * doesn't depend on any configs, and parsing it gives back the same definition that was exported.
+     *
+     * @throws IOException
+     */
+    public static void exportSnapshotStream(AJSONBase jsonObject, OutputStream stream) throws IOException {
+        OutputStreamWriter jsonWriter = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+        snapshotParser.toJson(jsonObject, jsonObject.getClass(), jsonWriter);
+        jsonWriter.flush();
+        jsonWriter.close();
+    }
+
     /**
      * Duplicates the passed-in JSON, returning a new instance with a deep copy.
+     * Fields are copied directly rather than exporting the JSON and parsing it back, but the
+     * result is the same: transient fields aren't copied, and null fields are left at their defaults.
      */
     @SuppressWarnings("unchecked")
     public static <JSONClass> JSONClass duplicateJSON(JSONClass objToDuplicate) {
-        return (JSONClass) packParser.fromJson(packParser.toJson(objToDuplicate), objToDuplicate.getClass());
+        return (JSONClass) deepCopy(objToDuplicate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object deepCopy(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum) {
+            //Immutable, no need to copy.
+            return value;
+        } else if (value instanceof Point3D) {
+            return ((Point3D) value).copy();
+        } else if (value instanceof RotationMatrix) {
+            return new RotationMatrix().set((RotationMatrix) value);
+        } else if (value instanceof ColorRGB) {
+            //Copy all fields, HSV colors don't have a valid rgbInt.
+            ColorRGB copy = new ColorRGB();
+            copy.setTo((ColorRGB) value);
+            copy.hsv = copy.hsv.clone();
+            return copy;
+        } else if (value instanceof Collection) {
+            Collection<Object> copy = (Collection<Object>) createInstance(value.getClass());
+            if (copy == null) {
+                copy = value instanceof Set ? new LinkedHashSet<>() : new ArrayList<>();
+            }
+            for (Object entry : (Collection<?>) value) {
+                copy.add(deepCopy(entry));
+            }
+            return copy;
+        } else if (value instanceof Map) {
+            Map<Object, Object> copy = (Map<Object, Object>) createInstance(value.getClass());
+            if (copy == null) {
+                copy = new LinkedHashMap<>();
+            }
+            for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(deepCopy(entry.getKey()), deepCopy(entry.getValue()));
+            }
+            return copy;
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            for (int i = 0; i < length; ++i) {
+                Array.set(copy, i, deepCopy(Array.get(value, i)));
+            }
+            return copy;
+        } else if (value.getClass().getPackage() != null && value.getClass().getPackage().getName().contains("jsondefs")) {
+            Object copy = createInstance(value.getClass());
+            if (copy != null) {
+                try {
+                    for (Field field : copyFields.computeIfAbsent(value.getClass(), JSONParser::getCopyFields)) {
+                        Object fieldValue = field.get(value);
+                        if (fieldValue != null) {
+                            field.set(copy, deepCopy(fieldValue));
+                        }
+                    }
+                    return copy;
+                } catch (Exception e) {
+                    //Couldn't copy a field, fall back to the JSON.
+                }
+            }
+        }
+
+        //Not something we know how to copy, export it and parse it back.
+        return packParser.fromJson(packParser.toJson(value), value.getClass());
+    }
+
+    /**
+     * Returns a new instance of the passed-in class from its no-arg constructor, or null if it doesn't have one.
+     */
+    private static Object createInstance(Class<?> objClass) {
+        try {
+            Constructor<?> constructor = objClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns all fields GSON would export for the passed-in class.  This is all non-static, non-transient
+     * fields of the class and its super-classes.
+     */
+    private static List<Field> getCopyFields(Class<?> objClass) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> fieldClass = objClass; fieldClass != Object.class; fieldClass = fieldClass.getSuperclass()) {
+            for (Field field : fieldClass.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers()) && !field.isSynthetic()) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
     }
 
     /**
@@ -752,8 +1066,8 @@ public class JSONParser {
      */
     public static void validateFields(Object obj, String priorObjects, int index) {
         //First get all fields that have the annotation with no values.
-        for (Field field : obj.getClass().getFields()) {
-            String errorValue = checkRequiredState(field, obj, priorObjects, index);
+        for (FieldPlan fieldPlan : validationPlans.computeIfAbsent(obj.getClass(), FieldPlan::createPlan)) {
+            String errorValue = fieldPlan.checkRequiredState(obj, priorObjects, index);
             if (errorValue != null) {
                 throw new NullPointerException(errorValue);
             }
@@ -762,26 +1076,21 @@ public class JSONParser {
             //If we are a collection, validate each entry in ourselves rather than ourselves.
             //Only check for objects that are defined in the jsondefs class file.
             //If we extend recursion to others, it could get nasty...
-            if (obj.getClass().getPackage().getName().contains("jsondefs")) {
-                Object recursiveObject = null;
-                try {
-                    recursiveObject = field.get(obj);
-                } catch (Exception e) {
-                }
-
+            if (fieldPlan.recurse) {
+                Object recursiveObject = fieldPlan.get(obj);
                 if (recursiveObject != null) {
                     if (recursiveObject instanceof Collection) {
                         int collectionIndex = 1;
                         for (Object objEntry : ((Collection<?>) recursiveObject)) {
                             if (objEntry != null) {
-                                validateFields(objEntry, priorObjects + field.getName() + "/", collectionIndex);
+                                validateFields(objEntry, priorObjects + fieldPlan.name + "/", collectionIndex);
                                 ++collectionIndex;
                             } else {
-                                throw new NullPointerException("Unable to parse entry #" + collectionIndex + " in variable set " + priorObjects + field.getName() + " due to it not existing.  Check your commas!");
+                                throw new NullPointerException("Unable to parse entry #" + collectionIndex + " in variable set " + priorObjects + fieldPlan.name + " due to it not existing.  Check your commas!");
                             }
                         }
                     } else if (!recursiveObject.getClass().isEnum()) {
-                        validateFields(recursiveObject, priorObjects + field.getName() + "/", 1);
+                        validateFields(recursiveObject, priorObjects + fieldPlan.name + "/", 1);
                     }
                 }
             }
@@ -789,51 +1098,132 @@ public class JSONParser {
     }
 
     /**
-     * Checks to see if the passed-in field is required, and is missing or corrupt.  If so,
-     * a text-based error message is returned.  If not, null is returned.
+     * Validation info for a single field of a class.  These are created once per class the first
+     * time an object of that class is validated, so we don't have to look up fields and annotations
+     * for every object.  Fields are read with method handles rather than reflection.
      */
-    private static String checkRequiredState(Field field, Object objectOn, String pathPrefix, int index) {
-        if (field.isAnnotationPresent(JSONRequired.class)) {
-            Object testObj = null;
+    private static class FieldPlan {
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+        private static final MethodHandle NULL_GETTER = MethodHandles.dropArguments(MethodHandles.constant(Object.class, null), 0, Object.class);
+
+        private final String name;
+        private final MethodHandle getter;
+        /**
+         * True if this field's value should be validated too.  Only true for non-primitive fields in jsondefs classes.
+         **/
+        private final boolean recurse;
+        private final JSONRequired required;
+        private final MethodHandle subFieldGetter;
+        private final MethodHandle dependentGetter;
+        /**
+         * Error from looking up the dependent field, if it couldn't be found.  Printed when the dependent is checked.
+         **/
+        private final Exception dependentError;
+
+        private FieldPlan(Class<?> objClass, Field field, boolean recurse) {
+            this.name = field.getName();
+            this.getter = getGetter(field);
+            this.recurse = recurse && !field.getType().isPrimitive();
+            this.required = field.getAnnotation(JSONRequired.class);
+            MethodHandle subFieldGetter = null;
+            MethodHandle dependentGetter = null;
+            Exception dependentError = null;
+            if (required != null && !required.dependentField().isEmpty()) {
+                try {
+                    if (required.subField().isEmpty()) {
+                        dependentGetter = getGetter(objClass.getField(required.dependentField()));
+                    } else {
+                        Field subField = objClass.getField(required.subField());
+                        subFieldGetter = getGetter(subField);
+                        dependentGetter = getGetter(subField.getType().getField(required.dependentField()));
+                    }
+                } catch (Exception e) {
+                    dependentError = e;
+                }
+            }
+            this.subFieldGetter = subFieldGetter;
+            this.dependentGetter = dependentGetter;
+            this.dependentError = dependentError;
+        }
+
+        /**
+         * Creates the plan for the passed-in class.  This is all public fields, in the same order reflection returns them.
+         */
+        private static List<FieldPlan> createPlan(Class<?> objClass) {
+            boolean recurse = objClass.getPackage() != null && objClass.getPackage().getName().contains("jsondefs");
+            List<FieldPlan> plan = new ArrayList<>();
+            for (Field field : objClass.getFields()) {
+                //Fields that don't need checking and won't be recursed into don't need to be in the plan.
+                if (field.isAnnotationPresent(JSONRequired.class) || (recurse && !field.getType().isPrimitive())) {
+                    plan.add(new FieldPlan(objClass, field, recurse));
+                }
+            }
+            return plan;
+        }
+
+        private static MethodHandle getGetter(Field field) {
             try {
-                testObj = field.get(objectOn);
+                MethodHandle handle = MethodHandles.publicLookup().unreflectGetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                }
+                return handle.asType(GETTER_TYPE);
             } catch (Exception e) {
+                //Can't access the field.  Treat it as null, as reflection would.
+                return NULL_GETTER;
             }
+        }
 
-            if (testObj == null) {
-                JSONRequired annotation = field.getAnnotation(JSONRequired.class);
-                //If we need another field, get it to check.
-                String dependentVarName = annotation.dependentField();
-                if (!dependentVarName.isEmpty()) {
-                    Object depObj = null;
-                    try {
-                        if (annotation.subField().isEmpty()) {
-                            depObj = objectOn.getClass().getField(dependentVarName).get(objectOn);
-                        } else {
-                            depObj = objectOn.getClass().getField(annotation.subField()).get(objectOn);
-                            depObj = depObj.getClass().getField(dependentVarName).get(depObj);
+        private Object get(Object objectOn) {
+            try {
+                return (Object) getter.invokeExact(objectOn);
+            } catch (Throwable e) {
+                return null;
+            }
+        }
+
+        /**
+         * Checks to see if this field is required, and is missing or corrupt.  If so,
+         * a text-based error message is returned.  If not, null is returned.
+         */
+        private String checkRequiredState(Object objectOn, String pathPrefix, int index) {
+            if (required != null) {
+                if (get(objectOn) == null) {
+                    //If we need another field, get it to check.
+                    String dependentVarName = required.dependentField();
+                    if (!dependentVarName.isEmpty()) {
+                        Object depObj = null;
+                        try {
+                            if (dependentError != null) {
+                                throw dependentError;
+                            } else if (subFieldGetter == null) {
+                                depObj = (Object) dependentGetter.invokeExact(objectOn);
+                            } else {
+                                depObj = (Object) subFieldGetter.invokeExact(objectOn);
+                                depObj = (Object) dependentGetter.invokeExact(Objects.requireNonNull(depObj));
+                            }
+                        } catch (Throwable e) {
+                            e.printStackTrace();
                         }
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
 
-                    if (depObj != null) {
-                        //Have object.  If the object has to be a set of values to throw an error, check this.
-                        if (annotation.dependentValues().length == 0) {
-                            return pathPrefix + field.getName() + ", entry #" + index + ", is required when '" + dependentVarName + "' is present!";
-                        } else {
-                            for (String possibleValue : annotation.dependentValues()) {
-                                if (depObj.toString().startsWith(possibleValue)) {
-                                    return pathPrefix + field.getName() + ", entry #" + index + ", is required when value of '" + dependentVarName + "' is '" + depObj + "'!";
+                        if (depObj != null) {
+                            //Have object.  If the object has to be a set of values to throw an error, check this.
+                            if (required.dependentValues().length == 0) {
+                                return pathPrefix + name + ", entry #" + index + ", is required when '" + dependentVarName + "' is present!";
+                            } else {
+                                for (String possibleValue : required.dependentValues()) {
+                                    if (depObj.toString().startsWith(possibleValue)) {
+                                        return pathPrefix + name + ", entry #" + index + ", is required when value of '" + dependentVarName + "' is '" + depObj + "'!";
+                                    }
                                 }
                             }
                         }
+                    } else {
+                        return pathPrefix + name + ", entry #" + index + ", is missing from the JSON and is required!";
                     }
-                } else {
-                    return pathPrefix + field.getName() + ", entry #" + index + ", is missing from the JSON and is required!";
                 }
             }
+            return null;
         }
-        return null;
     }
 }
@@ -118,7 +118,20 @@ public final class LegacyCompatSystem {
         variableChanges.forEach((k, v) -> variableChangesInv.put(v, k));
     }
 
+    /**
+     * Performs legacy compats on the passed-in definition, logging any errors right away.
+     */
     public static void performLegacyCompats(AJSONBase definition) {
+        List<String> messages = new ArrayList<>();
+        performLegacyCompats(definition, messages);
+        messages.forEach(InterfaceManager.coreInterface::logError);
+    }
+
+    /**
+     * Performs legacy compats on the passed-in definition, adding any errors to the passed-in list rather than logging them.
+     * This lets the pack parser run compats on its worker threads and log the errors in pack order afterwards.
+     */
+    public static void performLegacyCompats(AJSONBase definition, List<String> messages) {
         if (definition instanceof AJSONItem) {
             AJSONItem item = (AJSONItem) definition;
             //Update materials to match new format.
@@ -277,7 +290,7 @@ public final class LegacyCompatSystem {
             //This happens after general parsing so we don't clobber anything with the model LCs.
             AJSONMultiModelProvider provider = (AJSONMultiModelProvider) definition;
             if (ConfigSystem.settings != null && ConfigSystem.settings.general.doLegacyLightCompats.value && !(definition instanceof JSONSkin) && provider.rendering.modelType.equals(ModelType.OBJ)) {
-                performModelLegacyCompats((AJSONMultiModelProvider) definition);
+                performModelLegacyCompats((AJSONMultiModelProvider) definition, messages);
             }
 
 
@@ -549,8 +562,10 @@ public final class LegacyCompatSystem {
             try {
                 performVehiclePartDefLegacyCompats(partDef);
             } catch (Exception e) {
-                e.printStackTrace();
-                throw new NullPointerException("Could not perform Legacy Compats on part entry #" + (definition.parts.indexOf(partDef) + 1) + " due to an unknown error.  This is likely due to a missing or incorrectly-named field.");
+                //Keep the original exception as the cause so its trace is printed with ours, rather than printing it here on whatever thread we are on.
+                NullPointerException exception = new NullPointerException("Could not perform Legacy Compats on part entry #" + (definition.parts.indexOf(partDef) + 1) + " due to an unknown error.  This is likely due to a missing or incorrectly-named field.");
+                exception.initCause(e);
+                throw exception;
             }
         }
         if (definition.parts != null) {
@@ -2630,7 +2645,7 @@ public final class LegacyCompatSystem {
         }
     }
 
-    private static void performModelLegacyCompats(AJSONMultiModelProvider definition) {
+    private static void performModelLegacyCompats(AJSONMultiModelProvider definition, List<String> messages) {
         if (definition.rendering == null) {
             definition.rendering = new JSONRendering();
         } else if (definition.rendering.particles != null) {
@@ -2793,15 +2808,16 @@ public final class LegacyCompatSystem {
                             }
 
                             float[] masterVertex = new float[8];
-                            for (int i = 0; i < object.vertices.capacity(); i += 8 * 3) {
+                            for (int i = 0; i < object.getVertexCount(); i += 3) {
                                 float minX = 999;
                                 float maxX = -999;
                                 float minY = 999;
                                 float maxY = -999;
                                 float minZ = 999;
                                 float maxZ = -999;
-                                for (byte j = 0; j < 8 * 3; j += 8) {
-                                    object.vertices.get(masterVertex);
+                                for (byte j = 0; j < 3; ++j) {
+                                    //Packs may be parsed in parallel and share this cached model, so don't move the buffer position.
+                                    object.getVertex(i + j, masterVertex);
                                     minX = Math.min(masterVertex[5], minX);
                                     maxX = Math.max(masterVertex[5], maxX);
                                     minY = Math.min(masterVertex[6], minY);
@@ -2824,7 +2840,6 @@ public final class LegacyCompatSystem {
                                 lightDef.blendableComponents.add(blendable);
                             }
                         }
-                        object.vertices.rewind();
                         definition.rendering.lightObjects.add(lightDef);
                     }
                 }
@@ -2939,8 +2954,8 @@ public final class LegacyCompatSystem {
                 }
             }
         } catch (Exception e) {
-            InterfaceManager.coreInterface.logError("Could not do model-based legacy compats on " + definition.packID + ":" + definition.systemName + ".  Lights and treads will likely not be present on this model.");
-            InterfaceManager.coreInterface.logError(e.getMessage());
+            messages.add("Could not do model-based legacy compats on " + definition.packID + ":" + definition.systemName + ".  Lights and treads will likely not be present on this model.");
+            messages.add(e.getMessage());
         }
     }
 }
@@ -1,15 +1,22 @@
 package minecrafttransportsimulator.packloading;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -324,6 +331,7 @@ public final class PackParser {
      */
     private static void parseAllPacks() {
         List<String> packIDs = new ArrayList<>(packMap.keySet());
+        Map<JSONPack, List<String>> packDirectories = new LinkedHashMap<>();
         for (String s : packMap.keySet()) {
             JSONPack packDef = packMap.get(s);
             //Don't parse the core pack.  THat's all internal.
@@ -375,81 +383,97 @@ public final class PackParser {
                 }
             }
 
-            //Load the pack components into the game.
-            //We iterate over all the sub-folders we found from the packDef checks.
-            PackStructure structure = PackStructure.values()[packDef.fileStructure];
-            for (String subDirectory : validSubDirectories) {
-                String assetPathPrefix = "assets/" + packDef.packID + "/";
-                if (!subDirectory.isEmpty()) {
-                    assetPathPrefix += subDirectory + "/";
+            packDirectories.put(packDef, validSubDirectories);
+        }
+
+        //Parse and validate all pack JSONs on the parsing pool.  Each pack gets a task, which then splits into a task for each JSON.
+        //Items are registered afterwards on this thread in pack and jar order, so their order doesn't depend on which thread finished first.
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool parsingPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("MTS Pack Parser " + thread.getPoolIndex());
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+        try {
+            //If no packs changed since the last boot, load the definitions from the snapshot rather than the jars.
+            String snapshotKey = PackSnapshot.getKey(packDirectories);
+            List<ParsedDefinition> snapshotDefinitions = PackSnapshot.load(snapshotKey);
+            if (snapshotDefinitions != null) {
+                parsingPool.submit(() -> ForkJoinTask.invokeAll(snapshotDefinitions)).join();
+                snapshotDefinitions.forEach(ParsedDefinition::register);
+            } else {
+                List<ForkJoinTask<List<ParsedDefinition>>> packTasks = new ArrayList<>();
+                packDirectories.forEach((packDef, validSubDirectories) -> packTasks.add(parsingPool.submit(() -> parsePack(packDef, validSubDirectories))));
+                List<ParsedDefinition> parsedDefinitions = new ArrayList<>();
+                for (ForkJoinTask<List<ParsedDefinition>> packTask : packTasks) {
+                    for (ParsedDefinition parsedDefinition : packTask.join()) {
+                        parsedDefinition.register();
+                        parsedDefinitions.add(parsedDefinition);
+                    }
                 }
+                PackSnapshot.save(snapshotKey, parsedDefinitions);
+            }
+        } finally {
+            parsingPool.shutdown();
+        }
+    }
 
-                try {
-                    ZipFile jarFile = new ZipFile(packJarMap.get(packDef.packID));
-                    Enumeration<? extends ZipEntry> entries = jarFile.entries();
-                    while (entries.hasMoreElements()) {
-                        //Get next entry and path.
-                        ZipEntry entry = entries.nextElement();
-                        String entryFullPath = entry.getName();
-                        if (entryFullPath.startsWith(assetPathPrefix) && entryFullPath.endsWith(".json")) {
-                            //JSON is in correct folder.  Get path properties and ensure they match our specs.
-                            //Need the asset folder structure between the main prefix and the asset itself.
-                            //This lets us know what asset we need to create as all assets are in their own folders.
-                            String fileName = entryFullPath.substring(entryFullPath.lastIndexOf('/') + 1);
-                            String assetPath = entryFullPath.substring(assetPathPrefix.length(), entryFullPath.substring(0, entryFullPath.length() - fileName.length()).lastIndexOf("/") + 1);
-                            if (!structure.equals(PackStructure.MODULAR)) {
-                                //Need to trim the jsondefs folder to get correct sub-folder of jsondefs data.
-                                //Modular structure does not have a jsondefs folder, so we don't need to trim it off for that.
-                                //If we aren't modular, and aren't in a jsondefs folder, skip this entry.
-                                if (assetPath.startsWith("jsondefs/")) {
-                                    assetPath = assetPath.substring("jsondefs/".length());
-                                } else {
-                                    continue;
-                                }
-                            }
+    /**
+     * Helper method to parse all JSONs in the passed-in sub-folders of a pack.  This is run on the parsing pool,
+     * so nothing is registered here.  Instead, the returned definitions should be registered in order once parsed.
+     */
+    private static List<ParsedDefinition> parsePack(JSONPack packDef, List<String> validSubDirectories) {
+        //Load the pack components into the game.
+        //We iterate over all the sub-folders we found from the packDef checks.
+        List<ParsedDefinition> parsedDefinitions = new ArrayList<>();
+        PackStructure structure = PackStructure.values()[packDef.fileStructure];
+        for (String subDirectory : validSubDirectories) {
+            String assetPathPrefix = "assets/" + packDef.packID + "/";
+            if (!subDirectory.isEmpty()) {
+                assetPathPrefix += subDirectory + "/";
+            }
 
-                            //Check to make sure json isn't an item JSON or our pack definition.
-                            if (!fileName.equals("packdefinition.json") && (structure.equals(PackStructure.MODULAR) ? !fileName.endsWith("_item.json") : entryFullPath.contains("jsondefs"))) {
-                                //Get classification and JSON class type to use with GSON system.
-                                ItemClassification classification;
-                                try {
-                                    classification = ItemClassification.fromDirectory(assetPath.substring(0, assetPath.indexOf("/") + 1));
-                                } catch (Exception e) {
-                                    InterfaceManager.coreInterface.logError("Was given an invalid classifcation sub-folder for asset: " + fileName + ".  Check your folder paths.");
-                                    continue;
-                                }
-
-                                //Create the JSON instance.
-                                String systemName = fileName.substring(0, fileName.length() - ".json".length());
-                                AJSONBase definition;
-                                try {
-                                    definition = JSONParser.parseStream(jarFile.getInputStream(entry), classification.representingClass, packDef.packID, systemName);
-                                } catch (Exception e) {
-                                    InterfaceManager.coreInterface.logError("Could not parse: " + packDef.packID + ":" + fileName);
-                                    InterfaceManager.coreInterface.logError(e.getMessage());
-                                    continue;
-                                }
-
-                                //Remove the classification folder from the assetPath.  We don't use this for the resource-loading code.
-                                //Instead, this will be loaded by referencing the definition.  This also allows us to omit the path
-                                //if we are loading a non-default pack format.
-                                definition.packID = packDef.packID;
-                                definition.systemName = systemName;
-                                definition.classification = classification;
-                                definition.prefixFolders = assetPath.substring(classification.toDirectory().length());
-                                registerItem(definition);
+            try (ZipFile jarFile = new ZipFile(packJarMap.get(packDef.packID))) {
+                List<ParsedDefinition> directoryDefinitions = new ArrayList<>();
+                Enumeration<? extends ZipEntry> entries = jarFile.entries();
+                while (entries.hasMoreElements()) {
+                    //Get next entry and path.
+                    ZipEntry entry = entries.nextElement();
+                    String entryFullPath = entry.getName();
+                    if (entryFullPath.startsWith(assetPathPrefix) && entryFullPath.endsWith(".json")) {
+                        //JSON is in correct folder.  Get path properties and ensure they match our specs.
+                        //Need the asset folder structure between the main prefix and the asset itself.
+                        //This lets us know what asset we need to create as all assets are in their own folders.
+                        String fileName = entryFullPath.substring(entryFullPath.lastIndexOf('/') + 1);
+                        String assetPath = entryFullPath.substring(assetPathPrefix.length(), entryFullPath.substring(0, entryFullPath.length() - fileName.length()).lastIndexOf("/") + 1);
+                        if (!structure.equals(PackStructure.MODULAR)) {
+                            //Need to trim the jsondefs folder to get correct sub-folder of jsondefs data.
+                            //Modular structure does not have a jsondefs folder, so we don't need to trim it off for that.
+                            //If we aren't modular, and aren't in a jsondefs folder, skip this entry.
+                            if (assetPath.startsWith("jsondefs/")) {
+                                assetPath = assetPath.substring("jsondefs/".length());
+                            } else {
+                                continue;
                             }
                         }
-                    }
 
-                    //Done parsing.  Close the jarfile.
-                    jarFile.close();
-                } catch (Exception e) {
-                    InterfaceManager.coreInterface.logError("Could not start parsing of pack: " + packDef.packID);
-                    e.printStackTrace();
+                        //Check to make sure json isn't an item JSON or our pack definition.
+                        if (!fileName.equals("packdefinition.json") && (structure.equals(PackStructure.MODULAR) ? !fileName.endsWith("_item.json") : entryFullPath.contains("jsondefs"))) {
+                            directoryDefinitions.add(new ParsedDefinition(jarFile, entry, packDef.packID, fileName, assetPath));
+                        }
+                    }
                 }
+
+                //Parse all JSONs before we close the jarfile.
+                ForkJoinTask.invokeAll(directoryDefinitions);
+                parsedDefinitions.addAll(directoryDefinitions);
+            } catch (Exception e) {
+                InterfaceManager.coreInterface.logError("Could not start parsing of pack: " + packDef.packID);
+                e.printStackTrace();
             }
         }
+        return parsedDefinitions;
     }
 
     /**
@@ -468,63 +492,84 @@ public final class PackParser {
      */
     public static void registerItem(AJSONBase itemDef) {
         try {
-            //Do legacy compats before validating the JSON.
-            //This will populate any required fields that were not in older versions.
-            LegacyCompatSystem.performLegacyCompats(itemDef);
-            JSONParser.validateFields(itemDef, itemDef.packID + ":" + itemDef.systemName + "/", 1);
-
-            //Create all required items.
-            if (itemDef instanceof AJSONMultiModelProvider) {
-                //Check if the definition is a skin.  If so, we need to just add it to the skin map for processing later.
-                //We don't create skin items right away as the pack they go to might not yet be loaded.
-                if (itemDef instanceof JSONSkin) {
-                    JSONSkin skinDef = (JSONSkin) itemDef;
-                    if (!skinMap.containsKey(skinDef.skin.packID)) {
-                        skinMap.put(skinDef.skin.packID, new HashMap<>());
-                    }
-                    if (!skinMap.get(skinDef.skin.packID).containsKey(skinDef.skin.systemName)) {
-                        skinMap.get(skinDef.skin.packID).put(skinDef.skin.systemName, new ArrayList<>());
-                    }
-                    skinMap.get(skinDef.skin.packID).get(skinDef.skin.systemName).add(skinDef);
-                } else {
-                    parseAllDefinitions((AJSONMultiModelProvider) itemDef, ((AJSONMultiModelProvider) itemDef).definitions, itemDef.packID);
+            List<String> messages = new ArrayList<>();
+            try {
+                prepareItem(itemDef, messages);
+            } finally {
+                messages.forEach(InterfaceManager.coreInterface::logError);
+            }
+            createItems(itemDef);
+        } catch (Exception e) {
+            InterfaceManager.coreInterface.logError(e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Performs legacy compats and validation on the passed-in definition.  This doesn't touch
+     * the registry, so it is safe to call from the parsing pool.  Errors from the compats are
+     * added to the passed-in list rather than logged, so they can be logged in pack order.
+     */
+    private static void prepareItem(AJSONBase itemDef, List<String> messages) {
+        //Do legacy compats before validating the JSON.
+        //This will populate any required fields that were not in older versions.
+        LegacyCompatSystem.performLegacyCompats(itemDef, messages);
+        JSONParser.validateFields(itemDef, itemDef.packID + ":" + itemDef.systemName + "/", 1);
+    }
+
+    /**
+     * Creates all items for the passed-in definition and adds them to the registry.
+     * The definition should have been prepared with {@link #prepareItem(AJSONBase)} prior to this.
+     */
+    private static void createItems(AJSONBase itemDef) {
+        //Create all required items.
+        if (itemDef instanceof AJSONMultiModelProvider) {
+            //Check if the definition is a skin.  If so, we need to just add it to the skin map for processing later.
+            //We don't create skin items right away as the pack they go to might not yet be loaded.
+            if (itemDef instanceof JSONSkin) {
+                JSONSkin skinDef = (JSONSkin) itemDef;
+                if (!skinMap.containsKey(skinDef.skin.packID)) {
+                    skinMap.put(skinDef.skin.packID, new HashMap<>());
+                }
+                if (!skinMap.get(skinDef.skin.packID).containsKey(skinDef.skin.systemName)) {
+                    skinMap.get(skinDef.skin.packID).put(skinDef.skin.systemName, new ArrayList<>());
                 }
+                skinMap.get(skinDef.skin.packID).get(skinDef.skin.systemName).add(skinDef);
             } else {
-                AItemPack<?> item = null;
-                switch (itemDef.classification) {
-                    case INSTRUMENT:
-                        item = new ItemInstrument((JSONInstrument) itemDef);
-                        break;
-                    case ITEM:
-                        item = new ItemItem((JSONItem) itemDef);
-                        break;
-                    case BLOCK:
-                        item = new ItemBlock((JSONBlock) itemDef);
-                        break;
-                    case PANEL:
-                        //Put the panel in the map in the registry.
-                        JSONPanel panelDef = (JSONPanel) itemDef;
-                        if (!panelMap.containsKey(panelDef.packID)) {
-                            panelMap.put(panelDef.packID, new HashMap<>());
-                        }
-                        panelMap.get(panelDef.packID).put(panelDef.systemName, panelDef);
-                        break;
-                    default: {
-                        throw new IllegalArgumentException("No corresponding classification found for asset: " + itemDef.prefixFolders + " Contact the mod author!");
+                parseAllDefinitions((AJSONMultiModelProvider) itemDef, ((AJSONMultiModelProvider) itemDef).definitions, itemDef.packID);
+            }
+        } else {
+            AItemPack<?> item = null;
+            switch (itemDef.classification) {
+                case INSTRUMENT:
+                    item = new ItemInstrument((JSONInstrument) itemDef);
+                    break;
+                case ITEM:
+                    item = new ItemItem((JSONItem) itemDef);
+                    break;
+                case BLOCK:
+                    item = new ItemBlock((JSONBlock) itemDef);
+                    break;
+                case PANEL:
+                    //Put the panel in the map in the registry.
+                    JSONPanel panelDef = (JSONPanel) itemDef;
+                    if (!panelMap.containsKey(panelDef.packID)) {
+                        panelMap.put(panelDef.packID, new HashMap<>());
                     }
+                    panelMap.get(panelDef.packID).put(panelDef.systemName, panelDef);
+                    break;
+                default: {
+                    throw new IllegalArgumentException("No corresponding classification found for asset: " + itemDef.prefixFolders + " Contact the mod author!");
                 }
+            }
 
-                //Put the item in the map in the registry.
-                if(item != null) {
-                    if (!packItemMap.containsKey(item.definition.packID)) {
-                        packItemMap.put(item.definition.packID, new HashMap<>());
-                    }
-                    packItemMap.get(item.definition.packID).put(item.definition.systemName, item);
+            //Put the item in the map in the registry.
+            if(item != null) {
+                if (!packItemMap.containsKey(item.definition.packID)) {
+                    packItemMap.put(item.definition.packID, new HashMap<>());
                 }
+                packItemMap.get(item.definition.packID).put(item.definition.systemName, item);
             }
-        } catch (Exception e) {
-            InterfaceManager.coreInterface.logError(e.getMessage());
-            e.printStackTrace();
         }
     }
 
@@ -663,6 +708,13 @@ public final class PackParser {
         return packMap.get(packID);
     }
 
+    /**
+     * Returns the jar file the passed-in pack was loaded from, or null if it wasn't loaded from a jar.
+     */
+    public static File getPackJar(String packID) {
+        return packJarMap.get(packID);
+    }
+
     public static List<AItemPack<?>> getAllItemsForPack(String packID, boolean sorted) {
         List<AItemPack<?>> packItems = new ArrayList<>(packItemMap.get(packID).values());
         if (sorted) {
@@ -697,4 +749,111 @@ public final class PackParser {
         }
         return packPanels;
     }
+
+    /**
+     * A JSON in a pack jar, and the definition parsed from it.  Parsing, legacy compats, and validation
+     * are done in {@link #compute()} on the parsing pool.  Errors are saved rather than logged so
+     * they show up in the same order as the items when {@link #register()} is called.
+     * <br><br>
+     * Definitions may also come from the {@link PackSnapshot}, in which case they are already
+     * prepared and only need to be parsed from the snapshot JSON.
+     */
+    static class ParsedDefinition extends RecursiveAction {
+        private final ZipFile jarFile;
+        private final ZipEntry entry;
+        final String packID;
+        final String fileName;
+        final String assetPath;
+        final List<String> errors = new ArrayList<>();
+        /**
+         * The prepared definition, exported to JSON.  Used to save and load the snapshot.
+         **/
+        byte[] snapshotJSON;
+        private AJSONBase definition;
+        private Exception prepareException;
+
+        private ParsedDefinition(ZipFile jarFile, ZipEntry entry, String packID, String fileName, String assetPath) {
+            this.jarFile = jarFile;
+            this.entry = entry;
+            this.packID = packID;
+            this.fileName = fileName;
+            this.assetPath = assetPath;
+        }
+
+        /**
+         * Creates a definition to be loaded from the snapshot.  The snapshot JSON and errors should be set prior to computing it.
+         */
+        ParsedDefinition(String packID, String fileName, String assetPath) {
+            this(null, null, packID, fileName, assetPath);
+        }
+
+        @Override
+        protected void compute() {
+            //If we are from the snapshot and don't have JSON, we had errors last parse.  These will already be in our error list.
+            if (jarFile == null && snapshotJSON == null) {
+                return;
+            }
+
+            //Get classification and JSON class type to use with GSON system.
+            ItemClassification classification;
+            try {
+                classification = ItemClassification.fromDirectory(assetPath.substring(0, assetPath.indexOf("/") + 1));
+            } catch (Exception e) {
+                errors.add("Was given an invalid classifcation sub-folder for asset: " + fileName + ".  Check your folder paths.");
+                return;
+            }
+
+            //Create the JSON instance.
+            String systemName = fileName.substring(0, fileName.length() - ".json".length());
+            try {
+                if (jarFile != null) {
+                    definition = JSONParser.parseStream(jarFile.getInputStream(entry), classification.representingClass, packID, systemName);
+                } else {
+                    definition = JSONParser.parseStream(new ByteArrayInputStream(snapshotJSON), classification.representingClass, packID, systemName);
+                }
+            } catch (Exception e) {
+                errors.add("Could not parse: " + packID + ":" + fileName);
+                errors.add(e.getMessage());
+                return;
+            }
+
+            //Remove the classification folder from the assetPath.  We don't use this for the resource-loading code.
+            //Instead, this will be loaded by referencing the definition.  This also allows us to omit the path
+            //if we are loading a non-default pack format.
+            definition.packID = packID;
+            definition.systemName = systemName;
+            definition.classification = classification;
+            definition.prefixFolders = assetPath.substring(classification.toDirectory().length());
+            if (jarFile != null) {
+                try {
+                    prepareItem(definition, errors);
+                    ByteArrayOutputStream jsonStream = new ByteArrayOutputStream();
+                    JSONParser.exportSnapshotStream(definition, jsonStream);
+                    snapshotJSON = jsonStream.toByteArray();
+                } catch (Exception e) {
+                    errors.add(e.getMessage());
+                    prepareException = e;
+                    definition = null;
+                }
+            }
+        }
+
+        /**
+         * Logs any errors from parsing, and registers the definition if it was parsed and prepared.
+         * This must be called on the main thread after this task completes.
+         */
+        private void register() {
+            errors.forEach(InterfaceManager.coreInterface::logError);
+            if (prepareException != null) {
+                prepareException.printStackTrace();
+            } else if (definition != null) {
+                try {
+                    createItems(definition);
+                } catch (Exception e) {
+                    InterfaceManager.coreInterface.logError(e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,151 @@
+package minecrafttransportsimulator.packloading;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import minecrafttransportsimulator.jsondefs.JSONPack;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.packloading.PackParser.ParsedDefinition;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Class that saves the definitions parsed from pack jars to disk, and loads them back.  Definitions are
+ * saved after legacy compats and validation, so loading them lets us skip reading the jars, the legacy compats,
+ * and the validation on boots where no packs changed.  Errors from parsing are saved too, so they still get logged.
+ * <br><br>
+ * The snapshot is keyed by the mod version, the path, size, and modified time of each pack jar, the folders
+ * loaded from each pack, and the configs that change how packs are parsed.  If any of these don't match,
+ * the snapshot is stale and null is returned so the packs get parsed normally.
+ *
+ * @author agent
+ */
+final class PackSnapshot {
+    private static final int SNAPSHOT_MAGIC = 0x4D545350;
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final File snapshotFile = new File(InterfaceManager.gameDirectory, "mtscache" + File.separator + "packs" + File.separator + "snapshot.bin");
+
+    /**
+     * Returns the key for the passed-in packs and the folders that will be loaded from them.
+     */
+    static String getKey(Map<JSONPack, List<String>> packDirectories) {
+        StringBuilder key = new StringBuilder(InterfaceManager.coreModVersion);
+        if (ConfigSystem.settings != null) {
+            key.append("|legacyLights=").append(ConfigSystem.settings.general.doLegacyLightCompats.value);
+        }
+        for (Entry<JSONPack, List<String>> packEntry : packDirectories.entrySet()) {
+            File packJar = PackParser.getPackJar(packEntry.getKey().packID);
+            key.append("|").append(packEntry.getKey().packID).append("=").append(packJar.getAbsolutePath()).append(",").append(packJar.length()).append(",").append(packJar.lastModified()).append(",").append(packEntry.getValue());
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns the definitions in the snapshot, or null if there is no snapshot or if the snapshot doesn't
+     * match the passed-in key.  The returned definitions still need to be computed to parse their JSON.
+     */
+    static List<ParsedDefinition> load(String key) {
+        if (!snapshotFile.exists()) {
+            return null;
+        }
+        try (DataInputStream stream = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(snapshotFile))))) {
+            if (stream.readInt() != SNAPSHOT_MAGIC || stream.readInt() != SNAPSHOT_VERSION || !key.equals(readString(stream))) {
+                return null;
+            }
+            int definitionCount = stream.readInt();
+            List<ParsedDefinition> definitions = new ArrayList<>(definitionCount);
+            for (int i = 0; i < definitionCount; ++i) {
+                ParsedDefinition definition = new ParsedDefinition(readString(stream), readString(stream), readString(stream));
+                int errorCount = stream.readInt();
+                for (int j = 0; j < errorCount; ++j) {
+                    definition.errors.add(readString(stream));
+                }
+                int jsonLength = stream.readInt();
+                if (jsonLength != -1) {
+                    definition.snapshotJSON = new byte[jsonLength];
+                    stream.readFully(definition.snapshotJSON);
+                }
+                definitions.add(definition);
+            }
+            return definitions;
+        } catch (Exception e) {
+            //Bad or truncated snapshot.  Just parse the packs.
+            return null;
+        }
+    }
+
+    /**
+     * Saves the passed-in definitions as the snapshot for the passed-in key.
+     */
+    static void save(String key, List<ParsedDefinition> definitions) {
+        //Write to a temp file first, so a crash mid-write doesn't leave a bad snapshot.
+        File tempFile = new File(snapshotFile.getPath() + ".tmp");
+        try {
+            snapshotFile.getParentFile().mkdirs();
+            try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tempFile))))) {
+                stream.writeInt(SNAPSHOT_MAGIC);
+                stream.writeInt(SNAPSHOT_VERSION);
+                writeString(stream, key);
+                stream.writeInt(definitions.size());
+                for (ParsedDefinition definition : definitions) {
+                    writeString(stream, definition.packID);
+                    writeString(stream, definition.fileName);
+                    writeString(stream, definition.assetPath);
+                    stream.writeInt(definition.errors.size());
+                    for (String error : definition.errors) {
+                        writeString(stream, error);
+                    }
+                    if (definition.snapshotJSON != null) {
+                        stream.writeInt(definition.snapshotJSON.length);
+                        stream.write(definition.snapshotJSON);
+                    } else {
+                        stream.writeInt(-1);
+                    }
+                }
+            }
+            if (snapshotFile.exists() && !snapshotFile.delete()) {
+                tempFile.delete();
+                return;
+            }
+            if (!tempFile.renameTo(snapshotFile)) {
+                tempFile.delete();
+            }
+        } catch (IOException e) {
+            InterfaceManager.coreInterface.logError("Could not save pack snapshot due to " + e.getClass().getSimpleName() + (e.getMessage() != null ? " - " + e.getMessage() : "") + ".  Packs will be parsed normally next boot.");
+            tempFile.delete();
+        }
+    }
+
+    private static void writeString(DataOutputStream stream, String string) throws IOException {
+        //Strings may be null for errors without messages, and may be longer than writeUTF allows.
+        if (string != null) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            stream.writeInt(bytes.length);
+            stream.write(bytes);
+        } else {
+            stream.writeInt(-1);
+        }
+    }
+
+    private static String readString(DataInputStream stream) throws IOException {
+        int length = stream.readInt();
+        if (length == -1) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        stream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
@@ -20,12 +21,14 @@ import minecrafttransportsimulator.mcinterface.InterfaceManager;
  */
 public abstract class AModelParser {
     private static final Map<String, AModelParser> parsers = new HashMap<>();
-    private static final Map<String, List<RenderableVertices>> parsedVertices = new HashMap<>();
+    private static final Map<String, List<RenderableVertices>> parsedVertices = new ConcurrentHashMap<>();
+    private static final Map<String, RenderableVertices> mergedVertices = new HashMap<>();
     private static List<RenderableVertices> missingModelTemplate;
     public static final String WINDOW_OBJECT_NAME = "window";
     public static final String ONLINE_TEXTURE_OBJECT_NAME = "url";
     public static final String TRANSLUCENT_OBJECT_NAME = "translucent";
     public static final String MISSING_MODEL_NAME = "__missing_model__";
+    public static final String STATIC_OBJECT_NAME = "__static_objects__";
     public static final String MISSING_MODEL_LOCATION = "/assets/mts/objmodels/rendering/missing.obj";
     public static final String MISSING_MODEL_TEXTURE = "mts:textures/rendering/missing.png";
 
@@ -53,36 +56,34 @@ public abstract class AModelParser {
     /**
      * Attempts to obtain the parser for the passed-in modelLocation.  After this, the model
      * is parsed and returned.  If no parser is found, an exception is thrown.
-     * If the model has already been parsed, a cached copy is returned.
+     * If the model has already been parsed, a cached copy is returned.  Models are parsed into
+     * the cache atomically, so threads asking for the same model at once all get the same copy.
      */
     public static List<RenderableVertices> parseModel(String modelLocation, boolean returnCached) {
-        List<RenderableVertices> vertices = null;
         if (returnCached) {
-            vertices = parsedVertices.get(modelLocation);
+            return parsedVertices.computeIfAbsent(modelLocation, AModelParser::parseModelWithFallback);
+        } else {
+            return parseModelWithFallback(modelLocation);
         }
-        if (vertices == null) {
-            AModelParser parser = parsers.get(modelLocation.substring(modelLocation.lastIndexOf(".") + 1));
-            if (parser != null) {
-                try {
-                    vertices = parser.parseModelInternal(modelLocation);
-                } catch (Exception e) {
-                    InterfaceManager.coreInterface.logError("Could not parse model: " + modelLocation + " due to " + e.getClass().getSimpleName() + (e.getMessage() != null ? " - " + e.getMessage() : "") + ".  Reverting to fallback model.");
-                    vertices = getMissingModel(modelLocation);
-                }
-                if (vertices == null || vertices.isEmpty()) {
-                    InterfaceManager.coreInterface.logError("Model: " + modelLocation + " produced no renderable geometry.  Reverting to fallback model.");
-                    vertices = getMissingModel(modelLocation);
-                }
-                if (returnCached) {
-                    parsedVertices.put(modelLocation, vertices);
-                }
-            } else {
-                InterfaceManager.coreInterface.logError("No parser found for model format of " + modelLocation.substring(modelLocation.lastIndexOf(".") + 1) + " at: " + modelLocation + ".  Reverting to fallback model.");
+    }
+
+    private static List<RenderableVertices> parseModelWithFallback(String modelLocation) {
+        List<RenderableVertices> vertices;
+        AModelParser parser = parsers.get(modelLocation.substring(modelLocation.lastIndexOf(".") + 1));
+        if (parser != null) {
+            try {
+                vertices = parser.parseModelInternal(modelLocation);
+            } catch (Exception e) {
+                InterfaceManager.coreInterface.logError("Could not parse model: " + modelLocation + " due to " + e.getClass().getSimpleName() + (e.getMessage() != null ? " - " + e.getMessage() : "") + ".  Reverting to fallback model.");
                 vertices = getMissingModel(modelLocation);
-                if (returnCached) {
-                    parsedVertices.put(modelLocation, vertices);
-                }
             }
+            if (vertices == null || vertices.isEmpty()) {
+                InterfaceManager.coreInterface.logError("Model: " + modelLocation + " produced no renderable geometry.  Reverting to fallback model.");
+                vertices = getMissingModel(modelLocation);
+            }
+        } else {
+            InterfaceManager.coreInterface.logError("No parser found for model format of " + modelLocation.substring(modelLocation.lastIndexOf(".") + 1) + " at: " + modelLocation + ".  Reverting to fallback model.");
+            vertices = getMissingModel(modelLocation);
         }
         return vertices;
     }
@@ -101,17 +102,48 @@ public abstract class AModelParser {
      * These are returned as a list.  Objects in the parsed model are cross-checked with the passed-in
      * definition to ensure the proper constructors are created.  All objects in the model
      * are assured to be turned into one of the objects in the returned list.
+     * <br><br>
+     * Objects that are static per {@link RenderableModelObject#isStatic(AEntityD_Definable, RenderableVertices)}
+     * are merged into one object, or two if some are translucent, so they render in a single call rather than
+     * one call per object.  Merged vertices are cached, so all entities with the same definition share them.
      */
     public static List<RenderableModelObject> generateRenderables(AEntityD_Definable<?> entity) {
-        String modelLocation = entity.definition.getModelLocation(entity.subDefinition);
+        return generateRenderables(entity, entity.definition.getModelLocation(entity.subDefinition));
+    }
+
+    /**
+     * Like {@link #generateRenderables(AEntityD_Definable)}, but uses the passed-in model location
+     * rather than the entity's main model.  Used for level of detail models.
+     */
+    public static List<RenderableModelObject> generateRenderables(AEntityD_Definable<?> entity, String modelLocation) {
         List<RenderableModelObject> modelObjects = new ArrayList<>();
+        List<RenderableVertices> solidObjects = new ArrayList<>();
+        List<RenderableVertices> translucentObjects = new ArrayList<>();
         for (RenderableVertices parsedObject : parseModel(modelLocation, true)) {
-            modelObjects.add(new RenderableModelObject(entity, parsedObject));
+            if (RenderableModelObject.isStatic(entity, parsedObject)) {
+                (parsedObject.isTranslucent ? translucentObjects : solidObjects).add(parsedObject);
+            } else {
+                modelObjects.add(new RenderableModelObject(entity, parsedObject));
+            }
         }
+        addMergedObjects(entity, modelLocation, solidObjects, STATIC_OBJECT_NAME, modelObjects);
+        addMergedObjects(entity, modelLocation, translucentObjects, STATIC_OBJECT_NAME + TRANSLUCENT_OBJECT_NAME, modelObjects);
         return modelObjects;
     }
 
-    private static List<RenderableVertices> getMissingModel(String failedModelLocation) {
+    private static void addMergedObjects(AEntityD_Definable<?> entity, String modelLocation, List<RenderableVertices> objects, String mergedName, List<RenderableModelObject> modelObjects) {
+        if (objects.size() == 1) {
+            modelObjects.add(new RenderableModelObject(entity, objects.get(0)));
+        } else if (!objects.isEmpty()) {
+            //Key off the objects being merged, since different definitions may use the same model with different animations.
+            StringBuilder keyBuilder = new StringBuilder(modelLocation);
+            objects.forEach(object -> keyBuilder.append('|').append(object.name));
+            RenderableVertices merged = mergedVertices.computeIfAbsent(keyBuilder.toString(), key -> RenderableVertices.createMerged(mergedName, objects));
+            modelObjects.add(new RenderableModelObject(entity, merged));
+        }
+    }
+
+    private static synchronized List<RenderableVertices> getMissingModel(String failedModelLocation) {
         if (missingModelTemplate == null) {
             missingModelTemplate = loadMissingModelTemplate(failedModelLocation);
         }
@@ -143,7 +175,7 @@ public abstract class AModelParser {
         for (RenderableVertices sourceObject : sourceModel) {
             FloatBuffer duplicatedVertices = sourceObject.vertices.duplicate();
             duplicatedVertices.rewind();
-            clonedModel.add(new RenderableVertices(MISSING_MODEL_NAME, duplicatedVertices, sourceObject.cacheVertices, true));
+            clonedModel.add(new RenderableVertices(MISSING_MODEL_NAME, duplicatedVertices, sourceObject.indices, sourceObject.cacheVertices, true));
         }
         return clonedModel;
     }
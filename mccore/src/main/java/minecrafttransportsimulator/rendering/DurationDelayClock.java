@@ -1,5 +1,6 @@
 package minecrafttransportsimulator.rendering;
 
+import minecrafttransportsimulator.baseclasses.ComputedVariable;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
 import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition;
@@ -28,6 +29,9 @@ public class DurationDelayClock {
     public final double animationAxisMagnitude;
     public final Point3D animationAxisNormalized;
     public final boolean isUseful;
+    private AEntityD_Definable<?> boundEntity;
+    private ComputedVariable boundVariable;
+    private int boundVariableVersion;
     private Long timeCommandedForwards = 0L;
     private Long timeCommandedReverse = 0L;
 
@@ -45,6 +49,20 @@ public class DurationDelayClock {
         this.isUseful = shouldDoFactoring || animation.animationType.equals(AnimationComponentType.VISIBILITY) || animation.animationType.equals(AnimationComponentType.INHIBITOR) || animation.animationType.equals(AnimationComponentType.ACTIVATOR) || animation.forwardsStartSound != null || animation.forwardsEndSound != null || animation.reverseStartSound != null || animation.reverseEndSound != null;
     }
 
+    /**
+     * Returns the variable for this clock's animation on the passed-in entity.  The variable is only looked
+     * up the first time this is called, and again when the entity's variables are reset or the entity
+     * changes, so regular calls don't need to hash the variable name.
+     */
+    public ComputedVariable getVariable(AEntityD_Definable<?> entity) {
+        if (boundEntity != entity || boundVariableVersion != entity.getVariableVersion()) {
+            boundVariable = entity.getOrCreateVariable(animation.variable);
+            boundEntity = entity;
+            boundVariableVersion = entity.getVariableVersion();
+        }
+        return boundVariable;
+    }
+
     /**
      * Returns the clamped and scaled clock value based on this clock's state.
      */
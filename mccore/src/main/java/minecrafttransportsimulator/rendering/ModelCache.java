@@ -0,0 +1,267 @@
+package minecrafttransportsimulator.rendering;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.packloading.PackParser;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Class that saves parsed models to disk in a binary format, and loads them back.  This lets us skip
+ * the text parsing of models on boots after the first.  Each model is saved to its own file, with a header
+ * that has the pack jar path, the entry name in the jar, and the CRC and size of that entry.  If any of these
+ * don't match the current jar, the cached model is stale and null is returned so the model gets re-parsed.
+ * File names are a SHA-1 of these same values, so an updated model gets a new file rather than replacing
+ * the old one, and files are read into memory rather than mapped, so they are never held open.
+ * Since old files are left behind, the cache is trimmed to the configured size by deleting the least recently loaded files.
+ * Objects that were indexed by the parser have their indices saved after their vertices.
+ * Models not in a pack jar, such as the core models in dev environments, aren't cached.
+ *
+ * @author agent
+ */
+public final class ModelCache {
+    private static final int CACHE_MAGIC = 0x4D54534D;
+    private static final int CACHE_VERSION = 2;
+    private static final File cacheDirectory = new File(InterfaceManager.gameDirectory, "mtscache" + File.separator + "models");
+    private static final Map<File, Map<String, ZipEntry>> jarEntries = new ConcurrentHashMap<>();
+    /**Total size of the cache files, in bytes.  -1 until we list the cache directory for the first trim check.**/
+    private static long cacheSize = -1;
+
+    /**
+     * Returns the cached model at the passed-in location, or null if there is no cached model
+     * or if the cached model doesn't match the model in the pack jar.
+     */
+    public static List<RenderableVertices> load(String modelLocation) {
+        File packJar = getPackJar(modelLocation);
+        if (packJar == null) {
+            return null;
+        }
+        ZipEntry entry = getJarEntry(packJar, modelLocation);
+        if (entry == null) {
+            return null;
+        }
+        File cacheFile = getCacheFile(packJar, entry);
+        if (cacheFile == null || !cacheFile.exists()) {
+            return null;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(cacheFile.toPath()));
+            if (buffer.getInt() != CACHE_MAGIC || buffer.getInt() != CACHE_VERSION || !readString(buffer).equals(packJar.getAbsolutePath()) || !readString(buffer).equals(entry.getName()) || buffer.getLong() != entry.getCrc() || buffer.getLong() != entry.getSize()) {
+                return null;
+            }
+            int objectCount = buffer.getInt();
+            List<RenderableVertices> objectList = new ArrayList<>(objectCount);
+            for (int i = 0; i < objectCount; ++i) {
+                String objectName = readString(buffer);
+                int floatCount = buffer.getInt();
+                FloatBuffer vertices = FloatBuffer.allocate(floatCount);
+                FloatBuffer mappedVertices = buffer.asFloatBuffer();
+                mappedVertices.limit(floatCount);
+                vertices.put(mappedVertices);
+                vertices.flip();
+                buffer.position(buffer.position() + floatCount * Float.BYTES);
+                int indexCount = buffer.getInt();
+                int[] indices = null;
+                if (indexCount != 0) {
+                    indices = new int[indexCount];
+                    buffer.asIntBuffer().get(indices);
+                    buffer.position(buffer.position() + indexCount * Integer.BYTES);
+                }
+                objectList.add(new RenderableVertices(objectName, vertices, indices, true, false));
+            }
+
+            //Mark the file as used so it's not trimmed before models we haven't loaded in a while.
+            cacheFile.setLastModified(System.currentTimeMillis());
+            return objectList;
+        } catch (Exception e) {
+            //Bad or truncated cache file.  Just re-parse the model.
+            return null;
+        }
+    }
+
+    /**
+     * Saves the passed-in parsed model to the cache.  Does nothing if the model isn't in a pack jar.
+     */
+    public static void save(String modelLocation, List<RenderableVertices> objectList) {
+        File packJar = getPackJar(modelLocation);
+        if (packJar == null) {
+            return;
+        }
+        ZipEntry entry = getJarEntry(packJar, modelLocation);
+        if (entry == null || entry.getCrc() == -1 || entry.getSize() == -1) {
+            return;
+        }
+
+        byte[] jarPath = packJar.getAbsolutePath().getBytes(StandardCharsets.UTF_8);
+        byte[] entryName = entry.getName().getBytes(StandardCharsets.UTF_8);
+        List<byte[]> objectNames = new ArrayList<>();
+        int totalSize = 4 + 4 + 4 + jarPath.length + 4 + entryName.length + 8 + 8 + 4;
+        for (RenderableVertices object : objectList) {
+            byte[] objectName = object.name.getBytes(StandardCharsets.UTF_8);
+            objectNames.add(objectName);
+            totalSize += 4 + objectName.length + 4 + object.vertices.limit() * Float.BYTES + 4 + (object.indices != null ? object.indices.length * Integer.BYTES : 0);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(totalSize);
+        buffer.putInt(CACHE_MAGIC);
+        buffer.putInt(CACHE_VERSION);
+        buffer.putInt(jarPath.length).put(jarPath);
+        buffer.putInt(entryName.length).put(entryName);
+        buffer.putLong(entry.getCrc());
+        buffer.putLong(entry.getSize());
+        buffer.putInt(objectList.size());
+        for (int i = 0; i < objectList.size(); ++i) {
+            FloatBuffer vertices = objectList.get(i).vertices.duplicate();
+            vertices.rewind();
+            buffer.putInt(objectNames.get(i).length).put(objectNames.get(i));
+            buffer.putInt(vertices.limit());
+            buffer.asFloatBuffer().put(vertices);
+            buffer.position(buffer.position() + vertices.limit() * Float.BYTES);
+            int[] indices = objectList.get(i).indices;
+            if (indices != null) {
+                buffer.putInt(indices.length);
+                buffer.asIntBuffer().put(indices);
+                buffer.position(buffer.position() + indices.length * Integer.BYTES);
+            } else {
+                buffer.putInt(0);
+            }
+        }
+        buffer.flip();
+
+        //Write to a temp file first, so a crash mid-write doesn't leave a bad cache file.
+        //Temp files have unique names, so two threads saving the same model don't write to the same file.
+        //The cache file name is based on the model's CRC and size, so if it exists, it's already this model.
+        File cacheFile = getCacheFile(packJar, entry);
+        if (cacheFile == null || cacheFile.exists()) {
+            return;
+        }
+        File tempFile = null;
+        try {
+            cacheDirectory.mkdirs();
+            tempFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheDirectory);
+            try (RandomAccessFile file = new RandomAccessFile(tempFile, "rw"); FileChannel channel = file.getChannel()) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            if (tempFile.renameTo(cacheFile)) {
+                trimCache(cacheFile.length());
+            } else {
+                tempFile.delete();
+            }
+        } catch (IOException e) {
+            InterfaceManager.coreInterface.logError("Could not save model cache for: " + modelLocation + " due to " + e.getClass().getSimpleName() + (e.getMessage() != null ? " - " + e.getMessage() : "") + ".  The model will be parsed normally next boot.");
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Deletes the cached models that were loaded the longest time ago until the cache is under the configured size.
+     * The last modified time of the files is used as the last time they were loaded, as we update it on every load.
+     * The total size is kept as files are added, so the directory is only listed on the first call and when trimming.
+     */
+    private static synchronized void trimCache(long addedSize) {
+        long maxCacheSize = ConfigSystem.settings.general.modelCacheSize.value * 1024L * 1024L;
+        if (maxCacheSize > 0) {
+            if (cacheSize == -1 || cacheSize + addedSize > maxCacheSize) {
+                //List the directory to get the real size.  This includes the file just added.
+                File[] cacheFiles = cacheDirectory.listFiles((dir, name) -> name.endsWith(".bin"));
+                if (cacheFiles == null) {
+                    return;
+                }
+                cacheSize = 0;
+                for (File file : cacheFiles) {
+                    cacheSize += file.length();
+                }
+                if (cacheSize > maxCacheSize) {
+                    Arrays.sort(cacheFiles, Comparator.comparingLong(File::lastModified));
+                    for (File file : cacheFiles) {
+                        long fileSize = file.length();
+                        if (file.delete()) {
+                            cacheSize -= fileSize;
+                            if (cacheSize <= maxCacheSize) {
+                                break;
+                            }
+                        }
+                    }
+                }
+            } else {
+                cacheSize += addedSize;
+            }
+        }
+    }
+
+    private static File getPackJar(String modelLocation) {
+        //Locations are in the form of /assets/packID/...
+        int packIDStart = modelLocation.indexOf("assets/") + "assets/".length();
+        int packIDEnd = modelLocation.indexOf('/', packIDStart);
+        if (packIDStart < "assets/".length() || packIDEnd == -1) {
+            return null;
+        }
+        return PackParser.getPackJar(modelLocation.substring(packIDStart, packIDEnd));
+    }
+
+    private static ZipEntry getJarEntry(File packJar, String modelLocation) {
+        Map<String, ZipEntry> entries = jarEntries.computeIfAbsent(packJar, jar -> {
+            Map<String, ZipEntry> entryMap = new HashMap<>();
+            try (ZipFile jarFile = new ZipFile(jar)) {
+                Enumeration<? extends ZipEntry> jarEntries = jarFile.entries();
+                while (jarEntries.hasMoreElements()) {
+                    ZipEntry entry = jarEntries.nextElement();
+                    if (!entry.isDirectory()) {
+                        entryMap.put(entry.getName(), entry);
+                    }
+                }
+            } catch (IOException e) {
+                InterfaceManager.coreInterface.logError("Could not read entries of: " + jar.getName() + " for model caching.  Models from it will not be cached.");
+            }
+            return entryMap;
+        });
+        return entries.get(modelLocation.startsWith("/") ? modelLocation.substring(1) : modelLocation);
+    }
+
+    /**
+     * Returns the cache file for the passed-in jar entry.  The name is a SHA-1 of the jar, entry, and the entry's
+     * CRC and size.  Returns null if SHA-1 isn't available, which shouldn't happen, but if it does we just don't cache.
+     */
+    private static File getCacheFile(File packJar, ZipEntry entry) {
+        String key = packJar.getAbsolutePath() + "!" + entry.getName() + "!" + entry.getCrc() + "!" + entry.getSize();
+        try {
+            StringBuilder builder = new StringBuilder(entry.getName().substring(entry.getName().lastIndexOf('/') + 1)).append('_');
+            for (byte hashByte : MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8))) {
+                builder.append(Character.forDigit((hashByte >> 4) & 0xF, 16)).append(Character.forDigit(hashByte & 0xF, 16));
+            }
+            return new File(cacheDirectory, builder.append(".bin").toString());
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
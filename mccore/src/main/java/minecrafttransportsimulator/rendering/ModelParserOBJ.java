@@ -5,9 +5,13 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.FloatBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.systems.ConfigSystem;
 
 /**
  * Class responsible for parsing OBJ models into arrays that can be fed to the GPU.
@@ -24,6 +28,15 @@ public final class ModelParserOBJ extends AModelParser {
 
     @Override
     protected List<RenderableVertices> parseModelInternal(String modelLocation) {
+        //Check the cache first, unless we are in dev mode where models may change while we are running.
+        boolean useCache = !ConfigSystem.settings.general.devMode.value;
+        if (useCache) {
+            List<RenderableVertices> cachedList = ModelCache.load(modelLocation);
+            if (cachedList != null) {
+                return cachedList;
+            }
+        }
+
         List<RenderableVertices> objectList = new ArrayList<>();
         BufferedReader reader;
         try {
@@ -107,6 +120,9 @@ public final class ModelParserOBJ extends AModelParser {
             //End of file.  Save the last part in process and close the file.
             compileVertexArray(objectList, vertexList, normalList, textureList, faceList, modelLocation, objectName);
             reader.close();
+            if (useCache && !objectList.isEmpty()) {
+                ModelCache.save(modelLocation, objectList);
+            }
             return objectList;
 
         } catch (IOException e) {
@@ -121,9 +137,13 @@ public final class ModelParserOBJ extends AModelParser {
         }
 
         try {
-            List<Integer[]> vertexDataSets = new ArrayList<>();
+            //Faces often share vertices with their neighbors, so only store each unique vertex once and index into them.
+            //The face definition string of a vertex is its position, texture, and normal, so it's used as the key to find duplicates.
+            Map<String, Integer> vertexIndexes = new HashMap<>();
+            List<int[]> uniqueVertexData = new ArrayList<>();
+            List<Integer> vertexDataSets = new ArrayList<>();
             for (String faceString : faceList) {
-                List<Integer[]> faceVertexData = new ArrayList<>();
+                List<Integer> faceVertexData = new ArrayList<>();
                 while (!faceString.isEmpty()) {
                     //Get the face string in format X/Y/Z.  Use the space as a separator between vertices making up the face.
                     int defEnd = faceString.indexOf(' ');
@@ -142,11 +162,17 @@ public final class ModelParserOBJ extends AModelParser {
                     //Texture number is the second entry between the two slashes.
                     //Normal number is the third entry after the second slash.
                     //Parse all these out and store them in the array.
-                    int firstSlash = faceDef.indexOf('/');
-                    int secondSlash = faceDef.lastIndexOf('/');
-                    int vertexNumber = Integer.parseInt(faceDef.substring(0, firstSlash)) - 1;
-                    int textureNumber = Integer.parseInt(faceDef.substring(firstSlash + 1, secondSlash)) - 1;
-                    int normalNumber = Integer.parseInt(faceDef.substring(secondSlash + 1)) - 1;
+                    Integer vertexIndex = vertexIndexes.get(faceDef);
+                    if (vertexIndex == null) {
+                        int firstSlash = faceDef.indexOf('/');
+                        int secondSlash = faceDef.lastIndexOf('/');
+                        int vertexNumber = Integer.parseInt(faceDef.substring(0, firstSlash)) - 1;
+                        int textureNumber = Integer.parseInt(faceDef.substring(firstSlash + 1, secondSlash)) - 1;
+                        int normalNumber = Integer.parseInt(faceDef.substring(secondSlash + 1)) - 1;
+                        vertexIndex = uniqueVertexData.size();
+                        uniqueVertexData.add(new int[] { vertexNumber, textureNumber, normalNumber });
+                        vertexIndexes.put(faceDef, vertexIndex);
+                    }
 
                     //If we have three or more points in faceValues, it means we need to make a triangle out of this shape.
                     //Add the first point, the most recent point, and this point to make a triangle.
@@ -155,20 +181,37 @@ public final class ModelParserOBJ extends AModelParser {
                         faceVertexData.add(faceVertexData.get(0));
                         faceVertexData.add(faceVertexData.get(faceVertexData.size() - 2));
                     }
-                    faceVertexData.add(new Integer[]{vertexNumber, textureNumber, normalNumber});
+                    faceVertexData.add(vertexIndex);
                 }
                 vertexDataSets.addAll(faceVertexData);
             }
 
-            //Compile buffer.
-            FloatBuffer compiledBuffer = FloatBuffer.allocate(vertexDataSets.size() * 8);
-            for (Integer[] vertexData : vertexDataSets) {
-                compiledBuffer.put(normalList.get(vertexData[2]));
-                compiledBuffer.put(textureList.get(vertexData[1]));
-                compiledBuffer.put(vertexList.get(vertexData[0]));
+            //Compile buffer.  Only use indexes if they save space, and if we aren't a window.
+            //Windows have their UVs set per-quad by the renderer, which requires the vertices to be a series of tris.
+            boolean useIndexes = uniqueVertexData.size() * 8 + vertexDataSets.size() < vertexDataSets.size() * 8 && !objectName.toLowerCase(Locale.ROOT).contains(WINDOW_OBJECT_NAME);
+            FloatBuffer compiledBuffer = FloatBuffer.allocate((useIndexes ? uniqueVertexData.size() : vertexDataSets.size()) * 8);
+            if (useIndexes) {
+                int[] indices = new int[vertexDataSets.size()];
+                for (int i = 0; i < indices.length; ++i) {
+                    indices[i] = vertexDataSets.get(i);
+                }
+                for (int[] vertexData : uniqueVertexData) {
+                    compiledBuffer.put(normalList.get(vertexData[2]));
+                    compiledBuffer.put(textureList.get(vertexData[1]));
+                    compiledBuffer.put(vertexList.get(vertexData[0]));
+                }
+                compiledBuffer.flip();
+                objectList.add(new RenderableVertices(objectName, compiledBuffer, indices, true, false));
+            } else {
+                for (int vertexIndex : vertexDataSets) {
+                    int[] vertexData = uniqueVertexData.get(vertexIndex);
+                    compiledBuffer.put(normalList.get(vertexData[2]));
+                    compiledBuffer.put(textureList.get(vertexData[1]));
+                    compiledBuffer.put(vertexList.get(vertexData[0]));
+                }
+                compiledBuffer.flip();
+                objectList.add(new RenderableVertices(objectName, compiledBuffer, true));
             }
-            compiledBuffer.flip();
-            objectList.add(new RenderableVertices(objectName, compiledBuffer, true));
         } catch (Exception e) {
             InterfaceManager.coreInterface.logError("Could not compile points of: " + modelLocation + ":" + objectName + ".  This is likely due to missing UV mapping on some or all faces.");
         }
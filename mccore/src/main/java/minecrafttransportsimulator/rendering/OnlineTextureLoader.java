@@ -0,0 +1,373 @@
+package minecrafttransportsimulator.rendering;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.rendering.GIFParser.ParsedGIF;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Class responsible for loading online textures.  Textures are downloaded and decoded on a small pool of
+ * background threads, and are then bound on the main thread in {@link #bindLoadedTextures()}, as binding
+ * is the only part that needs to be done there.
+ * <br><br>
+ * Downloaded images are saved to a cache on disk, with the ETag and Last-Modified headers the server sent.
+ * When the texture is requested again, these are sent back to the server, which will tell us to use our
+ * cached image if it hasn't changed rather than sending it again.  If the server can't be reached, the
+ * cached image is used as-is without retrying, so a down server doesn't hold up textures we already have.  Once the cache is larger than the configured size, the images that were
+ * used the longest time ago are deleted.
+ *
+ * @author agent
+ */
+public final class OnlineTextureLoader {
+    private static final int DOWNLOAD_THREADS = 2;
+    private static final int DOWNLOAD_TRIES = 10;
+    private static final int CONNECTION_TIMEOUT = 10000;
+    private static final int CACHE_MAGIC = 0x4D545354;
+    private static final int CACHE_VERSION = 1;
+    private static final File cacheDirectory = new File(InterfaceManager.gameDirectory, "mtscache" + File.separator + "textures");
+    private static final ExecutorService downloadThreads = Executors.newFixedThreadPool(DOWNLOAD_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "MTS Texture Downloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Queue<LoadedTexture> loadedTextures = new ConcurrentLinkedQueue<>();
+
+    //These are only accessed from the main thread.
+    private static final Set<String> downloadingTextures = new HashSet<>();
+    private static final Set<String> downloadedTextures = new HashSet<>();
+    private static final Map<String, String> erroredTextures = new HashMap<>();
+
+    /**
+     * Returns true if the texture at the passed-in URL has been loaded and bound.
+     * Textures that failed to load are bound as the missing texture, and also return true.
+     */
+    public static boolean isLoaded(String urlString) {
+        return downloadedTextures.contains(urlString);
+    }
+
+    /**
+     * Returns true if the texture at the passed-in URL is currently being loaded.
+     */
+    public static boolean isLoading(String urlString) {
+        return downloadingTextures.contains(urlString);
+    }
+
+    /**
+     * Returns the error from loading the texture at the passed-in URL, or null if there wasn't an error.
+     */
+    public static String getError(String urlString) {
+        return erroredTextures.get(urlString);
+    }
+
+    /**
+     * Starts loading the texture at the passed-in URL, if it isn't already loading or loaded.
+     */
+    public static void requestTexture(String urlString) {
+        if (!downloadingTextures.contains(urlString) && !downloadedTextures.contains(urlString)) {
+            downloadingTextures.add(urlString);
+            downloadThreads.execute(() -> loadedTextures.add(loadTexture(urlString)));
+        }
+    }
+
+    /**
+     * Binds all textures that have finished loading since the last call.  This must be called on the main thread,
+     * and is called once at the start of every render pass rather than by the objects that use the textures.
+     */
+    public static void bindLoadedTextures() {
+        LoadedTexture texture;
+        while ((texture = loadedTextures.poll()) != null) {
+            String errorString = texture.errorString;
+            if (errorString == null) {
+                if (texture.gif != null) {
+                    if (!InterfaceManager.renderingInterface.bindURLGIF(texture.urlString, texture.gif)) {
+                        errorString = "ERROR: Could not parse GIF due to an internal MC-system interface error.  Contact the mod author!";
+                    }
+                } else if (!InterfaceManager.renderingInterface.bindURLTexture(texture.urlString, texture.image)) {
+                    errorString = "ERROR: Could not bind image due to an internal MC-system interface error.  Contact the mod author!";
+                }
+            }
+
+            //Set missing texture if we failed to get anything.
+            if (errorString != null) {
+                InterfaceManager.renderingInterface.bindURLTexture(texture.urlString, null);
+                erroredTextures.put(texture.urlString, errorString);
+            }
+            downloadingTextures.remove(texture.urlString);
+            downloadedTextures.add(texture.urlString);
+        }
+    }
+
+    /**
+     * Loads the texture at the passed-in URL, either from the server or our cache.
+     * This is called on the download threads, so it should not touch anything on the main thread.
+     */
+    private static LoadedTexture loadTexture(String urlString) {
+        File cacheFile = getCacheFile(urlString);
+        CachedImage cachedImage = readCache(cacheFile, urlString);
+
+        //Parse the texture out into an InputStream, if possible.
+        //FAR less jank than using MC's resource system.
+        //We try a few times here since sources can do dumb things.
+        int tryCount = 0;
+        String errorString = null;
+        do {
+            try {
+                URL urlObject = new URL(urlString);
+                HttpURLConnection connection = (HttpURLConnection) urlObject.openConnection();
+                //Don't let a server that never answers hold up this thread forever.
+                connection.setConnectTimeout(CONNECTION_TIMEOUT);
+                connection.setReadTimeout(CONNECTION_TIMEOUT);
+                try {
+                    if (cachedImage != null) {
+                        if (!cachedImage.eTag.isEmpty()) {
+                            connection.setRequestProperty("If-None-Match", cachedImage.eTag);
+                        }
+                        if (cachedImage.lastModified != 0) {
+                            connection.setIfModifiedSince(cachedImage.lastModified);
+                        }
+                    }
+                    connection.connect();
+                    if (cachedImage != null && connection.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                        //Our cached image is still good, use it.
+                        cacheFile.setLastModified(System.currentTimeMillis());
+                        return parseTexture(urlString, cachedImage.contentType, cachedImage.imageData);
+                    }
+
+                    String contentType = connection.getContentType();
+                    if (contentType == null) {
+                        errorString = "ERROR: No content type was sent for the URL.  This is not a direct image link.";
+                        continue;
+                    }
+                    String[] typeParams = contentType.split("/");
+                    if (typeParams[0].equals("text")) {
+                        errorString = "ERROR: Found only text at the URL.  This is not a direct image link, or you don't have permission to view this image (hosted behind a login).";
+                    } else if (typeParams.length < 2 || !ImageIO.getImageReadersByFormatName(typeParams[1]).hasNext()) {
+                        errorString = "ERROR: Invalid content type found.  Found:" + contentType + ", but the only valid types are: ";
+                        for (String imageSuffix : ImageIO.getReaderFileSuffixes()) {
+                            errorString += ("image/" + imageSuffix + ", ");
+                        }
+                    } else {
+                        byte[] imageData = readStream(connection.getInputStream());
+                        String eTag = connection.getHeaderField("ETag");
+                        writeCache(cacheFile, new CachedImage(urlString, eTag != null ? eTag : "", connection.getLastModified(), contentType, imageData));
+                        return parseTexture(urlString, contentType, imageData);
+                    }
+                } catch (Exception e) {
+                    errorString = "ERROR: Could not parse images.  Error was: " + e.getMessage();
+                    if (cachedImage != null) {
+                        //Connection failed or timed out, don't retry if we have a cached copy to use.
+                        break;
+                    }
+                }
+            } catch (Exception e) {
+                errorString = "ERROR: Could not open URL for processing.  Error was: " + e.getMessage();
+                if (cachedImage != null) {
+                    break;
+                }
+            }
+        } while (++tryCount < DOWNLOAD_TRIES);
+
+        //Couldn't get the image from the server.  Use our cached one if we have it.
+        if (cachedImage != null) {
+            return parseTexture(urlString, cachedImage.contentType, cachedImage.imageData);
+        }
+        return new LoadedTexture(urlString, null, null, errorString);
+    }
+
+    /**
+     * Parses the image data into a texture that can be bound.  GIFs are parsed into
+     * their frames, other images are decoded into a single image.  This is done here
+     * rather than when binding, as decoding can take a while for large images.
+     */
+    private static LoadedTexture parseTexture(String urlString, String contentType, byte[] imageData) {
+        String imageType = contentType.substring(contentType.indexOf('/') + 1);
+        if (imageType.equals("gif")) {
+            try {
+                Iterator<ImageReader> iterator = ImageIO.getImageReadersByFormatName(imageType);
+                ImageReader reader = iterator.next();
+                ImageInputStream stream = ImageIO.createImageInputStream(new ByteArrayInputStream(imageData));
+                reader.setInput(stream);
+                ParsedGIF gif = GIFParser.parseGIF(reader);
+                if (gif != null) {
+                    return new LoadedTexture(urlString, null, gif, null);
+                } else {
+                    return new LoadedTexture(urlString, null, null, "ERROR: Could not parse GIF due to no frames being present.  Is this a real direct link or a fake one?");
+                }
+            } catch (Exception e) {
+                return new LoadedTexture(urlString, null, null, "ERROR: Could not parse images.  Error was: " + e.getMessage());
+            }
+        } else {
+            try {
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageData));
+                if (image != null) {
+                    return new LoadedTexture(urlString, image, null, null);
+                } else {
+                    return new LoadedTexture(urlString, null, null, "ERROR: Got a correct image type, but was missing data for the image?  Likely partial data sent by the server source, try again later.");
+                }
+            } catch (Exception e) {
+                return new LoadedTexture(urlString, null, null, "ERROR: Could not parse images.  Error was: " + e.getMessage());
+            }
+        }
+    }
+
+    private static byte[] readStream(InputStream stream) throws IOException {
+        try (InputStream inputStream = stream) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] readBuffer = new byte[8192];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(readBuffer)) != -1) {
+                outputStream.write(readBuffer, 0, bytesRead);
+            }
+            return outputStream.toByteArray();
+        }
+    }
+
+    /**
+     * Returns the cache file for the passed-in URL.  The name is a SHA-1 of the URL, so different URLs won't
+     * share a file.  If SHA-1 isn't available, which shouldn't happen, the URL's hash code is used instead.
+     * This is still safe, as the URL is saved in the file and checked when reading it.
+     */
+    private static File getCacheFile(String urlString) {
+        try {
+            StringBuilder builder = new StringBuilder();
+            for (byte hashByte : MessageDigest.getInstance("SHA-1").digest(urlString.getBytes(StandardCharsets.UTF_8))) {
+                builder.append(Character.forDigit((hashByte >> 4) & 0xF, 16)).append(Character.forDigit(hashByte & 0xF, 16));
+            }
+            return new File(cacheDirectory, builder.append(".bin").toString());
+        } catch (NoSuchAlgorithmException e) {
+            return new File(cacheDirectory, Integer.toHexString(urlString.hashCode()) + ".bin");
+        }
+    }
+
+    private static CachedImage readCache(File cacheFile, String urlString) {
+        if (cacheFile.exists()) {
+            try (DataInputStream stream = new DataInputStream(new FileInputStream(cacheFile))) {
+                if (stream.readInt() == CACHE_MAGIC && stream.readInt() == CACHE_VERSION && stream.readUTF().equals(urlString)) {
+                    String eTag = stream.readUTF();
+                    long lastModified = stream.readLong();
+                    String contentType = stream.readUTF();
+                    byte[] imageData = new byte[stream.readInt()];
+                    stream.readFully(imageData);
+                    return new CachedImage(urlString, eTag, lastModified, contentType, imageData);
+                }
+            } catch (Exception e) {
+                //Bad or truncated cache file.  Just download the image again.
+            }
+        }
+        return null;
+    }
+
+    private static void writeCache(File cacheFile, CachedImage image) {
+        //Multiple threads could be writing and trimming the cache, so only let one do it at a time.
+        synchronized (cacheDirectory) {
+            File tempFile = new File(cacheFile.getPath() + ".tmp");
+            try {
+                cacheDirectory.mkdirs();
+                try (DataOutputStream stream = new DataOutputStream(new FileOutputStream(tempFile))) {
+                    stream.writeInt(CACHE_MAGIC);
+                    stream.writeInt(CACHE_VERSION);
+                    stream.writeUTF(image.urlString);
+                    stream.writeUTF(image.eTag);
+                    stream.writeLong(image.lastModified);
+                    stream.writeUTF(image.contentType);
+                    stream.writeInt(image.imageData.length);
+                    stream.write(image.imageData);
+                }
+                if ((cacheFile.exists() && !cacheFile.delete()) || !tempFile.renameTo(cacheFile)) {
+                    tempFile.delete();
+                }
+            } catch (IOException e) {
+                InterfaceManager.coreInterface.logError("Could not save texture cache for: " + image.urlString + " due to " + e.getClass().getSimpleName() + (e.getMessage() != null ? " - " + e.getMessage() : "") + ".  It will be downloaded again next time.");
+                tempFile.delete();
+            }
+            trimCache();
+        }
+    }
+
+    /**
+     * Deletes the cached images that were used the longest time ago until the cache is under the configured size.
+     * The last modified time of the files is used as the last time they were used, as we update it on every use.
+     */
+    private static void trimCache() {
+        long maxCacheSize = ConfigSystem.client.renderingSettings.onlineTextureCacheSize.value * 1024L * 1024L;
+        File[] cacheFiles = cacheDirectory.listFiles((dir, name) -> name.endsWith(".bin"));
+        if (maxCacheSize > 0 && cacheFiles != null) {
+            long cacheSize = 0;
+            for (File file : cacheFiles) {
+                cacheSize += file.length();
+            }
+            if (cacheSize > maxCacheSize) {
+                Arrays.sort(cacheFiles, Comparator.comparingLong(File::lastModified));
+                for (File file : cacheFiles) {
+                    long fileSize = file.length();
+                    if (file.delete()) {
+                        cacheSize -= fileSize;
+                        if (cacheSize <= maxCacheSize) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static class CachedImage {
+        private final String urlString;
+        private final String eTag;
+        private final long lastModified;
+        private final String contentType;
+        private final byte[] imageData;
+
+        private CachedImage(String urlString, String eTag, long lastModified, String contentType, byte[] imageData) {
+            this.urlString = urlString;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.contentType = contentType;
+            this.imageData = imageData;
+        }
+    }
+
+    private static class LoadedTexture {
+        private final String urlString;
+        private final BufferedImage image;
+        private final ParsedGIF gif;
+        private final String errorString;
+
+        private LoadedTexture(String urlString, BufferedImage image, ParsedGIF gif, String errorString) {
+            this.urlString = urlString;
+            this.image = image;
+            this.gif = gif;
+            this.errorString = errorString;
+        }
+    }
+}
@@ -1,11 +1,28 @@
 package minecrafttransportsimulator.rendering;
 
 import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.zip.CRC32;
 
 import javax.imageio.ImageIO;
 
@@ -90,6 +107,33 @@ public class RenderText {
         }
     }
 
+    /**
+     * Like {@link #draw3DText(String, AEntityD_Definable, TransformationMatrix, JSONText, boolean, boolean)}, but keeps the
+     * built text mesh between frames rather than re-building it every call.  Each entity and text definition gets its own
+     * mesh, which is only re-built if the text or its color changes, and is removed by {@link #removeUnusedRetainedText()}
+     * once it hasn't been rendered for a while.  This should be used for text that rarely changes, such as the text on
+     * entities, and not for text that changes every frame, like instrument values.
+     */
+    public static void drawRetained3DText(String text, AEntityD_Definable<?> entity, TransformationMatrix transform, JSONText definition, boolean renderLit) {
+        if (!text.isEmpty()) {
+            ColorRGB color = entity.getTextColor(definition.inheritedColorIndex, definition.color);
+            transformHelper.set(transform);
+            transformHelper.applyTranslation(definition.pos);
+            getFontData(definition.fontName).renderRetainedText(text, entity, definition, transformHelper, color, renderLit);
+        }
+    }
+
+    /**
+     * Removes all retained text meshes that haven't been rendered in a while.
+     * This should be called once a tick on the client.
+     */
+    public static void removeUnusedRetainedText() {
+        long currentTime = System.currentTimeMillis();
+        for (FontData fontData : fontDatas.values()) {
+            fontData.removeUnusedRetainedText(currentTime);
+        }
+    }
+
     /**
      * Renders a JSON text definition directly on the player's screen.
      * GUI text uses screen-center-relative pixel coordinates, so Y is inverted before rendering.
@@ -156,9 +200,21 @@ public class RenderText {
         private static final Point3D adjustmentOffset = new Point3D();
 
         /**
-         * Texture locations for the font files.
+         * Folder for cached glyph metrics, so we don't have to scan font sheets on every boot.
          **/
-        private final String[] fontLocations = new String[Character.MAX_VALUE / CHARS_PER_TEXTURE_SHEET];
+        private static final File METRICS_CACHE_DIRECTORY = new File(InterfaceManager.gameDirectory, "mtscache" + File.separator + "fonts");
+        private static final int METRICS_CACHE_MAGIC = 0x4D545346;
+        private static final int METRICS_CACHE_VERSION = 1;
+
+        /**
+         * Base texture location for the font files.  Page number and extension are appended to this.
+         **/
+        private final String fontBaseLocation;
+        /**
+         * Texture sheets for this font.  These are loaded the first time a char on them is used, as most
+         * text never leaves the first sheet and there's no reason to scan all 256 of them.
+         **/
+        private final FontPage[] pages = new FontPage[(Character.MAX_VALUE + 1) / CHARS_PER_TEXTURE_SHEET];
         /**
          * Char scale.  Normally 1.0, but can be more or less depending on the char ratio.
          * Standard ASCII font is 7px tall out of 8, so this ratio is a scale of 1.0.
@@ -171,31 +227,6 @@ public class RenderText {
          * Used to know how far to adjust chars for this font up and down during rendering. 
          **/
         private final float charTopOffset;
-        /**
-         * Char width, in actual game texture pixels (not texture pixels).  May be fractions of a pixel if the font is up-scaled.
-         **/
-        private final float[] charWidths = new float[Character.MAX_VALUE];
-        /**
-         * Char spacing, in actual game texture pixels (not texture pixels).  May be fractions of a pixel if the font is up-scaled.
-         * This is for BOTH the left and right side, total spacing is double this.
-         **/
-        private final float[] charSpacings = new float[Character.MAX_VALUE];
-        /**
-         * Left-most offset for font text position, from 0-1, relative to the texture png.
-         **/
-        private final float[] offsetsMinU = new float[Character.MAX_VALUE];
-        /**
-         * Right-most offset for font text position, from 0-1, relative to the texture png.
-         **/
-        private final float[] offsetsMaxU = new float[Character.MAX_VALUE];
-        /**
-         * Bottom-most offset for font text position, from 0-1, relative to the texture png.
-         **/
-        private final float[] offsetsMinV = new float[Character.MAX_VALUE];
-        /**
-         * Top-most offset for font text position, from 0-1, relative to the texture png.
-         **/
-        private final float[] offsetsMaxV = new float[Character.MAX_VALUE];
 
         /**
          * Font render objects.  These are created initially for use in render calls.  Referencing is as follows:
@@ -204,6 +235,14 @@ public class RenderText {
          * This ensures that there will always be one element for any permutation of states.
          **/
         private static final Map<String, Map<ColorRGB, RenderableData>> createdRenderObjects = new HashMap<>();
+        /**
+         * How long, in milliseconds, a retained text mesh is kept after it was last rendered.
+         **/
+        private static final long RETAINED_MESH_TIMEOUT = 10000;
+        /**
+         * Retained text meshes, in order of when they were last rendered.
+         **/
+        private final Map<TextMeshKey, TextMesh> retainedMeshes = new LinkedHashMap<>(16, 0.75F, true);
         /**
          * Active font render objects.  Items are added to this list during string parsing.
          * At the end, it will be populated and should be looped over for drawing.
@@ -228,144 +267,336 @@ public class RenderText {
 
         private FontData(String fontName) {
             //Get font locations.
-            String fontBaseLocation;
             if (fontName == null) {
                 fontBaseLocation = DEFAULT_FONT_BASE_LOCATION;
             } else {
                 fontBaseLocation = "/assets/" + fontName.substring(0, fontName.indexOf(":")) + "/textures/fonts/" + fontName.substring(fontName.indexOf(":") + 1) + "/unicode_page_";
             }
 
-            //Parse char widths and the height when applicable.
-            float scale = 1.0F;
-            float charTopOffset = 0;
-            for (int i = 0; i < fontLocations.length; ++i) {
-                fontLocations[i] = String.format("%s%02x.png", fontBaseLocation, i);
-                BufferedImage bufferedImage = null;
-                try {
-                    bufferedImage = ImageIO.read(InterfaceManager.renderingInterface.getTextureStream(fontLocations[i]));
-                } catch (Exception e) {
+            //Get the height from the first sheet.  All other sheets are loaded when we first use them.
+            FontPage firstPage = getPage('0');
+            this.charScale = firstPage.charScale;
+            this.charTopOffset = firstPage.charTopOffset;
+        }
+
+        /**
+         * Returns the texture sheet the passed-in char is on, loading it if we haven't yet.
+         */
+        private FontPage getPage(char textChar) {
+            int pageIndex = textChar / CHARS_PER_TEXTURE_SHEET;
+            FontPage page = pages[pageIndex];
+            if (page == null) {
+                page = loadPage(pageIndex);
+                pages[pageIndex] = page;
+            }
+            return page;
+        }
+
+        private float getCharWidth(char textChar) {
+            return getPage(textChar).charWidths[textChar % CHARS_PER_TEXTURE_SHEET];
+        }
+
+        private float getCharSpacing(char textChar) {
+            return getPage(textChar).charSpacings[textChar % CHARS_PER_TEXTURE_SHEET];
+        }
+
+        private float getMinU(char textChar) {
+            return getPage(textChar).offsetsMinU[textChar % CHARS_PER_TEXTURE_SHEET];
+        }
+
+        private float getMaxU(char textChar) {
+            return getPage(textChar).offsetsMaxU[textChar % CHARS_PER_TEXTURE_SHEET];
+        }
+
+        private float getMinV(char textChar) {
+            return getPage(textChar).offsetsMinV[textChar % CHARS_PER_TEXTURE_SHEET];
+        }
+
+        private float getMaxV(char textChar) {
+            return getPage(textChar).offsetsMaxV[textChar % CHARS_PER_TEXTURE_SHEET];
+        }
+
+        /**
+         * Loads the texture sheet at the passed-in index.  Metrics are taken from the cache if the sheet
+         * hasn't changed since they were saved, otherwise the sheet is scanned and the metrics are saved.
+         * If this font doesn't have the sheet, the default font's sheet is used.  If neither have it,
+         * the sheet will have no metrics, as we shouldn't care about it.
+         */
+        private FontPage loadPage(int pageIndex) {
+            String location = String.format("%s%02x.png", fontBaseLocation, pageIndex);
+            byte[] imageData = readTexture(location);
+            if (imageData == null && !fontBaseLocation.equals(DEFAULT_FONT_BASE_LOCATION)) {
+                //Try to get the data from the default sheet, if we aren't using it.
+                location = String.format("%s%02x.png", DEFAULT_FONT_BASE_LOCATION, pageIndex);
+                imageData = readTexture(location);
+            }
+            FontPage page = new FontPage(location);
+            if (imageData != null) {
+                CRC32 crc = new CRC32();
+                crc.update(imageData);
+                File cacheFile = new File(METRICS_CACHE_DIRECTORY, location.substring(location.lastIndexOf('/') + 1) + "_" + Integer.toHexString(location.hashCode()) + ".bin");
+                if (!readMetrics(page, cacheFile, crc.getValue())) {
+                    BufferedImage bufferedImage = null;
+                    try {
+                        bufferedImage = ImageIO.read(new ByteArrayInputStream(imageData));
+                    } catch (Exception e) {
+                    }
+                    if (bufferedImage != null) {
+                        calculateMetrics(page, pageIndex, bufferedImage);
+                        writeMetrics(page, cacheFile, crc.getValue());
+                    }
+                }
+            }
+            return page;
+        }
+
+        private static byte[] readTexture(String location) {
+            try (InputStream stream = InterfaceManager.renderingInterface.getTextureStream(location)) {
+                if (stream == null) {
+                    return null;
+                }
+                ByteArrayOutputStream dataStream = new ByteArrayOutputStream();
+                byte[] readBuffer = new byte[8192];
+                int bytesRead;
+                while ((bytesRead = stream.read(readBuffer)) != -1) {
+                    dataStream.write(readBuffer, 0, bytesRead);
+                }
+                return dataStream.toByteArray();
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        private static boolean readMetrics(FontPage page, File cacheFile, long crc) {
+            if (!cacheFile.exists()) {
+                return false;
+            }
+            try (DataInputStream stream = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+                if (stream.readInt() != METRICS_CACHE_MAGIC || stream.readInt() != METRICS_CACHE_VERSION || !stream.readUTF().equals(page.location) || stream.readLong() != crc) {
+                    return false;
                 }
-                if (bufferedImage == null) {
-                    //Try to get the data from the default sheet, if we aren't using it.
-                    if (!fontBaseLocation.equals(DEFAULT_FONT_BASE_LOCATION)) {
-                        fontBaseLocation = DEFAULT_FONT_BASE_LOCATION;
-                        fontLocations[i] = String.format("%s%02x.png", fontBaseLocation, i);
-                        try {
-                            bufferedImage = ImageIO.read(InterfaceManager.renderingInterface.getTextureStream(fontLocations[i]));
-                        } catch (Exception e) {
+                page.charScale = stream.readFloat();
+                page.charTopOffset = stream.readFloat();
+                for (float[] metrics : page.getMetrics()) {
+                    for (int i = 0; i < CHARS_PER_TEXTURE_SHEET; ++i) {
+                        metrics[i] = stream.readFloat();
+                    }
+                }
+                return true;
+            } catch (Exception e) {
+                //Bad or truncated cache file.  Just re-scan the sheet.
+                return false;
+            }
+        }
+
+        private static void writeMetrics(FontPage page, File cacheFile, long crc) {
+            //Write to a temp file first, so a crash mid-write doesn't leave a bad cache file.
+            File tempFile = new File(cacheFile.getPath() + ".tmp");
+            try {
+                METRICS_CACHE_DIRECTORY.mkdirs();
+                try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                    stream.writeInt(METRICS_CACHE_MAGIC);
+                    stream.writeInt(METRICS_CACHE_VERSION);
+                    stream.writeUTF(page.location);
+                    stream.writeLong(crc);
+                    stream.writeFloat(page.charScale);
+                    stream.writeFloat(page.charTopOffset);
+                    for (float[] metrics : page.getMetrics()) {
+                        for (int i = 0; i < CHARS_PER_TEXTURE_SHEET; ++i) {
+                            stream.writeFloat(metrics[i]);
                         }
                     }
                 }
-                if (bufferedImage == null) {
-                    //Still null.  We don't have this sheet and therefore shouldn't care about it.
-                    continue;
+                if (cacheFile.exists() && !cacheFile.delete()) {
+                    tempFile.delete();
+                    return;
+                }
+                if (!tempFile.renameTo(cacheFile)) {
+                    tempFile.delete();
                 }
+            } catch (IOException e) {
+                InterfaceManager.coreInterface.logError("Could not save font metrics cache for: " + page.location + " due to " + e.getClass().getSimpleName() + (e.getMessage() != null ? " - " + e.getMessage() : "") + ".  The font sheet will be scanned normally next boot.");
+                tempFile.delete();
+            }
+        }
 
-                //Calculate min/max.
-                //For each char, we look at the row/col bounds and check every pixel in the col
-                //starting from right to left.  If we hit a pixel in this col sub-section, we know we
-                //have found the end of the char and that's its width.
-                //Order is all chars in row 1, then row 2, etc.
-                int pixelsPerSide = bufferedImage.getHeight();
-                int pixelsPerCharRowCol = pixelsPerSide / CHARS_PER_ROWCOL;
-                for (int charRow = 0; charRow < CHARS_PER_ROWCOL; ++charRow) {
-                    for (int charCol = 0; charCol < CHARS_PER_ROWCOL; ++charCol) {
-                        //Get char and set defaults.
-                        char charChecking = (char) (i * CHARS_PER_TEXTURE_SHEET + charRow * CHARS_PER_ROWCOL + charCol);
-                        if (charChecking == '0') {
-                            //We will always have 0, and it's a known-height char, so use this for our scale checks.
-                            //Look top-down for pixels to see if we have any gaps.
-                            boolean foundTopPixel = false;
-                            int topPixel = charRow * pixelsPerCharRowCol;
-                            int bottomPixel = (charRow + 1) * pixelsPerCharRowCol - 1;
-                            for (int pixelRow = charRow * pixelsPerCharRowCol; pixelRow < (charRow + 1) * pixelsPerCharRowCol; ++pixelRow) {
-                                boolean foundPixelThisRow = false;
-                                for (int pixelCol = charCol * pixelsPerCharRowCol; pixelCol < (charCol + 1) * pixelsPerCharRowCol; ++pixelCol) {
-                                    //Check all pixels in this row to see if we have one.
-                                    //Check for alpha and color.  Some systems write color, but no alpha to a pixel.
-                                    int pixelValue = bufferedImage.getRGB(pixelCol, pixelRow);
-                                    if (pixelValue != 0 && (pixelValue >> 24) != 0) {
-                                        foundPixelThisRow = true;
-                                        if (!foundTopPixel) {
-                                            //First existing pixel found, must be top.
-                                            topPixel = pixelRow;
-                                            foundTopPixel = true;
-                                            charTopOffset = (float) DEFAULT_PIXELS_PER_CHAR * (pixelRow - charRow * pixelsPerCharRowCol) / (pixelsPerCharRowCol);
-                                        }
-                                    }
-                                }
-                                if (!foundPixelThisRow && foundTopPixel) {
-                                    //First blank pixel found after finding some pixels, must be bottom.
-                                    bottomPixel = pixelRow;
-                                    break;
-                                }
-                            }
+        /**
+         * Scans the passed-in sheet image for the bounds of all chars on it, and sets the metrics of the page.
+         */
+        private static void calculateMetrics(FontPage page, int pageIndex, BufferedImage bufferedImage) {
+            float[] charWidths = page.charWidths;
+            float[] charSpacings = page.charSpacings;
+            float[] offsetsMinU = page.offsetsMinU;
+            float[] offsetsMaxU = page.offsetsMaxU;
+            float[] offsetsMinV = page.offsetsMinV;
+            float[] offsetsMaxV = page.offsetsMaxV;
 
-                            //Scale should make this font render the size of 7px out of the 8px high.  This allows a 1px bottom buffer to match ASCII standards.
-                            scale = (DEFAULT_CHAR_HEIGHT_PIXELS / (float) DEFAULT_PIXELS_PER_CHAR) / ((bottomPixel - topPixel) / (float) pixelsPerCharRowCol);
-                        }
-                        if (charChecking == ' ') {
-                            //Space isn't rendered, but is half-width with 1 spacing on each side.
-                            charWidths[charChecking] = DEFAULT_PIXELS_PER_CHAR / 2;
-                            charSpacings[charChecking] = 0;
-                        } else {
-                            offsetsMinU[charChecking] = charCol / (float) CHARS_PER_ROWCOL;
-                            offsetsMaxU[charChecking] = (charCol + 1) / (float) CHARS_PER_ROWCOL;
-                            //Normally we'd invert the UV-mapping here to compensate for the inverted texture center.
-                            //But in this case, we don't have to do that.  Still not 100% sure on the math, but it works?
-                            offsetsMaxV[charChecking] = (charRow) / (float) CHARS_PER_ROWCOL;
-                            offsetsMinV[charChecking] = (charRow + 1) / (float) CHARS_PER_ROWCOL;
-                            charWidths[charChecking] = DEFAULT_PIXELS_PER_CHAR;
-
-                            //Check each pixel in the pixel sub-col to get the actual width of the char.
-                            //Do this for the left and right side to get the bounds.
-                            boolean foundPixelThisCol = false;
+            //Calculate min/max.
+            //For each char, we look at the row/col bounds and check every pixel in the col
+            //starting from right to left.  If we hit a pixel in this col sub-section, we know we
+            //have found the end of the char and that's its width.
+            //Order is all chars in row 1, then row 2, etc.
+            int pixelsPerSide = bufferedImage.getHeight();
+            int pixelsPerCharRowCol = pixelsPerSide / CHARS_PER_ROWCOL;
+            for (int charRow = 0; charRow < CHARS_PER_ROWCOL; ++charRow) {
+                for (int charCol = 0; charCol < CHARS_PER_ROWCOL; ++charCol) {
+                    //Get char and set defaults.
+                    int charIndex = charRow * CHARS_PER_ROWCOL + charCol;
+                    char charChecking = (char) (pageIndex * CHARS_PER_TEXTURE_SHEET + charIndex);
+                    if (charChecking == '0') {
+                        //We will always have 0, and it's a known-height char, so use this for our scale checks.
+                        //Look top-down for pixels to see if we have any gaps.
+                        boolean foundTopPixel = false;
+                        int topPixel = charRow * pixelsPerCharRowCol;
+                        int bottomPixel = (charRow + 1) * pixelsPerCharRowCol - 1;
+                        for (int pixelRow = charRow * pixelsPerCharRowCol; pixelRow < (charRow + 1) * pixelsPerCharRowCol; ++pixelRow) {
+                            boolean foundPixelThisRow = false;
                             for (int pixelCol = charCol * pixelsPerCharRowCol; pixelCol < (charCol + 1) * pixelsPerCharRowCol; ++pixelCol) {
-                                //Check all rows of pixels in this column to see if we have one.
-                                for (int pixelRow = charRow * pixelsPerCharRowCol; pixelRow < (charRow + 1) * pixelsPerCharRowCol; ++pixelRow) {
-                                    //Check for alpha and color.  Some systems write color, but no alpha to a pixel.
-                                    int pixelValue = bufferedImage.getRGB(pixelCol, pixelRow);
-                                    if (pixelValue != 0 && (pixelValue >> 24) != 0) {
-                                        //Found a pixel, we must have this as our UV.
-                                        offsetsMinU[charChecking] = pixelCol / (float) pixelsPerCharRowCol / CHARS_PER_ROWCOL;
-                                        charSpacings[charChecking] = (pixelCol - charCol * pixelsPerCharRowCol) / (float) pixelsPerCharRowCol * DEFAULT_PIXELS_PER_CHAR;
-                                        foundPixelThisCol = true;
-                                        break;
+                                //Check all pixels in this row to see if we have one.
+                                //Check for alpha and color.  Some systems write color, but no alpha to a pixel.
+                                int pixelValue = bufferedImage.getRGB(pixelCol, pixelRow);
+                                if (pixelValue != 0 && (pixelValue >> 24) != 0) {
+                                    foundPixelThisRow = true;
+                                    if (!foundTopPixel) {
+                                        //First existing pixel found, must be top.
+                                        topPixel = pixelRow;
+                                        foundTopPixel = true;
+                                        page.charTopOffset = (float) DEFAULT_PIXELS_PER_CHAR * (pixelRow - charRow * pixelsPerCharRowCol) / (pixelsPerCharRowCol);
                                     }
                                 }
-                                if (foundPixelThisCol) {
+                            }
+                            if (!foundPixelThisRow && foundTopPixel) {
+                                //First blank pixel found after finding some pixels, must be bottom.
+                                bottomPixel = pixelRow;
+                                break;
+                            }
+                        }
+
+                        //Scale should make this font render the size of 7px out of the 8px high.  This allows a 1px bottom buffer to match ASCII standards.
+                        page.charScale = (DEFAULT_CHAR_HEIGHT_PIXELS / (float) DEFAULT_PIXELS_PER_CHAR) / ((bottomPixel - topPixel) / (float) pixelsPerCharRowCol);
+                    }
+                    if (charChecking == ' ') {
+                        //Space isn't rendered, but is half-width with 1 spacing on each side.
+                        charWidths[charIndex] = DEFAULT_PIXELS_PER_CHAR / 2;
+                        charSpacings[charIndex] = 0;
+                    } else {
+                        offsetsMinU[charIndex] = charCol / (float) CHARS_PER_ROWCOL;
+                        offsetsMaxU[charIndex] = (charCol + 1) / (float) CHARS_PER_ROWCOL;
+                        //Normally we'd invert the UV-mapping here to compensate for the inverted texture center.
+                        //But in this case, we don't have to do that.  Still not 100% sure on the math, but it works?
+                        offsetsMaxV[charIndex] = (charRow) / (float) CHARS_PER_ROWCOL;
+                        offsetsMinV[charIndex] = (charRow + 1) / (float) CHARS_PER_ROWCOL;
+                        charWidths[charIndex] = DEFAULT_PIXELS_PER_CHAR;
+
+                        //Check each pixel in the pixel sub-col to get the actual width of the char.
+                        //Do this for the left and right side to get the bounds.
+                        boolean foundPixelThisCol = false;
+                        for (int pixelCol = charCol * pixelsPerCharRowCol; pixelCol < (charCol + 1) * pixelsPerCharRowCol; ++pixelCol) {
+                            //Check all rows of pixels in this column to see if we have one.
+                            for (int pixelRow = charRow * pixelsPerCharRowCol; pixelRow < (charRow + 1) * pixelsPerCharRowCol; ++pixelRow) {
+                                //Check for alpha and color.  Some systems write color, but no alpha to a pixel.
+                                int pixelValue = bufferedImage.getRGB(pixelCol, pixelRow);
+                                if (pixelValue != 0 && (pixelValue >> 24) != 0) {
+                                    //Found a pixel, we must have this as our UV.
+                                    offsetsMinU[charIndex] = pixelCol / (float) pixelsPerCharRowCol / CHARS_PER_ROWCOL;
+                                    charSpacings[charIndex] = (pixelCol - charCol * pixelsPerCharRowCol) / (float) pixelsPerCharRowCol * DEFAULT_PIXELS_PER_CHAR;
+                                    foundPixelThisCol = true;
                                     break;
                                 }
                             }
+                            if (foundPixelThisCol) {
+                                break;
+                            }
+                        }
 
-                            foundPixelThisCol = false;
-                            for (int pixelCol = (charCol + 1) * pixelsPerCharRowCol - 1; pixelCol >= charCol * pixelsPerCharRowCol; --pixelCol) {
-                                //Check all rows of pixels in this column to see if we have one.
-                                for (int pixelRow = charRow * pixelsPerCharRowCol; pixelRow < (charRow + 1) * pixelsPerCharRowCol; ++pixelRow) {
-                                    //Check for alpha and color.  Some systems write color, but no alpha to a pixel.
-                                    int pixelValue = bufferedImage.getRGB(pixelCol, pixelRow);
-                                    if (pixelValue != 0 && (pixelValue >> 24) != 0) {
-                                        //Found a pixel, we must have this as our UV.
-                                        ++pixelCol;
-                                        offsetsMaxU[charChecking] = pixelCol / (float) pixelsPerCharRowCol / CHARS_PER_ROWCOL;
-                                        charWidths[charChecking] = (offsetsMaxU[charChecking] - offsetsMinU[charChecking]) * CHARS_PER_ROWCOL * DEFAULT_PIXELS_PER_CHAR;
-                                        foundPixelThisCol = true;
-                                        break;
-                                    }
-                                }
-                                if (foundPixelThisCol) {
+                        foundPixelThisCol = false;
+                        for (int pixelCol = (charCol + 1) * pixelsPerCharRowCol - 1; pixelCol >= charCol * pixelsPerCharRowCol; --pixelCol) {
+                            //Check all rows of pixels in this column to see if we have one.
+                            for (int pixelRow = charRow * pixelsPerCharRowCol; pixelRow < (charRow + 1) * pixelsPerCharRowCol; ++pixelRow) {
+                                //Check for alpha and color.  Some systems write color, but no alpha to a pixel.
+                                int pixelValue = bufferedImage.getRGB(pixelCol, pixelRow);
+                                if (pixelValue != 0 && (pixelValue >> 24) != 0) {
+                                    //Found a pixel, we must have this as our UV.
+                                    ++pixelCol;
+                                    offsetsMaxU[charIndex] = pixelCol / (float) pixelsPerCharRowCol / CHARS_PER_ROWCOL;
+                                    charWidths[charIndex] = (offsetsMaxU[charIndex] - offsetsMinU[charIndex]) * CHARS_PER_ROWCOL * DEFAULT_PIXELS_PER_CHAR;
+                                    foundPixelThisCol = true;
                                     break;
                                 }
                             }
+                            if (foundPixelThisCol) {
+                                break;
+                            }
                         }
                     }
                 }
             }
-            this.charScale = scale;
-            this.charTopOffset = charTopOffset;
         }
 
         private void renderText(String text, TransformationMatrix transform, RotationMatrix rotation, TextAlignment alignment, float scale, boolean autoScale, int wrapWidth, boolean pixelCoords, ColorRGB color, boolean renderLit, int worldLightValue, boolean onGUI, float alpha) {
+            float renderScale = layoutText(text, alignment, scale, autoScale, wrapWidth, pixelCoords, color);
+            for (RenderableData object : activeRenderObjects) {
+                object.vertexObject.vertices.flip();
+            }
+            renderObjects(activeRenderObjects, transform, rotation, renderScale, adjustmentOffset, renderLit, worldLightValue, onGUI, alpha);
+        }
+
+        private void renderRetainedText(String text, AEntityD_Definable<?> entity, JSONText definition, TransformationMatrix transform, ColorRGB color, boolean renderLit) {
+            TextAlignment alignment = TextAlignment.values()[definition.renderPosition];
+
+            //Random chars change every frame, so we can't keep those.
+            if (text.indexOf("" + FORMATTING_CHAR + RANDOM_FORMATTING_CHAR) != -1) {
+                renderText(text, transform, definition.rot, alignment, definition.scale, definition.autoScale, definition.wrapWidth, false, color, renderLit, entity.worldLightValue, false, 1.0F);
+                return;
+            }
+
+            //Get the mesh, or build it if we don't have it or the text has changed.
+            //Building is done with the normal render objects, then their vertices are copied into the mesh.
+            TextMeshKey key = new TextMeshKey(entity, definition);
+            TextMesh mesh = retainedMeshes.get(key);
+            if (mesh == null || !mesh.text.equals(text) || mesh.color != color.rgbInt) {
+                if (mesh != null) {
+                    mesh.objects.forEach(RenderableData::destroy);
+                }
+                float renderScale = layoutText(text, alignment, definition.scale, definition.autoScale, definition.wrapWidth, false, color);
+                mesh = new TextMesh(text, color.rgbInt, renderScale, adjustmentOffset.copy());
+                for (RenderableData object : activeRenderObjects) {
+                    FloatBuffer vertices = object.vertexObject.vertices.duplicate();
+                    vertices.flip();
+                    if (vertices.hasRemaining()) {
+                        FloatBuffer meshVertices = FloatBuffer.allocate(vertices.remaining());
+                        meshVertices.put(vertices);
+                        meshVertices.flip();
+                        RenderableData meshObject = new RenderableData(new RenderableVertices("font_mesh", meshVertices, true), object.texture);
+                        meshObject.setColor(object.color);
+                        mesh.objects.add(meshObject);
+                    }
+                }
+                retainedMeshes.put(key, mesh);
+            }
+            mesh.lastRenderTime = System.currentTimeMillis();
+            renderObjects(mesh.objects, transform, definition.rot, mesh.scale, mesh.adjustmentOffset, renderLit, entity.worldLightValue, false, 1.0F);
+        }
+
+        private void removeUnusedRetainedText(long currentTime) {
+            //Meshes are in render order, so we can stop at the first recent one.
+            Iterator<TextMesh> iterator = retainedMeshes.values().iterator();
+            while (iterator.hasNext()) {
+                TextMesh oldMesh = iterator.next();
+                if (currentTime - oldMesh.lastRenderTime > RETAINED_MESH_TIMEOUT) {
+                    oldMesh.objects.forEach(RenderableData::destroy);
+                    iterator.remove();
+                } else {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Lays out the passed-in text into the {@link #activeRenderObjects}, and sets the {@link #adjustmentOffset}.
+         * Returns the scale the objects should be rendered at.
+         */
+        private float layoutText(String text, TextAlignment alignment, float scale, boolean autoScale, int wrapWidth, boolean pixelCoords, ColorRGB color) {
             //Clear out the active object list as it was set last pass.
             for (RenderableData object : activeRenderObjects) {
                 object.vertexObject.vertices.clear();
@@ -383,7 +614,7 @@ public class RenderText {
 
             //Check the string for a random font code char.  If we have one, we need to substitute chars.
             //Do this prior to rendering operations as this will affect string length and blocks.
-            if (text.indexOf(FORMATTING_CHAR + RANDOM_FORMATTING_CHAR) != -1) {
+            if (text.indexOf("" + FORMATTING_CHAR + RANDOM_FORMATTING_CHAR) != -1) {
                 char[] textArray = text.toCharArray();
                 boolean randomActive = false;
                 for (int i = 0; i < textArray.length; ++i) {
@@ -551,10 +782,10 @@ public class RenderText {
                     }
                 } else if (textChar == ' ') {
                     //Just increment the offset, spaces don't render.
-                    currentOffset += charWidths[textChar] + charSpacings[textChar];
+                    currentOffset += getCharWidth(textChar) + getCharSpacing(textChar);
                 } else {
                     //Actual char to render.  Add leading spacing.
-                    currentOffset += charSpacings[textChar];
+                    currentOffset += getCharSpacing(textChar);
 
                     //Do normal char addition to the map of chars to draw.
                     //If we are bold, we will double-render slightly offset.
@@ -562,7 +793,7 @@ public class RenderText {
                     //If we are italic, we slightly skew the UV map by 1px.
                     //If we are strikethough, we add a strikethough overlay.
                     RenderableData currentRenderObject = getObjectFor(textChar, currentColor);
-                    float charWidth = charWidths[textChar];
+                    float charWidth = getCharWidth(textChar);
                     int charSteps = 6;
                     if (currentState.bold)
                         charSteps += 6;
@@ -577,8 +808,8 @@ public class RenderText {
                             case (3): {
                                 charVertex[0] = alignmentOffset + currentOffset + charWidth;
                                 charVertex[1] = currentLineOffset - DEFAULT_PIXELS_PER_CHAR;
-                                charUV[0] = offsetsMaxU[textChar];
-                                charUV[1] = offsetsMinV[textChar];
+                                charUV[0] = getMaxU(textChar);
+                                charUV[1] = getMinV(textChar);
                                 break;
                             }
                             case (1): {//Top-right
@@ -587,8 +818,8 @@ public class RenderText {
                                     charVertex[0] += 1;
                                 }
                                 charVertex[1] = currentLineOffset;
-                                charUV[0] = offsetsMaxU[textChar];
-                                charUV[1] = offsetsMaxV[textChar];
+                                charUV[0] = getMaxU(textChar);
+                                charUV[1] = getMaxV(textChar);
                                 break;
                             }
                             case (2):
@@ -598,15 +829,15 @@ public class RenderText {
                                     charVertex[0] += 1;
                                 }
                                 charVertex[1] = currentLineOffset;
-                                charUV[0] = offsetsMinU[textChar];
-                                charUV[1] = offsetsMaxV[textChar];
+                                charUV[0] = getMinU(textChar);
+                                charUV[1] = getMaxV(textChar);
                                 break;
                             }
                             case (5): {//Bottom-left
                                 charVertex[0] = alignmentOffset + currentOffset;
                                 charVertex[1] = currentLineOffset - DEFAULT_PIXELS_PER_CHAR;
-                                charUV[0] = offsetsMinU[textChar];
-                                charUV[1] = offsetsMinV[textChar];
+                                charUV[0] = getMinU(textChar);
+                                charUV[1] = getMinV(textChar);
                                 break;
                             }
                             default: {
@@ -645,27 +876,27 @@ public class RenderText {
                                         case (0):
                                         case (3): {//Bottom-right
                                             //supplementalVertex[0] += CHAR_SPACING;
-                                            supplementalUV[0] = offsetsMaxU[customChar];
-                                            supplementalUV[1] = offsetsMinV[customChar];
+                                            supplementalUV[0] = getMaxU(customChar);
+                                            supplementalUV[1] = getMinV(customChar);
                                             break;
                                         }
                                         case (1): {//Top-right
                                             //supplementalVertex[0] += CHAR_SPACING;
-                                            supplementalUV[0] = offsetsMaxU[customChar];
-                                            supplementalUV[1] = offsetsMaxV[customChar];
+                                            supplementalUV[0] = getMaxU(customChar);
+                                            supplementalUV[1] = getMaxV(customChar);
                                             break;
                                         }
                                         case (2):
                                         case (4): {//Top-left
                                             //supplementalVertex[0] -= CHAR_SPACING;
-                                            supplementalUV[0] = offsetsMinU[customChar];
-                                            supplementalUV[1] = offsetsMaxV[customChar];
+                                            supplementalUV[0] = getMinU(customChar);
+                                            supplementalUV[1] = getMaxV(customChar);
                                             break;
                                         }
                                         case (5): {//Bottom-left
                                             //supplementalVertex[0] -= CHAR_SPACING;
-                                            supplementalUV[0] = offsetsMinU[customChar];
-                                            supplementalUV[1] = offsetsMinV[customChar];
+                                            supplementalUV[0] = getMinU(customChar);
+                                            supplementalUV[1] = getMinV(customChar);
                                             break;
                                         }
                                     }
@@ -689,15 +920,19 @@ public class RenderText {
                     }
 
                     //Increment offset to next char position and set char points and add render block to active list.
-                    currentOffset += charWidth + charSpacings[textChar];
+                    currentOffset += charWidth + getCharSpacing(textChar);
                     activeRenderObjects.add(currentRenderObject);
                 }
             }
 
+            return scale;
+        }
+
+        private static void renderObjects(Collection<RenderableData> objects, TransformationMatrix transform, RotationMatrix rotation, float scale, Point3D adjustmentOffset, boolean renderLit, int worldLightValue, boolean onGUI, float alpha) {
             //All points obtained, render.
             //Prior to rendering we need to scale the font objects to their requested scale, multiplied by their internal scale factor.
             //After this, we apply the known-constant adjustmentOffset, which will itself be scaled.
-            for (RenderableData object : activeRenderObjects) {
+            for (RenderableData object : objects) {
                 object.setLightValue(worldLightValue);
                 object.setLightMode(renderLit ? LightingMode.IGNORE_ALL_LIGHTING : (onGUI ? LightingMode.IGNORE_ORIENTATION_LIGHTING : LightingMode.NORMAL));
                 object.setAlpha(alpha);
@@ -707,18 +942,13 @@ public class RenderText {
                 }
                 object.transform.applyScaling(scale, scale, scale);
                 object.transform.applyTranslation(adjustmentOffset);
-                object.vertexObject.vertices.flip();
                 object.render();
             }
         }
 
         private RenderableData getObjectFor(char textChar, ColorRGB color) {
             //First get the font block;
-            //MNake sure we didn't get passed a bad char from some unicode junk text.
-            if (textChar / CHARS_PER_TEXTURE_SHEET >= fontLocations.length) {
-                textChar = 0;
-            }
-            String font = fontLocations[textChar / CHARS_PER_TEXTURE_SHEET];
+            String font = getPage(textChar).location;
             Map<ColorRGB, RenderableData> map1 = createdRenderObjects.computeIfAbsent(font, k -> new HashMap<>());
 
             RenderableData object = map1.get(color);
@@ -741,7 +971,7 @@ public class RenderText {
                 } else if (skipNext) {
                     skipNext = false;
                 } else {
-                    stringWidth += charWidths[textChar] + 2 * charSpacings[textChar];
+                    stringWidth += getCharWidth(textChar) + 2 * getCharSpacing(textChar);
                     if (!foundCharAlready) {
                         foundCharAlready = true;
                     }
@@ -750,6 +980,101 @@ public class RenderText {
             return stringWidth;
         }
 
+        /**
+         * A single texture sheet of a font, and the metrics of the chars on it.
+         * Metric arrays are indexed by the position of the char on the sheet.
+         */
+        private static class FontPage {
+            private final String location;
+            /**
+             * Char width, in actual game texture pixels (not texture pixels).  May be fractions of a pixel if the font is up-scaled.
+             **/
+            private final float[] charWidths = new float[CHARS_PER_TEXTURE_SHEET];
+            /**
+             * Char spacing, in actual game texture pixels (not texture pixels).  May be fractions of a pixel if the font is up-scaled.
+             * This is for BOTH the left and right side, total spacing is double this.
+             **/
+            private final float[] charSpacings = new float[CHARS_PER_TEXTURE_SHEET];
+            /**
+             * Left-most offset for font text position, from 0-1, relative to the texture png.
+             **/
+            private final float[] offsetsMinU = new float[CHARS_PER_TEXTURE_SHEET];
+            /**
+             * Right-most offset for font text position, from 0-1, relative to the texture png.
+             **/
+            private final float[] offsetsMaxU = new float[CHARS_PER_TEXTURE_SHEET];
+            /**
+             * Bottom-most offset for font text position, from 0-1, relative to the texture png.
+             **/
+            private final float[] offsetsMinV = new float[CHARS_PER_TEXTURE_SHEET];
+            /**
+             * Top-most offset for font text position, from 0-1, relative to the texture png.
+             **/
+            private final float[] offsetsMaxV = new float[CHARS_PER_TEXTURE_SHEET];
+            /**
+             * Scale and top offset of the font.  Only set on the first sheet, as that's the one with the '0' char.
+             **/
+            private float charScale = 1.0F;
+            private float charTopOffset;
+
+            private FontPage(String location) {
+                this.location = location;
+            }
+
+            private float[][] getMetrics() {
+                return new float[][] { charWidths, charSpacings, offsetsMinU, offsetsMaxU, offsetsMinV, offsetsMaxV };
+            }
+        }
+
+        /**
+         * Key for a retained text mesh.  Each entity gets its own mesh for each of its text definitions,
+         * so the mesh's light and lighting mode only change when that entity's do.
+         */
+        private static class TextMeshKey {
+            private final AEntityD_Definable<?> entity;
+            private final JSONText definition;
+
+            private TextMeshKey(AEntityD_Definable<?> entity, JSONText definition) {
+                this.entity = entity;
+                this.definition = definition;
+            }
+
+            @Override
+            public boolean equals(Object object) {
+                if (object instanceof TextMeshKey) {
+                    TextMeshKey other = (TextMeshKey) object;
+                    return entity == other.entity && definition == other.definition;
+                } else {
+                    return false;
+                }
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * System.identityHashCode(entity) + System.identityHashCode(definition);
+            }
+        }
+
+        /**
+         * A retained text mesh.  Has one object for each texture sheet and color in the text,
+         * plus the text and color it was built from, and the scale and offset it was laid out with.
+         */
+        private static class TextMesh {
+            private final List<RenderableData> objects = new ArrayList<>();
+            private final String text;
+            private final int color;
+            private final float scale;
+            private final Point3D adjustmentOffset;
+            private long lastRenderTime;
+
+            private TextMesh(String text, int color, float scale, Point3D adjustmentOffset) {
+                this.text = text;
+                this.color = color;
+                this.scale = scale;
+                this.adjustmentOffset = adjustmentOffset;
+            }
+        }
+
         private static class FontRenderState {
             private static final int BOLD_BIT_INDEX = 1;
             private static final int ITALIC_BIT_INDEX = 2;
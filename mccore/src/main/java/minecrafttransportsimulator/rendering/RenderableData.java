@@ -1,6 +1,7 @@
 package minecrafttransportsimulator.rendering;
 
 import java.util.Locale;
+import java.util.Objects;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
@@ -63,12 +64,19 @@ public class RenderableData {
         }
         if (texture == null ? this.texture != null : !texture.equals(this.texture)) {
             this.texture = texture;
-            this.isTextureTranslucent = texture != null && (texture.toLowerCase(Locale.ROOT).contains(AModelParser.TRANSLUCENT_OBJECT_NAME) || texture.endsWith(GUIComponentCutout.LIT_SUFFIX));
+            this.isTextureTranslucent = isTextureTranslucent(texture);
             this.changedSinceLastRender = true;
             this.isTranslucent = isTranslucentForced || vertexObject.isTranslucent || isTextureTranslucent || alpha < 1.0;
         }
     }
 
+    /**
+     * Returns true if the passed-in texture will make whatever is rendered with it translucent.
+     */
+    public static boolean isTextureTranslucent(String texture) {
+        return texture != null && (texture.toLowerCase(Locale.ROOT).contains(AModelParser.TRANSLUCENT_OBJECT_NAME) || texture.endsWith(GUIComponentCutout.LIT_SUFFIX));
+    }
+
     public void setAlpha(float alpha) {
         if (this.alpha != alpha) {
             this.alpha = alpha;
@@ -131,6 +139,30 @@ public class RenderableData {
         }
     }
 
+    /**
+     * Returns the red value to render the vertex at the passed-in index with.  This is the color of this data,
+     * unless the vertices have their own colors.  The same goes for the other color, alpha, and light getters.
+     */
+    public float getRed(int vertexIndex) {
+        return vertexObject.vertexColors != null ? vertexObject.vertexColors[vertexIndex * 4] : color.red;
+    }
+
+    public float getGreen(int vertexIndex) {
+        return vertexObject.vertexColors != null ? vertexObject.vertexColors[vertexIndex * 4 + 1] : color.green;
+    }
+
+    public float getBlue(int vertexIndex) {
+        return vertexObject.vertexColors != null ? vertexObject.vertexColors[vertexIndex * 4 + 2] : color.blue;
+    }
+
+    public float getAlpha(int vertexIndex) {
+        return vertexObject.vertexColors != null ? vertexObject.vertexColors[vertexIndex * 4 + 3] : alpha;
+    }
+
+    public int getLightValue(int vertexIndex) {
+        return vertexObject.vertexLightValues != null ? vertexObject.vertexLightValues[vertexIndex] : worldLightValue;
+    }
+
     public void render() {
         InterfaceManager.renderingInterface.renderVertices(this, changedSinceLastRender);
         changedSinceLastRender = false;
@@ -140,6 +172,69 @@ public class RenderableData {
         InterfaceManager.renderingInterface.deleteVertices(this);
     }
 
+    /**
+     * Returns a key for the current state of this data that affects what goes into a cached vertex buffer.
+     * Data with equal keys will create identical buffers, so interfaces may have them share one buffer
+     * and draw them back-to-back rather than creating and binding a buffer for each.
+     */
+    public BufferKey getBufferKey() {
+        return new BufferKey(this);
+    }
+
+    /**
+     * Key for the contents of a cached vertex buffer.  This is the vertices, plus all the state that
+     * goes into the buffer or its render type, but not the transform, as that is applied when drawing.
+     */
+    public static final class BufferKey {
+        private final RenderableVertices vertexObject;
+        private final String texture;
+        public final boolean isTranslucent;
+        private final LightingMode lightingMode;
+        private final boolean enableBrightBlending;
+        private final float red;
+        private final float green;
+        private final float blue;
+        private final float alpha;
+        private final int worldLightValue;
+
+        private BufferKey(RenderableData data) {
+            this.vertexObject = data.vertexObject;
+            this.texture = data.texture;
+            this.isTranslucent = data.isTranslucent;
+            this.lightingMode = data.lightingMode;
+            this.enableBrightBlending = data.enableBrightBlending;
+            this.red = data.color.red;
+            this.green = data.color.green;
+            this.blue = data.color.blue;
+            this.alpha = data.alpha;
+            this.worldLightValue = data.worldLightValue;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            } else if (object instanceof BufferKey) {
+                BufferKey other = (BufferKey) object;
+                return vertexObject == other.vertexObject && Objects.equals(texture, other.texture) && isTranslucent == other.isTranslucent && lightingMode == other.lightingMode && enableBrightBlending == other.enableBrightBlending && red == other.red && green == other.green && blue == other.blue && alpha == other.alpha && worldLightValue == other.worldLightValue;
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = System.identityHashCode(vertexObject);
+            hash = 31 * hash + Objects.hashCode(texture);
+            hash = 31 * hash + Float.floatToIntBits(red);
+            hash = 31 * hash + Float.floatToIntBits(green);
+            hash = 31 * hash + Float.floatToIntBits(blue);
+            hash = 31 * hash + Float.floatToIntBits(alpha);
+            hash = 31 * hash + worldLightValue;
+            return hash;
+        }
+    }
+
     public static enum LightingMode {
         NORMAL(false, false),
         IGNORE_ORIENTATION_LIGHTING(true, false),
@@ -1,20 +1,9 @@
 package minecrafttransportsimulator.rendering;
 
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
-
-import javax.imageio.ImageIO;
-import javax.imageio.ImageReader;
-import javax.imageio.stream.ImageInputStream;
 
 import minecrafttransportsimulator.baseclasses.AnimationSwitchbox;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
@@ -30,7 +19,6 @@ import minecrafttransportsimulator.jsondefs.JSONLight;
 import minecrafttransportsimulator.jsondefs.JSONLight.JSONLightBlendableComponent;
 import minecrafttransportsimulator.jsondefs.JSONText;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
-import minecrafttransportsimulator.rendering.GIFParser.ParsedGIF;
 import minecrafttransportsimulator.rendering.RenderableData.LightingMode;
 import minecrafttransportsimulator.systems.ConfigSystem;
 
@@ -55,6 +43,7 @@ public class RenderableModelObject {
     private final RenderableData beamRenderable;
     private final RenderableData coverRenderable;
     private final List<Double[]> treadPoints;
+    private final double objectSize;
 
     private static final TransformationMatrix treadPathBaseTransform = new TransformationMatrix();
     private static final RotationMatrix treadRotation = new RotationMatrix();
@@ -62,10 +51,7 @@ public class RenderableModelObject {
     private static final float FLARE_OFFSET = COLOR_OFFSET + RenderableVertices.Z_BUFFER_OFFSET;
     private static final float COVER_OFFSET = FLARE_OFFSET + RenderableVertices.Z_BUFFER_OFFSET;
 
-    private static final Set<String> downloadingTextures = new HashSet<>();
-    private static final Set<String> downloadedTextures = new HashSet<>();
     private static final String ERROR_TEXTURE_NAME = "ERROR";
-    private static final Map<String, String> erroredTextures = new HashMap<>();
     private static boolean errorTextureBound;
 
     public RenderableModelObject(AEntityD_Definable<?> entity, RenderableVertices vertexObject) {
@@ -75,6 +61,7 @@ public class RenderableModelObject {
         this.objectDef = entity.animatedObjectDefinitions.get(vertexObject.name);
         this.lightDef = entity.lightObjectDefinitions.get(vertexObject.name);
         this.switchbox = entity.animatedObjectSwitchboxes.get(vertexObject.name);
+        this.objectSize = vertexObject.getMaxDimension();
 
         //If we are a window, split the model into two parts.  The first will be the exterior which will
         //be our normal model, the second will be a new, inverted, interior model.
@@ -164,6 +151,31 @@ public class RenderableModelObject {
         }
     }
 
+    /**
+     * Returns true if the passed-in object is static on the passed-in entity.  Static objects have no animations,
+     * lights, text, or other special rendering, so they always render in the same spot with the entity's texture.
+     * This lets {@link AModelParser} merge them together to cut down on draw calls.
+     */
+    public static boolean isStatic(AEntityD_Definable<?> entity, RenderableVertices vertexObject) {
+        String lowerCaseName = vertexObject.name.toLowerCase(Locale.ROOT);
+        if (vertexObject.isErrorPlaceholder || lowerCaseName.contains(AModelParser.WINDOW_OBJECT_NAME) || lowerCaseName.startsWith(AModelParser.ONLINE_TEXTURE_OBJECT_NAME) || lowerCaseName.endsWith(AModelParser.ONLINE_TEXTURE_OBJECT_NAME)) {
+            return false;
+        }
+        if (entity.animatedObjectDefinitions.containsKey(vertexObject.name) || entity.animatedObjectSwitchboxes.containsKey(vertexObject.name) || entity.lightObjectDefinitions.containsKey(vertexObject.name)) {
+            return false;
+        }
+        //Treads are rendered along their path, not where they are in the model, so they can't be merged.
+        if (entity instanceof PartGroundDevice && ((PartGroundDevice) entity).definition.ground.isTread) {
+            return false;
+        }
+        for (JSONText textDef : entity.text.keySet()) {
+            if (vertexObject.name.equals(textDef.attachedTo)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Renders this object, applying any transforms that need to happen.  This method also
      * renders any objects that depend on this object's transforms after rendering.
@@ -181,17 +193,18 @@ public class RenderableModelObject {
                     JSONText textDef = textEntry.getKey();
                     if (textDef.fieldName != null && renderable.vertexObject.name.contains(textDef.fieldName)) {
                         String textValue = entity.text.get(textDef);
-                        if (erroredTextures.containsKey(textValue)) {
+                        String errorString = OnlineTextureLoader.getError(textValue);
+                        if (errorString != null) {
                             //Error in texture downloading, set fault data before continuing.
-                            textEntry.setValue(erroredTextures.get(textValue));
+                            textEntry.setValue(errorString);
                         }
                         if (textValue.startsWith(ERROR_TEXTURE_NAME)) {
                             //Texture didn't download, set to error texture.
                             renderable.setTexture(ERROR_TEXTURE_NAME);
-                        } else if (downloadedTextures.contains(textValue)) {
+                        } else if (OnlineTextureLoader.isLoaded(textValue)) {
                             //Good to render, set texture to object and go.
                             renderable.setTexture(textValue);
-                        } else if (downloadingTextures.contains(textValue)) {
+                        } else if (OnlineTextureLoader.isLoading(textValue)) {
                             //Still downloading, skip rendering.
                             return;
                         } else if (textValue.isEmpty()) {
@@ -199,8 +212,7 @@ public class RenderableModelObject {
                             return;
                         } else {
                             //No data at all.  Need to queue up a downloader for this texture.  Do so and skip rendering until it completes.
-                            new ConnectorThread(textValue).run();
-                            downloadingTextures.add(textValue);
+                            OnlineTextureLoader.requestTexture(textValue);
                             return;
                         }
                         break;
@@ -279,7 +291,7 @@ public class RenderableModelObject {
                         renderable.render();
 
                         //Render interior window if we have one.
-                        if (interiorWindowRenderable != null && ConfigSystem.client.renderingSettings.innerWindows.value) {
+                        if (interiorWindowRenderable != null && ConfigSystem.client.renderingSettings.innerWindows.value && !entity.renderReducedDetail) {
                             interiorWindowRenderable.setLightValue(renderable.worldLightValue);
                             interiorWindowRenderable.transform.set(renderable.transform);
                             interiorWindowRenderable.render();
@@ -338,12 +350,15 @@ public class RenderableModelObject {
             }
 
             //Render text on this object.  Only do this on the solid pass.
+            if (entity.renderReducedDetail) {
+                return;
+            }
             for (Entry<JSONText, String> textEntry : entity.text.entrySet()) {
                 JSONText textDef = textEntry.getKey();
                 if (renderable.vertexObject.name.equals(textDef.attachedTo)) {
                     boolean isLitTexture = textDef.lightsUp && entity.renderTextLit();
                     if (isLitTexture ? (ConfigSystem.client.renderingSettings.lightsTransp.value == blendingEnabled) : (renderable.isTranslucent == blendingEnabled)) {
-                        RenderText.draw3DText(textEntry.getValue(), entity, renderable.transform, textDef, false, isLitTexture);
+                        RenderText.drawRetained3DText(textEntry.getValue(), entity, renderable.transform, textDef, isLitTexture);
                     }
                 }
             }
@@ -363,6 +378,10 @@ public class RenderableModelObject {
         if (isWindow && !ConfigSystem.client.renderingSettings.renderWindows.value) {
             return false;
         }
+        //Block small objects if they are too far away to see.  Lights and treads are kept, since they do more than render the object.  Size is scaled, since that changes how big the object looks.
+        if (objectSize * Math.max(entity.scale.x, Math.max(entity.scale.y, entity.scale.z)) < entity.minRenderObjectSize && lightDef == null && treadPoints == null) {
+            return false;
+        }
         //If we have a switchbox, run it once, and if it returns false for a non-blended object, don't render.
         if (switchbox != null) {
             if (objectDef.blendedAnimations) {
@@ -701,85 +720,4 @@ public class RenderableModelObject {
         }
         return points;
     }
-
-    /**
-     * Custom URL downloader class to prevent blocking of the main thread when downloading textures
-     * and to give more time for the downloader to run.
-     *
-     * @author don_bruce
-     */
-    private static class ConnectorThread extends Thread {
-        private final String urlString;
-
-        public ConnectorThread(String urlString) {
-            this.urlString = urlString;
-        }
-
-        @Override
-        public void run() {
-            //Parse the texture out into an InputStream, if possible, and bind it.
-            //FAR less jank than using MC's resource system.
-            //We try a few times here since sources can do dumb things.
-            int tryCount = 0;
-            String errorString = null;
-            do {
-                try {
-                    URL urlObject = new URL(urlString);
-                    HttpURLConnection connection = (HttpURLConnection) urlObject.openConnection();
-                    try {
-                        connection.connect();
-                        String contentType = connection.getContentType();
-                        String[] typeParams = contentType.split("/");
-                        if (typeParams[0].equals("text")) {
-                            errorString = "ERROR: Found only text at the URL.  This is not a direct image link, or you don't have permission to view this image (hosted behind a login).";
-                        } else {
-                            Iterator<ImageReader> iterator = ImageIO.getImageReadersByFormatName(typeParams[1]);
-                            if (iterator.hasNext()) {
-                                ImageReader reader = iterator.next();
-                                if (typeParams[1].equals("gif")) {
-                                    ImageInputStream stream = ImageIO.createImageInputStream(connection.getInputStream());
-                                    reader.setInput(stream);
-                                    ParsedGIF gif = GIFParser.parseGIF(reader);
-                                    if (gif != null) {
-                                        if (InterfaceManager.renderingInterface.bindURLGIF(urlString, gif)) {
-                                            downloadedTextures.add(urlString);
-                                            downloadingTextures.remove(urlString);
-                                            return;
-                                        } else {
-                                            errorString = "ERROR: Could not parse GIF due to an internal MC-system interface error.  Contact the mod author!";
-                                        }
-                                    } else {
-                                        errorString = "ERROR: Could not parse GIF due to no frames being present.  Is this a real direct link or a fake one?";
-                                    }
-                                } else {
-                                    if (InterfaceManager.renderingInterface.bindURLTexture(urlString, connection.getInputStream())) {
-                                        downloadedTextures.add(urlString);
-                                        downloadingTextures.remove(urlString);
-                                        return;
-                                    } else {
-                                        errorString = "ERROR: Got a correct image type, but was missing data for the image?  Likely partial data sent by the server source, try again later.";
-                                    }
-                                }
-                            } else {
-                                errorString = "ERROR: Invalid content type found.  Found:" + contentType + ", but the only valid types are: ";
-                                for (String imageSuffix : ImageIO.getReaderFileSuffixes()) {
-                                    errorString += ("image/" + imageSuffix + ", ");
-                                }
-                            }
-                        }
-                    } catch (Exception e) {
-                        errorString = "ERROR: Could not parse images.  Error was: " + e.getMessage();
-                    }
-                } catch (Exception e) {
-                    errorString = "ERROR: Could not open URL for processing.  Error was: " + e.getMessage();
-                }
-            } while (++tryCount < 10);
-
-            //Set missing texture if we failed to get anything.
-            InterfaceManager.renderingInterface.bindURLTexture(urlString, null);
-            erroredTextures.put(urlString, errorString);
-            downloadingTextures.remove(urlString);
-            downloadedTextures.add(urlString);
-        }
-    }
 }
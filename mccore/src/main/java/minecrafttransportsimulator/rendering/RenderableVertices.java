@@ -21,12 +21,18 @@ public class RenderableVertices {
     public static final float Z_BUFFER_OFFSET = 0.001F;
 
     public final String name;
-    /**Actual vertex data, stored as a series of tris.**/
+    /**Actual vertex data, stored as a series of tris.  If {@link #indices} is set, this is only the unique vertices, and the tris are made from the indices.**/
     public final FloatBuffer vertices;
+    /**Index of each vertex of the tris in {@link #vertices}, or null if the vertices are already stored as a series of tris.**/
+    public final int[] indices;
     public final boolean cacheVertices;
     public final boolean isTranslucent;
     public final boolean isErrorPlaceholder;
     public final boolean isLines;
+    /**Color and alpha of each vertex of the tris, as 4 floats per vertex, or null to use the color and alpha of the {@link RenderableData}.**/
+    public final float[] vertexColors;
+    /**Light value of each vertex of the tris, or null to use the light value of the {@link RenderableData}.**/
+    public final int[] vertexLightValues;
 
     /**Index offset array for quad faces required to build a quad-textured box.
      * Order is set here to reference the points in a counter-clockwise order for rendering.
@@ -113,32 +119,59 @@ public class RenderableVertices {
 
     /**General-use constructor that allows special placeholder models to force the missing texture.**/
     public RenderableVertices(String name, FloatBuffer vertexData, boolean cacheVertices, boolean isErrorPlaceholder) {
+        this(name, vertexData, null, cacheVertices, isErrorPlaceholder);
+    }
+
+    /**Constructor for indexed vertices, where the vertex data is only the unique vertices and the indices make up the tris.**/
+    public RenderableVertices(String name, FloatBuffer vertexData, int[] indices, boolean cacheVertices, boolean isErrorPlaceholder) {
         this.name = name;
         this.vertices = vertexData;
+        this.indices = indices;
         this.cacheVertices = cacheVertices;
         this.isTranslucent = name.toLowerCase(Locale.ROOT).contains(AModelParser.TRANSLUCENT_OBJECT_NAME);
         this.isErrorPlaceholder = isErrorPlaceholder;
         this.isLines = false;
+        this.vertexColors = null;
+        this.vertexLightValues = null;
+    }
+
+    /**Constructor for vertices with their own color, alpha, and light value for each vertex.  Used to batch things with different colors into one render call.**/
+    public RenderableVertices(String name, FloatBuffer vertexData, float[] vertexColors, int[] vertexLightValues) {
+        this.name = name;
+        this.vertices = vertexData;
+        this.indices = null;
+        this.cacheVertices = false;
+        this.isTranslucent = name.toLowerCase(Locale.ROOT).contains(AModelParser.TRANSLUCENT_OBJECT_NAME);
+        this.isErrorPlaceholder = false;
+        this.isLines = false;
+        this.vertexColors = vertexColors;
+        this.vertexLightValues = vertexLightValues;
     }
 
     /**Constructor used for lines.**/
     public RenderableVertices(int numberLines) {
         this.name = "LINES";
         this.vertices = FloatBuffer.allocate(numberLines * FLOATS_PER_LINE);
+        this.indices = null;
         this.cacheVertices = false;
         this.isTranslucent = false;
         this.isErrorPlaceholder = false;
         this.isLines = true;
+        this.vertexColors = null;
+        this.vertexLightValues = null;
     }
 
     /**Constructor used for bounding boxes.**/
     public RenderableVertices(boolean holographic) {
         this.name = holographic ? "BOX_HOLOGRAPHIC" : "BOX_WIREFRAME";
         this.vertices = FloatBuffer.allocate(holographic ? FLOATS_PER_HOLGRAPHIC_BOX : FLOATS_PER_WIREFRAME_BOX);
+        this.indices = null;
         this.cacheVertices = false;
         this.isTranslucent = holographic;
         this.isErrorPlaceholder = false;
         this.isLines = !holographic;
+        this.vertexColors = null;
+        this.vertexLightValues = null;
     }
 
     /**Static method used for single 2D sprites with centered position.  Contains parameter for number of sprite segments and texture
@@ -277,9 +310,10 @@ public class RenderableVertices {
      * Returns a copy of these vertices, offset in their normal direction by the amount specified.
      */
     public RenderableVertices createOverlay(float offset) {
-        RenderableVertices offsetObject = new RenderableVertices(this.name + "_OVERLAY", FloatBuffer.allocate(vertices.capacity()), false, isErrorPlaceholder);
+        RenderableVertices offsetObject = new RenderableVertices(this.name + "_OVERLAY", FloatBuffer.allocate(getVertexCount() * FLOATS_PER_VERTEX), false, isErrorPlaceholder);
         float[] vertexData = new float[FLOATS_PER_VERTEX];
-        while (vertices.hasRemaining()) {
+        for (int vertexIndex = 0; vertexIndex < getVertexCount(); ++vertexIndex) {
+            seekVertex(vertexIndex);
             vertices.get(vertexData);
             offsetObject.vertices.put(vertexData, VERTEX_BUFFER_NX_OFFSET, VERTEX_BUFFER_V_OFFSET + 1);
             offsetObject.vertices.put(vertexData[VERTEX_BUFFER_X_OFFSET] + vertexData[VERTEX_BUFFER_NX_OFFSET] * offset);
@@ -296,6 +330,18 @@ public class RenderableVertices {
      * Returns a copy of these vertices in inverted order to create a back-face for this model.
      */
     public RenderableVertices createBackface() {
+        if (indices != null) {
+            //Just need to reverse the indices here, the vertices themselves are the same.
+            FloatBuffer backfaceVertices = FloatBuffer.allocate(vertices.limit());
+            backfaceVertices.put(vertices);
+            vertices.rewind();
+            backfaceVertices.flip();
+            int[] backfaceIndices = new int[indices.length];
+            for (int i = 0; i < indices.length; ++i) {
+                backfaceIndices[i] = indices[indices.length - 1 - i];
+            }
+            return new RenderableVertices(this.name + "_BACKFACE", backfaceVertices, backfaceIndices, cacheVertices, isErrorPlaceholder);
+        }
         RenderableVertices backfaceObject = new RenderableVertices(this.name + "_BACKFACE", FloatBuffer.allocate(vertices.capacity()), cacheVertices, isErrorPlaceholder);
         float[] vertexData = new float[FLOATS_PER_VERTEX];
         for (int backfaceVertexIndex = vertices.capacity() - FLOATS_PER_VERTEX; backfaceVertexIndex >= 0; backfaceVertexIndex -= FLOATS_PER_VERTEX) {
@@ -309,6 +355,47 @@ public class RenderableVertices {
         return backfaceObject;
     }
 
+    /**
+     * Static method used for merging multiple objects into one, so they can all be rendered in a single call.
+     * If any of the objects are indexed, the merged object will be indexed, with the un-indexed objects
+     * getting one index per vertex.  Otherwise, the merged object is just all the tris of the objects.
+     */
+    public static RenderableVertices createMerged(String name, List<RenderableVertices> objects) {
+        int floatCount = 0;
+        int indexCount = 0;
+        boolean anyIndexed = false;
+        for (RenderableVertices object : objects) {
+            floatCount += object.vertices.limit();
+            indexCount += object.getVertexCount();
+            anyIndexed |= object.indices != null;
+        }
+
+        FloatBuffer mergedVertices = FloatBuffer.allocate(floatCount);
+        int[] mergedIndices = anyIndexed ? new int[indexCount] : null;
+        int vertexOffset = 0;
+        int indexOffset = 0;
+        for (RenderableVertices object : objects) {
+            FloatBuffer objectVertices = object.vertices.duplicate();
+            objectVertices.rewind();
+            mergedVertices.put(objectVertices);
+            int objectVertexCount = object.vertices.limit() / FLOATS_PER_VERTEX;
+            if (anyIndexed) {
+                if (object.indices != null) {
+                    for (int index : object.indices) {
+                        mergedIndices[indexOffset++] = index + vertexOffset;
+                    }
+                } else {
+                    for (int i = 0; i < objectVertexCount; ++i) {
+                        mergedIndices[indexOffset++] = i + vertexOffset;
+                    }
+                }
+            }
+            vertexOffset += objectVertexCount;
+        }
+        mergedVertices.flip();
+        return new RenderableVertices(name, mergedVertices, mergedIndices, true, false);
+    }
+
     /**
      * Adds a line to the {@link #vertices} of this object using Point3D objects.
      * If the last line is added, this function will automatically handle the batch ending.
@@ -362,9 +449,75 @@ public class RenderableVertices {
         vertices.flip();
     }
 
+    /**
+     * Returns the size of the largest dimension of the box that contains these vertices.
+     */
+    public double getMaxDimension() {
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, minZ = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE, maxZ = -Float.MAX_VALUE;
+        for (int index = 0; index + FLOATS_PER_VERTEX <= vertices.limit(); index += FLOATS_PER_VERTEX) {
+            float x = vertices.get(index + VERTEX_BUFFER_X_OFFSET);
+            float y = vertices.get(index + VERTEX_BUFFER_Y_OFFSET);
+            float z = vertices.get(index + VERTEX_BUFFER_Z_OFFSET);
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            minZ = Math.min(minZ, z);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            maxZ = Math.max(maxZ, z);
+        }
+        return minX <= maxX ? Math.max(maxX - minX, Math.max(maxY - minY, maxZ - minZ)) : 0;
+    }
+
+    /**
+     * Returns the number of vertices that make up the tris of this object.
+     * For indexed objects, this is the number of indices, not the number of unique vertices.
+     */
+    public int getVertexCount() {
+        return indices != null ? indices.length : vertices.limit() / FLOATS_PER_VERTEX;
+    }
+
+    /**
+     * Sets the position of {@link #vertices} to the start of the passed-in vertex of the tris.
+     * This lets renderers read the vertices in tri order without caring if they are indexed or not.
+     * The buffer should be rewound when done reading.
+     */
+    public void seekVertex(int vertexIndex) {
+        vertices.position((indices != null ? indices[vertexIndex] : vertexIndex) * FLOATS_PER_VERTEX);
+    }
+
+    /**
+     * Copies the data of the passed-in vertex of the tris into the passed-in array.  Unlike {@link #seekVertex(int)},
+     * this doesn't move the buffer's position, so it's safe to use on cached vertices other threads may be reading.
+     */
+    public void getVertex(int vertexIndex, float[] vertexData) {
+        int offset = (indices != null ? indices[vertexIndex] : vertexIndex) * FLOATS_PER_VERTEX;
+        for (int i = 0; i < vertexData.length; ++i) {
+            vertexData[i] = vertices.get(offset + i);
+        }
+    }
+
+    /**
+     * Puts the vertices of this object into the passed-in buffer as a series of tris.
+     * This is used when combining vertices from multiple objects into one buffer.
+     */
+    public void putTris(FloatBuffer buffer) {
+        if (indices != null) {
+            for (int index : indices) {
+                for (int i = 0; i < FLOATS_PER_VERTEX; ++i) {
+                    buffer.put(vertices.get(index * FLOATS_PER_VERTEX + i));
+                }
+            }
+        } else {
+            buffer.put(vertices);
+            vertices.rewind();
+        }
+    }
+
     /**
      * Sets the texture bounds for this set of vertices to the passed-in parameters.
      * Sets for every quad in the texture for objects created via {@link #createSprite(int, List, List)}
+     * This requires the vertices to be stored as a series of tris, so it shouldn't be used on indexed vertices.
      */
     public void setTextureBounds(float u, float U, float v, float V) {
         int verticesInObject = vertices.capacity() / FLOATS_PER_VERTEX;
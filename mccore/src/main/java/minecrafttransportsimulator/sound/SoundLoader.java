@@ -0,0 +1,287 @@
+package minecrafttransportsimulator.sound;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import minecrafttransportsimulator.jsondefs.JSONSound;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Class responsible for loading OGG sound files off the main thread.  Sounds are decoded on a
+ * background thread, and then handed back to the audio system via {@link #pollLoadedSound()}
+ * so the main thread can do the upload to the audio system.  Any {@link SoundInstance}s that
+ * want to play a sound while it's loading are queued and returned with the loaded sound, so
+ * they can be started once the sound is ready.  Only one instance per entity and sound is queued.
+ * <br><br>
+ * Sounds are decoded into a single buffer that is sized from the total sample count in the
+ * last page of the OGG file, rather than growing the buffer for every block that's decoded.
+ * <br><br>
+ * This class also tracks the audio system buffers for loaded sounds.  Buffers track when they were last
+ * played, and once they use more memory than the configured cache size, the buffers that were played the
+ * longest time ago are deleted.  Sounds may also be pre-loaded via {@link #preloadSounds(List)} so they are
+ * ready when they first play, rather than starting a few ticks late.  Buffers that haven't been played yet,
+ * such as pre-loaded ones, count as the oldest, so pre-loading never deletes sounds that were just played.
+ *
+ * @author agent
+ */
+public final class SoundLoader {
+    private static final ExecutorService loaderThread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "MTS Sound Loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Queue<LoadedSound> loadedSounds = new ConcurrentLinkedQueue<>();
+    /**Sounds currently loading, and the sound instances waiting on them.  Only accessed from the main thread.**/
+    private static final Map<String, List<SoundInstance>> loadingSounds = new HashMap<>();
+    /**Sounds that couldn't be found or decoded.  These aren't re-tried as they'd just fail again.**/
+    private static final Set<String> missingSounds = new HashSet<>();
+    /**Buffers for loaded sounds.  Only accessed from the main thread.**/
+    private static final Map<String, LoadedBuffer> loadedBuffers = new HashMap<>();
+    private static long loadedBufferBytes;
+    /**Incremented every time a buffer is played.  Used to find the buffers that were played the longest time ago.**/
+    private static long playCount;
+
+    /**
+     * Returns the audio system buffer index for the passed-in sound, or null if it isn't loaded.
+     * This marks the sound as played for the purposes of deleting old buffers.
+     */
+    public static Integer getBuffer(String soundName) {
+        LoadedBuffer buffer = loadedBuffers.get(soundName);
+        if (buffer != null) {
+            buffer.lastPlayed = ++playCount;
+            return buffer.bufferIndex;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Adds the audio system buffer for the passed-in loaded sound.  Should be called once
+     * the data from {@link #pollLoadedSound()} has been uploaded to the audio system.
+     * The buffer counts as not played until {@link #getBuffer(String)} is called for it.
+     */
+    public static void addBuffer(LoadedSound sound, int bufferIndex) {
+        LoadedBuffer oldBuffer = loadedBuffers.put(sound.soundName, new LoadedBuffer(bufferIndex, sound.data.limit()));
+        if (oldBuffer != null) {
+            loadedBufferBytes -= oldBuffer.bytes;
+        }
+        loadedBufferBytes += sound.data.limit();
+    }
+
+    /**
+     * Removes all buffers without deleting them.  Used when the audio system was reset
+     * and all buffers are already gone.
+     */
+    public static void clearBuffers() {
+        loadedBuffers.clear();
+        loadedBufferBytes = 0;
+    }
+
+    /**
+     * Returns true if the loaded buffers use more memory than the configured cache size.
+     */
+    public static boolean isOverBudget() {
+        int cacheSize = ConfigSystem.client.controlSettings.soundCacheSize.value;
+        return cacheSize > 0 && loadedBufferBytes > cacheSize * 1024L * 1024L;
+    }
+
+    /**
+     * Deletes the buffers of the sounds that were played the longest time ago until the
+     * loaded buffers are under the configured cache size.  Sounds in the passed-in set are
+     * in use by a source and won't be deleted, as the audio system won't delete bound buffers.
+     */
+    public static void evictBuffers(Set<String> soundsInUse) {
+        List<Entry<String, LoadedBuffer>> entries = new ArrayList<>(loadedBuffers.entrySet());
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastPlayed));
+        for (Entry<String, LoadedBuffer> entry : entries) {
+            if (!isOverBudget()) {
+                break;
+            }
+            if (!soundsInUse.contains(entry.getKey())) {
+                InterfaceManager.soundInterface.deleteBuffer(entry.getValue().bufferIndex);
+                loadedBufferBytes -= entry.getValue().bytes;
+                loadedBuffers.remove(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Starts loading all sounds for the passed-in definitions that aren't loaded.  Nothing will be played
+     * when they finish loading, this just ensures they are ready when they are first played.
+     */
+    public static void preloadSounds(List<JSONSound> soundDefs) {
+        for (JSONSound soundDef : soundDefs) {
+            if (soundDef.soundVariations != null) {
+                soundDef.soundVariations.forEach(SoundLoader::preloadSound);
+            } else {
+                preloadSound(soundDef.name);
+            }
+        }
+    }
+
+    private static void preloadSound(String soundName) {
+        if (!loadedBuffers.containsKey(soundName) && !loadingSounds.containsKey(soundName) && !missingSounds.contains(soundName)) {
+            loadingSounds.put(soundName, new ArrayList<>());
+            loaderThread.execute(() -> loadedSounds.add(decodeOGG(soundName)));
+        }
+    }
+
+    /**
+     * Queues the sound instance to be started once its sound is loaded, and starts loading the sound
+     * if it isn't already loading.  Sounds are only queued once per entity and definition.  Looping
+     * sounds are requested every tick until they start playing, and one-shot sounds like horns and guns
+     * may be requested many times while loading, and we don't want all those to play at once when it's done.
+     */
+    public static void queueSound(SoundInstance sound) {
+        String soundName = sound.soundPlayingName;
+        if (missingSounds.contains(soundName)) {
+            return;
+        }
+        List<SoundInstance> waitingSounds = loadingSounds.get(soundName);
+        if (waitingSounds == null) {
+            waitingSounds = new ArrayList<>();
+            loadingSounds.put(soundName, waitingSounds);
+            loaderThread.execute(() -> loadedSounds.add(decodeOGG(soundName)));
+        } else {
+            for (SoundInstance waitingSound : waitingSounds) {
+                if (waitingSound.entity == sound.entity && waitingSound.soundDef == sound.soundDef) {
+                    return;
+                }
+            }
+        }
+        waitingSounds.add(sound);
+    }
+
+    /**
+     * Returns the next sound that finished loading, or null if no sounds have finished.
+     * This should be called from the main thread every update until it returns null.
+     * If the returned sound has no data, it couldn't be loaded and should be ignored.
+     */
+    public static LoadedSound pollLoadedSound() {
+        LoadedSound loadedSound = loadedSounds.poll();
+        if (loadedSound != null) {
+            List<SoundInstance> waitingSounds = loadingSounds.remove(loadedSound.soundName);
+            if (waitingSounds != null) {
+                loadedSound.waitingSounds.addAll(waitingSounds);
+            }
+            if (loadedSound.data == null) {
+                missingSounds.add(loadedSound.soundName);
+            }
+        }
+        return loadedSound;
+    }
+
+    /**
+     * Clears all sounds waiting on loading.  Sounds that are loading will still finish,
+     * but won't start any sound instances when they do.
+     */
+    public static void clearQueuedSounds() {
+        loadingSounds.values().forEach(List::clear);
+    }
+
+    /**
+     * Loads and decodes the OGG file for the passed-in sound in its entirety.
+     * The returned sound will have null data if the file couldn't be found or decoded.
+     */
+    public static LoadedSound decodeOGG(String soundName) {
+        String soundDomain = soundName.substring(0, soundName.indexOf(':'));
+        String soundPath = soundName.substring(soundDomain.length() + 1);
+        try (InputStream soundStream = InterfaceManager.coreInterface.getPackResource("/assets/" + soundDomain + "/sounds/" + soundPath + ".ogg")) {
+            if (soundStream == null) {
+                return new LoadedSound(soundName, null, 0);
+            }
+
+            //Read the whole file in first.  Sound files are small compared to their decoded data,
+            //and this lets us get the sample count from the end of the file to size our buffer.
+            ByteArrayOutputStream fileStream = new ByteArrayOutputStream();
+            byte[] readBuffer = new byte[8192];
+            int bytesRead;
+            while ((bytesRead = soundStream.read(readBuffer)) != -1) {
+                fileStream.write(readBuffer, 0, bytesRead);
+            }
+            byte[] fileData = fileStream.toByteArray();
+
+            //Decode into a single buffer.  Decoded data is always mono 16-bit, so 2 bytes per sample.
+            //If the sample count was off, double the buffer rather than growing it for every block.
+            OGGDecoder decoder = new OGGDecoder(new ByteArrayInputStream(fileData));
+            ByteBuffer decodedData = ByteBuffer.allocateDirect((int) Math.max(getSampleCount(fileData) * 2, IStreamDecoder.BUFFER_SIZE)).order(ByteOrder.nativeOrder());
+            ByteBuffer blockRead;
+            while ((blockRead = decoder.readBlock()) != null) {
+                if (decodedData.remaining() < blockRead.remaining()) {
+                    ByteBuffer largerData = ByteBuffer.allocateDirect(Math.max(decodedData.capacity() * 2, decodedData.position() + blockRead.remaining())).order(ByteOrder.nativeOrder());
+                    decodedData.flip();
+                    largerData.put(decodedData);
+                    decodedData = largerData;
+                }
+                decodedData.put(blockRead);
+            }
+            decodedData.flip();
+            return new LoadedSound(soundName, decodedData, decoder.getSampleRate());
+        } catch (Exception e) {
+            InterfaceManager.coreInterface.logError("Could not load sound: " + soundName + " due to " + e.getClass().getSimpleName() + (e.getMessage() != null ? " - " + e.getMessage() : "") + ".  It will not be played.");
+            return new LoadedSound(soundName, null, 0);
+        }
+    }
+
+    /**
+     * Returns the number of samples per channel in the passed-in OGG file.  This is the granule position
+     * of the last page in the file.  If the last page can't be found, 0 is returned.
+     */
+    private static long getSampleCount(byte[] fileData) {
+        //Page header is "OggS", version, header type, then the 8-byte little-endian granule position.
+        for (int i = fileData.length - 14; i >= 0; --i) {
+            if (fileData[i] == 'O' && fileData[i + 1] == 'g' && fileData[i + 2] == 'g' && fileData[i + 3] == 'S') {
+                long granulePosition = 0;
+                for (int j = 7; j >= 0; --j) {
+                    granulePosition = (granulePosition << 8) | (fileData[i + 6 + j] & 0xFF);
+                }
+                return granulePosition > 0 && granulePosition < Integer.MAX_VALUE / 2 ? granulePosition : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static class LoadedBuffer {
+        private final int bufferIndex;
+        private final int bytes;
+        private long lastPlayed;
+
+        private LoadedBuffer(int bufferIndex, int bytes) {
+            this.bufferIndex = bufferIndex;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * A sound that has finished loading.  Data is mono 16-bit PCM ready to be sent to the audio system.
+     */
+    public static class LoadedSound {
+        public final String soundName;
+        public final ByteBuffer data;
+        public final int sampleRate;
+        /**Sound instances that were waiting on this sound to load.  Populated when polled.**/
+        public final List<SoundInstance> waitingSounds = new ArrayList<>();
+
+        private LoadedSound(String soundName, ByteBuffer data, int sampleRate) {
+            this.soundName = soundName;
+            this.data = data;
+            this.sampleRate = sampleRate;
+        }
+    }
+}
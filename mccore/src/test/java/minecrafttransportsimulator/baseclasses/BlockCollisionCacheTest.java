@@ -0,0 +1,96 @@
+package minecrafttransportsimulator.baseclasses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link BlockCollisionCache} only serves blocks cached with the same state, and does collision depth right.
+ *
+ * @author agent
+ */
+public class BlockCollisionCacheTest {
+    private static final Object STONE = new Object();
+    private static final Object SLAB = new Object();
+    private static final double[] FULL_BLOCK = new double[] { 0, 0, 0, 1, 1, 1 };
+
+    @Test
+    public void testIndexKeyedOnState() {
+        BlockCollisionCache cache = new BlockCollisionCache();
+        assertEquals(-1, cache.getIndex(0, 0, 0, STONE));
+        int index = cache.add(0, 0, 0, STONE, FULL_BLOCK, false, false);
+        assertEquals(index, cache.getIndex(0, 0, 0, STONE));
+        assertEquals(-1, cache.getIndex(0, 0, 0, SLAB));
+        assertEquals(-1, cache.getIndex(0, 1, 0, STONE));
+
+        //Re-adding with a new state should replace the entry, not make a new one.
+        assertEquals(index, cache.add(0, 0, 0, SLAB, new double[] { 0, 0, 0, 1, 0.5, 1 }, false, false));
+        assertEquals(index, cache.getIndex(0, 0, 0, SLAB));
+        assertEquals(-1, cache.getIndex(0, 0, 0, STONE));
+    }
+
+    @Test
+    public void testInvalidateAround() {
+        BlockCollisionCache cache = new BlockCollisionCache();
+        cache.add(0, 64, 0, STONE, FULL_BLOCK, false, false);
+        cache.add(1, 64, 0, STONE, FULL_BLOCK, false, false);
+        cache.add(0, 65, 0, STONE, FULL_BLOCK, false, false);
+        cache.add(2, 64, 0, STONE, FULL_BLOCK, false, false);
+        cache.add(-1, 63, 0, STONE, FULL_BLOCK, false, false);
+        cache.invalidateAround(0, 64, 0);
+        assertEquals(-1, cache.getIndex(0, 64, 0, STONE));
+        assertEquals(-1, cache.getIndex(1, 64, 0, STONE));
+        assertEquals(-1, cache.getIndex(0, 65, 0, STONE));
+        assertNotEquals(-1, cache.getIndex(2, 64, 0, STONE));
+        assertNotEquals(-1, cache.getIndex(-1, 63, 0, STONE));
+    }
+
+    @Test
+    public void testNegativePositionsDontCollide() {
+        BlockCollisionCache cache = new BlockCollisionCache();
+        int index = cache.add(-1, 64, -1, STONE, FULL_BLOCK, false, false);
+        assertEquals(-1, cache.getIndex(1, 64, 1, STONE));
+        assertEquals(-1, cache.getIndex(-1, 64, 1, STONE));
+        assertEquals(index, cache.getIndex(-1, 64, -1, STONE));
+    }
+
+    @Test
+    public void testUncachedBlock() {
+        BlockCollisionCache cache = new BlockCollisionCache();
+        int cachedIndex = cache.add(0, 0, 0, STONE, FULL_BLOCK, false, false);
+        int uncachedIndex = cache.addUncached(new double[] { 5, 0, 5, 6, 1, 6 }, true, true);
+        assertTrue(cache.isLeaves(uncachedIndex));
+        assertTrue(cache.isLiquid(uncachedIndex));
+        assertFalse(cache.isLeaves(cachedIndex));
+        assertFalse(cache.isLiquid(cachedIndex));
+
+        cache.startCheck(5.25, 0.25, 5.25, 5.75, 0.75, 5.75);
+        assertTrue(cache.intersects(uncachedIndex));
+        assertFalse(cache.intersects(cachedIndex));
+    }
+
+    @Test
+    public void testCollisionDepth() {
+        BlockCollisionCache cache = new BlockCollisionCache();
+        int groundIndex = cache.add(0, 0, 0, STONE, FULL_BLOCK, false, false);
+        int slabIndex = cache.add(1, 1, 0, SLAB, new double[] { 1, 1, 0, 2, 1.5, 1 }, false, false);
+
+        //Box falling into the ground and the slab, which is the deeper of the two.
+        BoundingBox box = new BoundingBox(new Point3D(1, 1.25, 0.5), 0.5);
+        Point3D motion = new Point3D(0, -0.5, 0);
+        cache.startCheck(0.5, 0.75, 0, 1.5, 1.75, 1);
+        assertTrue(cache.addIntersectingBoxes(groundIndex));
+        assertTrue(cache.addIntersectingBoxes(slabIndex));
+        cache.updateCollisionDepth(box, motion, false);
+        assertEquals(-0.75, box.currentCollisionDepth.y, 1.0E-9);
+        assertEquals(0, box.currentCollisionDepth.x);
+        assertEquals(0, box.currentCollisionDepth.z);
+
+        //Depth can't be more than the motion if we ignore it.
+        cache.updateCollisionDepth(box, motion, true);
+        assertEquals(-0.5, box.currentCollisionDepth.y, 1.0E-9);
+    }
+}
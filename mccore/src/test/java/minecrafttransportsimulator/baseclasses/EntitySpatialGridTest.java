@@ -0,0 +1,199 @@
+package minecrafttransportsimulator.baseclasses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link EntitySpatialGrid} keeps entities in the right cells as they are added, moved, and removed,
+ * and that its queries find the same entities as checking every entity would.
+ * Far-away filler entities are added so queries use the cells rather than falling back to checking everything.
+ *
+ * @author agent
+ */
+public class EntitySpatialGridTest {
+
+    @Test
+    public void testInsert() {
+        EntitySpatialGrid<TestEntity> grid = createGrid();
+        TestEntity entity = new TestEntity(8, 8, 1);
+        grid.add(entity);
+        grid.add(entity);
+        assertTrue(grid.getAll().contains(entity));
+        assertEquals(11, grid.getAll().size());
+        assertTrue(getInColumn(grid, 1, 1).contains(entity));
+        assertTrue(getInColumn(grid, 15.5, 15.5).contains(entity));
+        assertFalse(getInColumn(grid, 16.5, 8).contains(entity));
+        assertFalse(getInColumn(grid, 8, -0.5).contains(entity));
+    }
+
+    @Test
+    public void testMoveAcrossCells() {
+        EntitySpatialGrid<TestEntity> grid = createGrid();
+        TestEntity entity = new TestEntity(8, 8, 1);
+        grid.add(entity);
+
+        //Moving inside the cell keeps us there.
+        entity.box.globalCenter.set(12, 0, 4);
+        grid.update(entity);
+        assertTrue(getInColumn(grid, 8, 8).contains(entity));
+
+        //Moving onto a border puts us in both cells.
+        entity.box.globalCenter.set(16, 0, 8);
+        grid.update(entity);
+        assertTrue(getInColumn(grid, 8, 8).contains(entity));
+        assertTrue(getInColumn(grid, 24, 8).contains(entity));
+
+        //Moving fully into the next cell takes us out of the old one.
+        entity.box.globalCenter.set(24, 0, 8);
+        grid.update(entity);
+        assertFalse(getInColumn(grid, 8, 8).contains(entity));
+        assertTrue(getInColumn(grid, 24, 8).contains(entity));
+
+        //Moving into negative cells, including the ones right next to 0.
+        entity.box.globalCenter.set(-8, 0, -8);
+        grid.update(entity);
+        assertFalse(getInColumn(grid, 24, 8).contains(entity));
+        assertFalse(getInColumn(grid, 0.5, 0.5).contains(entity));
+        assertTrue(getInColumn(grid, -0.5, -0.5).contains(entity));
+        assertTrue(getInColumn(grid, -16, -16).contains(entity));
+        assertFalse(getInColumn(grid, -16.5, -8).contains(entity));
+    }
+
+    @Test
+    public void testRemove() {
+        EntitySpatialGrid<TestEntity> grid = createGrid();
+        TestEntity entity = new TestEntity(16, 16, 4);
+        grid.add(entity);
+        grid.remove(entity);
+        assertFalse(grid.getAll().contains(entity));
+        for (double x = 8; x <= 24; x += 16) {
+            for (double z = 8; z <= 24; z += 16) {
+                assertFalse(getInColumn(grid, x, z).contains(entity));
+            }
+        }
+
+        //Removing twice, or updating after removal, shouldn't do anything.
+        grid.remove(entity);
+        grid.update(entity);
+        assertEquals(10, grid.getAll().size());
+        assertFalse(getInColumn(grid, 8, 8).contains(entity));
+    }
+
+    @Test
+    public void testBoundsStraddlingCells() {
+        EntitySpatialGrid<TestEntity> grid = createGrid();
+        TestEntity negativeEntity = new TestEntity(-1, -1, 0.5);
+        TestEntity positiveEntity = new TestEntity(1, 1, 0.5);
+        TestEntity farNegativeEntity = new TestEntity(-17, 3, 0.5);
+        grid.add(negativeEntity);
+        grid.add(positiveEntity);
+        grid.add(farNegativeEntity);
+
+        //Box around the origin covers four cells and should find both entities next to it.
+        Set<TestEntity> found = getInBounds(grid, new BoundingBox(new Point3D(), 2));
+        assertTrue(found.contains(negativeEntity));
+        assertTrue(found.contains(positiveEntity));
+        assertFalse(found.contains(farNegativeEntity));
+
+        //Box crossing the -16 border from cell -1 into cell -2.
+        found = getInBounds(grid, new BoundingBox(new Point3D(-15, 0, 3), 2.5));
+        assertTrue(found.contains(farNegativeEntity));
+        assertFalse(found.contains(negativeEntity));
+    }
+
+    @Test
+    public void testBoundsMatchFullScan() {
+        Random random = new Random(12345);
+        EntitySpatialGrid<TestEntity> grid = createGrid();
+        List<TestEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            TestEntity entity = new TestEntity(random.nextDouble() * 100 - 50, random.nextDouble() * 100 - 50, random.nextDouble() * 10);
+            entities.add(entity);
+            grid.add(entity);
+        }
+        for (int i = 0; i < 500; ++i) {
+            //Move some entities around between queries to check updates.
+            TestEntity movedEntity = entities.get(random.nextInt(entities.size()));
+            movedEntity.box.globalCenter.set(random.nextDouble() * 100 - 50, 0, random.nextDouble() * 100 - 50);
+            grid.update(movedEntity);
+
+            BoundingBox bounds = new BoundingBox(new Point3D(random.nextDouble() * 100 - 50, 0, random.nextDouble() * 100 - 50), random.nextDouble() * 20, 1, random.nextDouble() * 20);
+            Set<TestEntity> expected = new HashSet<>();
+            for (TestEntity entity : entities) {
+                if (entity.box.intersects(bounds)) {
+                    expected.add(entity);
+                }
+            }
+            assertEquals(expected, getInBounds(grid, bounds));
+        }
+    }
+
+    @Test
+    public void testRayMatchesFullScan() {
+        Random random = new Random(54321);
+        EntitySpatialGrid<TestEntity> grid = createGrid();
+        List<TestEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            TestEntity entity = new TestEntity(random.nextDouble() * 100 - 50, random.nextDouble() * 100 - 50, random.nextDouble() * 5);
+            entities.add(entity);
+            grid.add(entity);
+        }
+        for (int i = 0; i < 500; ++i) {
+            Point3D start = new Point3D(random.nextDouble() * 100 - 50, 0, random.nextDouble() * 100 - 50);
+            Point3D end = new Point3D(random.nextDouble() * 100 - 50, 0, random.nextDouble() * 100 - 50);
+            BoundingBox vectorBounds = new BoundingBox(start, end);
+            Set<TestEntity> expected = new HashSet<>();
+            for (TestEntity entity : entities) {
+                if (entity.box.intersects(vectorBounds)) {
+                    expected.add(entity);
+                }
+            }
+            List<TestEntity> found = new ArrayList<>();
+            grid.populateOnRay(found, start, end);
+            //Rays only walk cells on the line, so they may miss boxes that are in the ray's bounds but not on it.
+            assertTrue(expected.containsAll(found));
+            assertEquals(found.size(), new HashSet<>(found).size());
+        }
+    }
+
+    /**
+     * Returns a grid with filler entities far away from where the tests run.
+     */
+    private static EntitySpatialGrid<TestEntity> createGrid() {
+        EntitySpatialGrid<TestEntity> grid = new EntitySpatialGrid<>(entity -> entity.box);
+        for (int i = 0; i < 10; ++i) {
+            grid.add(new TestEntity(10000 + i * 100, 10000, 1));
+        }
+        return grid;
+    }
+
+    private static Set<TestEntity> getInColumn(EntitySpatialGrid<TestEntity> grid, double x, double z) {
+        List<TestEntity> list = new ArrayList<>();
+        grid.populateInColumn(list, new Point3D(x, 0, z));
+        return new HashSet<>(list);
+    }
+
+    private static Set<TestEntity> getInBounds(EntitySpatialGrid<TestEntity> grid, BoundingBox bounds) {
+        List<TestEntity> list = new ArrayList<>();
+        grid.populateInBounds(list, bounds);
+        assertEquals(list.size(), new HashSet<>(list).size());
+        return new HashSet<>(list);
+    }
+
+    private static class TestEntity {
+        private final BoundingBox box;
+
+        private TestEntity(double x, double z, double radius) {
+            this.box = new BoundingBox(new Point3D(x, 0, z), radius);
+        }
+    }
+}
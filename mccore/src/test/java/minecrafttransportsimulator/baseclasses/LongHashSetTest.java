@@ -0,0 +1,88 @@
+package minecrafttransportsimulator.baseclasses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link LongHashSet} behaves like a HashSet of Longs that keeps insertion order.
+ *
+ * @author agent
+ */
+public class LongHashSetTest {
+
+    @Test
+    public void testAddAndContains() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(5));
+        assertTrue(set.add(0));
+        assertTrue(set.add(-5));
+        assertFalse(set.add(5));
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(-5));
+        assertFalse(set.contains(6));
+    }
+
+    @Test
+    public void testMatchesHashSetWhileGrowing() {
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+        List<Long> expectedOrder = new ArrayList<>();
+        Random random = new Random(1234);
+        for (int i = 0; i < 10000; ++i) {
+            //Small range so we get lots of duplicates, shifted so high bits are used like packed positions.
+            long value = ((long) random.nextInt(2000) << 38) | random.nextInt(64);
+            boolean added = expected.add(value);
+            assertEquals(added, set.add(value));
+            if (added) {
+                expectedOrder.add(value);
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        for (int i = 0; i < expectedOrder.size(); ++i) {
+            assertEquals((long) expectedOrder.get(i), set.get(i));
+            assertEquals(i, set.indexOf(expectedOrder.get(i)));
+        }
+        assertEquals(-1, set.indexOf(-1));
+    }
+
+    @Test
+    public void testAddAllKeepsOrder() {
+        LongHashSet first = new LongHashSet();
+        first.add(1);
+        first.add(2);
+        LongHashSet second = new LongHashSet();
+        second.add(3);
+        second.add(1);
+        second.add(4);
+        first.addAll(second);
+        assertEquals(4, first.size());
+        assertEquals(1, first.get(0));
+        assertEquals(2, first.get(1));
+        assertEquals(3, first.get(2));
+        assertEquals(4, first.get(3));
+    }
+
+    @Test
+    public void testClear() {
+        LongHashSet set = new LongHashSet();
+        for (int i = 0; i < 100; ++i) {
+            set.add(i);
+        }
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(10));
+        assertTrue(set.add(10));
+        assertEquals(10, set.get(0));
+    }
+}
@@ -0,0 +1,58 @@
+package minecrafttransportsimulator.baseclasses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import minecrafttransportsimulator.mcinterface.FakeWorld;
+
+/**
+ * Tests that {@link ParticleCollisionCache} returns the same ground and liquids as the world.
+ *
+ * @author agent
+ */
+public class ParticleCollisionCacheTest {
+
+    @Test
+    public void testGroundHeight() {
+        FakeWorld world = new FakeWorld();
+        world.setSolid(0, 63, 0, true);
+        ParticleCollisionCache cache = new ParticleCollisionCache();
+        assertEquals(64, cache.getGroundHeight(world, new Point3D(0.5, 70, 0.5)));
+        assertEquals(64, cache.getGroundHeight(world, new Point3D(0.2, 65, 0.8)));
+        assertEquals(64, cache.getGroundHeight(world, new Point3D(0.5, 80, 0.5)));
+        assertEquals(0, cache.getGroundHeight(world, new Point3D(1.5, 70, 0.5)));
+    }
+
+    @Test
+    public void testCaveKeepsSurface() {
+        FakeWorld world = new FakeWorld();
+        world.setSolid(0, 63, 0, true);
+        world.setSolid(0, 40, 0, true);
+        ParticleCollisionCache cache = new ParticleCollisionCache();
+        assertEquals(64, cache.getGroundHeight(world, new Point3D(0.5, 70, 0.5)));
+        assertEquals(41, cache.getGroundHeight(world, new Point3D(0.5, 50, 0.5)));
+        assertEquals(64, cache.getGroundHeight(world, new Point3D(0.5, 66, 0.5)));
+    }
+
+    @Test
+    public void testLiquidCachedUntilCleared() {
+        FakeWorld world = new FakeWorld();
+        world.setLiquid(0, 60, 0, true);
+        ParticleCollisionCache cache = new ParticleCollisionCache();
+        Point3D position = new Point3D(0.5, 60.5, 0.5);
+        assertTrue(cache.isBlockLiquid(world, position));
+        assertTrue(cache.isBlockLiquid(world, position));
+        assertFalse(cache.isBlockLiquid(world, new Point3D(0.5, 61.5, 0.5)));
+        assertFalse(cache.isBlockLiquid(world, new Point3D(0.5, 61.5, 0.5)));
+        assertEquals(2, world.worldChecks);
+
+        world.setLiquid(0, 60, 0, false);
+        assertTrue(cache.isBlockLiquid(world, position));
+        cache.clear();
+        assertFalse(cache.isBlockLiquid(world, position));
+        assertEquals(3, world.worldChecks);
+    }
+}
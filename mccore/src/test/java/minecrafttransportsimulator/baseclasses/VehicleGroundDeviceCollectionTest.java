@@ -0,0 +1,86 @@
+package minecrafttransportsimulator.baseclasses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.DoublePredicate;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the climb bisection in {@link VehicleGroundDeviceCollection} finds the same deltas as the old stepping did.
+ * Rotations are checked against a fake ground where every delta up to a limit is clear, and every delta past it collides.
+ *
+ * @author agent
+ */
+public class VehicleGroundDeviceCollectionTest {
+    private static final double TOLERANCE = 0.03125;
+    private static final double MIN_HEIGHT_DELTA = -0.05F;
+
+    @Test
+    public void testMatchesStepping() {
+        for (double climbSpeed : new double[] { 0.125, 0.25 }) {
+            for (double limit = -0.2; limit < climbSpeed + 0.05; limit += 0.001) {
+                final double clearLimit = limit;
+                DoublePredicate rotationClear = heightDelta -> heightDelta <= clearLimit;
+                double bisected = VehicleGroundDeviceCollection.getClimbHeightDelta(climbSpeed, TOLERANCE, MIN_HEIGHT_DELTA, rotationClear);
+                double stepped = getSteppedHeightDelta(climbSpeed, MIN_HEIGHT_DELTA, rotationClear);
+                String message = "climbSpeed " + climbSpeed + ", limit " + limit;
+                if (limit >= climbSpeed) {
+                    assertEquals(climbSpeed, bisected, message);
+                } else if (limit >= 0) {
+                    //Bisection is never worse than stepping, and gets within the tolerance of the limit.
+                    assertTrue(rotationClear.test(bisected), message);
+                    assertTrue(bisected >= stepped, message);
+                    assertTrue(limit - bisected <= TOLERANCE, message);
+                } else {
+                    //Stuck, so both should do the same fallback.
+                    assertEquals(stepped, bisected, message);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStuckFallback() {
+        //Collides everywhere, so tilt down a quarter step, same as stepping did.
+        assertEquals(-0.125 / 4, VehicleGroundDeviceCollection.getClimbHeightDelta(0.125, TOLERANCE, MIN_HEIGHT_DELTA, heightDelta -> false));
+        //A quarter step down would be past the min height delta, so do nothing.
+        assertEquals(0, VehicleGroundDeviceCollection.getClimbHeightDelta(0.25, TOLERANCE, MIN_HEIGHT_DELTA, heightDelta -> false));
+        //Not rotating is clear, so do nothing.
+        assertEquals(0, VehicleGroundDeviceCollection.getClimbHeightDelta(0.125, TOLERANCE, MIN_HEIGHT_DELTA, heightDelta -> heightDelta <= 0));
+    }
+
+    @Test
+    public void testCheckCount() {
+        int[] checks = new int[1];
+        VehicleGroundDeviceCollection.getClimbHeightDelta(0.125, TOLERANCE, MIN_HEIGHT_DELTA, heightDelta -> {
+            ++checks[0];
+            return heightDelta <= 0.07;
+        });
+        assertEquals(3, checks[0]);
+
+        //Tiny tolerances shouldn't run forever.
+        checks[0] = 0;
+        VehicleGroundDeviceCollection.getClimbHeightDelta(0.125, 0, MIN_HEIGHT_DELTA, heightDelta -> {
+            ++checks[0];
+            return heightDelta <= 0.07;
+        });
+        assertTrue(checks[0] <= 10);
+    }
+
+    /**
+     * The old climbing logic, which stepped down from the climb speed in quarters of it until it found a clear delta.
+     */
+    private static double getSteppedHeightDelta(double climbSpeed, double minHeightDelta, DoublePredicate rotationClear) {
+        double heightDeltaAttempted = climbSpeed;
+        double heightDeltaApplied = 0;
+        for (; heightDeltaAttempted > minHeightDelta; heightDeltaAttempted -= climbSpeed / 4) {
+            heightDeltaApplied = heightDeltaAttempted;
+            if (rotationClear.test(heightDeltaAttempted)) {
+                break;
+            }
+        }
+        return heightDeltaAttempted != 0 ? heightDeltaApplied : 0;
+    }
+}
@@ -0,0 +1,378 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import minecrafttransportsimulator.baseclasses.BlockHitResult;
+import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.ColorRGB;
+import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.blocks.components.ABlockBase;
+import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
+import minecrafttransportsimulator.blocks.components.ABlockBase.BlockMaterial;
+import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
+import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
+
+/**
+ * Fake world for testing code that does world lookups.  Only solid and liquid blocks exist, and only
+ * the height and liquid checks work.  Each of these counts as a world check, so tests can see if a
+ * cache went to the world or not.  All other methods throw an {@link UnsupportedOperationException}.
+ *
+ * @author agent
+ */
+public class FakeWorld extends AWrapperWorld {
+    private final Set<Long> solidBlocks = new HashSet<>();
+    private final Set<Long> liquidBlocks = new HashSet<>();
+    /**How many times this world was checked for heights or liquids.**/
+    public int worldChecks;
+
+    public void setSolid(int x, int y, int z, boolean solid) {
+        if (solid) {
+            solidBlocks.add(getBlockKey(x, y, z));
+        } else {
+            solidBlocks.remove(getBlockKey(x, y, z));
+        }
+    }
+
+    public void setLiquid(int x, int y, int z, boolean liquid) {
+        if (liquid) {
+            liquidBlocks.add(getBlockKey(x, y, z));
+        } else {
+            liquidBlocks.remove(getBlockKey(x, y, z));
+        }
+    }
+
+    @Override
+    public AWrapperWorld getWorld() {
+        return this;
+    }
+
+    @Override
+    public boolean isClient() {
+        return true;
+    }
+
+    @Override
+    protected double getUncachedHeight(Point3D position) {
+        ++worldChecks;
+        //Same as the real worlds, go down till we find a block.
+        int x = (int) Math.floor(position.x);
+        int y = (int) Math.floor(position.y);
+        int z = (int) Math.floor(position.z);
+        while (y > 0) {
+            if (solidBlocks.contains(getBlockKey(x, y, z))) {
+                ++y;
+                break;
+            }
+            --y;
+        }
+        return position.y - y;
+    }
+
+    @Override
+    public boolean isBlockLiquid(Point3D position) {
+        ++worldChecks;
+        return liquidBlocks.contains(getBlockKey((int) Math.floor(position.x), (int) Math.floor(position.y), (int) Math.floor(position.z)));
+    }
+
+    @Override
+    public long getTime() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getName() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long getMaxHeight() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void beginProfiling(String name, boolean subProfile) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void endProfiling() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void incrementProfilingCounter(String name, int count) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public IWrapperNBT getData(String name) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setData(String name, IWrapperNBT value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public File getDataFile() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public IWrapperEntity getExternalEntity(UUID entityID) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<IWrapperEntity> getEntitiesWithin(BoundingBox box) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<IWrapperPlayer> getPlayersWithin(BoundingBox box) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<IWrapperPlayer> getPlayers() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<IWrapperEntity> getEntitiesHostile(IWrapperEntity lookingEntity, double radius) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void spawnEntity(AEntityB_Existing entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<IWrapperEntity> attackEntities(Damage damage, Point3D motion, boolean generateList) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void loadEntities(BoundingBox box, AEntityE_Interactable<?> entityToLoad) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void populateItemStackEntities(Map<IWrapperEntity, IWrapperItemStack> map, BoundingBox b) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeItemStackEntity(IWrapperEntity entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isInsideBorder(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean chunkLoaded(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ABlockBase getBlock(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getBlockName(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public float getBlockHardness(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public float getBlockSlipperiness(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BlockMaterial getBlockMaterial(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ColorRGB getBlockColor(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<IWrapperItemStack> getBlockDrops(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BlockHitResult getBlockHit(Point3D position, Point3D delta) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isBlockSolid(Point3D position, Axis axis) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isBlockBelowBottomSlab(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isBlockAboveTopSlab(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void updateBoundingBoxCollisions(BoundingBox box, Point3D collisionMotion, boolean ignoreIfGreater) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean checkForCollisions(BoundingBox box, Point3D offset, boolean clearCache, boolean breakLeaves) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int getRedstonePower(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public float getRainStrength(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public float getTemperature(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <TileEntityType extends ATileEntityBase<JSONDefinition>, JSONDefinition extends AJSONMultiModelProvider> boolean setBlock(ABlockBase block, Point3D position, IWrapperPlayer playerIWrapper, Axis axis) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <TileEntityType extends ATileEntityBase<?>> TileEntityType getTileEntity(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public float getLightBrightness(Point3D position, boolean calculateBlock) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void updateLightBrightness(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void destroyBlock(Point3D position, boolean spawnDrops) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void destroyBlockQuietly(Point3D position, boolean spawnDrops) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isAir(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isFire(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setToFire(Point3D position, Axis side) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void extinguish(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean placeBlock(Point3D position, IWrapperItemStack stack) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean fertilizeBlock(Point3D position, IWrapperItemStack stack) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean harvestBlock(Point3D position, List<IWrapperItemStack> cropDrops) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean plantBlock(Point3D position, IWrapperItemStack stack) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean plowBlock(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeSnow(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean hydrateBlock(Point3D position) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean insertStack(Point3D position, Axis axis, IWrapperItemStack stack) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public IWrapperItemStack extractStack(Point3D position, Axis axis) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void spawnItemStack(IWrapperItemStack stack, Point3D point, Point3D optionalMotion) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void spawnExplosion(Point3D location, double strength, boolean flames, boolean damageBlocks) {
+        throw new UnsupportedOperationException();
+    }
+
+    private static long getBlockKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (y & 0xFFF) << 26) | (long) (z & 0x3FFFFFF);
+    }
+}
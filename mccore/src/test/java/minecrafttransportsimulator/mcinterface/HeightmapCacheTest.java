@@ -0,0 +1,88 @@
+package minecrafttransportsimulator.mcinterface;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import minecrafttransportsimulator.baseclasses.Point3D;
+
+/**
+ * Tests that {@link HeightmapCache} returns the same heights as the world, and only goes to the world when it has to.
+ *
+ * @author agent
+ */
+public class HeightmapCacheTest {
+
+    @Test
+    public void testCachedInSearchedRange() {
+        FakeWorld world = new FakeWorld();
+        world.setSolid(3, 63, 5, true);
+        HeightmapCache cache = new HeightmapCache(world);
+        assertEquals(6, cache.getHeight(new Point3D(3.5, 70, 5.5)));
+        assertEquals(1, cache.getHeight(new Point3D(3.2, 65, 5.7)));
+        assertEquals(1, world.worldChecks);
+
+        //Above where we searched from, so we need to check again.
+        assertEquals(16, cache.getHeight(new Point3D(3.5, 80, 5.5)));
+        assertEquals(2, world.worldChecks);
+        assertEquals(11, cache.getHeight(new Point3D(3.5, 75, 5.5)));
+        assertEquals(2, world.worldChecks);
+    }
+
+    @Test
+    public void testCaveKeepsSurface() {
+        FakeWorld world = new FakeWorld();
+        world.setSolid(0, 63, 0, true);
+        world.setSolid(0, 40, 0, true);
+        HeightmapCache cache = new HeightmapCache(world);
+        assertEquals(6, cache.getHeight(new Point3D(0.5, 70, 0.5)));
+        assertEquals(9, cache.getHeight(new Point3D(0.5, 50, 0.5)));
+        assertEquals(2, cache.getHeight(new Point3D(0.5, 66, 0.5)));
+        assertEquals(2, world.worldChecks);
+    }
+
+    @Test
+    public void testColumnsInSameChunk() {
+        FakeWorld world = new FakeWorld();
+        world.setSolid(-1, 63, -1, true);
+        world.setSolid(-16, 10, -16, true);
+        world.setSolid(15, 20, 15, true);
+        HeightmapCache cache = new HeightmapCache(world);
+        assertEquals(6, cache.getHeight(new Point3D(-0.5, 70, -0.5)));
+        assertEquals(59, cache.getHeight(new Point3D(-15.5, 70, -15.5)));
+        assertEquals(49, cache.getHeight(new Point3D(15.5, 70, 15.5)));
+        assertEquals(70, cache.getHeight(new Point3D(0.5, 70, 0.5)));
+        assertEquals(6, cache.getHeight(new Point3D(-0.5, 70, -0.5)));
+        assertEquals(59, cache.getHeight(new Point3D(-15.5, 70, -15.5)));
+        assertEquals(4, world.worldChecks);
+    }
+
+    @Test
+    public void testInvalidate() {
+        FakeWorld world = new FakeWorld();
+        world.setSolid(0, 63, 0, true);
+        HeightmapCache cache = new HeightmapCache(world);
+        assertEquals(6, cache.getHeight(new Point3D(0.5, 70, 0.5)));
+        world.setSolid(0, 64, 0, true);
+        assertEquals(6, cache.getHeight(new Point3D(0.5, 70, 0.5)));
+        cache.invalidate(0, 0);
+        assertEquals(5, cache.getHeight(new Point3D(0.5, 70, 0.5)));
+        assertEquals(2, world.worldChecks);
+    }
+
+    @Test
+    public void testExpires() {
+        FakeWorld world = new FakeWorld();
+        world.setSolid(0, 63, 0, true);
+        HeightmapCache cache = new HeightmapCache(world);
+        assertEquals(6, cache.getHeight(new Point3D(0.5, 70, 0.5)));
+        world.setSolid(0, 64, 0, true);
+        for (int i = 0; i < 19; ++i) {
+            cache.tick();
+        }
+        assertEquals(6, cache.getHeight(new Point3D(0.5, 70, 0.5)));
+        cache.tick();
+        assertEquals(5, cache.getHeight(new Point3D(0.5, 70, 0.5)));
+        assertEquals(2, world.worldChecks);
+    }
+}
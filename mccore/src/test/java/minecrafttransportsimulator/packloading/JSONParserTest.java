@@ -0,0 +1,95 @@
+package minecrafttransportsimulator.packloading;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import minecrafttransportsimulator.jsondefs.JSONDecor;
+import minecrafttransportsimulator.jsondefs.JSONText;
+
+/**
+ * Tests for the {@link JSONParser} field validation and copying.
+ *
+ * @author agent
+ */
+public class JSONParserTest {
+    private static final String DECOR_JSON = "{"
+            + "\"general\": {\"name\": \"Test Decor\", \"materialLists\": [[\"minecraft:iron_ingot:0:1\"]]},"
+            + "\"definitions\": [{\"subName\": \"\", \"name\": \"Test Decor\", \"extraMaterialLists\": []}],"
+            + "\"decor\": {\"width\": 1.0, \"height\": 1.0, \"depth\": 1.0},"
+            + "\"rendering\": {\"modelType\": \"obj\", \"textObjects\": [%s]}"
+            + "}";
+    private static final String TEXT_JSON = "{\"fieldName\": \"Text\", \"defaultText\": \"\", \"pos\": [0.0, 1.0, 0.5], \"rot\": [0.0, 0.0, 0.0], \"scale\": 0.5, \"maxLength\": 8, \"color\": \"FF8800\"}";
+
+    @Test
+    public void testValidDefinitionPasses() throws IOException {
+        JSONDecor definition = parse(String.format(DECOR_JSON, TEXT_JSON));
+        assertDoesNotThrow(() -> JSONParser.validateFields(definition, "/", 1));
+    }
+
+    @Test
+    public void testMissingRequiredFieldThrows() throws IOException {
+        JSONDecor definition = parse(String.format(DECOR_JSON, TEXT_JSON));
+        definition.rendering.textObjects.get(0).pos = null;
+        NullPointerException exception = assertThrows(NullPointerException.class, () -> JSONParser.validateFields(definition, "/", 1));
+        assertTrue(exception.getMessage().contains("pos"), exception.getMessage());
+    }
+
+    @Test
+    public void testMissingDependentFieldThrows() throws IOException {
+        JSONDecor definition = parse(String.format(DECOR_JSON, TEXT_JSON.replace("{", "{\"variableFormat\": \"%%.1f\", ")));
+        NullPointerException exception = assertThrows(NullPointerException.class, () -> JSONParser.validateFields(definition, "/", 1));
+        assertTrue(exception.getMessage().contains("variableName"), exception.getMessage());
+    }
+
+    @Test
+    public void testNullCollectionEntryThrows() throws IOException {
+        JSONDecor definition = parse(String.format(DECOR_JSON, TEXT_JSON));
+        definition.rendering.textObjects.add(null);
+        assertThrows(NullPointerException.class, () -> JSONParser.validateFields(definition, "/", 1));
+    }
+
+    @Test
+    public void testDuplicateIsIndependentCopy() throws IOException {
+        JSONDecor definition = parse(String.format(DECOR_JSON, TEXT_JSON));
+        JSONDecor copy = JSONParser.duplicateJSON(definition);
+        JSONText text = definition.rendering.textObjects.get(0);
+        JSONText copyText = copy.rendering.textObjects.get(0);
+        assertNotSame(definition.rendering.textObjects, copy.rendering.textObjects);
+        assertNotSame(text.pos, copyText.pos);
+        assertEquals(text.pos, copyText.pos);
+        assertEquals(text.color, copyText.color);
+        assertEquals(definition.decor.width, copy.decor.width);
+
+        copyText.pos.y = 5;
+        copy.rendering.textObjects.clear();
+        assertEquals(1, definition.rendering.textObjects.size());
+        assertEquals(1.0, text.pos.y);
+    }
+
+    @Test
+    public void testDuplicateKeepsHSVColors() throws IOException {
+        JSONDecor definition = parse(String.format(DECOR_JSON, TEXT_JSON.replace("\"FF8800\"", "[200, 50, 75]")));
+        JSONText copyText = JSONParser.duplicateJSON(definition).rendering.textObjects.get(0);
+        JSONText text = definition.rendering.textObjects.get(0);
+        assertTrue(copyText.color.isHSV);
+        assertEquals(200, copyText.color.hsv[0]);
+        assertEquals(50, copyText.color.hsv[1]);
+        assertEquals(75, copyText.color.hsv[2]);
+        assertEquals(text.color.red, copyText.color.red);
+        assertEquals(text.color.green, copyText.color.green);
+        assertEquals(text.color.blue, copyText.color.blue);
+    }
+
+    private static JSONDecor parse(String json) throws IOException {
+        return JSONParser.parseStream(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), JSONDecor.class, "test", "test_decor");
+    }
+}
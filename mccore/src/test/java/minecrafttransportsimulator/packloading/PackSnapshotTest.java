@@ -0,0 +1,94 @@
+package minecrafttransportsimulator.packloading;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import minecrafttransportsimulator.baseclasses.RotationMatrix;
+import minecrafttransportsimulator.jsondefs.JSONDecor;
+import minecrafttransportsimulator.jsondefs.JSONText;
+
+/**
+ * Tests that definitions saved to the {@link PackSnapshot} parse back to the same definitions.
+ *
+ * @author agent
+ */
+public class PackSnapshotTest {
+    private static final String DECOR_JSON = "{"
+            + "\"general\": {\"name\": \"Test Decor\", \"stackSize\": 4},"
+            + "\"decor\": {\"width\": 1.5, \"height\": 2.0, \"depth\": 0.5},"
+            + "\"rendering\": {\"textObjects\": ["
+            + "{\"fieldName\": \"Hex\", \"pos\": [0.0, 1.0, 0.5], \"rot\": [10.0, 190.0, 0.0], \"scale\": 0.5, \"maxLength\": 8, \"color\": \"FF8800\"},"
+            + "{\"fieldName\": \"HSV\", \"pos\": [0.0, 1.0, -0.5], \"rot\": [0.0, 0.0, 0.0], \"scale\": 0.5, \"maxLength\": 8, \"color\": [200, 50, 75]}"
+            + "]}"
+            + "}";
+
+    @Test
+    public void testRoundTripMatchesColdParse() throws IOException {
+        JSONDecor cold = parse(DECOR_JSON.getBytes(StandardCharsets.UTF_8));
+        JSONDecor warm = parse(export(cold));
+        assertEquals(new String(export(cold), StandardCharsets.UTF_8), new String(export(warm), StandardCharsets.UTF_8));
+        for (int i = 0; i < cold.rendering.textObjects.size(); ++i) {
+            assertTextEquals(cold.rendering.textObjects.get(i), warm.rendering.textObjects.get(i));
+        }
+    }
+
+    @Test
+    public void testRoundTripKeepsDirectMatrixRotations() throws IOException {
+        //Legacy compats rotate matrices directly, which doesn't set their angles.
+        JSONDecor cold = parse(DECOR_JSON.getBytes(StandardCharsets.UTF_8));
+        cold.rendering.textObjects.get(0).rot = new RotationMatrix().rotateY(180);
+        cold.rendering.textObjects.get(1).rot.setToAxisAngle(0, 1, 0, 180);
+        JSONDecor warm = parse(export(cold));
+        for (int i = 0; i < cold.rendering.textObjects.size(); ++i) {
+            assertTextEquals(cold.rendering.textObjects.get(i), warm.rendering.textObjects.get(i));
+        }
+    }
+
+    @Test
+    public void testRoundTripKeepsHSVColors() throws IOException {
+        JSONDecor cold = parse(DECOR_JSON.getBytes(StandardCharsets.UTF_8));
+        JSONDecor warm = parse(export(cold));
+        JSONText hsvText = warm.rendering.textObjects.get(1);
+        assertTrue(hsvText.color.isHSV);
+        assertEquals(200, hsvText.color.hsv[0]);
+        assertEquals(50, hsvText.color.hsv[1]);
+        assertEquals(75, hsvText.color.hsv[2]);
+    }
+
+    private static JSONDecor parse(byte[] json) throws IOException {
+        return JSONParser.parseStream(new ByteArrayInputStream(json), JSONDecor.class, "test", "test_decor");
+    }
+
+    private static byte[] export(JSONDecor definition) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        JSONParser.exportSnapshotStream(definition, stream);
+        return stream.toByteArray();
+    }
+
+    private static void assertTextEquals(JSONText expected, JSONText actual) {
+        assertEquals(expected.fieldName, actual.fieldName);
+        assertEquals(expected.pos, actual.pos);
+        assertEquals(expected.color, actual.color);
+        assertMatrixEquals(expected.rot, actual.rot);
+    }
+
+    private static void assertMatrixEquals(RotationMatrix expected, RotationMatrix actual) {
+        final double epsilon = 1.0E-9;
+        assertEquals(expected.m00, actual.m00, epsilon);
+        assertEquals(expected.m01, actual.m01, epsilon);
+        assertEquals(expected.m02, actual.m02, epsilon);
+        assertEquals(expected.m10, actual.m10, epsilon);
+        assertEquals(expected.m11, actual.m11, epsilon);
+        assertEquals(expected.m12, actual.m12, epsilon);
+        assertEquals(expected.m20, actual.m20, epsilon);
+        assertEquals(expected.m21, actual.m21, epsilon);
+        assertEquals(expected.m22, actual.m22, epsilon);
+    }
+}
@@ -170,6 +170,28 @@ public class InterfaceClient implements IInterfaceClient {
     private static final Point3D mutablePosition = new Point3D();
     private static final RotationMatrix cameraProjectionOrientation = new RotationMatrix();
 
+    @Override
+    public void populateCameraView(Point3D position, Point3D lookVector) {
+        if (InterfaceEventsEntityRendering.adjustedCamera) {
+            position.set(InterfaceEventsEntityRendering.projectionCameraPosition);
+            RotationMatrix ori = getCameraProjectionOrientation(InterfaceEventsEntityRendering.projectionCameraOrientation);
+            lookVector.set(ori.m02, ori.m12, ori.m22);
+        } else {
+            //Use interpolated values, as that's what the frame is rendered with.
+            EntityPlayer player = Minecraft.getMinecraft().player;
+            float partialTicks = Minecraft.getMinecraft().getRenderPartialTicks();
+            Vec3d camOffset = ActiveRenderInfo.getCameraPosition();
+            position.set(player.lastTickPosX + (player.posX - player.lastTickPosX) * partialTicks + camOffset.x, player.lastTickPosY + (player.posY - player.lastTickPosY) * partialTicks + camOffset.y, player.lastTickPosZ + (player.posZ - player.lastTickPosZ) * partialTicks + camOffset.z);
+
+            float yaw = (float) Math.toRadians(player.prevRotationYaw + (player.rotationYaw - player.prevRotationYaw) * partialTicks);
+            float pitch = (float) Math.toRadians(player.prevRotationPitch + (player.rotationPitch - player.prevRotationPitch) * partialTicks);
+            lookVector.set(-Math.sin(yaw) * Math.cos(pitch), -Math.sin(pitch), Math.cos(yaw) * Math.cos(pitch));
+            if (actualCameraMode == CameraMode.THIRD_PERSON_INVERTED) {
+                lookVector.invert();
+            }
+        }
+    }
+
     @Override
     public Point3D projectToScreen(Point3D worldPos, int screenWidth, int screenHeight) {
         double camX, camY, camZ;
@@ -99,6 +99,9 @@ public class InterfaceEventsModelLoader {
                             GlStateManager.alphaFunc(GL11.GL_GREATER, 0.0F);
                         }
 
+                        //Cull entities that aren't in view so we don't render them.
+                        world.cullRenderableEntities();
+
                         //Start master profiling section.
                         for (AEntityC_Renderable entity : allEntities) {
                             //Rendering system expects coordinates to be at center of entity when called, translate us so that's the case.
@@ -46,9 +46,9 @@ public final class InterfaceLoader {
 
         //Init interfaces and send to the main game system.
         if (event.getSide().isClient()) {
-            new InterfaceManager(MODID, gameDirectory, new InterfaceCore(), new InterfacePacket(), new InterfaceClient(), new InterfaceInput(), new InterfaceSound(), new InterfaceRender());
+            new InterfaceManager(MODID, MODVER, gameDirectory, new InterfaceCore(), new InterfacePacket(), new InterfaceClient(), new InterfaceInput(), new InterfaceSound(), new InterfaceRender());
         } else {
-            new InterfaceManager(MODID, gameDirectory, new InterfaceCore(), new InterfacePacket(), null, null, null, null);
+            new InterfaceManager(MODID, MODVER, gameDirectory, new InterfaceCore(), new InterfacePacket(), null, null, null, null);
         }
 	    
         InterfaceManager.coreInterface.logError("Welcome to MTS VERSION: " + MODVER);
@@ -6,12 +6,15 @@ import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 
 import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IInterfacePacket;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.packets.components.APacketBase;
+import minecrafttransportsimulator.systems.ConfigSystem;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.network.PacketBuffer;
 import net.minecraftforge.fml.common.FMLCommonHandler;
@@ -62,6 +65,19 @@ class InterfacePacket implements IInterfacePacket {
         network.sendToAll(new WrapperPacket(packet));
     }
 
+    @Override
+    public void sendToTrackingClients(APacketBase packet, AEntityB_Existing entity) {
+        if (ConfigSystem.settings.general.packetTrackingRadius.value > 0 && !(entity instanceof ATileEntityBase)) {
+            for (IWrapperPlayer player : entity.world.getPlayers()) {
+                if (entity.isInTrackingRange(player)) {
+                    sendToPlayer(packet, player);
+                }
+            }
+        } else {
+            sendToAllClients(packet);
+        }
+    }
+
     @Override
     public void sendToPlayer(APacketBase packet, IWrapperPlayer player) {
         network.sendTo(new WrapperPacket(packet), (EntityPlayerMP) ((WrapperPlayer) player).player);
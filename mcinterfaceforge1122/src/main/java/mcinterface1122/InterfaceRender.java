@@ -132,7 +132,7 @@ public class InterfaceRender implements IInterfaceRender {
             int cachedVertexIndex = cachedIndexMap.computeIfAbsent(data.vertexObject, k -> {
                 int newIndex = GL11.glGenLists(1);
                 GL11.glNewList(newIndex, GL11.GL_COMPILE);
-                renderVertices(data.vertexObject.vertices);
+                renderVertices(data);
                 GL11.glEndList();
                 return newIndex;
             });
@@ -140,7 +140,7 @@ public class InterfaceRender implements IInterfaceRender {
         } else if (data.vertexObject.isLines) {
             renderLines(data.vertexObject.vertices);
         } else {
-            renderVertices(data.vertexObject.vertices);
+            renderVertices(data);
         }
         GL11.glPopMatrix();
 
@@ -171,10 +171,9 @@ public class InterfaceRender implements IInterfaceRender {
     }
 
     @Override
-    public boolean bindURLTexture(String textureURL, InputStream stream) {
-        if (stream != null) {
+    public boolean bindURLTexture(String textureURL, BufferedImage image) {
+        if (image != null) {
             try {
-                BufferedImage image = TextureUtil.readBufferedImage(stream);
                 int glTexturePointer = TextureUtil.glGenTextures();
                 TextureUtil.uploadTextureImageAllocate(glTexturePointer, image, false, false);
                 onlineTextures.put(textureURL, glTexturePointer);
@@ -213,15 +212,33 @@ public class InterfaceRender implements IInterfaceRender {
 
     /**
      * Renders a set of raw vertices without any caching.
+     * If the vertices have their own colors and light values, those are set for each vertex.
      */
-    private static void renderVertices(FloatBuffer vertices) {
+    private static void renderVertices(RenderableData data) {
+        RenderableVertices vertexObject = data.vertexObject;
+        FloatBuffer vertices = vertexObject.vertices;
+        boolean perVertexColor = vertexObject.vertexColors != null;
+        boolean perVertexLight = vertexObject.vertexLightValues != null && !data.lightingMode.disableWorldLighting;
         GL11.glBegin(GL11.GL_TRIANGLES);
-        while (vertices.hasRemaining()) {
+        for (int vertexIndex = 0; vertexIndex < vertexObject.getVertexCount(); ++vertexIndex) {
+            if (perVertexColor) {
+                GL11.glColor4f(data.getRed(vertexIndex), data.getGreen(vertexIndex), data.getBlue(vertexIndex), data.getAlpha(vertexIndex));
+            }
+            if (perVertexLight) {
+                int lightValue = data.getLightValue(vertexIndex);
+                OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, lightValue % 65536, lightValue / 65536);
+            }
+            //Seek first as the vertices may be indexed.
+            vertexObject.seekVertex(vertexIndex);
             GL11.glNormal3f(vertices.get(), vertices.get(), vertices.get());
             GL11.glTexCoord2f(vertices.get(), vertices.get());
             GL11.glVertex3f(vertices.get(), vertices.get(), vertices.get());
         }
         GL11.glEnd();
+        if (perVertexColor) {
+            //We set the color without the state manager, so make it re-set the color next time it's used.
+            GlStateManager.resetColor();
+        }
         //Rewind buffer for next read.
         vertices.rewind();
     }
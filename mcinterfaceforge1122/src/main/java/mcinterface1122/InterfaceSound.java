@@ -1,15 +1,12 @@
 package mcinterface1122;
 
-import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import org.lwjgl.BufferUtils;
@@ -22,9 +19,9 @@ import minecrafttransportsimulator.mcinterface.IInterfaceSound;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.sound.IStreamDecoder;
-import minecrafttransportsimulator.sound.OGGDecoder;
 import minecrafttransportsimulator.sound.RadioStation;
 import minecrafttransportsimulator.sound.SoundInstance;
+import minecrafttransportsimulator.sound.SoundLoader;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.LanguageSystem;
 import net.minecraftforge.event.world.WorldEvent;
@@ -47,12 +44,6 @@ public class InterfaceSound implements IInterfaceSound {
      **/
     private static boolean isSystemPaused;
 
-    /**
-     * Map of String-based file-names to Integer pointers to buffer locations.  Used for loading sounds into
-     * memory to prevent the need to load them every time they are played.
-     **/
-    private static final Map<String, Integer> dataSourceBuffers = new HashMap<>();
-
     /**
      * List of sounds currently playing.  Queued for updates every tick.
      **/
@@ -127,11 +118,28 @@ public class InterfaceSound implements IInterfaceSound {
         //If the client world is null, or we don't have a player we need to stop all sounds.
         if (InterfaceManager.clientInterface.getClientWorld() == null || player == null) {
             queuedSounds.clear();
+            SoundLoader.clearQueuedSounds();
             for (SoundInstance sound : playingSounds) {
                 sound.stopSound = true;
             }
         }
 
+        //Upload any sounds that finished loading, and start the sounds that were waiting on them.
+        SoundLoader.LoadedSound loadedSound;
+        while ((loadedSound = SoundLoader.pollLoadedSound()) != null) {
+            if (loadedSound.data != null) {
+                IntBuffer dataBufferPointers = BufferUtils.createIntBuffer(1);
+                AL10.alGenBuffers(dataBufferPointers);
+                AL10.alBufferData(dataBufferPointers.get(0), AL10.AL_FORMAT_MONO16, loadedSound.data, loadedSound.sampleRate);
+                SoundLoader.addBuffer(loadedSound, dataBufferPointers.get(0));
+                for (SoundInstance sound : loadedSound.waitingSounds) {
+                    if (!sound.stopSound && sound.entity.isValid) {
+                        InterfaceManager.soundInterface.playQuickSound(sound);
+                    }
+                }
+            }
+        }
+
         //Start playing all queued sounds.
         if (!queuedSounds.isEmpty()) {
             for (SoundInstance sound : queuedSounds) {
@@ -141,6 +149,14 @@ public class InterfaceSound implements IInterfaceSound {
             queuedSounds.clear();
         }
 
+        //Unload sounds that haven't played in a while if we are using too much memory.
+        //All sounds that are using buffers are in the playing list at this point.
+        if (SoundLoader.isOverBudget()) {
+            Set<String> soundsInUse = new HashSet<>();
+            playingSounds.forEach(sound -> soundsInUse.add(sound.soundPlayingName));
+            SoundLoader.evictBuffers(soundsInUse);
+        }
+
         //Update playing sounds.
         boolean soundSystemReset = false;
         Iterator<SoundInstance> iterator = playingSounds.iterator();
@@ -217,7 +233,7 @@ public class InterfaceSound implements IInterfaceSound {
         //If the sound system was reset, blow out all saved data points.
         if (soundSystemReset) {
             InterfaceManager.coreInterface.logError("Had an invalid sound name.  Was the sound system reset?  Clearing all sounds, playing or not!");
-            dataSourceBuffers.clear();
+            SoundLoader.clearBuffers();
             for (SoundInstance sound : playingSounds) {
                 sound.entity.sounds.remove(sound);
             }
@@ -230,14 +246,13 @@ public class InterfaceSound implements IInterfaceSound {
     public void playQuickSound(SoundInstance sound) {
         if (AL.isCreated() && sourceGetFailures < 10) {
             //First get the IntBuffer pointer to where this sound data is stored.
-            Integer dataBufferPointer = loadOGGJarSound(sound.soundPlayingName);
+            Integer dataBufferPointer = loadOGGJarSound(sound);
             if (dataBufferPointer != null) {
                 //Set the sound's source buffer index.
                 IntBuffer sourceBuffer = BufferUtils.createIntBuffer(1);
                 AL10.alGetError();
                 AL10.alGenSources(sourceBuffer);
                 if (AL10.alGetError() != AL10.AL_NO_ERROR) {
-                    AL10.alDeleteBuffers(dataBufferPointer);
                     if (++sourceGetFailures == 10) {
                         if (!postedSoundWarning) {
                             InterfaceManager.clientInterface.getClientPlayer().displayChatMessage(LanguageSystem.SYSTEM_SOUNDSLOT);
@@ -373,45 +388,16 @@ public class InterfaceSound implements IInterfaceSound {
     }
 
     /**
-     * Loads an OGG file in its entirety using the {@link InterfaceOGGDecoder}.
-     * The sound is then stored in a dataBuffer keyed by soundName located in {@link #dataSourceBuffers}.
-     * The pointer to the dataBuffer is returned for convenience as it allows for transparent sound caching.
-     * If a sound with the same name is passed-in at a later time, it is assumed to be the same and rather
-     * than re-parse the sound the system will simply return the same pointer index to be bound.
+     * Returns the pointer to the dataBuffer for the passed-in sound, as stored in the {@link SoundLoader}.
+     * If the sound hasn't been loaded yet, it is queued in the {@link SoundLoader} and null is returned.
+     * The sound will then be started in {@link #update()} once its data has been loaded and uploaded.
      */
-    private static Integer loadOGGJarSound(String soundName) {
-        if (dataSourceBuffers.containsKey(soundName)) {
-            //Already parsed the data.  Return the buffer.
-            return dataSourceBuffers.get(soundName);
-        } else {
-            //Need to parse the data.  Do so now.
-            String soundDomain = soundName.substring(0, soundName.indexOf(':'));
-            String soundPath = soundName.substring(soundDomain.length() + 1);
-            InputStream soundStream = InterfaceManager.coreInterface.getPackResource("/assets/" + soundDomain + "/sounds/" + soundPath + ".ogg");
-            if (soundStream != null) {
-                //Create decoder and decode whole file.
-                OGGDecoder decoder = new OGGDecoder(soundStream);
-                ByteBuffer decodedData = ByteBuffer.allocateDirect(0);
-                ByteBuffer blockRead;
-                while ((blockRead = decoder.readBlock()) != null) {
-                    decodedData = ByteBuffer.allocateDirect(decodedData.capacity() + blockRead.limit()).put(decodedData).put(blockRead);
-                    decodedData.rewind();
-                }
-
-                //Generate an IntBuffer to store a pointer to the data buffer.
-                IntBuffer dataBufferPointers = BufferUtils.createIntBuffer(1);
-                AL10.alGenBuffers(dataBufferPointers);
-
-                //Bind the decoder output buffer to the data buffer pointer.
-                AL10.alBufferData(dataBufferPointers.get(0), AL10.AL_FORMAT_MONO16, decodedData, decoder.getSampleRate());
-
-                //Done parsing.  Map the dataBuffer(s) to the soundName and return the index.
-                dataSourceBuffers.put(soundName, dataBufferPointers.get(0));
-                return dataSourceBuffers.get(soundName);
-            } else {
-                return null;
-            }
+    private static Integer loadOGGJarSound(SoundInstance sound) {
+        Integer dataBufferPointer = SoundLoader.getBuffer(sound.soundPlayingName);
+        if (dataBufferPointer == null) {
+            SoundLoader.queueSound(sound);
         }
+        return dataBufferPointer;
     }
 
     /**
@@ -438,6 +424,7 @@ public class InterfaceSound implements IInterfaceSound {
     public static void onIVWorldUnload(WorldEvent.Unload event) {
         if (event.getWorld().isRemote) {
             queuedSounds.removeIf(soundInstance -> event.getWorld() == ((WrapperWorld) soundInstance.entity.world).world);
+            SoundLoader.clearQueuedSounds();
             for (SoundInstance sound : playingSounds) {
                 if (event.getWorld() == ((WrapperWorld) sound.entity.world).world) {
                     if (sound.radio != null) {
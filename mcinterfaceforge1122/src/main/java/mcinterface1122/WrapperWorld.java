@@ -4,16 +4,16 @@ import java.io.File;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 
+import minecrafttransportsimulator.baseclasses.BlockCollisionCache;
 import minecrafttransportsimulator.baseclasses.BlockHitResult;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.LongHashSet;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.blocks.components.ABlockBase;
 import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
@@ -79,6 +79,7 @@ import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
 import net.minecraftforge.common.IPlantable;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
@@ -99,8 +100,10 @@ public class WrapperWorld extends AWrapperWorld {
     private static final Map<World, WrapperWorld> worldWrappers = new HashMap<>();
     private final Map<UUID, BuilderEntityExisting> playerServerGunBuilders = new HashMap<>();
     private final Map<UUID, Integer> ticksSincePlayerJoin = new HashMap<>();
+    private final BlockCollisionCache collisionCache = new BlockCollisionCache();
+    private final LongHashSet knownAirBlocks = new LongHashSet();
     private final List<AxisAlignedBB> mutableCollidingAABBs = new ArrayList<>();
-    private final Set<BlockPos> knownAirBlocks = new HashSet<>();
+    private final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
 
     protected final World world;
     private final IWrapperNBT savedData;
@@ -184,6 +187,11 @@ public class WrapperWorld extends AWrapperWorld {
         world.profiler.endSection();
     }
 
+    @Override
+    public void incrementProfilingCounter(String name, int count) {
+        //No counters in this version's profiler.
+    }
+
     @Override
     public IWrapperNBT getData(String name) {
         if (name.isEmpty()) {
@@ -240,6 +248,15 @@ public class WrapperWorld extends AWrapperWorld {
         return players;
     }
 
+    @Override
+    public List<IWrapperPlayer> getPlayers() {
+        List<IWrapperPlayer> players = new ArrayList<>();
+        for (EntityPlayer player : world.playerEntities) {
+            players.add(WrapperPlayer.getWrapperFor(player));
+        }
+        return players;
+    }
+
     @Override
     public List<IWrapperEntity> getEntitiesHostile(IWrapperEntity lookingEntity, double radius) {
         List<IWrapperEntity> entities = new ArrayList<>();
@@ -514,7 +531,7 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public double getHeight(Point3D position) {
+    protected double getUncachedHeight(Point3D position) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
         //Need to go down till we find a block.
         boolean bottomSlab = false;
@@ -538,89 +555,28 @@ public class WrapperWorld extends AWrapperWorld {
     public void updateBoundingBoxCollisions(BoundingBox box, Point3D collisionMotion, boolean ignoreIfGreater) {
         AxisAlignedBB mcBox = WrapperWorld.convert(box);
         box.collidingBlockPositions.clear();
-        mutableCollidingAABBs.clear();
+        collisionCache.startCheck(mcBox.minX, mcBox.minY, mcBox.minZ, mcBox.maxX, mcBox.maxY, mcBox.maxZ);
         for (int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i) {
             for (int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j) {
                 for (int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k) {
-                    BlockPos pos = new BlockPos(i, j, k);
-                    if (world.isBlockLoaded(pos)) {
-                        IBlockState state = world.getBlockState(pos);
-                        if (state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, pos) != null && state.getMaterial() != Material.LEAVES) {
-                            int oldCollidingBlockCount = mutableCollidingAABBs.size();
-                            state.addCollisionBoxToList(world, pos, mcBox, mutableCollidingAABBs, null, false);
-                            if (mutableCollidingAABBs.size() > oldCollidingBlockCount) {
+                    mutablePos.setPos(i, j, k);
+                    if (world.isBlockLoaded(mutablePos)) {
+                        IBlockState state = world.getBlockState(mutablePos);
+                        if (state.getMaterial() != Material.AIR) {
+                            int index = getCollisionIndex(i, j, k, state);
+                            if (!collisionCache.isLeaves(index) && collisionCache.addIntersectingBoxes(index)) {
+                                box.collidingBlockPositions.add(new Point3D(i, j, k));
+                            }
+                            if (box.collidesWithLiquids && collisionCache.isLiquid(index)) {
+                                collisionCache.addCollidingFullBlock(i, j, k);
                                 box.collidingBlockPositions.add(new Point3D(i, j, k));
                             }
-                        }
-                        if (box.collidesWithLiquids && state.getMaterial().isLiquid()) {
-                            mutableCollidingAABBs.add(state.getBoundingBox(world, pos).offset(pos));
-                            box.collidingBlockPositions.add(new Point3D(i, j, k));
                         }
                     }
                 }
             }
         }
-
-        //If we are in the depth bounds for this collision, set it as the collision depth.
-        box.currentCollisionDepth.set(0D, 0D, 0D);
-        double boxCollisionDepth;
-        for (AxisAlignedBB colBox : mutableCollidingAABBs) {
-            if (collisionMotion.x > 0) {
-                boxCollisionDepth = mcBox.maxX - colBox.minX;
-                if (box.currentCollisionDepth.x < boxCollisionDepth) {
-                    box.currentCollisionDepth.x = boxCollisionDepth;
-                }
-            } else if (collisionMotion.x < 0) {
-                boxCollisionDepth = -(colBox.maxX - mcBox.minX);
-                if (box.currentCollisionDepth.x > boxCollisionDepth) {
-                    box.currentCollisionDepth.x = boxCollisionDepth;
-                }
-            }
-            if (collisionMotion.y > 0) {
-                boxCollisionDepth = mcBox.maxY - colBox.minY;
-                if (box.currentCollisionDepth.y < boxCollisionDepth) {
-                    box.currentCollisionDepth.y = boxCollisionDepth;
-                }
-            } else if (collisionMotion.y < 0) {
-                boxCollisionDepth = -(colBox.maxY - mcBox.minY);
-                if (box.currentCollisionDepth.y > boxCollisionDepth) {
-                    box.currentCollisionDepth.y = boxCollisionDepth;
-                }
-            }
-            if (collisionMotion.z > 0) {
-                boxCollisionDepth = mcBox.maxZ - colBox.minZ;
-                if (box.currentCollisionDepth.z < boxCollisionDepth) {
-                    box.currentCollisionDepth.z = boxCollisionDepth;
-                }
-            } else if (collisionMotion.z < 0) {
-                boxCollisionDepth = -(colBox.maxZ - mcBox.minZ);
-                if (box.currentCollisionDepth.z > boxCollisionDepth) {
-                    box.currentCollisionDepth.z = boxCollisionDepth;
-                }
-            }
-        }
-
-        if (ignoreIfGreater) {
-            if (collisionMotion.x > 0 && box.currentCollisionDepth.x > collisionMotion.x) {
-                box.currentCollisionDepth.x = collisionMotion.x;
-            } else if (collisionMotion.x < 0 && box.currentCollisionDepth.x < collisionMotion.x) {
-                box.currentCollisionDepth.x = collisionMotion.x;
-            }
-            if (collisionMotion.y > 0 && box.currentCollisionDepth.y > collisionMotion.y) {
-                box.currentCollisionDepth.y = collisionMotion.y;
-            } else if (collisionMotion.y < 0 && box.currentCollisionDepth.y < collisionMotion.y) {
-                box.currentCollisionDepth.y = collisionMotion.y;
-            }
-            if (collisionMotion.z > 0 && box.currentCollisionDepth.z > collisionMotion.z) {
-                box.currentCollisionDepth.z = collisionMotion.z;
-            } else if (collisionMotion.z < 0 && box.currentCollisionDepth.z < collisionMotion.z) {
-                box.currentCollisionDepth.z = collisionMotion.z;
-            }
-        }
-
-        if (box.currentCollisionDepth.isZero()) {
-            box.collidingBlockPositions.clear();
-        }
+        collisionCache.updateCollisionDepth(box, collisionMotion, ignoreIfGreater);
     }
 
     @Override
@@ -628,34 +584,37 @@ public class WrapperWorld extends AWrapperWorld {
         if (clearCache) {
             knownAirBlocks.clear();
         }
-        mutableCollidingAABBs.clear();
         AxisAlignedBB mcBox = WrapperWorld.convertWithOffset(box, offset.x, offset.y, offset.z);
+        collisionCache.startCheck(mcBox.minX, mcBox.minY, mcBox.minZ, mcBox.maxX, mcBox.maxY, mcBox.maxZ);
         for (int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i) {
             for (int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j) {
                 for (int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k) {
-                    BlockPos pos = new BlockPos(i, j, k);
-                    if (!knownAirBlocks.contains(pos)) {
-                        if (world.isBlockLoaded(pos)) {
-                            IBlockState state = world.getBlockState(pos);
-                            if (state.getMaterial() != Material.LEAVES) {
-                                if (state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, pos) != null) {
-                                    int oldCollidingBlockCount = mutableCollidingAABBs.size();
-                                    state.addCollisionBoxToList(world, pos, mcBox, mutableCollidingAABBs, null, false);
-                                    if (mutableCollidingAABBs.size() > oldCollidingBlockCount) {
-                                        return true;
-                                    }
+                    long key = BlockCollisionCache.getKey(i, j, k);
+                    if (!knownAirBlocks.contains(key)) {
+                        mutablePos.setPos(i, j, k);
+                        if (world.isBlockLoaded(mutablePos)) {
+                            IBlockState state = world.getBlockState(mutablePos);
+                            if (state.getMaterial() == Material.AIR) {
+                                //Air blocks are never cached, so just mark them here.
+                                knownAirBlocks.add(key);
+                                continue;
+                            }
+                            int index = getCollisionIndex(i, j, k, state);
+                            if (!collisionCache.isLeaves(index)) {
+                                if (collisionCache.intersects(index)) {
+                                    return true;
                                 } else {
-                                    knownAirBlocks.add(pos);
+                                    knownAirBlocks.add(key);
                                 }
-                                if (box.collidesWithLiquids && state.getMaterial().isLiquid()) {
-                                    if (mcBox.intersects(state.getBoundingBox(world, pos).offset(pos))) {
+                                if (box.collidesWithLiquids && collisionCache.isLiquid(index)) {
+                                    if (collisionCache.intersectsFullBlock(i, j, k)) {
                                         return true;
                                     }
                                 }
                             } else if (breakLeaves) {
-                                world.destroyBlock(pos, false);
+                                world.destroyBlock(mutablePos.toImmutable(), false);
                             } else {
-                                knownAirBlocks.add(pos);
+                                knownAirBlocks.add(key);
                             }
                         }
                     }
@@ -665,6 +624,44 @@ public class WrapperWorld extends AWrapperWorld {
         return false;
     }
 
+    /**
+     * Returns the index of the block in the {@link #collisionCache}, caching its collision boxes if they aren't
+     * already cached.  {@link #mutablePos} must be set to the block's position before calling this.
+     * Blocks are keyed on their actual state, since things like fence connections aren't in the stored state.
+     * Blocks with tile entities can change shape without changing state, so they are never cached.
+     */
+    private int getCollisionIndex(int x, int y, int z, IBlockState state) {
+        boolean cacheBlock = !state.getBlock().hasTileEntity(state);
+        state = state.getActualState(world, mutablePos);
+        int index = cacheBlock ? collisionCache.getIndex(x, y, z, state) : -1;
+        if (index == -1) {
+            double[] blockBoxes;
+            if (state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, mutablePos) != null) {
+                //Get all boxes the block could have, including ones that stick out of the block like fences.
+                mutableCollidingAABBs.clear();
+                state.addCollisionBoxToList(world, mutablePos, new AxisAlignedBB(mutablePos).grow(1), mutableCollidingAABBs, null, false);
+                blockBoxes = new double[mutableCollidingAABBs.size() * 6];
+                for (int i = 0; i < mutableCollidingAABBs.size(); ++i) {
+                    AxisAlignedBB shapeBox = mutableCollidingAABBs.get(i);
+                    blockBoxes[i * 6] = shapeBox.minX;
+                    blockBoxes[i * 6 + 1] = shapeBox.minY;
+                    blockBoxes[i * 6 + 2] = shapeBox.minZ;
+                    blockBoxes[i * 6 + 3] = shapeBox.maxX;
+                    blockBoxes[i * 6 + 4] = shapeBox.maxY;
+                    blockBoxes[i * 6 + 5] = shapeBox.maxZ;
+                }
+            } else {
+                blockBoxes = BlockCollisionCache.NO_BOXES;
+            }
+            if (cacheBlock) {
+                index = collisionCache.add(x, y, z, state, blockBoxes, state.getMaterial() == Material.LEAVES, state.getMaterial().isLiquid());
+            } else {
+                index = collisionCache.addUncached(blockBoxes, state.getMaterial() == Material.LEAVES, state.getMaterial().isLiquid());
+            }
+        }
+        return index;
+    }
+
     @Override
     public int getRedstonePower(Point3D position) {
         return world.getRedstonePowerFromNeighbors(new BlockPos(position.x, position.y, position.z));
@@ -1094,6 +1091,20 @@ public class WrapperWorld extends AWrapperWorld {
         }
     }
 
+    /**
+     * Invalidate cached collision boxes and heights when blocks change.  Neighbors are included since
+     * some blocks, like fences, change their collision based on the blocks next to them.
+     */
+    @SubscribeEvent
+    public void onIVBlockChange(BlockEvent.NeighborNotifyEvent event) {
+        //Need to check if it's our world, because Forge is stupid like that.
+        if (event.getWorld() == world) {
+            BlockPos pos = event.getPos();
+            collisionCache.invalidateAround(pos.getX(), pos.getY(), pos.getZ());
+            onBlockChanged(pos.getX(), pos.getY(), pos.getZ());
+        }
+    }
+
     /**
      * Remove all entities from our maps if we unload the world.  This will cause duplicates if we don't.
      * Also remove this wrapper from the created lists, as it's invalid.
@@ -26,6 +26,7 @@ import minecrafttransportsimulator.systems.LanguageSystem;
 import net.minecraft.block.SoundType;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screen.ChatScreen;
+import net.minecraft.client.renderer.ActiveRenderInfo;
 import net.minecraft.client.settings.PointOfView;
 import net.minecraft.client.util.ITooltipFlag;
 import net.minecraft.fluid.Fluid;
@@ -34,6 +35,7 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.vector.Vector3d;
+import net.minecraft.util.math.vector.Vector3f;
 import net.minecraft.util.text.Color;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.Style;
@@ -186,6 +188,21 @@ public class InterfaceClient implements IInterfaceClient {
     private static final RotationMatrix cameraProjectionOrientation = new RotationMatrix();
     private static final FloatBuffer projectionMatrixBuffer = FloatBuffer.allocate(16);
 
+    @Override
+    public void populateCameraView(Point3D position, Point3D lookVector) {
+        if (InterfaceEventsEntityRendering.adjustedCamera) {
+            position.set(InterfaceEventsEntityRendering.cameraAdjustedPosition);
+            RotationMatrix ori = getCameraProjectionOrientation(InterfaceEventsEntityRendering.cameraAdjustedOrientation);
+            lookVector.set(ori.m02, ori.m12, ori.m22);
+        } else {
+            ActiveRenderInfo camera = Minecraft.getInstance().gameRenderer.getMainCamera();
+            Vector3d camPos = camera.getPosition();
+            position.set(camPos.x, camPos.y, camPos.z);
+            Vector3f look = camera.getLookVector();
+            lookVector.set(look.x(), look.y(), look.z());
+        }
+    }
+
     @Override
     public Point3D projectToScreen(Point3D worldPos, int screenWidth, int screenHeight) {
         double camX, camY, camZ;
@@ -203,11 +220,11 @@ public class InterfaceClient implements IInterfaceClient {
             // MTS (1,0,0) rotated = camera LEFT (not right); negate to get camera right.
             rgtX = -ori.m00; rgtY = -ori.m10; rgtZ = -ori.m20;
         } else {
-            net.minecraft.client.renderer.ActiveRenderInfo camera = Minecraft.getInstance().gameRenderer.getMainCamera();
-            net.minecraft.util.math.vector.Vector3d camPos = camera.getPosition();
+            ActiveRenderInfo camera = Minecraft.getInstance().gameRenderer.getMainCamera();
+            Vector3d camPos = camera.getPosition();
             camX = camPos.x; camY = camPos.y; camZ = camPos.z;
-            net.minecraft.util.math.vector.Vector3f look = camera.getLookVector();
-            net.minecraft.util.math.vector.Vector3f up = camera.getUpVector();
+            Vector3f look = camera.getLookVector();
+            Vector3f up = camera.getUpVector();
             fwdX = look.x(); fwdY = look.y(); fwdZ = look.z();
             upX  = up.x();   upY  = up.y();   upZ  = up.z();
             // getLeftVector() does not exist in 1.16.5; compute right = up × look manually.
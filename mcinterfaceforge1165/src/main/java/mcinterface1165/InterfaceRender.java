@@ -5,6 +5,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -32,6 +33,7 @@ import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.rendering.GIFParser.GIFImageFrame;
 import minecrafttransportsimulator.rendering.GIFParser.ParsedGIF;
 import minecrafttransportsimulator.rendering.RenderableData;
+import minecrafttransportsimulator.rendering.RenderableData.BufferKey;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import net.minecraft.block.BlockState;
 import net.minecraft.client.Minecraft;
@@ -77,6 +79,7 @@ public class InterfaceRender implements IInterfaceRender {
 
     private static final Map<String, RenderType> renderTypes = new HashMap<>();
     private static final Map<RenderableData, BufferData> buffers = new HashMap<>();
+    private static final Map<BufferKey, BufferData> sharedBuffers = new HashMap<>();
     private static final Map<RenderType, List<RenderData>> queuedRenders = new HashMap<>();
     private static final ConcurrentLinkedQueue<BufferData> removedRenders = new ConcurrentLinkedQueue<>();
 
@@ -148,18 +151,39 @@ public class InterfaceRender implements IInterfaceRender {
             if (data.vertexObject.cacheVertices && !renderingGUI && ConfigSystem.client.renderingSettings.renderingMode.value != 2) {
             	//Get the render type and data buffer for this entity.
                 renderType = renderTypes.computeIfAbsent(typeID, k -> CustomRenderType.create("mts_entity", DefaultVertexFormats.NEW_ENTITY, 7, 2097152, true, data.isTranslucent, CustomRenderType.createForObject(data).createCompositeState(false)));
-                BufferData buffer = buffers.computeIfAbsent(data, k -> new BufferData(renderType, data));
-
-                //Reset buffer if it's not ready.
-                if (changedSinceLastRender) {
-                    buffer.builder.clear();
-                    buffer.isReady = false;
+                //Get the buffer for this data.  Data with the same contents share a buffer, so they only need to be built and bound once.
+                BufferData buffer = buffers.get(data);
+                if (buffer == null || changedSinceLastRender) {
+                    BufferKey bufferKey = data.getBufferKey();
+                    if (buffer == null || !buffer.key.equals(bufferKey)) {
+                        if (buffer != null && buffer.users == 1 && !sharedBuffers.containsKey(bufferKey)) {
+                            //Nothing else uses our buffer or has our new contents, so re-build it in place.
+                            //This keeps things like color and light changes from making a new buffer each time.
+                            sharedBuffers.remove(buffer.key);
+                            buffer.key = bufferKey;
+                            sharedBuffers.put(bufferKey, buffer);
+                            buffer.builder.clear();
+                            buffer.isReady = false;
+                        } else {
+                            if (buffer != null) {
+                                releaseBuffer(buffer);
+                            }
+                            buffer = sharedBuffers.computeIfAbsent(bufferKey, k -> new BufferData(renderType, data, k));
+                            ++buffer.users;
+                            buffers.put(data, buffer);
+                        }
+                    } else {
+                        //Same contents, but the vertices themselves may have changed, so re-build the buffer.
+                        buffer.builder.clear();
+                        buffer.isReady = false;
+                    }
                 }
                 if (!buffer.isReady) {
                     int index = 0;
                     buffer.builder.begin(GL11.GL_QUADS, renderType.format());
-                    while (data.vertexObject.vertices.hasRemaining()) {
-                        //Need to parse these out first since our order differs.
+                    for (int vertexIndex = 0; vertexIndex < data.vertexObject.getVertexCount(); ++vertexIndex) {
+                        //Need to parse these out first since our order differs.  Seek first as the vertices may be indexed.
+                        data.vertexObject.seekVertex(vertexIndex);
                         float normalX = data.vertexObject.vertices.get();
                         float normalY = data.vertexObject.vertices.get();
                         float normalZ = data.vertexObject.vertices.get();
@@ -171,7 +195,7 @@ public class InterfaceRender implements IInterfaceRender {
 
                         //Add the vertex format bits.
                         do {
-                            buffer.builder.vertex(posX, posY, posZ, data.color.red, data.color.green, data.color.blue, data.alpha, texU, texV, OverlayTexture.NO_OVERLAY, data.worldLightValue, normalX, normalY, normalZ);
+                            buffer.builder.vertex(posX, posY, posZ, data.getRed(vertexIndex), data.getGreen(vertexIndex), data.getBlue(vertexIndex), data.getAlpha(vertexIndex), texU, texV, OverlayTexture.NO_OVERLAY, data.getLightValue(vertexIndex), normalX, normalY, normalZ);
                         } while (++index == 3);
                         if (index == 4) {
                             index = 0;
@@ -189,15 +213,16 @@ public class InterfaceRender implements IInterfaceRender {
                     renders = new ArrayList<>();
                     queuedRenders.put(renderType, renders);
                 }
-                renders.add(new RenderData(stackEntry.pose(), buffer.buffer));
+                renders.add(new RenderData(stackEntry.pose(), buffer));
             } else {
                 renderType = renderTypes.computeIfAbsent(typeID, k -> CustomRenderType.create("mts_entity", DefaultVertexFormats.NEW_ENTITY, 7, 256, true, data.isTranslucent, CustomRenderType.createForObject(data).createCompositeState(false)));
                 IVertexBuilder buffer = renderBuffer.getBuffer(renderType);
                 
                 //Now populate the state we requested.
                 int index = 0;
-                while (data.vertexObject.vertices.hasRemaining()) {
-                    //Need to parse these out first since our order differs.
+                for (int vertexIndex = 0; vertexIndex < data.vertexObject.getVertexCount(); ++vertexIndex) {
+                    //Need to parse these out first since our order differs.  Seek first as the vertices may be indexed.
+                    data.vertexObject.seekVertex(vertexIndex);
                     float normalX = data.vertexObject.vertices.get();
                     float normalY = data.vertexObject.vertices.get();
                     float normalZ = data.vertexObject.vertices.get();
@@ -214,10 +239,10 @@ public class InterfaceRender implements IInterfaceRender {
                     //Yes, they're stupid.
                     do {
                         buffer.vertex(stackEntry.pose(), posX, posY, posZ);
-                        buffer.color(data.color.red, data.color.green, data.color.blue, data.alpha);
+                        buffer.color(data.getRed(vertexIndex), data.getGreen(vertexIndex), data.getBlue(vertexIndex), data.getAlpha(vertexIndex));
                         buffer.uv(texU, texV);
                         buffer.overlayCoords(OverlayTexture.NO_OVERLAY);
-                        buffer.uv2(data.worldLightValue);
+                        buffer.uv2(data.getLightValue(vertexIndex));
                         buffer.normal(stackEntry.normal(), normalX, normalY, normalZ);
                         buffer.endVertex();
                     } while (++index == 3);
@@ -242,11 +267,21 @@ public class InterfaceRender implements IInterfaceRender {
             //with bound buffers due to matrix differences.
             BufferData buffer = buffers.remove(data);
             if (buffer != null) {
-                removedRenders.add(buffer);
+                releaseBuffer(buffer);
             }
     	}
     }
 
+    /**
+     * Removes a user from the passed-in buffer.  Once nothing uses the buffer, it's removed after the next render.
+     */
+    private static void releaseBuffer(BufferData bufferData) {
+        if (--bufferData.users == 0) {
+            sharedBuffers.remove(bufferData.key);
+            removedRenders.add(bufferData);
+        }
+    }
+
     @Override
     public int getLightingAtPosition(Point3D position) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
@@ -259,11 +294,10 @@ public class InterfaceRender implements IInterfaceRender {
     }
 
     @Override
-    public boolean bindURLTexture(String textureURL, InputStream stream) {
-        if (stream != null) {
+    public boolean bindURLTexture(String textureURL, BufferedImage image) {
+        if (image != null) {
             try {
-                NativeImage image = NativeImage.read(NativeImage.PixelFormat.RGB, stream);
-                DynamicTexture texture = new DynamicTexture(image);
+                DynamicTexture texture = new DynamicTexture(createNativeImage(image));
                 ResourceLocation textureLocation = Minecraft.getInstance().textureManager.register("mts-url", texture);
                 onlineTextures.put(textureURL, textureLocation);
                 return true;
@@ -299,6 +333,22 @@ public class InterfaceRender implements IInterfaceRender {
         return true;
     }
 
+    /**
+     * Helper function to convert a decoded URL image into a NativeImage.  Alpha is
+     * dropped, as these images have always been bound without it.
+     */
+    private static NativeImage createNativeImage(BufferedImage image) {
+        NativeImage nativeImage = new NativeImage(NativeImage.PixelFormat.RGBA, image.getWidth(), image.getHeight(), false);
+        for (int y = 0; y < image.getHeight(); ++y) {
+            for (int x = 0; x < image.getWidth(); ++x) {
+                //NativeImage pixels are ABGR, so swap the red and blue channels.
+                int argb = image.getRGB(x, y);
+                nativeImage.setPixelRGBA(x, y, 0xFF000000 | ((argb & 0xFF) << 16) | (argb & 0xFF00) | ((argb >> 16) & 0xFF));
+            }
+        }
+        return nativeImage;
+    }
+
     /**
      * Helper function to create a new texture state for the specified texture location.
      */
@@ -480,6 +530,9 @@ public class InterfaceRender implements IInterfaceRender {
         if (allEntities != null) {
             world.beginProfiling("MTSRendering_Setup", true);
 
+            //Cull entities that aren't in view so we don't render them.
+            world.cullRenderableEntities();
+
             //NOTE: this operation occurs on a ConcurrentLinkedQueue.  Therefore, updates will
             //not occur one after another.  Sanitize your inputs!
             for (AEntityC_Renderable entity : allEntities) {
@@ -506,12 +559,21 @@ public class InterfaceRender implements IInterfaceRender {
         for (Entry<RenderType, List<RenderData>> renderEntry : queuedRenders.entrySet()) {
             RenderType renderType = renderEntry.getKey();
             List<RenderData> datas = renderEntry.getValue();
+            //Sort so data that shares a buffer is drawn back-to-back.  Translucent data is left in the order
+            //it was queued, as re-ordering it would change how it blends with what's behind it.
+            if (!datas.isEmpty() && !datas.get(0).bufferData.key.isTranslucent) {
+                datas.sort(Comparator.comparingInt(data -> data.bufferData.id));
+            }
             if (!datas.isEmpty()) {
                 renderType.setupRenderState();
+                BufferData boundBuffer = null;
                 for (RenderData data : datas) {
-                    data.buffer.bind();
-                    renderType.format().setupBufferState(0L);
-                    data.buffer.draw(data.matrix, GL11.GL_QUADS);
+                    if (data.bufferData != boundBuffer) {
+                        data.bufferData.buffer.bind();
+                        renderType.format().setupBufferState(0L);
+                        boundBuffer = data.bufferData;
+                    }
+                    data.bufferData.buffer.draw(data.matrix, GL11.GL_QUADS);
                 }
                 renderType.format().clearBufferState();
                 renderType.clearRenderState();
@@ -591,31 +653,39 @@ public class InterfaceRender implements IInterfaceRender {
 
     private static class RenderData {
         private final Matrix4f matrix;
-        private final VertexBuffer buffer;
+        private final BufferData bufferData;
 
-        private RenderData(Matrix4f matrix, VertexBuffer buffer) {
+        private RenderData(Matrix4f matrix, BufferData bufferData) {
             this.matrix = new Matrix4f(matrix);
-            this.buffer = buffer;
+            this.bufferData = bufferData;
         }
     }
 
     private static class BufferData {
+        private static int lastBufferID;
         final BufferBuilder builder;
         final VertexBuffer buffer;
         boolean isReady;
+        BufferKey key;
+        final int id;
+        int users;
 
         private BufferData() {
             builder = null;
             buffer = null;
+            key = null;
+            id = 0;
         }
 
-        private BufferData(RenderType type, RenderableData data) {
-            int vertices = data.vertexObject.vertices.limit() / 8;
+        private BufferData(RenderType type, RenderableData data, BufferKey key) {
+            int vertices = data.vertexObject.getVertexCount();
             //Convert verts to faces, then back to quad-verts for MC rendering.
             //Add one face extra, since MC will want to increase the buffer if sees it can't handle another vert.
             vertices = ((vertices / 3) + 1) * 4;
             this.builder = new BufferBuilder(type.format().getIntegerSize() * vertices);
             this.buffer = new VertexBuffer(type.format());
+            this.key = key;
+            this.id = ++lastBufferID;
         }
     }
 
@@ -5,17 +5,17 @@ import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 
 import mcinterface1165.mixin.common.ConcretePowderBlockMixin;
+import minecrafttransportsimulator.baseclasses.BlockCollisionCache;
 import minecrafttransportsimulator.baseclasses.BlockHitResult;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.LongHashSet;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.blocks.components.ABlockBase;
 import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
@@ -81,9 +81,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockRayTraceResult;
 import net.minecraft.util.math.RayTraceContext;
 import net.minecraft.util.math.RayTraceResult;
-import net.minecraft.util.math.shapes.IBooleanFunction;
 import net.minecraft.util.math.shapes.VoxelShape;
-import net.minecraft.util.math.shapes.VoxelShapes;
 import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.world.Explosion;
 import net.minecraft.world.LightType;
@@ -94,6 +92,7 @@ import net.minecraftforge.common.IPlantable;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.TickEvent.Phase;
+import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.items.CapabilityItemHandler;
@@ -114,8 +113,9 @@ public class WrapperWorld extends AWrapperWorld {
     private final Map<UUID, BuilderEntityExisting> playerServerGunBuilders = new HashMap<>();
     private final Map<UUID, Integer> ticksSincePlayerJoin = new HashMap<>();
     private static Map<UUID, BuilderEntityRenderForwarder> playerFollowers = new HashMap<>();
-    private final List<AxisAlignedBB> mutableCollidingAABBs = new ArrayList<>();
-    private final Set<BlockPos> knownAirBlocks = new HashSet<>();
+    private final BlockCollisionCache collisionCache = new BlockCollisionCache();
+    private final LongHashSet knownAirBlocks = new LongHashSet();
+    private final BlockPos.Mutable mutablePos = new BlockPos.Mutable();
 
 
     protected final World world;
@@ -200,6 +200,11 @@ public class WrapperWorld extends AWrapperWorld {
         world.getProfiler().pop();
     }
 
+    @Override
+    public void incrementProfilingCounter(String name, int count) {
+        world.getProfiler().incrementCounter(name, count);
+    }
+
     @Override
     public IWrapperNBT getData(String name) {
         if (name.isEmpty()) {
@@ -277,6 +282,15 @@ public class WrapperWorld extends AWrapperWorld {
         return players;
     }
 
+    @Override
+    public List<IWrapperPlayer> getPlayers() {
+        List<IWrapperPlayer> players = new ArrayList<>();
+        for (PlayerEntity player : world.players()) {
+            players.add(WrapperPlayer.getWrapperFor(player));
+        }
+        return players;
+    }
+
     @Override
     public List<IWrapperEntity> getEntitiesHostile(IWrapperEntity lookingEntity, double radius) {
         List<IWrapperEntity> entities = new ArrayList<>();
@@ -547,7 +561,7 @@ public class WrapperWorld extends AWrapperWorld {
     }
 
     @Override
-    public double getHeight(Point3D position) {
+    protected double getUncachedHeight(Point3D position) {
         BlockPos pos = new BlockPos(position.x, position.y, position.z);
         //Need to go down till we find a block.
         boolean bottomSlab = false;
@@ -569,89 +583,27 @@ public class WrapperWorld extends AWrapperWorld {
     @Override
     public void updateBoundingBoxCollisions(BoundingBox box, Point3D collisionMotion, boolean ignoreIfGreater) {
         AxisAlignedBB mcBox = WrapperWorld.convert(box);
-        VoxelShape mcShape = VoxelShapes.create(mcBox);
         box.collidingBlockPositions.clear();
-        mutableCollidingAABBs.clear();
+        collisionCache.startCheck(mcBox.minX, mcBox.minY, mcBox.minZ, mcBox.maxX, mcBox.maxY, mcBox.maxZ);
         for (int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i) {
             for (int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j) {
                 for (int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k) {
-                    BlockPos pos = new BlockPos(i, j, k);
-                    if (!world.isEmptyBlock(pos)) {
-                        BlockState state = world.getBlockState(pos);
-                        VoxelShape collisionShape = state.getCollisionShape(world, pos).move(i, j, k);
-                        if (!collisionShape.isEmpty() && VoxelShapes.joinIsNotEmpty(mcShape, collisionShape, IBooleanFunction.AND) && state.getMaterial() != Material.LEAVES) {
-                            mutableCollidingAABBs.addAll(collisionShape.toAabbs());
+                    mutablePos.set(i, j, k);
+                    if (!world.isEmptyBlock(mutablePos)) {
+                        int index = getCollisionIndex(i, j, k, world.getBlockState(mutablePos));
+                        if (!collisionCache.isLeaves(index) && collisionCache.intersects(index)) {
+                            collisionCache.addCollidingBoxes(index);
                             box.collidingBlockPositions.add(new Point3D(i, j, k));
                         }
-                        if (box.collidesWithLiquids && state.getMaterial().isLiquid()) {
-                            mutableCollidingAABBs.add(VoxelShapes.block().bounds().move(pos));
+                        if (box.collidesWithLiquids && collisionCache.isLiquid(index)) {
+                            collisionCache.addCollidingFullBlock(i, j, k);
                             box.collidingBlockPositions.add(new Point3D(i, j, k));
                         }
                     }
                 }
             }
         }
-
-        //If we are in the depth bounds for this collision, set it as the collision depth.
-        box.currentCollisionDepth.set(0D, 0D, 0D);
-        double boxCollisionDepth;
-        for (AxisAlignedBB colBox : mutableCollidingAABBs) {
-            if (collisionMotion.x > 0) {
-                boxCollisionDepth = mcBox.maxX - colBox.minX;
-                if (box.currentCollisionDepth.x < boxCollisionDepth) {
-                    box.currentCollisionDepth.x = boxCollisionDepth;
-                }
-            } else if (collisionMotion.x < 0) {
-                boxCollisionDepth = -(colBox.maxX - mcBox.minX);
-                if (box.currentCollisionDepth.x > boxCollisionDepth) {
-                    box.currentCollisionDepth.x = boxCollisionDepth;
-                }
-            }
-            if (collisionMotion.y > 0) {
-                boxCollisionDepth = mcBox.maxY - colBox.minY;
-                if (box.currentCollisionDepth.y < boxCollisionDepth) {
-                    box.currentCollisionDepth.y = boxCollisionDepth;
-                }
-            } else if (collisionMotion.y < 0) {
-                boxCollisionDepth = -(colBox.maxY - mcBox.minY);
-                if (box.currentCollisionDepth.y > boxCollisionDepth) {
-                    box.currentCollisionDepth.y = boxCollisionDepth;
-                }
-            }
-            if (collisionMotion.z > 0) {
-                boxCollisionDepth = mcBox.maxZ - colBox.minZ;
-                if (box.currentCollisionDepth.z < boxCollisionDepth) {
-                    box.currentCollisionDepth.z = boxCollisionDepth;
-                }
-            } else if (collisionMotion.z < 0) {
-                boxCollisionDepth = -(colBox.maxZ - mcBox.minZ);
-                if (box.currentCollisionDepth.z > boxCollisionDepth) {
-                    box.currentCollisionDepth.z = boxCollisionDepth;
-                }
-            }
-        }
-
-        if (ignoreIfGreater) {
-            if (collisionMotion.x > 0 && box.currentCollisionDepth.x > collisionMotion.x) {
-                box.currentCollisionDepth.x = collisionMotion.x;
-            } else if (collisionMotion.x < 0 && box.currentCollisionDepth.x < collisionMotion.x) {
-                box.currentCollisionDepth.x = collisionMotion.x;
-            }
-            if (collisionMotion.y > 0 && box.currentCollisionDepth.y > collisionMotion.y) {
-                box.currentCollisionDepth.y = collisionMotion.y;
-            } else if (collisionMotion.y < 0 && box.currentCollisionDepth.y < collisionMotion.y) {
-                box.currentCollisionDepth.y = collisionMotion.y;
-            }
-            if (collisionMotion.z > 0 && box.currentCollisionDepth.z > collisionMotion.z) {
-                box.currentCollisionDepth.z = collisionMotion.z;
-            } else if (collisionMotion.z < 0 && box.currentCollisionDepth.z < collisionMotion.z) {
-                box.currentCollisionDepth.z = collisionMotion.z;
-            }
-        }
-
-        if (box.currentCollisionDepth.isZero()) {
-            box.collidingBlockPositions.clear();
-        }
+        collisionCache.updateCollisionDepth(box, collisionMotion, ignoreIfGreater);
     }
 
     @Override
@@ -659,32 +611,36 @@ public class WrapperWorld extends AWrapperWorld {
         if (clearCache) {
             knownAirBlocks.clear();
         }
-        mutableCollidingAABBs.clear();
         AxisAlignedBB mcBox = WrapperWorld.convertWithOffset(box, offset.x, offset.y, offset.z);
-        VoxelShape mcShape = VoxelShapes.create(mcBox);
+        collisionCache.startCheck(mcBox.minX, mcBox.minY, mcBox.minZ, mcBox.maxX, mcBox.maxY, mcBox.maxZ);
         for (int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i) {
             for (int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j) {
                 for (int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k) {
-                    BlockPos pos = new BlockPos(i, j, k);
-                    if (!knownAirBlocks.contains(pos)) {
-                        if (world.isLoaded(pos)) {
-                            BlockState state = world.getBlockState(pos);
-                            VoxelShape collisionShape = state.getCollisionShape(world, pos).move(i, j, k);
-                            if (state.getMaterial() != Material.LEAVES) {
-                                if (collisionShape != null && !collisionShape.isEmpty() && VoxelShapes.joinIsNotEmpty(mcShape, collisionShape, IBooleanFunction.AND)) {
+                    long key = BlockCollisionCache.getKey(i, j, k);
+                    if (!knownAirBlocks.contains(key)) {
+                        mutablePos.set(i, j, k);
+                        if (world.isLoaded(mutablePos)) {
+                            if (world.isEmptyBlock(mutablePos)) {
+                                //Air blocks are never cached, so just mark them here.
+                                knownAirBlocks.add(key);
+                                continue;
+                            }
+                            int index = getCollisionIndex(i, j, k, world.getBlockState(mutablePos));
+                            if (!collisionCache.isLeaves(index)) {
+                                if (collisionCache.intersects(index)) {
                                     return true;
                                 } else {
-                                    knownAirBlocks.add(pos);
+                                    knownAirBlocks.add(key);
                                 }
-                                if (box.collidesWithLiquids && state.getMaterial().isLiquid()) {
-                                    if (mcBox.intersects(VoxelShapes.block().bounds().move(pos))) {
+                                if (box.collidesWithLiquids && collisionCache.isLiquid(index)) {
+                                    if (collisionCache.intersectsFullBlock(i, j, k)) {
                                         return true;
                                     }
                                 }
                             } else if (breakLeaves) {
-                                world.destroyBlock(pos, false);
+                                world.destroyBlock(mutablePos.immutable(), false);
                             } else {
-                                knownAirBlocks.add(pos);
+                                knownAirBlocks.add(key);
                             }
                         }
                     }
@@ -694,6 +650,42 @@ public class WrapperWorld extends AWrapperWorld {
         return false;
     }
 
+    /**
+     * Returns the index of the block in the {@link #collisionCache}, caching its collision boxes if they aren't
+     * already cached.  {@link #mutablePos} must be set to the block's position before calling this.
+     * Blocks with block entities can change shape without changing state, so they are never cached.
+     */
+    @SuppressWarnings("deprecation")
+    private int getCollisionIndex(int x, int y, int z, BlockState state) {
+        boolean cacheBlock = !state.hasTileEntity();
+        int index = cacheBlock ? collisionCache.getIndex(x, y, z, state) : -1;
+        if (index == -1) {
+            VoxelShape collisionShape = state.getCollisionShape(world, mutablePos);
+            double[] blockBoxes;
+            if (collisionShape == null || collisionShape.isEmpty()) {
+                blockBoxes = BlockCollisionCache.NO_BOXES;
+            } else {
+                List<AxisAlignedBB> shapeBoxes = collisionShape.toAabbs();
+                blockBoxes = new double[shapeBoxes.size() * 6];
+                for (int i = 0; i < shapeBoxes.size(); ++i) {
+                    AxisAlignedBB shapeBox = shapeBoxes.get(i);
+                    blockBoxes[i * 6] = shapeBox.minX + x;
+                    blockBoxes[i * 6 + 1] = shapeBox.minY + y;
+                    blockBoxes[i * 6 + 2] = shapeBox.minZ + z;
+                    blockBoxes[i * 6 + 3] = shapeBox.maxX + x;
+                    blockBoxes[i * 6 + 4] = shapeBox.maxY + y;
+                    blockBoxes[i * 6 + 5] = shapeBox.maxZ + z;
+                }
+            }
+            if (cacheBlock) {
+                index = collisionCache.add(x, y, z, state, blockBoxes, state.getMaterial() == Material.LEAVES, state.getMaterial().isLiquid());
+            } else {
+                index = collisionCache.addUncached(blockBoxes, state.getMaterial() == Material.LEAVES, state.getMaterial().isLiquid());
+            }
+        }
+        return index;
+    }
+
     @Override
     public int getRedstonePower(Point3D position) {
         return world.getBestNeighborSignal(new BlockPos(position.x, position.y, position.z));
@@ -1143,6 +1135,20 @@ public class WrapperWorld extends AWrapperWorld {
         }
     }
 
+    /**
+     * Invalidate cached collision boxes and heights when blocks change.  Neighbors are included since
+     * some blocks, like fences, change their collision based on the blocks next to them.
+     */
+    @SubscribeEvent
+    public void onIVBlockChange(BlockEvent.NeighborNotifyEvent event) {
+        //Need to check if it's our world, because Forge is stupid like that.
+        if (event.getWorld() == world) {
+            BlockPos pos = event.getPos();
+            collisionCache.invalidateAround(pos.getX(), pos.getY(), pos.getZ());
+            onBlockChanged(pos.getX(), pos.getY(), pos.getZ());
+        }
+    }
+
     /**
      * Remove all entities from our maps if we unload the world.  This will cause duplicates if we don't.
      * Also remove this wrapper from the created lists, as it's invalid.
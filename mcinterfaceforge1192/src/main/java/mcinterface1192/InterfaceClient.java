@@ -7,6 +7,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.nio.FloatBuffer;
 
+import com.mojang.math.Vector3f;
+
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.entities.instances.EntityFluidTank;
@@ -24,6 +26,7 @@ import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.ControlSystem;
 import minecrafttransportsimulator.systems.LanguageSystem;
 import net.minecraft.ChatFormatting;
+import net.minecraft.client.Camera;
 import net.minecraft.client.CameraType;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.ChatScreen;
@@ -189,6 +192,21 @@ public class InterfaceClient implements IInterfaceClient {
     private static final RotationMatrix cameraProjectionOrientation = new RotationMatrix();
     private static final FloatBuffer projectionMatrixBuffer = FloatBuffer.allocate(16);
 
+    @Override
+    public void populateCameraView(Point3D position, Point3D lookVector) {
+        if (InterfaceEventsEntityRendering.adjustedCamera) {
+            position.set(InterfaceEventsEntityRendering.cameraAdjustedPosition);
+            RotationMatrix ori = getCameraProjectionOrientation(InterfaceEventsEntityRendering.cameraAdjustedOrientation);
+            lookVector.set(ori.m02, ori.m12, ori.m22);
+        } else {
+            Camera camera = Minecraft.getInstance().gameRenderer.getMainCamera();
+            Vec3 camPos = camera.getPosition();
+            position.set(camPos.x, camPos.y, camPos.z);
+            Vector3f look = camera.getLookVector();
+            lookVector.set(look.x(), look.y(), look.z());
+        }
+    }
+
     @Override
     public Point3D projectToScreen(Point3D worldPos, int screenWidth, int screenHeight) {
         double camX, camY, camZ;
@@ -206,12 +224,12 @@ public class InterfaceClient implements IInterfaceClient {
             // MTS (1,0,0) rotated = camera LEFT (not right); negate to get camera right.
             rgtX = -ori.m00; rgtY = -ori.m10; rgtZ = -ori.m20;
         } else {
-            net.minecraft.client.Camera camera = Minecraft.getInstance().gameRenderer.getMainCamera();
-            net.minecraft.world.phys.Vec3 camPos = camera.getPosition();
+            Camera camera = Minecraft.getInstance().gameRenderer.getMainCamera();
+            Vec3 camPos = camera.getPosition();
             camX = camPos.x; camY = camPos.y; camZ = camPos.z;
-            com.mojang.math.Vector3f look = camera.getLookVector();
-            com.mojang.math.Vector3f up = camera.getUpVector();
-            com.mojang.math.Vector3f left = camera.getLeftVector();
+            Vector3f look = camera.getLookVector();
+            Vector3f up = camera.getUpVector();
+            Vector3f left = camera.getLeftVector();
             fwdX = look.x(); fwdY = look.y(); fwdZ = look.z();
             upX  = up.x();   upY  = up.y();   upZ  = up.z();
             rgtX = -left.x(); rgtY = -left.y(); rgtZ = -left.z();
@@ -88,12 +88,12 @@ public class InterfaceLoader {
 
         //Init interfaces and send to the main game system.
         if (isClient) {
-            new InterfaceManager(MODID, gameDirectory, new InterfaceCore(), new InterfacePacket(), new InterfaceClient(), new InterfaceInput(), new InterfaceSound(), new InterfaceRender());
+            new InterfaceManager(MODID, MODVER, gameDirectory, new InterfaceCore(), new InterfacePacket(), new InterfaceClient(), new InterfaceInput(), new InterfaceSound(), new InterfaceRender());
             FMLJavaModLoadingContext.get().getModEventBus().addListener(InterfaceInput::onIVRegisterKeyMappingsEvent);
             FMLJavaModLoadingContext.get().getModEventBus().addListener(InterfaceRender::onIVRegisterShadersEvent);
             FMLJavaModLoadingContext.get().getModEventBus().addListener(InterfaceRender::onIVRegisterRenderersEvent);
         } else {
-            new InterfaceManager(MODID, gameDirectory, new InterfaceCore(), new InterfacePacket(), null, null, null, null);
+            new InterfaceManager(MODID, MODVER, gameDirectory, new InterfaceCore(), new InterfacePacket(), null, null, null, null);
         }
 
         InterfaceManager.coreInterface.logError("Welcome to MTS VERSION: " + MODVER);
@@ -101,12 +101,12 @@ public class InterfaceLoader {
 
         //Init interfaces and send to the main game system.
         if (isClient) {
-            new InterfaceManager(MODID, gameDirectory, new InterfaceCore(), new InterfacePacket(), new InterfaceClient(), new InterfaceInput(), new InterfaceSound(), new InterfaceRender());
+            new InterfaceManager(MODID, MODVER, gameDirectory, new InterfaceCore(), new InterfacePacket(), new InterfaceClient(), new InterfaceInput(), new InterfaceSound(), new InterfaceRender());
             context.getModEventBus().addListener(InterfaceInput::onIVRegisterKeyMappingsEvent);
             context.getModEventBus().addListener(InterfaceRender::onIVRegisterShadersEvent);
             context.getModEventBus().addListener(InterfaceRender::onIVRegisterRenderersEvent);
         } else {
-            new InterfaceManager(MODID, gameDirectory, new InterfaceCore(), new InterfacePacket(), null, null, null, null);
+            new InterfaceManager(MODID, MODVER, gameDirectory, new InterfaceCore(), new InterfacePacket(), null, null, null, null);
         }
 
         InterfaceManager.coreInterface.logError("Welcome to MTS VERSION: " + MODVER);
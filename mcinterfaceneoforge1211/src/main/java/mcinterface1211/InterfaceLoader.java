@@ -107,12 +107,12 @@ public class InterfaceLoader {
 
         //Init interfaces and send to the main game system.
         if (isClient) {
-            new InterfaceManager(MODID, gameDirectory, new InterfaceCore(), new InterfacePacket(), new InterfaceClient(), new InterfaceInput(), new InterfaceSound(), new InterfaceRender());
+            new InterfaceManager(MODID, MODVER, gameDirectory, new InterfaceCore(), new InterfacePacket(), new InterfaceClient(), new InterfaceInput(), new InterfaceSound(), new InterfaceRender());
             modBus.addListener(InterfaceInput::onIVRegisterKeyMappingsEvent);
             modBus.addListener(InterfaceRender::onIVRegisterShadersEvent);
             modBus.addListener(InterfaceRender::onIVRegisterRenderersEvent);
         } else {
-            new InterfaceManager(MODID, gameDirectory, new InterfaceCore(), new InterfacePacket(), null, null, null, null);
+            new InterfaceManager(MODID, MODVER, gameDirectory, new InterfaceCore(), new InterfacePacket(), null, null, null, null);
         }
 
         InterfaceManager.coreInterface.logError("Welcome to MTS VERSION: " + MODVER);
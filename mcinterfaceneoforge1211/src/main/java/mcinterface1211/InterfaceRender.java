@@ -6,6 +6,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -44,6 +45,7 @@ import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.rendering.GIFParser.GIFImageFrame;
 import minecrafttransportsimulator.rendering.GIFParser.ParsedGIF;
 import minecrafttransportsimulator.rendering.RenderableData;
+import minecrafttransportsimulator.rendering.RenderableData.BufferKey;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
@@ -82,6 +84,7 @@ public class InterfaceRender implements IInterfaceRender {
 
     private static final ConcurrentHashMap<String, RenderType> renderTypes = new ConcurrentHashMap<>();
     private static final ConcurrentHashMap<RenderableData, BufferData> buffers = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<BufferKey, BufferData> sharedBuffers = new ConcurrentHashMap<>();
     private static final ConcurrentHashMap<RenderType, List<RenderData>> queuedRenders = new ConcurrentHashMap<>();
     private static final ConcurrentLinkedQueue<BufferData> removedRenders = new ConcurrentLinkedQueue<>();
 
@@ -233,16 +236,36 @@ public class InterfaceRender implements IInterfaceRender {
             if (data.vertexObject.cacheVertices && !renderingGUI && ConfigSystem.client.renderingSettings.renderingMode.value != 2) {
             	//Get the render type and data buffer for this entity.
                 renderType = renderTypes.computeIfAbsent(typeID, k -> CustomRenderType.create("mts_entity", DefaultVertexFormat.NEW_ENTITY, VertexFormat.Mode.TRIANGLES, 2097152, true, data.isTranslucent, CustomRenderType.createForObject(data).createCompositeState(false)));
-                BufferData bufferData = buffers.computeIfAbsent(data, k -> new BufferData(renderType, data));
-            
-                //Reset buffer if it's not ready.
-                if (changedSinceLastRender) {
-                    bufferData.isReady = false;
+                //Get the buffer for this data.  Data with the same contents share a buffer, so they only need to be built and bound once.
+                BufferData bufferData = buffers.get(data);
+                if (bufferData == null || changedSinceLastRender) {
+                    BufferKey bufferKey = data.getBufferKey();
+                    if (bufferData == null || !bufferData.key.equals(bufferKey)) {
+                        if (bufferData != null && bufferData.users == 1 && !sharedBuffers.containsKey(bufferKey)) {
+                            //Nothing else uses our buffer or has our new contents, so re-build it in place.
+                            //This keeps things like color and light changes from making a new buffer each time.
+                            sharedBuffers.remove(bufferData.key);
+                            bufferData.key = bufferKey;
+                            sharedBuffers.put(bufferKey, bufferData);
+                            bufferData.isReady = false;
+                        } else {
+                            if (bufferData != null) {
+                                releaseBuffer(bufferData);
+                            }
+                            bufferData = sharedBuffers.computeIfAbsent(bufferKey, k -> new BufferData(renderType, data, k));
+                            ++bufferData.users;
+                            buffers.put(data, bufferData);
+                        }
+                    } else {
+                        //Same contents, but the vertices themselves may have changed, so re-build the buffer.
+                        bufferData.isReady = false;
+                    }
                 }
                 if (!bufferData.isReady) {
                     BufferBuilder tempBuilder = new BufferBuilder(bufferData.byteBufferBuilder, VertexFormat.Mode.TRIANGLES, renderType.format());
-                    while (data.vertexObject.vertices.hasRemaining()) {
-                        //Need to parse these out first since our order differs.
+                    for (int vertexIndex = 0; vertexIndex < data.vertexObject.getVertexCount(); ++vertexIndex) {
+                        //Need to parse these out first since our order differs.  Seek first as the vertices may be indexed.
+                        data.vertexObject.seekVertex(vertexIndex);
                         float normalX = data.vertexObject.vertices.get();
                         float normalY = data.vertexObject.vertices.get();
                         float normalZ = data.vertexObject.vertices.get();
@@ -251,7 +274,7 @@ public class InterfaceRender implements IInterfaceRender {
                         float posX = data.vertexObject.vertices.get();
                         float posY = data.vertexObject.vertices.get();
                         float posZ = data.vertexObject.vertices.get();
-                        tempBuilder.addVertex(posX, posY, posZ).setColor(data.color.red, data.color.green, data.color.blue, data.alpha).setUv(texU, texV).setOverlay(OverlayTexture.NO_OVERLAY).setLight(data.worldLightValue).setNormal(normalX, normalY, normalZ);
+                        tempBuilder.addVertex(posX, posY, posZ).setColor(data.getRed(vertexIndex), data.getGreen(vertexIndex), data.getBlue(vertexIndex), data.getAlpha(vertexIndex)).setUv(texU, texV).setOverlay(OverlayTexture.NO_OVERLAY).setLight(data.getLightValue(vertexIndex)).setNormal(normalX, normalY, normalZ);
                     }
                     bufferData.isReady = true;
                     bufferData.buffer.bind();
@@ -274,8 +297,9 @@ public class InterfaceRender implements IInterfaceRender {
                 //Translucent depth sorting is handled by MTS's own render ordering instead.
                 renderType = renderTypes.computeIfAbsent(typeID, k -> CustomRenderType.create("mts_entity_" + typeID, DefaultVertexFormat.NEW_ENTITY, VertexFormat.Mode.TRIANGLES, 2097152, true, false, CustomRenderType.createForObject(data).createCompositeState(false)));
                 VertexConsumer buffer = renderBuffer.getBuffer(renderType);
-                while (data.vertexObject.vertices.hasRemaining()) {
-                    //Need to parse these out first since our order differs.
+                for (int vertexIndex = 0; vertexIndex < data.vertexObject.getVertexCount(); ++vertexIndex) {
+                    //Need to parse these out first since our order differs.  Seek first as the vertices may be indexed.
+                    data.vertexObject.seekVertex(vertexIndex);
                     float normalX = data.vertexObject.vertices.get();
                     float normalY = data.vertexObject.vertices.get();
                     float normalZ = data.vertexObject.vertices.get();
@@ -286,10 +310,10 @@ public class InterfaceRender implements IInterfaceRender {
                     float posZ = data.vertexObject.vertices.get();
 
                     buffer.addVertex(stackEntry.pose(), posX, posY, posZ)
-                        .setColor(data.color.red, data.color.green, data.color.blue, data.alpha)
+                        .setColor(data.getRed(vertexIndex), data.getGreen(vertexIndex), data.getBlue(vertexIndex), data.getAlpha(vertexIndex))
                         .setUv(texU, texV)
                         .setOverlay(OverlayTexture.NO_OVERLAY)
-                        .setLight(data.worldLightValue)
+                        .setLight(data.getLightValue(vertexIndex))
                         .setNormal(stackEntry, normalX, normalY, normalZ);
                 }
                 //Rewind buffer for next read.
@@ -305,6 +329,9 @@ public class InterfaceRender implements IInterfaceRender {
         if (allEntities != null) {
             world.beginProfiling("MTSRendering_Setup", true);
 
+            //Cull entities that aren't in view so we don't render them.
+            world.cullRenderableEntities();
+
             //NOTE: this operation occurs on a ConcurrentLinkedQueue.  Therefore, updates will
             //not occur one after another.  Sanitize your inputs!
             for (AEntityC_Renderable entity : allEntities) {
@@ -328,6 +355,11 @@ public class InterfaceRender implements IInterfaceRender {
         for (Entry<RenderType, List<RenderData>> renderEntry : queuedRenders.entrySet()) {
             RenderType renderType = renderEntry.getKey();
             List<RenderData> datas = renderEntry.getValue();
+            //Sort so data that shares a buffer is drawn back-to-back.  Translucent data is left in the order
+            //it was queued, as re-ordering it would change how it blends with what's behind it.
+            if (!datas.isEmpty() && !datas.get(0).bufferData.key.isTranslucent) {
+                datas.sort(Comparator.comparingInt(data -> data.bufferData.id));
+            }
             if (!datas.isEmpty() && ConfigSystem.client.renderingSettings.renderingMode.value == 0) {
                 //Setup common render states.
                 renderType.setupRenderState();
@@ -359,6 +391,8 @@ public class InterfaceRender implements IInterfaceRender {
                 RenderSystem.setupShaderLights(shaderInstance);
 
                 //Now render vertices, setting only the states required each render.
+                //Data that shares a buffer is next to each other, so we only need to bind when the buffer changes.
+                BufferData boundBuffer = null;
                 for (RenderData data : datas) {
                     if (shaderInstance.MODEL_VIEW_MATRIX != null) {
                         //In 1.21+, the view matrix is in RenderSystem's model-view stack, not in our PoseStack.
@@ -367,7 +401,10 @@ public class InterfaceRender implements IInterfaceRender {
                         shaderInstance.MODEL_VIEW_MATRIX.set(combinedMatrix);
                     }
                     shaderInstance.apply();
-                    data.bufferData.buffer.bind();
+                    if (data.bufferData != boundBuffer) {
+                        data.bufferData.buffer.bind();
+                        boundBuffer = data.bufferData;
+                    }
                     data.bufferData.buffer.draw();
                 }
                 VertexBuffer.unbind();
@@ -467,11 +504,21 @@ public class InterfaceRender implements IInterfaceRender {
             //with bound buffers due to matrix differences.
             BufferData buffer = buffers.remove(data);
             if (buffer != null) {
-                removedRenders.add(buffer);
+                releaseBuffer(buffer);
             }
     	}
     }
 
+    /**
+     * Removes a user from the passed-in buffer.  Once nothing uses the buffer, it's removed after the next render.
+     */
+    private static void releaseBuffer(BufferData bufferData) {
+        if (--bufferData.users == 0) {
+            sharedBuffers.remove(bufferData.key);
+            removedRenders.add(bufferData);
+        }
+    }
+
     @Override
     public int getLightingAtPosition(Point3D position) {
         BlockPos pos = BlockPos.containing(position.x, position.y, position.z);
@@ -484,11 +531,10 @@ public class InterfaceRender implements IInterfaceRender {
     }
 
     @Override
-    public boolean bindURLTexture(String textureURL, InputStream stream) {
-        if (stream != null) {
+    public boolean bindURLTexture(String textureURL, BufferedImage image) {
+        if (image != null) {
             try {
-                NativeImage image = NativeImage.read(NativeImage.Format.RGB, stream);
-                DynamicTexture texture = new DynamicTexture(image);
+                DynamicTexture texture = new DynamicTexture(createNativeImage(image));
                 ResourceLocation textureLocation = Minecraft.getInstance().getTextureManager().register("mts-url", texture);
                 onlineTextures.put(textureURL, textureLocation);
                 return true;
@@ -524,6 +570,22 @@ public class InterfaceRender implements IInterfaceRender {
         return true;
     }
 
+    /**
+     * Helper function to convert a decoded URL image into a NativeImage.  Alpha is
+     * dropped, as these images have always been bound without it.
+     */
+    private static NativeImage createNativeImage(BufferedImage image) {
+        NativeImage nativeImage = new NativeImage(NativeImage.Format.RGBA, image.getWidth(), image.getHeight(), false);
+        for (int y = 0; y < image.getHeight(); ++y) {
+            for (int x = 0; x < image.getWidth(); ++x) {
+                //NativeImage pixels are ABGR, so swap the red and blue channels.
+                int argb = image.getRGB(x, y);
+                nativeImage.setPixelRGBA(x, y, 0xFF000000 | ((argb & 0xFF) << 16) | (argb & 0xFF00) | ((argb >> 16) & 0xFF));
+            }
+        }
+        return nativeImage;
+    }
+
     /**
      * Helper function to create a new texture state for the specified texture location.
      */
@@ -693,23 +755,31 @@ public class InterfaceRender implements IInterfaceRender {
     }
 
     private static class BufferData {
+        private static int lastBufferID;
         final ByteBufferBuilder byteBufferBuilder;
         final VertexBuffer buffer;
         boolean isReady;
+        BufferKey key;
+        final int id;
+        int users;
 
         private BufferData() {
             byteBufferBuilder = null;
             buffer = null;
+            key = null;
+            id = 0;
         }
 
-        private BufferData(RenderType type, RenderableData data) {
-            int vertices = data.vertexObject.vertices.limit() / 8;
+        private BufferData(RenderType type, RenderableData data, BufferKey key) {
+            int vertices = data.vertexObject.getVertexCount();
             //Convert verts to faces, then back to quad-verts for MC rendering.
             //Add one face extra, since MC will want to increase the buffer if sees it can't handle another vert.
             vertices = ((vertices / 3) + 1) * 3;
             int estimatedBytes = type.format().getVertexSize() * vertices;
             this.byteBufferBuilder = new ByteBufferBuilder(estimatedBytes);
             this.buffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+            this.key = key;
+            this.id = ++lastBufferID;
         }
 
         /**Close both the GPU VertexBuffer and the off-heap ByteBufferBuilder to prevent native memory leaks.*/